@@ -0,0 +1,162 @@
+package com.weather.adapters.outbound.api;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.weather.domain.model.Forecast;
+import com.weather.domain.model.Location;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Decoding a 5-day /forecast body: record binding + groupingBy (the previous path)
+ * against the streaming decoder fed the way getForecast feeds it, one DataBuffer per
+ * network-sized chunk through OpenWeatherAdapter.feed.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ForecastDecodingBenchmark {
+
+    private static final String[] CONDITIONS = {"Clouds", "Rain", "Clear"};
+    private static final DefaultDataBufferFactory BUFFERS = DefaultDataBufferFactory.sharedInstance;
+
+    @Param({"40"})
+    int items;
+
+    @Param({"8192"})
+    int chunkSize;
+
+    private byte[] body;
+    private ObjectMapper mapper;
+
+    @Setup
+    public void setUp() {
+        mapper = new ObjectMapper().configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+        body = sampleBody(items).getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public List<Forecast> bindAndGroup() throws IOException {
+        ForecastResponse response = mapper.readValue(body, ForecastResponse.class);
+        Location location = Location.builder()
+            .city("London")
+            .country("GB")
+            .latitude(response.city().coord().lat())
+            .longitude(response.city().coord().lon())
+            .build();
+
+        List<Forecast> forecasts = new ArrayList<>();
+        response.list().stream()
+            .collect(Collectors.groupingBy(
+                item -> Instant.ofEpochSecond(item.dt()).atZone(ZoneId.systemDefault()).toLocalDate()))
+            .forEach((date, dayItems) -> forecasts.add(aggregate(location, date, dayItems)));
+        return forecasts;
+    }
+
+    @Benchmark
+    public List<Forecast> streaming() throws IOException {
+        OpenWeatherForecastDecoder decoder = new OpenWeatherForecastDecoder("London", "GB", ZoneId.systemDefault());
+        for (int offset = 0; offset < body.length; offset += chunkSize) {
+            DataBuffer chunk = BUFFERS.wrap(ByteBuffer.wrap(body, offset, Math.min(chunkSize, body.length - offset)));
+            OpenWeatherAdapter.feed(decoder, chunk);
+        }
+        return decoder.finish();
+    }
+
+    private static Forecast aggregate(Location location, LocalDate date, List<ForecastItem> dayItems) {
+        double tempMin = dayItems.stream().mapToDouble(i -> i.main().tempMin()).min().orElse(0);
+        double tempMax = dayItems.stream().mapToDouble(i -> i.main().tempMax()).max().orElse(0);
+        double tempAvg = dayItems.stream().mapToDouble(i -> i.main().temp()).average().orElse(0);
+        ForecastItem first = dayItems.get(0);
+
+        return Forecast.builder()
+            .location(location)
+            .date(date)
+            .tempMin(tempMin)
+            .tempMax(tempMax)
+            .tempAvg(tempAvg)
+            .humidity(first.main().humidity())
+            .windSpeed(first.wind() != null ? first.wind().speed() : null)
+            .weatherCondition(first.weather() != null && !first.weather().isEmpty() ? first.weather().get(0).main() : null)
+            .weatherDescription(first.weather() != null && !first.weather().isEmpty() ? first.weather().get(0).description() : null)
+            .weatherIcon(first.weather() != null && !first.weather().isEmpty() ? first.weather().get(0).icon() : null)
+            .precipitationProbability(first.pop() != null ? first.pop() * 100 : null)
+            .cloudiness(first.clouds() != null ? first.clouds().all() : null)
+            .createdAt(Instant.now())
+            .build();
+    }
+
+    /**
+     * A body shaped like the real API response: 3-hour items followed by the city block
+     */
+    static String sampleBody(int items) {
+        long start = LocalDate.of(2025, 1, 15).atStartOfDay().toEpochSecond(ZoneOffset.UTC);
+        StringBuilder json = new StringBuilder("{\"cod\":\"200\",\"message\":0,\"cnt\":").append(items).append(",\"list\":[");
+        for (int i = 0; i < items; i++) {
+            double temp = 8 + 4 * Math.sin(i / 8.0 * 2 * Math.PI);
+            String condition = CONDITIONS[i % CONDITIONS.length];
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append("{\"dt\":").append(start + i * 10_800L)
+                .append(",\"main\":{\"temp\":").append(String.format(Locale.ROOT, "%.2f", temp))
+                .append(",\"feels_like\":").append(String.format(Locale.ROOT, "%.2f", temp - 2))
+                .append(",\"temp_min\":").append(String.format(Locale.ROOT, "%.2f", temp - 0.8))
+                .append(",\"temp_max\":").append(String.format(Locale.ROOT, "%.2f", temp + 0.8))
+                .append(",\"pressure\":1012,\"sea_level\":1012,\"grnd_level\":1008,\"humidity\":")
+                .append(70 + i % 20).append(",\"temp_kf\":0.5}")
+                .append(",\"weather\":[{\"id\":803,\"main\":\"").append(condition)
+                .append("\",\"description\":\"").append(condition.toLowerCase()).append(" sky\",\"icon\":\"04d\"}]")
+                .append(",\"clouds\":{\"all\":").append(40 + i % 60).append('}')
+                .append(",\"wind\":{\"speed\":").append(3 + i % 5).append(".4,\"deg\":240,\"gust\":7.1}")
+                .append(",\"visibility\":10000,\"pop\":0.").append(i % 10)
+                .append(",\"rain\":{\"3h\":0.").append(i % 7).append('}')
+                .append(",\"sys\":{\"pod\":\"d\"},\"dt_txt\":\"2025-01-15 00:00:00\"}");
+        }
+        json.append("],\"city\":{\"id\":2643743,\"name\":\"London\",\"coord\":{\"lat\":51.5085,\"lon\":-0.1257},")
+            .append("\"country\":\"GB\",\"population\":1000000,\"timezone\":0,\"sunrise\":1736928000,\"sunset\":1736958000}}");
+        return json.toString();
+    }
+
+    record ForecastResponse(String cod, int message, int cnt, List<ForecastItem> list, City city) {}
+
+    record ForecastItem(long dt, Main main, List<Weather> weather, Clouds clouds, Wind wind,
+                        Integer visibility, Double pop) {}
+
+    record Main(double temp,
+                @JsonProperty("temp_min") double tempMin,
+                @JsonProperty("temp_max") double tempMax,
+                Integer pressure, Integer humidity) {}
+
+    record Weather(int id, String main, String description, String icon) {}
+
+    record Clouds(Integer all) {}
+
+    record Wind(Double speed, Integer deg) {}
+
+    record City(long id, String name, Coord coord, String country, int timezone) {}
+
+    record Coord(double lat, double lon) {}
+}
@@ -0,0 +1,149 @@
+package com.weather.adapters.outbound.persistence;
+
+import com.weather.adapters.inbound.rest.dto.HistoryResponseDTO;
+import com.weather.adapters.inbound.rest.dto.HistoryResponseDTO.WeatherHistoryResponseDTO;
+import com.weather.adapters.inbound.rest.dto.HistoryResponseDTO.WeatherReadingDTO;
+import com.weather.adapters.outbound.persistence.entity.WeatherConditionEntity;
+import com.weather.adapters.outbound.persistence.entity.WeatherReadingEntity;
+import com.weather.domain.model.Location;
+import com.weather.domain.model.WeatherHistoryRow;
+import com.weather.domain.model.WeatherReading;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Turning the rows of one history response into its DTO: entity + loaded-state snapshot +
+ * WeatherReading with its own Location per row (the previous path) against HistoryReader's
+ * row records. Both start from the same column values, as a ResultSet would hand them out;
+ * compare gc.alloc.rate.norm. Hibernate's EntityEntry/EntityKey bookkeeping and the
+ * per-flush dirty check are not modelled, so the previous path is understated.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class HistoryMappingBenchmark {
+
+    private static final WeatherConditionEntity CONDITION = WeatherConditionEntity.builder()
+        .id((short) 1).code((short) 803).main("Clouds").description("broken clouds").icon("04d").build();
+
+    @Param({"100000"})
+    int rows;
+
+    private Instant from;
+    private Instant to;
+    private Instant[] timestamps;
+    private float[] temperatures;
+    private float[] humidities;
+    private float[] pressures;
+    private float[] windSpeeds;
+    private short[] windDirections;
+    private float[] visibilities;
+    private short[] cloudiness;
+
+    @Setup
+    public void setUp() {
+        from = Instant.parse("2025-01-01T00:00:00Z");
+        timestamps = new Instant[rows];
+        temperatures = new float[rows];
+        humidities = new float[rows];
+        pressures = new float[rows];
+        windSpeeds = new float[rows];
+        windDirections = new short[rows];
+        visibilities = new float[rows];
+        cloudiness = new short[rows];
+        for (int i = 0; i < rows; i++) {
+            timestamps[i] = from.plusSeconds(600L * i);
+            temperatures[i] = 8.5f + (i % 40) / 4f;
+            humidities[i] = 60 + i % 35;
+            pressures[i] = 1000 + i % 30;
+            windSpeeds[i] = 2.4f + (i % 12) / 2f;
+            windDirections[i] = (short) (i % 360);
+            visibilities[i] = 10000;
+            cloudiness[i] = (short) (i % 100);
+        }
+        to = timestamps[rows - 1];
+    }
+
+    @Benchmark
+    public WeatherHistoryResponseDTO managedEntities() {
+        List<WeatherReading> readings = new ArrayList<>(rows);
+        List<Object[]> loadedStates = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            WeatherReadingEntity entity = WeatherReadingEntity.builder()
+                .id((long) i)
+                .locationId(1)
+                .timestamp(timestamps[i])
+                .temperatureCelsius(temperatures[i])
+                .humidity(humidities[i])
+                .pressure(pressures[i])
+                .windSpeed(windSpeeds[i])
+                .windDirection(windDirections[i])
+                .conditionId(CONDITION.getId())
+                .visibility(visibilities[i])
+                .cloudiness(cloudiness[i])
+                .dataSource(WeatherReadingEntity.DataSourceType.OPENWEATHER_API)
+                .createdAt(timestamps[i])
+                .build();
+            loadedStates.add(new Object[]{entity.getLocationId(), entity.getTimestamp(),
+                entity.getTemperatureCelsius(), entity.getTemperatureFahrenheit(), entity.getHumidity(),
+                entity.getPressure(), entity.getWindSpeed(), entity.getWindDirection(), entity.getConditionId(),
+                entity.getVisibility(), entity.getCloudiness(), entity.getDataSource(), entity.getCreatedAt()});
+            Location location = Location.builder().city("London").country("GB")
+                .latitude(51.5085).longitude(-0.1257).build();
+            readings.add(WeatherReadingMapper.toDomain(entity, location, CONDITION));
+        }
+        return WeatherHistoryResponseDTO.builder()
+            .location(HistoryResponseDTO.LocationDTO.builder().city("London").country("GB").build())
+            .period(HistoryResponseDTO.PeriodDTO.builder().from(from).to(to).build())
+            .count(readings.size())
+            .readings(readings.stream()
+                .map(reading -> WeatherReadingDTO.builder()
+                    .temperature(reading.getTemperatureCelsius())
+                    .temperatureUnit("celsius")
+                    .humidity(reading.getHumidity())
+                    .pressure(reading.getPressure())
+                    .windSpeed(reading.getWindSpeed())
+                    .windDirection(reading.getWindDirection())
+                    .condition(reading.getWeatherCondition())
+                    .description(reading.getWeatherDescription())
+                    .visibility(reading.getVisibility())
+                    .cloudiness(reading.getCloudiness())
+                    .timestamp(reading.getTimestamp())
+                    .build())
+                .collect(Collectors.toList()))
+            .build();
+    }
+
+    @Benchmark
+    public WeatherHistoryResponseDTO projectedRows() {
+        List<WeatherHistoryRow> history = new ArrayList<>(rows);
+        String condition = ColumnTypes.fromDictionary(CONDITION.getMain());
+        String description = ColumnTypes.fromDictionary(CONDITION.getDescription());
+        for (int i = 0; i < rows; i++) {
+            history.add(new WeatherHistoryRow(
+                timestamps[i],
+                ColumnTypes.fromReal(temperatures[i]),
+                ColumnTypes.fromReal(humidities[i]),
+                ColumnTypes.fromReal(pressures[i]),
+                ColumnTypes.fromReal(windSpeeds[i]),
+                (int) windDirections[i],
+                condition,
+                description,
+                ColumnTypes.fromReal(visibilities[i]),
+                (int) cloudiness[i]));
+        }
+        return WeatherHistoryResponseDTO.fromDomain("London", "GB", from, to, history);
+    }
+}
@@ -2,8 +2,8 @@ package com.weather.adapters.inbound.rest;
 
 import com.weather.adapters.inbound.rest.dto.HistoryResponseDTO;
 import com.weather.application.port.input.GetHistoryUseCase;
-import com.weather.domain.model.AQIReading;
-import com.weather.domain.model.WeatherReading;
+import com.weather.domain.model.AQIHistoryRow;
+import com.weather.domain.model.WeatherHistoryRow;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -46,7 +46,7 @@ public class HistoryController {
     ) {
         log.info("REST request - Get weather history for city: {}, from: {}, to: {}", city, from, to);
 
-        List<WeatherReading> readings = getHistoryUseCase.getWeatherHistory(city, country, from, to);
+        List<WeatherHistoryRow> readings = getHistoryUseCase.getWeatherHistory(city, country, from, to);
 
         HistoryResponseDTO.WeatherHistoryResponseDTO response = HistoryResponseDTO.WeatherHistoryResponseDTO.fromDomain(
             city, country, from, to, readings
@@ -72,7 +72,7 @@ public class HistoryController {
     ) {
         log.info("REST request - Get AQI history for city: {}, from: {}, to: {}", city, from, to);
 
-        List<AQIReading> readings = getHistoryUseCase.getAQIHistory(city, country, from, to);
+        List<AQIHistoryRow> readings = getHistoryUseCase.getAQIHistory(city, country, from, to);
 
         HistoryResponseDTO.AQIHistoryResponseDTO response = HistoryResponseDTO.AQIHistoryResponseDTO.fromDomain(
             city, country, from, to, readings
@@ -0,0 +1,155 @@
+package com.weather.adapters.inbound.rest;
+
+import com.weather.application.port.output.MembershipPort.Node;
+import com.weather.application.service.NodeAffinity;
+import com.weather.config.AffinityProperties;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.UriUtils;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Sends single-location weather and forecast requests to the replica that owns the location,
+ * so its local caches and in-flight deduplication see every request for that city.
+ * A request makes at most one hop: a forward carries a header that is only honoured from
+ * another member's address, a redirect carries a query parameter, and either one is served
+ * locally. A failed forward also falls back to serving locally.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "weather.affinity", name = "enabled", havingValue = "true")
+public class LocationAffinityFilter extends OncePerRequestFilter {
+
+    static final String FORWARDED_HEADER = "X-Affinity-Forwarded";
+    static final String HOP_PARAM = "affinityHop";
+    static final String SERVED_BY_HEADER = "X-Served-By";
+
+    // /api/v1/weather, /api/v1/weather/current/{city}, /api/v1/forecast, /api/v1/forecast/{city}
+    private static final Pattern ROUTED = Pattern.compile("^/api/v1/(?:weather(?:/current/([^/]+))?|forecast(?:/([^/]+))?)/?$");
+    private static final List<String> FORWARDED_REQUEST_HEADERS = List.of(HttpHeaders.AUTHORIZATION, HttpHeaders.ACCEPT);
+
+    private final NodeAffinity affinity;
+    private final AffinityProperties properties;
+    private final HttpClient client;
+
+    public LocationAffinityFilter(NodeAffinity affinity, AffinityProperties properties) {
+        this.affinity = affinity;
+        this.properties = properties;
+        this.client = HttpClient.newBuilder().connectTimeout(properties.getForwardTimeout()).build();
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !"GET".equals(request.getMethod());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+        throws ServletException, IOException {
+        Optional<Node> owner = alreadyRouted(request) ? Optional.empty() : ownerOf(request);
+        if (owner.isEmpty()) {
+            response.setHeader(SERVED_BY_HEADER, affinity.self().id());
+            chain.doFilter(request, response);
+            return;
+        }
+
+        String target = owner.get().url() + request.getRequestURI()
+            + (request.getQueryString() != null ? "?" + request.getQueryString() : "");
+        if (properties.getMode() == AffinityProperties.Mode.REDIRECT) {
+            // The owner serves the redirected request even if its ring disagrees, so there is no loop
+            response.setStatus(HttpStatus.TEMPORARY_REDIRECT.value());
+            response.setHeader(HttpHeaders.LOCATION, target + (request.getQueryString() != null ? "&" : "?")
+                + HOP_PARAM + "=" + UriUtils.encodeQueryParam(affinity.self().id(), StandardCharsets.UTF_8));
+            return;
+        }
+
+        if (!forward(request, response, owner.get(), target)) {
+            response.setHeader(SERVED_BY_HEADER, affinity.self().id());
+            chain.doFilter(request, response);
+        }
+    }
+
+    /**
+     * True for a request another replica already sent here. The forward header counts only when
+     * it comes from a member's address, so a client cannot set it to skip routing.
+     */
+    private boolean alreadyRouted(HttpServletRequest request) {
+        if (request.getParameter(HOP_PARAM) != null) {
+            return true;
+        }
+        if (request.getHeader(FORWARDED_HEADER) == null) {
+            return false;
+        }
+        if (affinity.isMemberAddress(request.getRemoteAddr())) {
+            return true;
+        }
+        log.debug("Ignoring {} from non-member {}", FORWARDED_HEADER, request.getRemoteAddr());
+        return false;
+    }
+
+    private Optional<Node> ownerOf(HttpServletRequest request) {
+        Matcher matcher = ROUTED.matcher(request.getRequestURI().substring(request.getContextPath().length()));
+        if (!matcher.matches()) {
+            return Optional.empty();
+        }
+        String pathCity = matcher.group(1) != null ? matcher.group(1) : matcher.group(2);
+        String city = pathCity != null ? UriUtils.decode(pathCity, StandardCharsets.UTF_8) : request.getParameter("city");
+        if (city == null || city.isBlank()) {
+            return Optional.empty();
+        }
+        return affinity.remoteOwner(city, request.getParameter("country"));
+    }
+
+    private boolean forward(HttpServletRequest request, HttpServletResponse response, Node owner, String target)
+        throws IOException {
+        HttpRequest.Builder forwarded = HttpRequest.newBuilder(URI.create(target))
+            .timeout(properties.getForwardTimeout())
+            .header(FORWARDED_HEADER, affinity.self().id())
+            .GET();
+        for (String header : FORWARDED_REQUEST_HEADERS) {
+            String value = request.getHeader(header);
+            if (value != null) {
+                forwarded.header(header, value);
+            }
+        }
+
+        HttpResponse<byte[]> answer;
+        try {
+            answer = client.send(forwarded.build(), HttpResponse.BodyHandlers.ofByteArray());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (IOException e) {
+            log.warn("Forwarding to owner {} failed, serving locally: {}", owner.id(), e.getMessage());
+            return false;
+        }
+        if (answer.statusCode() >= 500) {
+            log.warn("Owner {} answered {}, serving locally", owner.id(), answer.statusCode());
+            return false;
+        }
+
+        response.setStatus(answer.statusCode());
+        answer.headers().firstValue(HttpHeaders.CONTENT_TYPE).ifPresent(response::setContentType);
+        response.setHeader(SERVED_BY_HEADER, owner.id());
+        response.getOutputStream().write(answer.body());
+        return true;
+    }
+}
@@ -0,0 +1,22 @@
+package com.weather.adapters.inbound.rest;
+
+import com.weather.domain.exception.LocationNotFoundException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ProblemDetail;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+/**
+ * Maps domain exceptions to HTTP responses
+ */
+@Slf4j
+@RestControllerAdvice
+public class RestExceptionHandler {
+
+    @ExceptionHandler(LocationNotFoundException.class)
+    public ProblemDetail handleLocationNotFound(LocationNotFoundException e) {
+        log.debug("REST request for unknown location: {}", e.getMessage());
+        return ProblemDetail.forStatusAndDetail(HttpStatus.NOT_FOUND, e.getMessage());
+    }
+}
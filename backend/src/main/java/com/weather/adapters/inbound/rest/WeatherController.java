@@ -3,6 +3,8 @@ package com.weather.adapters.inbound.rest;
 import com.weather.adapters.inbound.rest.dto.WeatherResponseDTO;
 import com.weather.application.port.input.GetWeatherUseCase;
 import com.weather.application.port.input.GetWeatherUseCase.WeatherResponse;
+import com.weather.domain.model.CallPriority;
+import com.weather.domain.model.Location;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -11,6 +13,9 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * REST controller for weather operations
  */
@@ -22,6 +27,8 @@ import org.springframework.web.bind.annotation.*;
 @CrossOrigin(origins = "*", maxAge = 3600)
 public class WeatherController {
 
+    static final int MAX_BATCH_LOCATIONS = 50;
+
     private final GetWeatherUseCase getWeatherUseCase;
 
     @GetMapping
@@ -59,4 +66,35 @@ public class WeatherController {
 
         return ResponseEntity.ok(dto);
     }
+
+    @GetMapping("/batch")
+    @Operation(summary = "Get current weather for several cities",
+        description = "Retrieves current weather and air quality for up to 50 locations; unknown cities are omitted")
+    public ResponseEntity<List<WeatherResponseDTO>> getCurrentWeatherBatch(
+        @Parameter(description = "Semicolon-separated list of City[,Country]", required = true,
+            example = "London,GB;Paris,FR")
+        @RequestParam String locations
+    ) {
+        List<Location> requested = new ArrayList<>();
+        for (String entry : locations.split(";")) {
+            String[] parts = entry.split(",", 2);
+            if (!parts[0].isBlank()) {
+                requested.add(Location.builder()
+                    .city(parts[0].trim())
+                    .country(parts.length > 1 && !parts[1].isBlank() ? parts[1].trim() : null)
+                    .build());
+            }
+        }
+        if (requested.isEmpty() || requested.size() > MAX_BATCH_LOCATIONS) {
+            return ResponseEntity.badRequest().build();
+        }
+        log.info("REST request - Get current weather for {} locations", requested.size());
+
+        List<WeatherResponseDTO> dtos = getWeatherUseCase.getCurrentWeather(requested, CallPriority.INTERACTIVE)
+            .values().stream()
+            .map(WeatherResponseDTO::fromDomain)
+            .toList();
+
+        return ResponseEntity.ok(dtos);
+    }
 }
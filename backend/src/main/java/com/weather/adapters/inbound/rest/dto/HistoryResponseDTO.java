@@ -1,7 +1,7 @@
 package com.weather.adapters.inbound.rest.dto;
 
-import com.weather.domain.model.AQIReading;
-import com.weather.domain.model.WeatherReading;
+import com.weather.domain.model.AQIHistoryRow;
+import com.weather.domain.model.WeatherHistoryRow;
 import com.fasterxml.jackson.annotation.JsonFormat;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -10,7 +10,6 @@ import lombok.NoArgsConstructor;
 
 import java.time.Instant;
 import java.util.List;
-import java.util.stream.Collectors;
 
 /**
  * DTO for history API responses
@@ -29,7 +28,7 @@ public class HistoryResponseDTO {
 
         public static WeatherHistoryResponseDTO fromDomain(String city, String country,
                                                            Instant from, Instant to,
-                                                           List<WeatherReading> readings) {
+                                                           List<WeatherHistoryRow> readings) {
             return WeatherHistoryResponseDTO.builder()
                 .location(LocationDTO.builder()
                     .city(city)
@@ -42,7 +41,7 @@ public class HistoryResponseDTO {
                 .count(readings.size())
                 .readings(readings.stream()
                     .map(WeatherReadingDTO::fromDomain)
-                    .collect(Collectors.toList()))
+                    .toList())
                 .build();
         }
     }
@@ -59,7 +58,7 @@ public class HistoryResponseDTO {
 
         public static AQIHistoryResponseDTO fromDomain(String city, String country,
                                                        Instant from, Instant to,
-                                                       List<AQIReading> readings) {
+                                                       List<AQIHistoryRow> readings) {
             return AQIHistoryResponseDTO.builder()
                 .location(LocationDTO.builder()
                     .city(city)
@@ -72,7 +71,7 @@ public class HistoryResponseDTO {
                 .count(readings.size())
                 .readings(readings.stream()
                     .map(AQIReadingDTO::fromDomain)
-                    .collect(Collectors.toList()))
+                    .toList())
                 .build();
         }
     }
@@ -117,19 +116,19 @@ public class HistoryResponseDTO {
         @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss'Z'", timezone = "UTC")
         private Instant timestamp;
 
-        public static WeatherReadingDTO fromDomain(WeatherReading reading) {
+        public static WeatherReadingDTO fromDomain(WeatherHistoryRow row) {
             return WeatherReadingDTO.builder()
-                .temperature(reading.getTemperatureCelsius())
+                .temperature(row.temperatureCelsius())
                 .temperatureUnit("celsius")
-                .humidity(reading.getHumidity())
-                .pressure(reading.getPressure())
-                .windSpeed(reading.getWindSpeed())
-                .windDirection(reading.getWindDirection())
-                .condition(reading.getWeatherCondition())
-                .description(reading.getWeatherDescription())
-                .visibility(reading.getVisibility())
-                .cloudiness(reading.getCloudiness())
-                .timestamp(reading.getTimestamp())
+                .humidity(row.humidity())
+                .pressure(row.pressure())
+                .windSpeed(row.windSpeed())
+                .windDirection(row.windDirection())
+                .condition(row.weatherCondition())
+                .description(row.weatherDescription())
+                .visibility(row.visibility())
+                .cloudiness(row.cloudiness())
+                .timestamp(row.timestamp())
                 .build();
         }
     }
@@ -152,18 +151,18 @@ public class HistoryResponseDTO {
         @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss'Z'", timezone = "UTC")
         private Instant timestamp;
 
-        public static AQIReadingDTO fromDomain(AQIReading reading) {
+        public static AQIReadingDTO fromDomain(AQIHistoryRow row) {
             return AQIReadingDTO.builder()
-                .aqi(reading.getAqi())
-                .level(reading.getLevel() != null ? reading.getLevel().name() : null)
-                .levelDescription(reading.getLevel() != null ? reading.getLevel().getDescription() : null)
-                .pm25(reading.getPm25())
-                .pm10(reading.getPm10())
-                .co(reading.getCo())
-                .no2(reading.getNo2())
-                .so2(reading.getSo2())
-                .o3(reading.getO3())
-                .timestamp(reading.getTimestamp())
+                .aqi(row.aqi())
+                .level(row.level() != null ? row.level().name() : null)
+                .levelDescription(row.level() != null ? row.level().getDescription() : null)
+                .pm25(row.pm25())
+                .pm10(row.pm10())
+                .co(row.co())
+                .no2(row.no2())
+                .so2(row.so2())
+                .o3(row.o3())
+                .timestamp(row.timestamp())
                 .build();
         }
     }
@@ -0,0 +1,247 @@
+package com.weather.adapters.outbound.api;
+
+import com.weather.config.ApiKeyProperties;
+import io.github.resilience4j.ratelimiter.RateLimiter;
+import io.github.resilience4j.ratelimiter.RateLimiterConfig;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.util.UriComponentsBuilder;
+import org.springframework.web.util.UriUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * API keys of one provider, handed out by smooth weighted round-robin.
+ * Keys with a per-minute limit are skipped once it is used up; keys answered with 429 are
+ * quarantined for Retry-After (or the configured default) and keys answered with 401/403
+ * for longer, after which they rejoin the rotation on their own.
+ */
+@Slf4j
+final class ApiKeyPool {
+
+    private final String provider;
+    private final List<PooledKey> keys;
+    private final Map<String, PooledKey> byValue;
+    private final Duration rateLimitedQuarantine;
+    private final Duration unauthorizedQuarantine;
+    private final MeterRegistry meterRegistry;
+
+    private ApiKeyPool(String provider, List<PooledKey> keys, ApiKeyProperties properties, MeterRegistry meterRegistry) {
+        this.provider = provider;
+        this.keys = keys;
+        this.byValue = keys.stream().collect(Collectors.toMap(PooledKey::value, Function.identity(), (a, b) -> a));
+        this.rateLimitedQuarantine = properties.getRateLimitedQuarantine();
+        this.unauthorizedQuarantine = properties.getUnauthorizedQuarantine();
+        this.meterRegistry = meterRegistry;
+        keys.forEach(this::registerGauges);
+    }
+
+    /**
+     * Pool from weather.api-keys.providers.&lt;provider&gt;, or from the comma-separated legacy key
+     */
+    static ApiKeyPool create(String providerName, String legacyKeys, ApiKeyProperties properties,
+                             MeterRegistry meterRegistry) {
+        String provider = providerName.toLowerCase(Locale.ROOT);
+        List<ApiKeyProperties.Key> configured = properties.keysFor(provider).stream()
+            .filter(key -> key.getValue() != null && !key.getValue().isBlank())
+            .toList();
+        if (configured.isEmpty() && legacyKeys != null) {
+            configured = Arrays.stream(legacyKeys.split(","))
+                .map(String::strip)
+                .filter(value -> !value.isEmpty())
+                .map(value -> {
+                    ApiKeyProperties.Key key = new ApiKeyProperties.Key();
+                    key.setValue(value);
+                    return key;
+                })
+                .toList();
+        }
+
+        List<PooledKey> keys = new ArrayList<>();
+        for (int i = 0; i < configured.size(); i++) {
+            ApiKeyProperties.Key key = configured.get(i);
+            String name = key.getName() != null ? key.getName() : provider + "-" + (i + 1);
+            RateLimiter limiter = key.getPerMinute() > 0
+                ? RateLimiter.of("key-" + name, RateLimiterConfig.custom()
+                    .limitForPeriod(key.getPerMinute())
+                    .limitRefreshPeriod(Duration.ofMinutes(1))
+                    .timeoutDuration(Duration.ZERO)
+                    .build())
+                : null;
+            keys.add(new PooledKey(key.getValue(), name, Math.max(1, key.getWeight()), limiter));
+        }
+        return new ApiKeyPool(provider, keys, properties, meterRegistry);
+    }
+
+    boolean isEmpty() {
+        return keys.isEmpty();
+    }
+
+    /**
+     * Next key in weighted rotation that is neither quarantined nor out of its per-minute limit
+     */
+    Optional<String> acquire() {
+        long now = System.nanoTime();
+        List<PooledKey> candidates = new ArrayList<>(keys.size());
+        for (PooledKey key : keys) {
+            if (!key.isQuarantined(now)) {
+                candidates.add(key);
+            }
+        }
+        while (!candidates.isEmpty()) {
+            PooledKey key = next(candidates);
+            if (key.limiter() == null || key.limiter().acquirePermission()) {
+                return Optional.of(key.value());
+            }
+            count(key, "limited");
+            candidates.remove(key);
+        }
+        log.warn("No usable {} API key: {} configured, all quarantined or at their limit", provider, keys.size());
+        return Optional.empty();
+    }
+
+    /**
+     * Records the upstream answer for the key a request used; quarantines it on 401/403/429
+     */
+    void record(String value, int status, Duration retryAfter) {
+        PooledKey key = byValue.get(value);
+        if (key == null) {
+            return;
+        }
+        if (status == 429) {
+            Duration quarantine = retryAfter != null ? retryAfter : rateLimitedQuarantine;
+            key.quarantine(quarantine);
+            log.warn("{} key {} rate limited, skipping it for {}s", provider, key.name(), quarantine.toSeconds());
+            count(key, "rate-limited");
+        } else if (status == 401 || status == 403) {
+            key.quarantine(unauthorizedQuarantine);
+            log.warn("{} key {} rejected ({}), skipping it for {}m", provider, key.name(), status,
+                unauthorizedQuarantine.toMinutes());
+            count(key, "unauthorized");
+        } else {
+            count(key, status < 400 ? "success" : status < 500 ? "client-error" : "server-error");
+        }
+    }
+
+    /**
+     * Feeds response statuses back into the pool; the key is read from the request's query parameter
+     */
+    ExchangeFilterFunction outcomes(String queryParam) {
+        return (request, next) -> {
+            String encoded = UriComponentsBuilder.fromUri(request.url()).build().getQueryParams().getFirst(queryParam);
+            if (encoded == null) {
+                return next.exchange(request);
+            }
+            String value = UriUtils.decode(encoded, StandardCharsets.UTF_8);
+            return next.exchange(request)
+                .doOnNext(response -> record(value, response.statusCode().value(), retryAfter(response.headers().asHttpHeaders())))
+                .doOnError(e -> Optional.ofNullable(byValue.get(value)).ifPresent(key -> count(key, "io-error")));
+        };
+    }
+
+    // Smooth weighted round-robin: a 3:1 pair yields a a b a rather than a a a b
+    private synchronized PooledKey next(List<PooledKey> candidates) {
+        int total = 0;
+        PooledKey best = null;
+        for (PooledKey key : candidates) {
+            key.current += key.weight();
+            total += key.weight();
+            if (best == null || key.current > best.current) {
+                best = key;
+            }
+        }
+        best.current -= total;
+        return best;
+    }
+
+    private static Duration retryAfter(HttpHeaders headers) {
+        String value = headers.getFirst(HttpHeaders.RETRY_AFTER);
+        if (value == null) {
+            return null;
+        }
+        try {
+            return Duration.ofSeconds(Long.parseLong(value.strip()));
+        } catch (NumberFormatException e) {
+            // HTTP-date form; the default quarantine is close enough
+            return null;
+        }
+    }
+
+    private void count(PooledKey key, String outcome) {
+        Counter.builder("weather.provider.key.requests")
+            .tag("provider", provider)
+            .tag("key", key.name())
+            .tag("outcome", outcome)
+            .register(meterRegistry)
+            .increment();
+    }
+
+    private void registerGauges(PooledKey key) {
+        Gauge.builder("weather.provider.key.quarantined", key, k -> k.isQuarantined(System.nanoTime()) ? 1 : 0)
+            .description("1 while the key is skipped after a 401/403/429")
+            .tag("provider", provider)
+            .tag("key", key.name())
+            .register(meterRegistry);
+        if (key.limiter() != null) {
+            Gauge.builder("weather.provider.key.available", key.limiter(),
+                    limiter -> limiter.getMetrics().getAvailablePermissions())
+                .description("Calls left in the key's current minute")
+                .tag("provider", provider)
+                .tag("key", key.name())
+                .register(meterRegistry);
+        }
+    }
+
+    private static final class PooledKey {
+        private final String value;
+        private final String name;
+        private final int weight;
+        private final RateLimiter limiter;
+        private volatile long quarantinedUntil;
+        private int current;
+
+        PooledKey(String value, String name, int weight, RateLimiter limiter) {
+            this.value = value;
+            this.name = name;
+            this.weight = weight;
+            this.limiter = limiter;
+        }
+
+        String value() {
+            return value;
+        }
+
+        String name() {
+            return name;
+        }
+
+        int weight() {
+            return weight;
+        }
+
+        RateLimiter limiter() {
+            return limiter;
+        }
+
+        boolean isQuarantined(long now) {
+            return quarantinedUntil != 0 && now - quarantinedUntil < 0;
+        }
+
+        void quarantine(Duration duration) {
+            quarantinedUntil = System.nanoTime() + duration.toNanos();
+        }
+    }
+}
@@ -1,15 +1,22 @@
 package com.weather.adapters.outbound.api;
 
 import com.weather.application.port.output.AirQualityProviderPort;
+import com.weather.config.ApiKeyProperties;
 import com.weather.domain.model.AQIReading;
 import com.weather.domain.model.Location;
+import com.weather.domain.model.WeatherReading;
+import io.github.resilience4j.bulkhead.annotation.Bulkhead;
 import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
 import io.github.resilience4j.retry.annotation.Retry;
+import io.github.resilience4j.timelimiter.TimeLimiterRegistry;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
 
 import java.time.Duration;
 import java.time.Instant;
@@ -20,60 +27,95 @@ import java.util.Optional;
 @RequiredArgsConstructor
 public class IQAirAdapter implements AirQualityProviderPort {
 
+    static final String CURRENT_INSTANCE = "iqAirCurrent";
+
     private final WebClient.Builder webClientBuilder;
+    private final TimeLimiterRegistry timeLimiterRegistry;
+    private final ApiKeyProperties apiKeyProperties;
+    private final MeterRegistry meterRegistry;
 
+    /** Single key or comma-separated keys; weather.api-keys.providers.iqair takes precedence */
     @Value("${weather.iqair.api-key:}")
     private String apiKey;
 
     @Value("${weather.iqair.base-url:https://api.airvisual.com/v2}")
     private String baseUrl;
 
-    @Value("${weather.iqair.timeout:5000}")
-    private int timeout;
+    private ApiKeyPool keys;
+    private WebClient client;
+    private Duration timeout;
+
+    @PostConstruct
+    void init() {
+        keys = ApiKeyPool.create(getProviderName(), apiKey, apiKeyProperties, meterRegistry);
+        client = webClientBuilder.clone().baseUrl(baseUrl).filter(keys.outcomes("key")).build();
+        timeout = timeLimiterRegistry.timeLimiter(CURRENT_INSTANCE).getTimeLimiterConfig().getTimeoutDuration();
+    }
 
     @Override
-    @CircuitBreaker(name = "weatherApi", fallbackMethod = "getCurrentAirQualityFallback")
-    @Retry(name = "weatherApi")
+    @Retry(name = CURRENT_INSTANCE, fallbackMethod = "getCurrentAirQualityFallback")
+    @CircuitBreaker(name = CURRENT_INSTANCE)
+    @Bulkhead(name = CURRENT_INSTANCE)
     public Optional<AQIReading> getCurrentAirQuality(String city, String country) {
-        if (apiKey == null || apiKey.isBlank()) {
+        return fetchConditions(city, country).map(CurrentConditions::airQuality);
+    }
+
+    /**
+     * Same request as {@link #getCurrentAirQuality}, also returning the weather block
+     */
+    @Override
+    @Retry(name = CURRENT_INSTANCE, fallbackMethod = "getCurrentConditionsFallback")
+    @CircuitBreaker(name = CURRENT_INSTANCE)
+    @Bulkhead(name = CURRENT_INSTANCE)
+    public Optional<CurrentConditions> getCurrentConditions(String city, String country) {
+        return fetchConditions(city, country);
+    }
+
+    private Optional<CurrentConditions> fetchConditions(String city, String country) {
+        if (keys.isEmpty()) {
             log.debug("IQAir API key not configured, skipping");
             return Optional.empty();
         }
 
         try {
-            WebClient client = webClientBuilder.baseUrl(baseUrl).build();
-
+            String key = keys.acquire()
+                .orElseThrow(() -> new ProviderException(getProviderName(), "No usable API key"));
             IQAirResponse response = client.get()
                 .uri(uriBuilder -> uriBuilder
                     .path("/city")
                     .queryParam("city", city)
                     .queryParam("state", "")
                     .queryParam("country", country != null ? country : "")
-                    .queryParam("key", apiKey)
+                    .queryParam("key", key)
                     .build())
                 .retrieve()
                 .bodyToMono(IQAirResponse.class)
-                .timeout(Duration.ofMillis(timeout))
+                .timeout(timeout)
                 .block();
 
-            if (response == null || response.data() == null) {
-                log.warn("Empty response from IQAir API for {}", city);
-                return Optional.empty();
+            if (response == null || response.data() == null || response.data().current() == null) {
+                throw new ProviderException(getProviderName(), "Empty AQI response for " + city);
             }
 
-            AQIReading reading = mapToAQIReading(response, city, country);
+            Location location = mapLocation(response.data(), city, country);
+            AQIReading reading = mapToAQIReading(response.data().current(), location);
             log.info("Successfully fetched AQI from IQAir for {}", city);
-            return Optional.of(reading);
+            return Optional.of(new CurrentConditions(reading, mapToWeatherReading(response.data().current(), location)));
 
-        } catch (Exception e) {
-            log.error("Error fetching AQI from IQAir for {}: {}", city, e.getMessage());
+        } catch (WebClientResponseException.NotFound | WebClientResponseException.BadRequest e) {
+            // IQAir answers unknown cities with 400 "city_not_found"
+            log.info("IQAir does not know location {}: {}", city, e.getStatusCode());
             return Optional.empty();
+        } catch (ProviderException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new ProviderException(getProviderName(), "Error fetching AQI for " + city, e);
         }
     }
 
     @Override
     public boolean isAvailable() {
-        return apiKey != null && !apiKey.isBlank();
+        return !keys.isEmpty();
     }
 
     @Override
@@ -81,15 +123,25 @@ public class IQAirAdapter implements AirQualityProviderPort {
         return "IQAir";
     }
 
-    private AQIReading mapToAQIReading(IQAirResponse response, String city, String country) {
-        IQAirResponse.Data data = response.data();
-        IQAirResponse.Current current = data.current();
-        IQAirResponse.Pollution pollution = current.pollution();
+    @Override
+    public WeatherReading.DataSource getDataSource() {
+        return WeatherReading.DataSource.IQAIR_API;
+    }
 
-        Location location = Location.builder()
+    private Location mapLocation(IQAirResponse.Data data, String city, String country) {
+        // GeoJSON order: [longitude, latitude]
+        Double[] coordinates = data.location() != null ? data.location().coordinates() : null;
+        boolean hasCoordinates = coordinates != null && coordinates.length == 2;
+        return Location.builder()
             .city(city)
             .country(country)
+            .latitude(hasCoordinates ? coordinates[1] : null)
+            .longitude(hasCoordinates ? coordinates[0] : null)
             .build();
+    }
+
+    private AQIReading mapToAQIReading(IQAirResponse.Current current, Location location) {
+        IQAirResponse.Pollution pollution = current.pollution();
 
         return AQIReading.builder()
             .location(location)
@@ -100,8 +152,54 @@ public class IQAirAdapter implements AirQualityProviderPort {
             .build();
     }
 
+    /**
+     * Maps the weather block of the response; null when it is missing or has no temperature
+     */
+    private WeatherReading mapToWeatherReading(IQAirResponse.Current current, Location location) {
+        IQAirResponse.Weather weather = current.weather();
+        if (weather == null || weather.tp() == null || weather.ts() == null) {
+            return null;
+        }
+
+        return WeatherReading.builder()
+            .location(location)
+            .timestamp(Instant.parse(weather.ts()))
+            .temperatureCelsius(weather.tp())
+            .pressure(weather.pr())
+            .humidity(weather.hu() != null ? weather.hu().doubleValue() : null)
+            .windSpeed(weather.ws())
+            .windDirection(weather.wd())
+            .weatherCondition(conditionOf(weather.ic()))
+            .weatherIcon(weather.ic())
+            .build();
+    }
+
+    // IQAir uses OpenWeather-style icon codes ("01d", "10n", ...)
+    private static String conditionOf(String icon) {
+        if (icon == null || icon.length() < 2) {
+            return null;
+        }
+        return switch (icon.substring(0, 2)) {
+            case "01" -> "Clear";
+            case "02", "03", "04" -> "Clouds";
+            case "09" -> "Drizzle";
+            case "10" -> "Rain";
+            case "11" -> "Thunderstorm";
+            case "13" -> "Snow";
+            case "50" -> "Mist";
+            default -> null;
+        };
+    }
+
+    private Optional<CurrentConditions> getCurrentConditionsFallback(String city, String country, Exception e) {
+        ProviderException.rethrowRejected(getProviderName(), e);
+        log.warn("IQAir getCurrentConditions unavailable for {}: {}", city, e.getMessage());
+        return Optional.empty();
+    }
+
     private Optional<AQIReading> getCurrentAirQualityFallback(String city, String country, Exception e) {
-        log.error("Circuit breaker activated for IQAir getCurrentAirQuality: {}", e.getMessage());
+        ProviderException.rethrowRejected(getProviderName(), e);
+        log.warn("IQAir getCurrentAirQuality unavailable for {}: {}", city, e.getMessage());
         return Optional.empty();
     }
 
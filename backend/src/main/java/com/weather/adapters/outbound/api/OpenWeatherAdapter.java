@@ -1,88 +1,322 @@
 package com.weather.adapters.outbound.api;
 
 import com.weather.application.port.output.WeatherProviderPort;
+import com.weather.config.ApiKeyProperties;
+import com.weather.domain.exception.LocationNotFoundException;
 import com.weather.domain.model.Forecast;
 import com.weather.domain.model.Location;
 import com.weather.domain.model.WeatherReading;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.github.resilience4j.bulkhead.annotation.Bulkhead;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker.State;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
 import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
+import io.github.resilience4j.retry.RetryRegistry;
 import io.github.resilience4j.retry.annotation.Retry;
+import io.github.resilience4j.timelimiter.TimeLimiterRegistry;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
 import org.springframework.stereotype.Component;
 import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
 import reactor.core.publisher.Mono;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.time.Duration;
 import java.time.Instant;
-import java.time.LocalDate;
 import java.time.ZoneId;
+import java.time.ZoneOffset;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
 @Slf4j
 @Component
 @RequiredArgsConstructor
 public class OpenWeatherAdapter implements WeatherProviderPort {
 
+    static final String CURRENT_INSTANCE = "openWeatherCurrent";
+    static final String FORECAST_INSTANCE = "openWeatherForecast";
+    static final String GROUP_INSTANCE = "openWeatherGroup";
+    static final String ONE_CALL_INSTANCE = "openWeatherOneCall";
+
+    /** Maximum city ids per /group call */
+    static final int GROUP_LIMIT = 20;
+
+    private static final int MAX_CITY_IDS = 10_000;
+
     private final WebClient.Builder webClientBuilder;
+    private final TimeLimiterRegistry timeLimiterRegistry;
+    private final CircuitBreakerRegistry circuitBreakerRegistry;
+    private final RetryRegistry retryRegistry;
+    private final ApiKeyProperties apiKeyProperties;
+    private final MeterRegistry meterRegistry;
+
+    /** location key -> OpenWeather city id, learned from single-city responses; least recently used evicted first */
+    private final Map<String, Long> cityIds = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Long> eldest) {
+            return size() > MAX_CITY_IDS;
+        }
+    });
 
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    /** Single key or comma-separated keys; weather.api-keys.providers.openweathermap takes precedence */
     @Value("${weather.openweather.api-key}")
     private String apiKey;
 
     @Value("${weather.openweather.base-url}")
     private String baseUrl;
 
-    @Value("${weather.openweather.timeout:5000}")
-    private int timeout;
+    @Value("${weather.openweather.one-call.enabled:false}")
+    private boolean oneCallEnabled;
+
+    @Value("${weather.openweather.one-call.base-url:https://api.openweathermap.org/data/3.0}")
+    private String oneCallBaseUrl;
+
+    private ApiKeyPool keys;
+    private WebClient client;
+    private WebClient oneCallClient;
+    private Duration currentTimeout;
+    private Duration forecastTimeout;
+    private Duration groupTimeout;
+    private Duration oneCallTimeout;
+
+    @PostConstruct
+    void init() {
+        keys = ApiKeyPool.create(getProviderName(), apiKey, apiKeyProperties, meterRegistry);
+        client = webClientBuilder.clone().baseUrl(baseUrl).filter(keys.outcomes("appid")).build();
+        oneCallClient = webClientBuilder.clone().baseUrl(oneCallBaseUrl).filter(keys.outcomes("appid")).build();
+        currentTimeout = timeLimiterRegistry.timeLimiter(CURRENT_INSTANCE).getTimeLimiterConfig().getTimeoutDuration();
+        forecastTimeout = timeLimiterRegistry.timeLimiter(FORECAST_INSTANCE).getTimeLimiterConfig().getTimeoutDuration();
+        groupTimeout = timeLimiterRegistry.timeLimiter(GROUP_INSTANCE).getTimeLimiterConfig().getTimeoutDuration();
+        oneCallTimeout = timeLimiterRegistry.timeLimiter(ONE_CALL_INSTANCE).getTimeLimiterConfig().getTimeoutDuration();
+    }
 
     @Override
-    @CircuitBreaker(name = "weatherApi", fallbackMethod = "getCurrentWeatherFallback")
-    @Retry(name = "weatherApi")
+    @Retry(name = CURRENT_INSTANCE, fallbackMethod = "getCurrentWeatherFallback")
+    @CircuitBreaker(name = CURRENT_INSTANCE)
+    @Bulkhead(name = CURRENT_INSTANCE)
     public Optional<WeatherReading> getCurrentWeather(String city, String country) {
-        if (apiKey == null || apiKey.isBlank()) {
+        if (keys.isEmpty()) {
             log.warn("OpenWeather API key not configured");
             return Optional.empty();
         }
+        return fetchCurrent(city, country);
+    }
+
+    /**
+     * One /group call per 20 known city ids, plus one call per location without an id;
+     * calls a circuit breaker would turn away are not counted
+     */
+    @Override
+    public int batchCalls(List<Location> locations) {
+        Set<Long> ids = new HashSet<>();
+        int single = 0;
+        for (Location location : locations) {
+            Long id = cityIds.get(location.getLocationKey());
+            if (id != null) {
+                ids.add(id);
+            } else {
+                single++;
+            }
+        }
+        int groups = accepting(GROUP_INSTANCE) ? (ids.size() + GROUP_LIMIT - 1) / GROUP_LIMIT : 0;
+        return groups + (accepting(CURRENT_INSTANCE) ? single : 0);
+    }
+
+    /**
+     * Fetches locations with a known city id through /group (up to 20 ids per call) and the
+     * rest one by one, which teaches us their ids for the next batch. All calls run at once;
+     * locations that fail, are unknown or are still unanswered when the budget runs out are
+     * left out of the result.
+     */
+    @Override
+    public Map<String, WeatherReading> getCurrentWeatherBatch(List<Location> locations, Duration budget) {
+        long deadline = System.nanoTime() + budget.toNanos();
+        Map<String, WeatherReading> readings = new LinkedHashMap<>();
+        if (keys.isEmpty()) {
+            log.warn("OpenWeather API key not configured");
+            return readings;
+        }
+
+        Map<Long, String> grouped = new LinkedHashMap<>();
+        List<Location> single = new ArrayList<>();
+        for (Location location : locations) {
+            Long id = cityIds.get(location.getLocationKey());
+            if (id != null) {
+                grouped.put(id, location.getLocationKey());
+            } else {
+                single.add(location);
+            }
+        }
+
+        List<Future<Map<String, WeatherReading>>> calls = new ArrayList<>();
+        List<Long> ids = new ArrayList<>(grouped.keySet());
+        for (int from = 0; from < ids.size(); from += GROUP_LIMIT) {
+            List<Long> chunk = ids.subList(from, Math.min(from + GROUP_LIMIT, ids.size()));
+            calls.add(executor.submit(() -> {
+                Map<String, WeatherReading> found = new LinkedHashMap<>();
+                try {
+                    resilient(GROUP_INSTANCE, () -> fetchGroup(chunk)).forEach(response -> {
+                        String key = grouped.get(response.id());
+                        if (key != null && response.main() != null) {
+                            found.put(key, mapToWeatherReading(response));
+                        }
+                    });
+                } catch (Exception e) {
+                    log.warn("OpenWeather group call for {} ids failed: {}", chunk.size(), e.getMessage());
+                }
+                return found;
+            }));
+        }
+
+        for (Location location : single) {
+            calls.add(executor.submit(() -> {
+                try {
+                    return resilient(CURRENT_INSTANCE, () -> fetchCurrent(location.getCity(), location.getCountry()))
+                        .map(reading -> Map.of(location.getLocationKey(), reading))
+                        .orElse(Map.of());
+                } catch (Exception e) {
+                    log.warn("OpenWeather batch lookup of {} failed: {}", location.getLocationKey(), e.getMessage());
+                    return Map.<String, WeatherReading>of();
+                }
+            }));
+        }
+
+        for (Future<Map<String, WeatherReading>> call : calls) {
+            try {
+                readings.putAll(call.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS));
+            } catch (TimeoutException e) {
+                call.cancel(true);
+            } catch (ExecutionException e) {
+                // calls never throw
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                calls.forEach(future -> future.cancel(true));
+                break;
+            }
+        }
+
+        log.info("Fetched {} of {} locations from OpenWeather ({} group calls)",
+            readings.size(), locations.size(), (ids.size() + GROUP_LIMIT - 1) / GROUP_LIMIT);
+        return readings;
+    }
 
+    private Optional<WeatherReading> fetchCurrent(String city, String country) {
         String query = country != null ? city + "," + country : city;
 
         try {
-            WebClient client = webClientBuilder.baseUrl(baseUrl).build();
-
+            String key = key();
             OpenWeatherCurrentResponse response = client.get()
                 .uri(uriBuilder -> uriBuilder
                     .path("/weather")
                     .queryParam("q", query)
-                    .queryParam("appid", apiKey)
+                    .queryParam("appid", key)
                     .queryParam("units", "metric")
                     .build())
                 .retrieve()
                 .bodyToMono(OpenWeatherCurrentResponse.class)
-                .timeout(Duration.ofMillis(timeout))
+                .timeout(currentTimeout)
                 .block();
 
-            if (response == null) {
-                log.warn("Empty response from OpenWeather API for {}", query);
-                return Optional.empty();
+            if (response == null || response.main() == null) {
+                throw new ProviderException(getProviderName(), "Empty weather response for " + query);
             }
 
             WeatherReading reading = mapToWeatherReading(response);
+            rememberCityId(Location.keyOf(city, country), response.id());
             log.info("Successfully fetched weather from OpenWeather for {}", query);
             return Optional.of(reading);
 
+        } catch (WebClientResponseException.NotFound e) {
+            log.info("OpenWeather does not know location {}", query);
+            throw new LocationNotFoundException(query);
+        } catch (ProviderException e) {
+            throw e;
         } catch (Exception e) {
-            log.error("Error fetching weather from OpenWeather for {}: {}", query, e.getMessage());
+            throw new ProviderException(getProviderName(), "Error fetching weather for " + query, e);
+        }
+    }
+
+    @Override
+    public boolean supportsCombinedFetch() {
+        return oneCallEnabled && !keys.isEmpty();
+    }
+
+    /**
+     * One Call API: current conditions and 8 daily forecasts by coordinates in one request
+     */
+    @Override
+    @Retry(name = ONE_CALL_INSTANCE, fallbackMethod = "getCurrentAndForecastFallback")
+    @CircuitBreaker(name = ONE_CALL_INSTANCE)
+    @Bulkhead(name = ONE_CALL_INSTANCE)
+    public Optional<CurrentAndForecast> getCurrentAndForecast(Location location) {
+        if (!supportsCombinedFetch() || !location.hasCoordinates()) {
             return Optional.empty();
         }
+
+        String query = location.getLocationKey();
+
+        try {
+            String key = key();
+            OpenWeatherOneCallResponse response = oneCallClient.get()
+                .uri(uriBuilder -> uriBuilder
+                    .path("/onecall")
+                    .queryParam("lat", location.getLatitude())
+                    .queryParam("lon", location.getLongitude())
+                    .queryParam("exclude", "minutely,hourly,alerts")
+                    .queryParam("appid", key)
+                    .queryParam("units", "metric")
+                    .build())
+                .retrieve()
+                .bodyToMono(OpenWeatherOneCallResponse.class)
+                .timeout(oneCallTimeout)
+                .block();
+
+            if (response == null || response.current() == null) {
+                throw new ProviderException(getProviderName(), "Empty One Call response for " + query);
+            }
+
+            CurrentAndForecast result = mapOneCall(response, location);
+            log.info("Fetched current weather and {} forecast days from OpenWeather One Call for {}",
+                result.forecasts().size(), query);
+            return Optional.of(result);
+
+        } catch (ProviderException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new ProviderException(getProviderName(), "Error fetching One Call data for " + query, e);
+        }
     }
 
     @Override
-    @CircuitBreaker(name = "weatherApi", fallbackMethod = "getForecastFallback")
-    @Retry(name = "weatherApi")
+    @Retry(name = FORECAST_INSTANCE, fallbackMethod = "getForecastFallback")
+    @CircuitBreaker(name = FORECAST_INSTANCE)
+    @Bulkhead(name = FORECAST_INSTANCE)
     public Optional<List<Forecast>> getForecast(String city, String country, int days) {
-        if (apiKey == null || apiKey.isBlank()) {
+        if (keys.isEmpty()) {
             log.warn("OpenWeather API key not configured");
             return Optional.empty();
         }
@@ -90,39 +324,97 @@ public class OpenWeatherAdapter implements WeatherProviderPort {
         String query = country != null ? city + "," + country : city;
 
         try {
-            WebClient client = webClientBuilder.baseUrl(baseUrl).build();
-
-            OpenWeatherForecastResponse response = client.get()
+            // Items are folded into daily aggregates chunk by chunk while the body streams in
+            OpenWeatherForecastDecoder decoder = new OpenWeatherForecastDecoder(city, country, ZoneId.systemDefault());
+            String key = key();
+            List<Forecast> forecasts = client.get()
                 .uri(uriBuilder -> uriBuilder
                     .path("/forecast")
                     .queryParam("q", query)
-                    .queryParam("appid", apiKey)
+                    .queryParam("appid", key)
                     .queryParam("units", "metric")
                     .queryParam("cnt", days * 8) // 8 forecasts per day (3-hour intervals)
                     .build())
                 .retrieve()
-                .bodyToMono(OpenWeatherForecastResponse.class)
-                .timeout(Duration.ofMillis(timeout))
+                .bodyToFlux(DataBuffer.class)
+                .doOnNext(buffer -> feed(decoder, buffer))
+                .then(Mono.fromCallable(decoder::finish))
+                .timeout(forecastTimeout)
                 .block();
 
-            if (response == null || response.list() == null) {
-                log.warn("Empty forecast response from OpenWeather API for {}", query);
-                return Optional.empty();
+            if (forecasts == null || forecasts.isEmpty()) {
+                throw new ProviderException(getProviderName(), "Empty forecast response for " + query);
             }
 
-            List<Forecast> forecasts = mapToForecasts(response, city, country);
             log.info("Successfully fetched forecast from OpenWeather for {}", query);
             return Optional.of(forecasts);
 
+        } catch (WebClientResponseException.NotFound e) {
+            log.info("OpenWeather does not know location {}", query);
+            throw new LocationNotFoundException(query);
+        } catch (ProviderException e) {
+            throw e;
         } catch (Exception e) {
-            log.error("Error fetching forecast from OpenWeather for {}: {}", query, e.getMessage());
-            return Optional.empty();
+            throw new ProviderException(getProviderName(), "Error fetching forecast for " + query, e);
+        }
+    }
+
+    private List<OpenWeatherCurrentResponse> fetchGroup(List<Long> ids) {
+        try {
+            String key = key();
+            OpenWeatherGroupResponse response = client.get()
+                .uri(uriBuilder -> uriBuilder
+                    .path("/group")
+                    .queryParam("id", ids.stream().map(String::valueOf).collect(Collectors.joining(",")))
+                    .queryParam("appid", key)
+                    .queryParam("units", "metric")
+                    .build())
+                .retrieve()
+                .bodyToMono(OpenWeatherGroupResponse.class)
+                .timeout(groupTimeout)
+                .block();
+
+            if (response == null || response.list() == null) {
+                throw new ProviderException(getProviderName(), "Empty group response for " + ids.size() + " ids");
+            }
+            return response.list();
+
+        } catch (ProviderException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new ProviderException(getProviderName(), "Error fetching group of " + ids.size() + " ids", e);
+        }
+    }
+
+    private String key() {
+        return keys.acquire().orElseThrow(() -> new ProviderException(getProviderName(), "No usable API key"));
+    }
+
+    // Same breaker and retry instances the annotations use, applied per call inside a batch
+    private <T> T resilient(String instance, Supplier<T> call) {
+        return retryRegistry.retry(instance)
+            .executeSupplier(() -> circuitBreakerRegistry.circuitBreaker(instance).executeSupplier(call));
+    }
+
+    private boolean accepting(String instance) {
+        State state = circuitBreakerRegistry.circuitBreaker(instance).getState();
+        return state != State.OPEN && state != State.FORCED_OPEN;
+    }
+
+    private void rememberCityId(String locationKey, long id) {
+        if (id > 0) {
+            cityIds.put(locationKey, id);
         }
     }
 
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
     @Override
     public boolean isAvailable() {
-        return apiKey != null && !apiKey.isBlank();
+        return !keys.isEmpty();
     }
 
     @Override
@@ -130,12 +422,18 @@ public class OpenWeatherAdapter implements WeatherProviderPort {
         return "OpenWeatherMap";
     }
 
+    @Override
+    public WeatherReading.DataSource getDataSource() {
+        return WeatherReading.DataSource.OPENWEATHER_API;
+    }
+
     private WeatherReading mapToWeatherReading(OpenWeatherCurrentResponse response) {
         Location location = Location.builder()
             .city(response.name())
             .country(response.sys() != null ? response.sys().country() : null)
             .latitude(response.coord() != null ? response.coord().lat() : null)
             .longitude(response.coord() != null ? response.coord().lon() : null)
+            .timezone(timezoneOf(response))
             .build();
 
         return WeatherReading.builder()
@@ -146,6 +444,8 @@ public class OpenWeatherAdapter implements WeatherProviderPort {
             .pressure(response.main().pressure().doubleValue())
             .windSpeed(response.wind() != null ? response.wind().speed() : null)
             .windDirection(response.wind() != null ? response.wind().deg() : null)
+            .conditionCode(response.weather() != null && !response.weather().isEmpty()
+                ? response.weather().get(0).id() : null)
             .weatherCondition(response.weather() != null && !response.weather().isEmpty()
                 ? response.weather().get(0).main() : null)
             .weatherDescription(response.weather() != null && !response.weather().isEmpty()
@@ -157,69 +457,108 @@ public class OpenWeatherAdapter implements WeatherProviderPort {
             .build();
     }
 
-    private List<Forecast> mapToForecasts(OpenWeatherForecastResponse response, String city, String country) {
+    private CurrentAndForecast mapOneCall(OpenWeatherOneCallResponse response, Location requested) {
+        ZoneOffset offset = ZoneOffset.ofTotalSeconds(response.timezoneOffset() != null ? response.timezoneOffset() : 0);
         Location location = Location.builder()
-            .city(city)
-            .country(country)
-            .latitude(response.city() != null && response.city().coord() != null
-                ? response.city().coord().lat() : null)
-            .longitude(response.city() != null && response.city().coord() != null
-                ? response.city().coord().lon() : null)
+            .city(requested.getCity())
+            .country(requested.getCountry())
+            .latitude(response.lat())
+            .longitude(response.lon())
+            .timezone(response.timezoneOffset() != null ? offset.getId() : requested.getTimezone())
             .build();
 
-        List<Forecast> forecasts = new ArrayList<>();
-        response.list().stream()
-            .collect(java.util.stream.Collectors.groupingBy(
-                item -> Instant.ofEpochSecond(item.dt()).atZone(ZoneId.systemDefault()).toLocalDate()
-            ))
-            .forEach((date, items) -> {
-                forecasts.add(aggregateDailyForecast(location, date, items));
-            });
+        OpenWeatherOneCallResponse.Current current = response.current();
+        Weather currentWeather = current.weather() != null && !current.weather().isEmpty()
+            ? current.weather().get(0) : null;
+        WeatherReading reading = WeatherReading.builder()
+            .location(location)
+            .timestamp(Instant.ofEpochSecond(current.dt()))
+            .temperatureCelsius(current.temp())
+            .humidity(current.humidity() != null ? current.humidity().doubleValue() : null)
+            .pressure(current.pressure() != null ? current.pressure().doubleValue() : null)
+            .windSpeed(current.windSpeed())
+            .windDirection(current.windDeg())
+            .conditionCode(currentWeather != null ? currentWeather.id() : null)
+            .weatherCondition(currentWeather != null ? currentWeather.main() : null)
+            .weatherDescription(currentWeather != null ? currentWeather.description() : null)
+            .weatherIcon(currentWeather != null ? currentWeather.icon() : null)
+            .visibility(current.visibility() != null ? current.visibility().doubleValue() : null)
+            .cloudiness(current.clouds())
+            .build();
 
-        return forecasts;
+        Instant now = Instant.now();
+        List<Forecast> forecasts = response.daily() == null ? List.of() : response.daily().stream()
+            .map(day -> {
+                Weather weather = day.weather() != null && !day.weather().isEmpty() ? day.weather().get(0) : null;
+                return Forecast.builder()
+                    .location(location)
+                    .date(Instant.ofEpochSecond(day.dt()).atOffset(offset).toLocalDate())
+                    .tempMin(day.temp() != null ? day.temp().min() : null)
+                    .tempMax(day.temp() != null ? day.temp().max() : null)
+                    .tempAvg(day.temp() != null ? day.temp().day() : null)
+                    .humidity(day.humidity())
+                    .windSpeed(day.windSpeed())
+                    .conditionCode(weather != null ? weather.id() : null)
+                    .weatherCondition(weather != null ? weather.main() : null)
+                    .weatherDescription(weather != null ? weather.description() : null)
+                    .weatherIcon(weather != null ? weather.icon() : null)
+                    .precipitationProbability(day.pop() != null ? day.pop() * 100 : null)
+                    .precipitationAmount(day.rain())
+                    .cloudiness(day.clouds())
+                    .uvIndex(day.uvi() != null ? (int) Math.round(day.uvi()) : null)
+                    .sunrise(day.sunrise() != null ? Instant.ofEpochSecond(day.sunrise()) : null)
+                    .sunset(day.sunset() != null ? Instant.ofEpochSecond(day.sunset()) : null)
+                    .createdAt(now)
+                    .build();
+            })
+            .toList();
+
+        return new CurrentAndForecast(reading, forecasts);
     }
 
-    private Forecast aggregateDailyForecast(Location location, LocalDate date,
-                                           List<OpenWeatherForecastResponse.ForecastItem> items) {
-        double tempMin = items.stream()
-            .mapToDouble(i -> i.main().tempMin())
-            .min().orElse(0);
-        double tempMax = items.stream()
-            .mapToDouble(i -> i.main().tempMax())
-            .max().orElse(0);
-        double tempAvg = items.stream()
-            .mapToDouble(i -> i.main().temp())
-            .average().orElse(0);
-
-        var firstItem = items.get(0);
-
-        return Forecast.builder()
-            .location(location)
-            .date(date)
-            .tempMin(tempMin)
-            .tempMax(tempMax)
-            .tempAvg(tempAvg)
-            .humidity(firstItem.main().humidity())
-            .windSpeed(firstItem.wind() != null ? firstItem.wind().speed() : null)
-            .weatherCondition(firstItem.weather() != null && !firstItem.weather().isEmpty()
-                ? firstItem.weather().get(0).main() : null)
-            .weatherDescription(firstItem.weather() != null && !firstItem.weather().isEmpty()
-                ? firstItem.weather().get(0).description() : null)
-            .weatherIcon(firstItem.weather() != null && !firstItem.weather().isEmpty()
-                ? firstItem.weather().get(0).icon() : null)
-            .precipitationProbability(firstItem.pop() != null ? firstItem.pop() * 100 : null)
-            .cloudiness(firstItem.clouds() != null ? firstItem.clouds().all() : null)
-            .createdAt(Instant.now())
-            .build();
+    // /weather has a top-level offset, /group entries carry it in sys
+    private static String timezoneOf(OpenWeatherCurrentResponse response) {
+        Integer offset = response.timezone() != null ? response.timezone()
+            : response.sys() != null ? response.sys().timezone() : null;
+        return offset != null ? ZoneOffset.ofTotalSeconds(offset).getId() : null;
+    }
+
+    /**
+     * Hands one body buffer to the decoder and releases it
+     */
+    static void feed(OpenWeatherForecastDecoder decoder, DataBuffer buffer) {
+        try {
+            byte[] chunk = new byte[buffer.readableByteCount()];
+            buffer.read(chunk);
+            decoder.feed(chunk, 0, chunk.length);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            DataBufferUtils.release(buffer);
+        }
     }
 
     private Optional<WeatherReading> getCurrentWeatherFallback(String city, String country, Exception e) {
-        log.error("Circuit breaker activated for getCurrentWeather: {}", e.getMessage());
+        if (e instanceof LocationNotFoundException notFound) {
+            throw notFound;
+        }
+        ProviderException.rethrowRejected(getProviderName(), e);
+        log.warn("OpenWeather getCurrentWeather unavailable for {}: {}", city, e.getMessage());
+        return Optional.empty();
+    }
+
+    private Optional<CurrentAndForecast> getCurrentAndForecastFallback(Location location, Exception e) {
+        ProviderException.rethrowRejected(getProviderName(), e);
+        log.warn("OpenWeather One Call unavailable for {}: {}", location.getLocationKey(), e.getMessage());
         return Optional.empty();
     }
 
     private Optional<List<Forecast>> getForecastFallback(String city, String country, int days, Exception e) {
-        log.error("Circuit breaker activated for getForecast: {}", e.getMessage());
+        if (e instanceof LocationNotFoundException notFound) {
+            throw notFound;
+        }
+        ProviderException.rethrowRejected(getProviderName(), e);
+        log.warn("OpenWeather getForecast unavailable for {}: {}", city, e.getMessage());
         return Optional.empty();
     }
 
@@ -233,7 +572,7 @@ public class OpenWeatherAdapter implements WeatherProviderPort {
         Clouds clouds,
         long dt,
         Sys sys,
-        int timezone,
+        Integer timezone,
         long id,
         String name,
         int cod
@@ -243,35 +582,53 @@ public class OpenWeatherAdapter implements WeatherProviderPort {
 
     record Weather(int id, String main, String description, String icon) {}
 
-    record Main(double temp, double feelsLike, double tempMin, double tempMax,
+    record Main(double temp,
+                @JsonProperty("feels_like") double feelsLike,
+                @JsonProperty("temp_min") double tempMin,
+                @JsonProperty("temp_max") double tempMax,
                 Integer pressure, Integer humidity) {}
 
     record Wind(Double speed, Integer deg) {}
 
     record Clouds(Integer all) {}
 
-    record Sys(int type, long id, String country, long sunrise, long sunset) {}
+    record Sys(int type, long id, String country, long sunrise, long sunset, Integer timezone) {}
 
-    record OpenWeatherForecastResponse(
-        String cod,
-        int message,
-        int cnt,
-        List<ForecastItem> list,
-        City city
+    record OpenWeatherGroupResponse(int cnt, List<OpenWeatherCurrentResponse> list) {}
+
+    record OpenWeatherOneCallResponse(
+        double lat,
+        double lon,
+        @JsonProperty("timezone_offset") Integer timezoneOffset,
+        Current current,
+        List<Daily> daily
     ) {
-        record ForecastItem(
+        record Current(
             long dt,
-            Main main,
-            List<Weather> weather,
-            Clouds clouds,
-            Wind wind,
+            Double temp,
+            Integer pressure,
+            Integer humidity,
+            Integer clouds,
             Integer visibility,
+            @JsonProperty("wind_speed") Double windSpeed,
+            @JsonProperty("wind_deg") Integer windDeg,
+            List<Weather> weather
+        ) {}
+
+        record Daily(
+            long dt,
+            Long sunrise,
+            Long sunset,
+            Temp temp,
+            Integer humidity,
+            @JsonProperty("wind_speed") Double windSpeed,
+            List<Weather> weather,
+            Integer clouds,
             Double pop,
-            Sys sys,
-            String dtTxt
+            Double rain,
+            Double uvi
         ) {}
 
-        record City(long id, String name, Coord coord, String country,
-                   int population, int timezone, long sunrise, long sunset) {}
+        record Temp(Double day, Double min, Double max) {}
     }
 }
@@ -0,0 +1,341 @@
+package com.weather.adapters.outbound.api;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.async.ByteArrayFeeder;
+import com.weather.domain.model.Forecast;
+import com.weather.domain.model.Location;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Single-pass decoder for /forecast responses.
+ * Body chunks are fed to a non-blocking Jackson parser as they arrive; each 3-hour item is
+ * read into one reusable slot and folded into its day's accumulator when the item closes,
+ * so neither the body nor the item list is ever held in memory. Not thread-safe: one
+ * instance per response.
+ */
+final class OpenWeatherForecastDecoder {
+
+    private static final JsonFactory JSON = new JsonFactory();
+    private static final int MAX_DEPTH = 8;
+
+    private final String city;
+    private final String country;
+    private final ZoneId bucketZone;
+    private final JsonParser parser;
+    private final ByteArrayFeeder feeder;
+
+    private final String[] path = new String[MAX_DEPTH];
+    private int depth;
+    private String field;
+
+    private final Item item = new Item();
+    private final Map<LocalDate, Day> days = new LinkedHashMap<>();
+    private boolean sawList;
+    private Double latitude;
+    private Double longitude;
+    private Integer timezoneOffset;
+
+    /**
+     * @param bucketZone zone whose calendar days the 3-hour items are grouped into
+     */
+    OpenWeatherForecastDecoder(String city, String country, ZoneId bucketZone) {
+        this.city = city;
+        this.country = country;
+        this.bucketZone = bucketZone;
+        try {
+            this.parser = JSON.createNonBlockingByteArrayParser();
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot create non-blocking JSON parser", e);
+        }
+        this.feeder = (ByteArrayFeeder) parser.getNonBlockingInputFeeder();
+    }
+
+    /**
+     * Consumes the next chunk of the body; the array may be reused once this returns
+     */
+    void feed(byte[] chunk, int offset, int length) throws IOException {
+        feeder.feedInput(chunk, offset, offset + length);
+        drain();
+    }
+
+    /**
+     * Signals the end of the body and returns the daily forecasts in date order
+     * @throws IOException on malformed JSON or a body without a forecast list
+     */
+    List<Forecast> finish() throws IOException {
+        feeder.endOfInput();
+        drain();
+        if (!sawList || days.isEmpty()) {
+            throw new IOException("Forecast response has no items");
+        }
+
+        Location location = Location.builder()
+            .city(city)
+            .country(country)
+            .latitude(latitude)
+            .longitude(longitude)
+            .timezone(timezoneOffset != null ? ZoneOffset.ofTotalSeconds(timezoneOffset).getId() : null)
+            .build();
+        Instant now = Instant.now();
+
+        List<Forecast> forecasts = new ArrayList<>(days.size());
+        days.values().forEach(day -> forecasts.add(day.toForecast(location, now)));
+        return forecasts;
+    }
+
+    private void drain() throws IOException {
+        JsonToken token;
+        while ((token = parser.nextToken()) != null && token != JsonToken.NOT_AVAILABLE) {
+            switch (token) {
+                case FIELD_NAME -> field = parser.currentName();
+                case START_OBJECT, START_ARRAY -> enter(token);
+                case END_OBJECT, END_ARRAY -> leave(token);
+                default -> value(token);
+            }
+        }
+    }
+
+    private void enter(JsonToken token) {
+        if (depth == MAX_DEPTH) {
+            throw new IllegalStateException("Forecast response nested deeper than " + MAX_DEPTH);
+        }
+        path[depth++] = field;
+        field = null;
+
+        if (depth == 2 && token == JsonToken.START_ARRAY && "list".equals(path[1])) {
+            sawList = true;
+        } else if (inListItem() && depth == 3) {
+            item.reset();
+        } else if (inListItem() && depth == 5 && "weather".equals(path[3])) {
+            item.weatherIndex++;
+        }
+    }
+
+    private void leave(JsonToken token) {
+        if (token == JsonToken.END_OBJECT && depth == 3 && inListItem()) {
+            fold();
+        }
+        depth--;
+        field = null;
+    }
+
+    private void value(JsonToken token) throws IOException {
+        if (field == null || token == JsonToken.VALUE_NULL) {
+            return;
+        }
+        if (inListItem()) {
+            itemValue();
+        } else if (depth >= 2 && "city".equals(path[1])) {
+            cityValue();
+        }
+    }
+
+    private void itemValue() throws IOException {
+        if (depth == 3) {
+            switch (field) {
+                case "dt" -> item.dt = parser.getLongValue();
+                case "pop" -> item.pop = parser.getDoubleValue();
+                default -> { }
+            }
+            return;
+        }
+
+        String section = path[3];
+        if (depth == 4) {
+            switch (section) {
+                case "main" -> {
+                    switch (field) {
+                        case "temp" -> item.temp = parser.getDoubleValue();
+                        case "temp_min" -> item.tempMin = parser.getDoubleValue();
+                        case "temp_max" -> item.tempMax = parser.getDoubleValue();
+                        case "humidity" -> item.humidity = parser.getIntValue();
+                        default -> { }
+                    }
+                }
+                case "wind" -> {
+                    if ("speed".equals(field)) {
+                        item.windSpeed = parser.getDoubleValue();
+                    }
+                }
+                case "clouds" -> {
+                    if ("all".equals(field)) {
+                        item.clouds = parser.getIntValue();
+                    }
+                }
+                case "rain", "snow" -> {
+                    if ("3h".equals(field)) {
+                        item.precipitation += parser.getDoubleValue();
+                    }
+                }
+                default -> { }
+            }
+        } else if (depth == 5 && "weather".equals(section) && item.weatherIndex == 1) {
+            switch (field) {
+                case "id" -> item.code = parser.getIntValue();
+                case "main" -> item.condition = parser.getText();
+                case "description" -> item.description = parser.getText();
+                case "icon" -> item.icon = parser.getText();
+                default -> { }
+            }
+        }
+    }
+
+    private void cityValue() throws IOException {
+        if (depth == 2 && "timezone".equals(field)) {
+            timezoneOffset = parser.getIntValue();
+        } else if (depth == 3 && "coord".equals(path[2])) {
+            switch (field) {
+                case "lat" -> latitude = parser.getDoubleValue();
+                case "lon" -> longitude = parser.getDoubleValue();
+                default -> { }
+            }
+        }
+    }
+
+    private boolean inListItem() {
+        return depth >= 3 && "list".equals(path[1]);
+    }
+
+    private void fold() {
+        if (item.dt == 0 || Double.isNaN(item.temp)) {
+            return;
+        }
+        LocalDate date = Instant.ofEpochSecond(item.dt).atZone(bucketZone).toLocalDate();
+        days.computeIfAbsent(date, Day::new).add(item);
+    }
+
+    /**
+     * The 3-hour item currently being read
+     */
+    private static final class Item {
+        long dt;
+        double temp;
+        double tempMin;
+        double tempMax;
+        Integer humidity;
+        Double windSpeed;
+        Double pop;
+        Integer clouds;
+        double precipitation;
+        Integer code;
+        String condition;
+        String description;
+        String icon;
+        int weatherIndex;
+
+        void reset() {
+            dt = 0;
+            temp = Double.NaN;
+            tempMin = Double.NaN;
+            tempMax = Double.NaN;
+            humidity = null;
+            windSpeed = null;
+            pop = null;
+            clouds = null;
+            precipitation = 0;
+            code = null;
+            condition = null;
+            description = null;
+            icon = null;
+            weatherIndex = 0;
+        }
+    }
+
+    /**
+     * Running aggregate of one calendar day
+     */
+    private static final class Day {
+        final LocalDate date;
+        double min = Double.POSITIVE_INFINITY;
+        double max = Double.NEGATIVE_INFINITY;
+        double sum;
+        int count;
+        double precipitation;
+        boolean hasPrecipitation;
+
+        // taken from the day's first item
+        Integer humidity;
+        Double windSpeed;
+        Double pop;
+        Integer clouds;
+
+        /** condition -> occurrences, in order of first appearance */
+        final Map<String, Condition> conditions = new LinkedHashMap<>(4);
+
+        Day(LocalDate date) {
+            this.date = date;
+        }
+
+        void add(Item item) {
+            min = Math.min(min, Double.isNaN(item.tempMin) ? item.temp : item.tempMin);
+            max = Math.max(max, Double.isNaN(item.tempMax) ? item.temp : item.tempMax);
+            sum += item.temp;
+            if (count++ == 0) {
+                humidity = item.humidity;
+                windSpeed = item.windSpeed;
+                pop = item.pop;
+                clouds = item.clouds;
+            }
+            if (item.precipitation > 0) {
+                precipitation += item.precipitation;
+                hasPrecipitation = true;
+            }
+            if (item.condition != null) {
+                conditions.computeIfAbsent(item.condition, c -> new Condition(item.code, item.description, item.icon)).count++;
+            }
+        }
+
+        Forecast toForecast(Location location, Instant createdAt) {
+            String condition = null;
+            Condition majority = null;
+            for (Map.Entry<String, Condition> entry : conditions.entrySet()) {
+                if (majority == null || entry.getValue().count > majority.count) {
+                    condition = entry.getKey();
+                    majority = entry.getValue();
+                }
+            }
+
+            return Forecast.builder()
+                .location(location)
+                .date(date)
+                .tempMin(min)
+                .tempMax(max)
+                .tempAvg(sum / count)
+                .humidity(humidity)
+                .windSpeed(windSpeed)
+                .conditionCode(majority != null ? majority.code : null)
+                .weatherCondition(condition)
+                .weatherDescription(majority != null ? majority.description : null)
+                .weatherIcon(majority != null ? majority.icon : null)
+                .precipitationProbability(pop != null ? pop * 100 : null)
+                .precipitationAmount(hasPrecipitation ? precipitation : null)
+                .cloudiness(clouds)
+                .createdAt(createdAt)
+                .build();
+        }
+    }
+
+    private static final class Condition {
+        final Integer code;
+        final String description;
+        final String icon;
+        int count;
+
+        Condition(Integer code, String description, String icon) {
+            this.code = code;
+            this.description = description;
+            this.icon = icon;
+        }
+    }
+}
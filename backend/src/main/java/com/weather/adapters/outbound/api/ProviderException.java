@@ -0,0 +1,36 @@
+package com.weather.adapters.outbound.api;
+
+import com.weather.domain.exception.CallRejectedException;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import lombok.Getter;
+
+/**
+ * Raised by provider adapters when an upstream call fails or returns an unusable body.
+ * Thrown (rather than swallowed) so circuit breakers and retries record the failure.
+ */
+@Getter
+public class ProviderException extends RuntimeException {
+
+    private final String provider;
+
+    public ProviderException(String provider, String message) {
+        super(provider + ": " + message);
+        this.provider = provider;
+    }
+
+    public ProviderException(String provider, String message, Throwable cause) {
+        super(provider + ": " + message + " (" + cause.getMessage() + ")", cause);
+        this.provider = provider;
+    }
+
+    /**
+     * Rethrows a call the resilience layer turned away unsent (circuit open, bulkhead full)
+     * as {@link CallRejectedException}, so the quota taken for it is given back
+     */
+    static void rethrowRejected(String provider, Exception e) {
+        if (e instanceof CallNotPermittedException || e instanceof BulkheadFullException) {
+            throw new CallRejectedException(provider, e);
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.weather.adapters.outbound.cache;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+/**
+ * Bounded, TTL-aware LRU map of serialized values used while Redis is unavailable
+ */
+final class LocalCache {
+
+    private final int maxEntries;
+    private final Map<String, Entry> entries;
+
+    LocalCache(int maxEntries) {
+        this.maxEntries = maxEntries;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > LocalCache.this.maxEntries;
+            }
+        };
+    }
+
+    synchronized void put(String key, String json, Duration ttl) {
+        entries.put(key, new Entry(json, System.nanoTime() + ttl.toNanos()));
+    }
+
+    synchronized Optional<String> get(String key) {
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            return Optional.empty();
+        }
+        if (entry.expiresAt() - System.nanoTime() <= 0) {
+            entries.remove(key);
+            return Optional.empty();
+        }
+        return Optional.of(entry.json());
+    }
+
+    synchronized void remove(String key) {
+        entries.remove(key);
+    }
+
+    synchronized void removeMatching(String pattern) {
+        Pattern regex = globToRegex(pattern);
+        entries.keySet().removeIf(key -> regex.matcher(key).matches());
+    }
+
+    synchronized int size() {
+        return entries.size();
+    }
+
+    synchronized void clear() {
+        entries.clear();
+    }
+
+    // Redis KEYS/SCAN glob: * and ? wildcards, everything else literal
+    private static Pattern globToRegex(String glob) {
+        StringBuilder regex = new StringBuilder();
+        for (char c : glob.toCharArray()) {
+            switch (c) {
+                case '*' -> regex.append(".*");
+                case '?' -> regex.append('.');
+                default -> regex.append(Pattern.quote(String.valueOf(c)));
+            }
+        }
+        return Pattern.compile(regex.toString());
+    }
+
+    private record Entry(String json, long expiresAt) {}
+}
@@ -2,31 +2,100 @@ package com.weather.adapters.outbound.cache;
 
 import com.weather.application.port.output.CachePort;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.RedisCallback;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 /**
- * Redis implementation of cache port
+ * Redis implementation of cache port.
+ * Calls are guarded by a circuit breaker; a connection failure, timeout or an opened breaker
+ * switches to degraded mode, where reads and writes go to a bounded local cache and Redis is
+ * not touched. A background probe pings Redis and, once it answers, deletes every key that was
+ * written or evicted during the outage (other replicas may have left older values there)
+ * before switching back.
+ * Async reads go through the reactive template on Lettuce's shared connection, so lookups from
+ * concurrent requests are pipelined on one socket instead of each holding a pooled connection.
  */
 @Slf4j
 @Component
 @RequiredArgsConstructor
 public class RedisCacheAdapter implements CachePort {
 
+    static final String BREAKER = "redisCache";
+
     private final RedisTemplate<String, String> redisTemplate;
+    private final ReactiveStringRedisTemplate reactiveRedisTemplate;
     private final ObjectMapper objectMapper;
+    private final CircuitBreakerRegistry circuitBreakerRegistry;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${weather.cache.local-max-entries:1000}")
+    private int localMaxEntries;
+
+    private final AtomicBoolean degraded = new AtomicBoolean();
+    private final Set<String> dirtyKeys = ConcurrentHashMap.newKeySet();
+    private final ConcurrentLinkedQueue<String> dirtyPatterns = new ConcurrentLinkedQueue<>();
+
+    private CircuitBreaker breaker;
+    private LocalCache localCache;
+
+    @PostConstruct
+    void init() {
+        localCache = new LocalCache(localMaxEntries);
+        breaker = circuitBreakerRegistry.circuitBreaker(BREAKER);
+        breaker.getEventPublisher().onStateTransition(event -> {
+            if (event.getStateTransition().getToState() == CircuitBreaker.State.OPEN) {
+                degrade("circuit breaker opened");
+            }
+        });
+        Gauge.builder("weather.cache.degraded", degraded, d -> d.get() ? 1 : 0)
+            .description("1 while the cache runs on the local fallback instead of Redis")
+            .register(meterRegistry);
+    }
 
     @Override
     public <T> void put(String key, T value, Duration ttl) {
         try {
             String json = objectMapper.writeValueAsString(value);
-            redisTemplate.opsForValue().set(key, json, ttl);
+            redis(() -> {
+                redisTemplate.opsForValue().set(key, json, ttl);
+                return null;
+            }, () -> {
+                localCache.put(key, json, ttl);
+                dirtyKeys.add(key);
+                return null;
+            });
             log.debug("Cached value for key: {} with TTL: {}s", key, ttl.getSeconds());
         } catch (Exception e) {
             log.error("Error caching value for key {}: {}", key, e.getMessage());
@@ -36,24 +105,55 @@ public class RedisCacheAdapter implements CachePort {
     @Override
     public <T> Optional<T> get(String key, Class<T> type) {
         try {
-            String json = redisTemplate.opsForValue().get(key);
-            if (json == null) {
-                log.debug("Cache miss for key: {}", key);
-                return Optional.empty();
-            }
-            T value = objectMapper.readValue(json, type);
-            log.debug("Cache hit for key: {}", key);
-            return Optional.of(value);
+            String json = redis(() -> redisTemplate.opsForValue().get(key), () -> localCache.get(key).orElse(null));
+            return deserialize(key, json, type);
         } catch (Exception e) {
             log.error("Error retrieving cached value for key {}: {}", key, e.getMessage());
             return Optional.empty();
         }
     }
 
+    @Override
+    public <T> CompletableFuture<Optional<T>> getAsync(String key, Class<T> type) {
+        return redisAsync(() -> reactiveRedisTemplate.opsForValue().get(key).toFuture(),
+                () -> localCache.get(key).orElse(null))
+            .thenApply(json -> deserialize(key, json, type))
+            .exceptionally(e -> {
+                log.error("Error retrieving cached value for key {}: {}", key, unwrap(e).getMessage());
+                return Optional.empty();
+            });
+    }
+
+    @Override
+    public <T> CompletableFuture<Map<String, T>> getAllAsync(Collection<String> keys, Class<T> type) {
+        List<String> distinct = List.copyOf(new LinkedHashSet<>(keys));
+        if (distinct.isEmpty()) {
+            return CompletableFuture.completedFuture(Map.of());
+        }
+        return redisAsync(() -> reactiveRedisTemplate.opsForValue().multiGet(distinct).toFuture(),
+                () -> distinct.stream().map(key -> localCache.get(key).orElse(null)).toList())
+            .thenApply(values -> {
+                Map<String, T> found = new LinkedHashMap<>();
+                for (int i = 0; i < distinct.size() && values != null && i < values.size(); i++) {
+                    String key = distinct.get(i);
+                    deserialize(key, values.get(i), type).ifPresent(value -> found.put(key, value));
+                }
+                return found;
+            })
+            .exceptionally(e -> {
+                log.error("Error retrieving {} cached values: {}", distinct.size(), unwrap(e).getMessage());
+                return Map.of();
+            });
+    }
+
     @Override
     public void evict(String key) {
         try {
-            redisTemplate.delete(key);
+            redis(() -> redisTemplate.delete(key), () -> {
+                localCache.remove(key);
+                dirtyKeys.add(key);
+                return null;
+            });
             log.debug("Evicted cache key: {}", key);
         } catch (Exception e) {
             log.error("Error evicting cache key {}: {}", key, e.getMessage());
@@ -63,11 +163,18 @@ public class RedisCacheAdapter implements CachePort {
     @Override
     public void evictPattern(String pattern) {
         try {
-            Set<String> keys = redisTemplate.keys(pattern);
-            if (keys != null && !keys.isEmpty()) {
-                redisTemplate.delete(keys);
-                log.debug("Evicted {} keys matching pattern: {}", keys.size(), pattern);
-            }
+            redis(() -> {
+                Set<String> keys = redisTemplate.keys(pattern);
+                if (keys != null && !keys.isEmpty()) {
+                    redisTemplate.delete(keys);
+                    log.debug("Evicted {} keys matching pattern: {}", keys.size(), pattern);
+                }
+                return null;
+            }, () -> {
+                localCache.removeMatching(pattern);
+                dirtyPatterns.add(pattern);
+                return null;
+            });
         } catch (Exception e) {
             log.error("Error evicting keys with pattern {}: {}", pattern, e.getMessage());
         }
@@ -76,11 +183,139 @@ public class RedisCacheAdapter implements CachePort {
     @Override
     public boolean exists(String key) {
         try {
-            Boolean exists = redisTemplate.hasKey(key);
-            return Boolean.TRUE.equals(exists);
+            return redis(() -> Boolean.TRUE.equals(redisTemplate.hasKey(key)), () -> localCache.get(key).isPresent());
         } catch (Exception e) {
             log.error("Error checking existence of key {}: {}", key, e.getMessage());
             return false;
         }
     }
+
+    /**
+     * Pings Redis while degraded and switches back once it answers and reconciliation succeeded
+     */
+    @Scheduled(fixedDelayString = "${weather.cache.probe-interval:2000}")
+    void probe() {
+        if (!degraded.get()) {
+            return;
+        }
+        try {
+            redisTemplate.execute((RedisCallback<String>) RedisConnection::ping);
+            reconcile();
+            breaker.transitionToClosedState();
+            degraded.set(false);
+            // keys written locally between the first pass and the switch
+            reconcile();
+            localCache.clear();
+            log.info("Redis is reachable again, leaving degraded cache mode");
+        } catch (Exception e) {
+            log.debug("Redis still unavailable: {}", e.getMessage());
+        }
+    }
+
+    boolean isDegraded() {
+        return degraded.get();
+    }
+
+    int localEntries() {
+        return localCache.size();
+    }
+
+    int pendingInvalidations() {
+        return dirtyKeys.size() + dirtyPatterns.size();
+    }
+
+    private void reconcile() {
+        List<String> keys = new ArrayList<>(dirtyKeys);
+        if (!keys.isEmpty()) {
+            redisTemplate.delete(keys);
+            keys.forEach(dirtyKeys::remove);
+            log.info("Invalidated {} keys touched while Redis was unavailable", keys.size());
+        }
+
+        String pattern;
+        while ((pattern = dirtyPatterns.peek()) != null) {
+            Set<String> matching = redisTemplate.keys(pattern);
+            if (matching != null && !matching.isEmpty()) {
+                redisTemplate.delete(matching);
+            }
+            dirtyPatterns.poll();
+        }
+    }
+
+    private <T> T redis(Supplier<T> redisCall, Supplier<T> localCall) {
+        if (degraded.get() || !breaker.tryAcquirePermission()) {
+            return localCall.get();
+        }
+
+        long start = System.nanoTime();
+        try {
+            T result = redisCall.get();
+            breaker.onSuccess(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return result;
+        } catch (RuntimeException e) {
+            breaker.onError(System.nanoTime() - start, TimeUnit.NANOSECONDS, e);
+            if (e instanceof DataAccessResourceFailureException || e instanceof QueryTimeoutException) {
+                degrade(e.getMessage());
+                return localCall.get();
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Async counterpart of {@link #redis}: the breaker sees the command's outcome when it completes
+     */
+    private <T> CompletableFuture<T> redisAsync(Supplier<CompletableFuture<T>> redisCall, Supplier<T> localCall) {
+        if (degraded.get() || !breaker.tryAcquirePermission()) {
+            return CompletableFuture.completedFuture(localCall.get());
+        }
+
+        long start = System.nanoTime();
+        CompletableFuture<T> call;
+        try {
+            call = redisCall.get();
+        } catch (RuntimeException e) {
+            call = CompletableFuture.failedFuture(e);
+        }
+        return call.handle((result, error) -> {
+            long elapsed = System.nanoTime() - start;
+            if (error == null) {
+                breaker.onSuccess(elapsed, TimeUnit.NANOSECONDS);
+                return CompletableFuture.completedFuture(result);
+            }
+            Throwable cause = unwrap(error);
+            breaker.onError(elapsed, TimeUnit.NANOSECONDS, cause);
+            if (cause instanceof DataAccessResourceFailureException || cause instanceof QueryTimeoutException) {
+                degrade(cause.getMessage());
+                return CompletableFuture.completedFuture(localCall.get());
+            }
+            return CompletableFuture.<T>failedFuture(cause);
+        }).thenCompose(Function.identity());
+    }
+
+    private <T> Optional<T> deserialize(String key, String json, Class<T> type) {
+        if (json == null) {
+            log.debug("Cache miss for key: {}", key);
+            return Optional.empty();
+        }
+        try {
+            T value = objectMapper.readValue(json, type);
+            log.debug("Cache hit for key: {}", key);
+            return Optional.of(value);
+        } catch (Exception e) {
+            log.error("Error reading cached value for key {}: {}", key, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    private static Throwable unwrap(Throwable error) {
+        return error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+    }
+
+    private void degrade(String reason) {
+        if (degraded.compareAndSet(false, true)) {
+            log.warn("Redis unavailable ({}), switching to local cache", reason);
+            breaker.transitionToForcedOpenState();
+        }
+    }
 }
@@ -0,0 +1,30 @@
+package com.weather.adapters.outbound.cache;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.stereotype.Component;
+
+/**
+ * Reports DEGRADED while the cache is served locally because Redis is unavailable.
+ * Requests keep working in that mode, so it is not reported as DOWN.
+ */
+@Component("cache")
+@RequiredArgsConstructor
+public class RedisCacheHealthIndicator implements HealthIndicator {
+
+    static final Status DEGRADED = new Status("DEGRADED", "Redis unavailable, serving from local cache");
+
+    private final RedisCacheAdapter cacheAdapter;
+
+    @Override
+    public Health health() {
+        Health.Builder builder = cacheAdapter.isDegraded() ? Health.status(DEGRADED) : Health.up();
+        return builder
+            .withDetail("mode", cacheAdapter.isDegraded() ? "local" : "redis")
+            .withDetail("localEntries", cacheAdapter.localEntries())
+            .withDetail("pendingInvalidations", cacheAdapter.pendingInvalidations())
+            .build();
+    }
+}
@@ -0,0 +1,62 @@
+package com.weather.adapters.outbound.cluster;
+
+import com.weather.application.port.output.MembershipPort;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Live members in one Redis sorted set of "id url" entries scored by heartbeat expiry.
+ * Expired entries are pruned by whichever node reads the list next.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "weather.affinity", name = "enabled", havingValue = "true")
+public class RedisMembershipAdapter implements MembershipPort {
+
+    static final String MEMBERS_KEY = "cluster:members";
+
+    private final RedisTemplate<String, String> redisTemplate;
+
+    @Override
+    public void heartbeat(Node node, Duration ttl) {
+        redisTemplate.opsForZSet().add(MEMBERS_KEY, entry(node), System.currentTimeMillis() + ttl.toMillis());
+    }
+
+    @Override
+    public void leave(Node node) {
+        redisTemplate.opsForZSet().remove(MEMBERS_KEY, entry(node));
+    }
+
+    @Override
+    public List<Node> members() {
+        long now = System.currentTimeMillis();
+        redisTemplate.opsForZSet().removeRangeByScore(MEMBERS_KEY, Double.NEGATIVE_INFINITY, now);
+        Set<String> live = redisTemplate.opsForZSet().rangeByScore(MEMBERS_KEY, now, Double.POSITIVE_INFINITY);
+        if (live == null) {
+            return List.of();
+        }
+        List<Node> nodes = new ArrayList<>(live.size());
+        for (String entry : live) {
+            int space = entry.indexOf(' ');
+            if (space > 0) {
+                nodes.add(new Node(entry.substring(0, space), entry.substring(space + 1)));
+            } else {
+                log.debug("Ignoring malformed member entry {}", entry);
+            }
+        }
+        return nodes;
+    }
+
+    private static String entry(Node node) {
+        return node.id() + " " + node.url();
+    }
+}
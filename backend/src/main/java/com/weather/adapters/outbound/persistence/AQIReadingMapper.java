@@ -7,55 +7,41 @@ import com.weather.domain.model.WeatherReading;
 
 public class AQIReadingMapper {
 
-    public static AQIReadingEntity toEntity(AQIReading domain) {
+    public static AQIReadingEntity toEntity(AQIReading domain, Integer locationId) {
         if (domain == null) return null;
 
-        Location loc = domain.getLocation();
-        String locationKey = loc != null ? loc.getLocationKey() : "";
-
         return AQIReadingEntity.builder()
             .id(domain.getId())
-            .locationKey(locationKey)
-            .city(loc != null ? loc.getCity() : null)
-            .country(loc != null ? loc.getCountry() : null)
-            .latitude(loc != null ? loc.getLatitude() : null)
-            .longitude(loc != null ? loc.getLongitude() : null)
+            .locationId(locationId)
             .timestamp(domain.getTimestamp())
-            .aqi(domain.getAqi())
+            .aqi(ColumnTypes.toSmallint(domain.getAqi()))
             .level(mapLevel(domain.getLevel()))
-            .pm25(domain.getPm25())
-            .pm10(domain.getPm10())
-            .co(domain.getCo())
-            .no2(domain.getNo2())
-            .so2(domain.getSo2())
-            .o3(domain.getO3())
+            .pm25(ColumnTypes.toReal(domain.getPm25()))
+            .pm10(ColumnTypes.toReal(domain.getPm10()))
+            .co(ColumnTypes.toReal(domain.getCo()))
+            .no2(ColumnTypes.toReal(domain.getNo2()))
+            .so2(ColumnTypes.toReal(domain.getSo2()))
+            .o3(ColumnTypes.toReal(domain.getO3()))
             .dataSource(mapDataSource(domain.getDataSource()))
             .createdAt(domain.getCreatedAt())
             .build();
     }
 
-    public static AQIReading toDomain(AQIReadingEntity entity) {
+    public static AQIReading toDomain(AQIReadingEntity entity, Location location) {
         if (entity == null) return null;
 
-        Location location = Location.builder()
-            .city(entity.getCity())
-            .country(entity.getCountry())
-            .latitude(entity.getLatitude())
-            .longitude(entity.getLongitude())
-            .build();
-
         return AQIReading.builder()
             .id(entity.getId())
             .location(location)
             .timestamp(entity.getTimestamp())
-            .aqi(entity.getAqi())
+            .aqi(ColumnTypes.fromSmallint(entity.getAqi()))
             .level(mapLevel(entity.getLevel()))
-            .pm25(entity.getPm25())
-            .pm10(entity.getPm10())
-            .co(entity.getCo())
-            .no2(entity.getNo2())
-            .so2(entity.getSo2())
-            .o3(entity.getO3())
+            .pm25(ColumnTypes.fromReal(entity.getPm25()))
+            .pm10(ColumnTypes.fromReal(entity.getPm10()))
+            .co(ColumnTypes.fromReal(entity.getCo()))
+            .no2(ColumnTypes.fromReal(entity.getNo2()))
+            .so2(ColumnTypes.fromReal(entity.getSo2()))
+            .o3(ColumnTypes.fromReal(entity.getO3()))
             .dataSource(mapDataSource(entity.getDataSource()))
             .createdAt(entity.getCreatedAt())
             .build();
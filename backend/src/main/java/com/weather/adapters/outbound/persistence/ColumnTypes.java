@@ -0,0 +1,43 @@
+package com.weather.adapters.outbound.persistence;
+
+/**
+ * Conversions between the domain's Double/Integer measurements and the real/smallint columns
+ * they are stored in. Measurements carry at most four significant digits, well inside real's
+ * precision, and every integer measurement (percentages, degrees, AQI, UV index) fits a smallint.
+ */
+final class ColumnTypes {
+
+    private ColumnTypes() {
+    }
+
+    static Float toReal(Double value) {
+        return value != null ? value.floatValue() : null;
+    }
+
+    /**
+     * Widens through the float's shortest decimal form, so 12.3f reads back as 12.3 rather than 12.300000190734863
+     */
+    static Double fromReal(Float value) {
+        return value != null ? fromReal(value.floatValue()) : null;
+    }
+
+    static Double fromReal(float value) {
+        return Double.valueOf(Float.toString(value));
+    }
+
+    // Clamped rather than rejected: an implausible upstream value should not fail the whole write
+    static Short toSmallint(Integer value) {
+        return value != null ? (short) Math.max(Short.MIN_VALUE, Math.min(Short.MAX_VALUE, value)) : null;
+    }
+
+    static Integer fromSmallint(Short value) {
+        return value != null ? value.intValue() : null;
+    }
+
+    /**
+     * Dictionary text back to the domain's null for an absent part
+     */
+    static String fromDictionary(String value) {
+        return value == null || value.isEmpty() ? null : value;
+    }
+}
@@ -0,0 +1,109 @@
+package com.weather.adapters.outbound.persistence;
+
+import com.weather.adapters.outbound.persistence.entity.WeatherConditionEntity;
+import com.weather.adapters.outbound.persistence.repository.WeatherConditionRepository;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Two-way map between weather conditions and their ids in weather_conditions, held in memory.
+ * Providers use a few dozen conditions, so the whole table is read on first use; a condition
+ * seen for the first time is stored in its own transaction, like {@link LocationDirectory}.
+ */
+@Component
+class ConditionDictionary {
+
+    private static final String UPSERT = """
+        INSERT INTO weather_conditions (code, main, description, icon)
+        VALUES (:code, :main, :description, :icon)
+        ON CONFLICT (main, description, icon) DO UPDATE SET
+            code = COALESCE(weather_conditions.code, EXCLUDED.code)
+        RETURNING id, code, main, description, icon
+        """;
+
+    private final WeatherConditionRepository repository;
+    private final NamedParameterJdbcTemplate jdbc;
+    private final TransactionTemplate ownTransaction;
+    private final Map<Text, WeatherConditionEntity> byText = new ConcurrentHashMap<>();
+    private final Map<Short, WeatherConditionEntity> byId = new ConcurrentHashMap<>();
+    private volatile boolean loaded;
+
+    ConditionDictionary(WeatherConditionRepository repository, NamedParameterJdbcTemplate jdbc,
+                        PlatformTransactionManager transactionManager) {
+        this.repository = repository;
+        this.jdbc = jdbc;
+        this.ownTransaction = new TransactionTemplate(transactionManager);
+        this.ownTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Id of the condition, stored on first use; null when the reading has no condition at all
+     */
+    Short idOf(Integer code, String main, String description, String icon) {
+        if (code == null && main == null && description == null && icon == null) {
+            return null;
+        }
+        load();
+        Text text = new Text(orEmpty(main), orEmpty(description), orEmpty(icon));
+        WeatherConditionEntity known = byText.get(text);
+        if (known != null && (known.getCode() != null || code == null)) {
+            return known.getId();
+        }
+        return remember(ownTransaction.execute(status -> upsert(code, text))).getId();
+    }
+
+    /**
+     * The stored condition, null for a null or unknown id
+     */
+    WeatherConditionEntity condition(Short id) {
+        if (id == null) {
+            return null;
+        }
+        load();
+        WeatherConditionEntity known = byId.get(id);
+        // Added by another replica since this one loaded the table
+        return known != null ? known : repository.findById(id).map(this::remember).orElse(null);
+    }
+
+    private void load() {
+        if (!loaded) {
+            repository.findAll().forEach(this::remember);
+            loaded = true;
+        }
+    }
+
+    private WeatherConditionEntity upsert(Integer code, Text text) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+            .addValue("code", ColumnTypes.toSmallint(code))
+            .addValue("main", text.main())
+            .addValue("description", text.description())
+            .addValue("icon", text.icon());
+        return jdbc.queryForObject(UPSERT, params, (rs, row) -> WeatherConditionEntity.builder()
+            .id(rs.getShort("id"))
+            .code(rs.getObject("code") != null ? rs.getShort("code") : null)
+            .main(rs.getString("main"))
+            .description(rs.getString("description"))
+            .icon(rs.getString("icon"))
+            .build());
+    }
+
+    private WeatherConditionEntity remember(WeatherConditionEntity condition) {
+        byText.put(new Text(condition.getMain(), condition.getDescription(), condition.getIcon()), condition);
+        byId.put(condition.getId(), condition);
+        return condition;
+    }
+
+    private static String orEmpty(String value) {
+        return value != null ? value : "";
+    }
+
+    private record Text(String main, String description, String icon) {
+    }
+}
@@ -1,75 +1,63 @@
 package com.weather.adapters.outbound.persistence;
 
 import com.weather.adapters.outbound.persistence.entity.ForecastEntity;
+import com.weather.adapters.outbound.persistence.entity.WeatherConditionEntity;
 import com.weather.domain.model.Forecast;
 import com.weather.domain.model.Location;
 import com.weather.domain.model.WeatherReading;
 
 public class ForecastMapper {
 
-    public static ForecastEntity toEntity(Forecast domain) {
+    public static ForecastEntity toEntity(Forecast domain, Integer locationId, Short conditionId) {
         if (domain == null) return null;
 
-        Location loc = domain.getLocation();
-        String locationKey = loc != null ? loc.getLocationKey() : "";
-
         return ForecastEntity.builder()
             .id(domain.getId())
-            .locationKey(locationKey)
-            .city(loc != null ? loc.getCity() : null)
-            .country(loc != null ? loc.getCountry() : null)
-            .latitude(loc != null ? loc.getLatitude() : null)
-            .longitude(loc != null ? loc.getLongitude() : null)
+            .locationId(locationId)
             .forecastDate(domain.getDate())
-            .tempMin(domain.getTempMin())
-            .tempMax(domain.getTempMax())
-            .tempAvg(domain.getTempAvg())
-            .humidity(domain.getHumidity())
-            .windSpeed(domain.getWindSpeed())
-            .weatherCondition(domain.getWeatherCondition())
-            .weatherDescription(domain.getWeatherDescription())
-            .weatherIcon(domain.getWeatherIcon())
-            .precipitationProbability(domain.getPrecipitationProbability())
-            .precipitationAmount(domain.getPrecipitationAmount())
-            .cloudiness(domain.getCloudiness())
-            .uvIndex(domain.getUvIndex())
+            .tempMin(ColumnTypes.toReal(domain.getTempMin()))
+            .tempMax(ColumnTypes.toReal(domain.getTempMax()))
+            .tempAvg(ColumnTypes.toReal(domain.getTempAvg()))
+            .humidity(ColumnTypes.toSmallint(domain.getHumidity()))
+            .windSpeed(ColumnTypes.toReal(domain.getWindSpeed()))
+            .conditionId(conditionId)
+            .precipitationProbability(ColumnTypes.toReal(domain.getPrecipitationProbability()))
+            .precipitationAmount(ColumnTypes.toReal(domain.getPrecipitationAmount()))
+            .cloudiness(ColumnTypes.toSmallint(domain.getCloudiness()))
+            .uvIndex(ColumnTypes.toSmallint(domain.getUvIndex()))
             .sunrise(domain.getSunrise())
             .sunset(domain.getSunset())
             .dataSource(mapDataSource(domain.getDataSource()))
             .createdAt(domain.getCreatedAt())
+            .issuedAt(domain.getCreatedAt())
             .build();
     }
 
-    public static Forecast toDomain(ForecastEntity entity) {
+    public static Forecast toDomain(ForecastEntity entity, Location location,
+                                    WeatherConditionEntity condition) {
         if (entity == null) return null;
 
-        Location location = Location.builder()
-            .city(entity.getCity())
-            .country(entity.getCountry())
-            .latitude(entity.getLatitude())
-            .longitude(entity.getLongitude())
-            .build();
-
         return Forecast.builder()
             .id(entity.getId())
             .location(location)
             .date(entity.getForecastDate())
-            .tempMin(entity.getTempMin())
-            .tempMax(entity.getTempMax())
-            .tempAvg(entity.getTempAvg())
-            .humidity(entity.getHumidity())
-            .windSpeed(entity.getWindSpeed())
-            .weatherCondition(entity.getWeatherCondition())
-            .weatherDescription(entity.getWeatherDescription())
-            .weatherIcon(entity.getWeatherIcon())
-            .precipitationProbability(entity.getPrecipitationProbability())
-            .precipitationAmount(entity.getPrecipitationAmount())
-            .cloudiness(entity.getCloudiness())
-            .uvIndex(entity.getUvIndex())
+            .tempMin(ColumnTypes.fromReal(entity.getTempMin()))
+            .tempMax(ColumnTypes.fromReal(entity.getTempMax()))
+            .tempAvg(ColumnTypes.fromReal(entity.getTempAvg()))
+            .humidity(ColumnTypes.fromSmallint(entity.getHumidity()))
+            .windSpeed(ColumnTypes.fromReal(entity.getWindSpeed()))
+            .conditionCode(condition != null ? ColumnTypes.fromSmallint(condition.getCode()) : null)
+            .weatherCondition(condition != null ? ColumnTypes.fromDictionary(condition.getMain()) : null)
+            .weatherDescription(condition != null ? ColumnTypes.fromDictionary(condition.getDescription()) : null)
+            .weatherIcon(condition != null ? ColumnTypes.fromDictionary(condition.getIcon()) : null)
+            .precipitationProbability(ColumnTypes.fromReal(entity.getPrecipitationProbability()))
+            .precipitationAmount(ColumnTypes.fromReal(entity.getPrecipitationAmount()))
+            .cloudiness(ColumnTypes.fromSmallint(entity.getCloudiness()))
+            .uvIndex(ColumnTypes.fromSmallint(entity.getUvIndex()))
             .sunrise(entity.getSunrise())
             .sunset(entity.getSunset())
             .dataSource(mapDataSource(entity.getDataSource()))
-            .createdAt(entity.getCreatedAt())
+            .createdAt(entity.getIssuedAt() != null ? entity.getIssuedAt() : entity.getCreatedAt())
             .build();
     }
 
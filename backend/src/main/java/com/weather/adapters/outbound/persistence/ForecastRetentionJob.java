@@ -0,0 +1,54 @@
+package com.weather.adapters.outbound.persistence;
+
+import com.weather.adapters.outbound.persistence.repository.ForecastRepository;
+import com.weather.domain.model.Location;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+
+/**
+ * Deletes forecasts for dates that have passed, one location per statement, so the forecasts
+ * table stays at roughly (locations x forecast days) rows.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "weather.storage.forecast-retention", name = "enabled", havingValue = "true",
+    matchIfMissing = true)
+public class ForecastRetentionJob {
+
+    private final ForecastRepository forecastRepository;
+
+    @Value("${weather.storage.forecast-retention.keep-days:1}")
+    private int keepDays;
+
+    @Value("${weather.storage.forecast-retention.pause-millis:20}")
+    private long pauseMillis;
+
+    @Scheduled(fixedDelayString = "${weather.storage.forecast-retention.interval:21600000}",
+        initialDelayString = "${weather.storage.forecast-retention.initial-delay:120000}")
+    public void purge() {
+        LocalDate cutoff = Location.earliestToday().minusDays(keepDays);
+        long removed = 0;
+        try {
+            for (Integer locationId : forecastRepository.findDistinctLocationIds()) {
+                removed += forecastRepository.deleteByLocationIdAndForecastDateBefore(locationId, cutoff);
+                if (pauseMillis > 0) {
+                    Thread.sleep(pauseMillis);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            log.warn("Forecast retention failed, retrying next run: {}", e.getMessage());
+        }
+        if (removed > 0) {
+            log.info("Deleted {} forecasts for dates before {}", removed, cutoff);
+        }
+    }
+}
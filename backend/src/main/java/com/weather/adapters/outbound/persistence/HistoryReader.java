@@ -0,0 +1,105 @@
+package com.weather.adapters.outbound.persistence;
+
+import com.weather.adapters.outbound.persistence.entity.WeatherConditionEntity;
+import com.weather.domain.model.AQIHistoryRow;
+import com.weather.domain.model.AQIReading;
+import com.weather.domain.model.WeatherHistoryRow;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+/**
+ * History ranges read with plain JDBC into one row record each: no entity, persistence-context
+ * entry, loaded-state snapshot or per-row Location. Only the columns a history response shows
+ * are selected, and idx_weather_history / idx_aqi_history carry all of them, so a range is an
+ * index-only scan already in timestamp order. Condition texts are shared from ConditionDictionary.
+ */
+@Component
+@RequiredArgsConstructor
+class HistoryReader {
+
+    private static final String WEATHER_HISTORY = """
+        SELECT timestamp, temperature_celsius, humidity, pressure, wind_speed, wind_direction,
+            condition_id, visibility, cloudiness
+        FROM weather_readings
+        WHERE location_id = :locationId AND timestamp BETWEEN :from AND :to
+        ORDER BY timestamp
+        """;
+
+    private static final String AQI_HISTORY = """
+        SELECT timestamp, aqi, level, pm25, pm10, co, no2, so2, o3
+        FROM aqi_readings
+        WHERE location_id = :locationId AND timestamp BETWEEN :from AND :to
+        ORDER BY timestamp
+        """;
+
+    private final NamedParameterJdbcTemplate jdbc;
+    private final ConditionDictionary conditions;
+
+    List<WeatherHistoryRow> weather(int locationId, Instant from, Instant to) {
+        return jdbc.query(WEATHER_HISTORY, range(locationId, from, to), (rs, row) -> {
+            WeatherConditionEntity condition = conditions.condition(smallintAsShort(rs, 7));
+            return new WeatherHistoryRow(
+                timestamp(rs),
+                real(rs, 2),
+                real(rs, 3),
+                real(rs, 4),
+                real(rs, 5),
+                smallint(rs, 6),
+                condition != null ? ColumnTypes.fromDictionary(condition.getMain()) : null,
+                condition != null ? ColumnTypes.fromDictionary(condition.getDescription()) : null,
+                real(rs, 8),
+                smallint(rs, 9));
+        });
+    }
+
+    List<AQIHistoryRow> aqi(int locationId, Instant from, Instant to) {
+        return jdbc.query(AQI_HISTORY, range(locationId, from, to), (rs, row) -> {
+            String level = rs.getString(3);
+            return new AQIHistoryRow(
+                timestamp(rs),
+                smallint(rs, 2),
+                level != null ? AQIReading.AQILevel.valueOf(level) : null,
+                real(rs, 4),
+                real(rs, 5),
+                real(rs, 6),
+                real(rs, 7),
+                real(rs, 8),
+                real(rs, 9));
+        });
+    }
+
+    private static MapSqlParameterSource range(int locationId, Instant from, Instant to) {
+        return new MapSqlParameterSource()
+            .addValue("locationId", locationId)
+            .addValue("from", OffsetDateTime.ofInstant(from, ZoneOffset.UTC))
+            .addValue("to", OffsetDateTime.ofInstant(to, ZoneOffset.UTC));
+    }
+
+    private static Instant timestamp(ResultSet rs) throws SQLException {
+        return rs.getObject(1, OffsetDateTime.class).toInstant();
+    }
+
+    private static Double real(ResultSet rs, int column) throws SQLException {
+        float value = rs.getFloat(column);
+        return rs.wasNull() ? null : ColumnTypes.fromReal(value);
+    }
+
+    private static Integer smallint(ResultSet rs, int column) throws SQLException {
+        int value = rs.getInt(column);
+        return rs.wasNull() ? null : value;
+    }
+
+    private static Short smallintAsShort(ResultSet rs, int column) throws SQLException {
+        short value = rs.getShort(column);
+        return rs.wasNull() ? null : value;
+    }
+}
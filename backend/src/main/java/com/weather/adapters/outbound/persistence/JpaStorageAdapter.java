@@ -1,17 +1,33 @@
 package com.weather.adapters.outbound.persistence;
 
 import com.weather.adapters.outbound.persistence.entity.*;
+import com.weather.adapters.outbound.persistence.entity.LatestReadingEntity.ReadingType;
 import com.weather.adapters.outbound.persistence.repository.*;
 import com.weather.application.port.output.StoragePort;
 import com.weather.domain.model.*;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.BiFunction;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
+/**
+ * Read-only transactions mark the reads that tolerate replica lag (history, the latest-reading
+ * fallback, subscription listings); with weather.storage.replicas enabled they are served by a replica.
+ */
 @Component
 @RequiredArgsConstructor
 public class JpaStorageAdapter implements StoragePort {
@@ -20,70 +36,108 @@ public class JpaStorageAdapter implements StoragePort {
     private final AQIReadingRepository aqiRepository;
     private final ForecastRepository forecastRepository;
     private final SubscriptionRepository subscriptionRepository;
+    private final ReadingWriter readingWriter;
+    private final HistoryReader historyReader;
+    private final LocationDirectory locations;
+    private final ConditionDictionary conditions;
 
     @Override
     public WeatherReading saveWeatherReading(WeatherReading reading) {
-        WeatherReadingEntity entity = WeatherReadingMapper.toEntity(reading);
-        WeatherReadingEntity saved = weatherRepository.save(entity);
-        return WeatherReadingMapper.toDomain(saved);
+        WeatherReadingEntity entity = WeatherReadingMapper.toEntity(reading, locations.idOf(reading.getLocation()),
+            conditions.idOf(reading.getConditionCode(), reading.getWeatherCondition(),
+                reading.getWeatherDescription(), reading.getWeatherIcon()));
+        readingWriter.insertIfAbsent(entity).ifPresent(entity::setId);
+        return toWeatherReading(entity, reading.getLocation());
     }
 
     @Override
-    public List<WeatherReading> getWeatherHistory(String locationKey, Instant from, Instant to) {
-        return weatherRepository.findByLocationKeyAndTimestampBetween(locationKey, from, to)
-            .stream()
-            .map(WeatherReadingMapper::toDomain)
-            .collect(Collectors.toList());
+    @Transactional(readOnly = true)
+    public List<WeatherHistoryRow> getWeatherHistory(String locationKey, Instant from, Instant to) {
+        return locations.find(locationKey)
+            .map(locationId -> historyReader.weather(locationId, from, to))
+            .orElse(List.of());
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Optional<WeatherReading> getLatestWeatherReading(String locationKey) {
-        return weatherRepository.findTopByLocationKeyOrderByTimestampDesc(locationKey)
-            .map(WeatherReadingMapper::toDomain);
+        return Optional.ofNullable(getLatestWeatherReadings(List.of(locationKey)).get(locationKey));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Map<String, WeatherReading> getLatestWeatherReadings(Collection<String> locationKeys) {
+        return latest(locationKeys, weatherRepository::findLatestByLocationIdIn,
+            weatherRepository::findTopByLocationIdOrderByTimestampDesc,
+            WeatherReadingEntity::getLocationId, WeatherReadingEntity::getId, WeatherReadingEntity::getTimestamp,
+            ReadingType.WEATHER, this::toWeatherReading);
     }
 
     @Override
     public AQIReading saveAQIReading(AQIReading reading) {
-        AQIReadingEntity entity = AQIReadingMapper.toEntity(reading);
-        AQIReadingEntity saved = aqiRepository.save(entity);
-        return AQIReadingMapper.toDomain(saved);
+        AQIReadingEntity entity = AQIReadingMapper.toEntity(reading, locations.idOf(reading.getLocation()));
+        readingWriter.insertIfAbsent(entity).ifPresent(entity::setId);
+        return AQIReadingMapper.toDomain(entity, reading.getLocation());
     }
 
     @Override
-    public List<AQIReading> getAQIHistory(String locationKey, Instant from, Instant to) {
-        return aqiRepository.findByLocationKeyAndTimestampBetween(locationKey, from, to)
-            .stream()
-            .map(AQIReadingMapper::toDomain)
-            .collect(Collectors.toList());
+    @Transactional(readOnly = true)
+    public List<AQIHistoryRow> getAQIHistory(String locationKey, Instant from, Instant to) {
+        return locations.find(locationKey)
+            .map(locationId -> historyReader.aqi(locationId, from, to))
+            .orElse(List.of());
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Optional<AQIReading> getLatestAQIReading(String locationKey) {
-        return aqiRepository.findTopByLocationKeyOrderByTimestampDesc(locationKey)
-            .map(AQIReadingMapper::toDomain);
+        return Optional.ofNullable(getLatestAQIReadings(List.of(locationKey)).get(locationKey));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Map<String, AQIReading> getLatestAQIReadings(Collection<String> locationKeys) {
+        return latest(locationKeys, aqiRepository::findLatestByLocationIdIn,
+            aqiRepository::findTopByLocationIdOrderByTimestampDesc,
+            AQIReadingEntity::getLocationId, AQIReadingEntity::getId, AQIReadingEntity::getTimestamp,
+            ReadingType.AQI, AQIReadingMapper::toDomain);
+    }
+
+    @Override
+    public Set<String> getKnownLocationKeys() {
+        return new HashSet<>(locations.keys());
+    }
+
+    @Override
+    public boolean isKnownLocation(String locationKey) {
+        return locations.find(locationKey).isPresent();
     }
 
     @Override
     public Forecast saveForecast(Forecast forecast) {
-        ForecastEntity entity = ForecastMapper.toEntity(forecast);
-        ForecastEntity saved = forecastRepository.save(entity);
-        return ForecastMapper.toDomain(saved);
+        ForecastEntity entity = ForecastMapper.toEntity(forecast, locations.idOf(forecast.getLocation()),
+            conditions.idOf(forecast.getConditionCode(), forecast.getWeatherCondition(),
+                forecast.getWeatherDescription(), forecast.getWeatherIcon()));
+        readingWriter.upsert(entity);
+        return toForecast(entity, forecast.getLocation());
     }
 
     @Override
-    public List<Forecast> getForecasts(String locationKey, int days) {
-        return forecastRepository.findByLocationKeyOrderByForecastDateAsc(locationKey)
-            .stream()
-            .limit(days)
-            .map(ForecastMapper::toDomain)
-            .collect(Collectors.toList());
+    public List<Forecast> getForecasts(String locationKey, LocalDate from, int days) {
+        return locations.find(locationKey)
+            .map(locationId -> forecastRepository.findByLocationIdAndForecastDateGreaterThanEqualOrderByForecastDateAsc(
+                    locationId, from, Limit.of(days))
+                .stream()
+                .map(entity -> toForecast(entity, locations.location(locationId)))
+                .collect(Collectors.toList()))
+            .orElse(List.of());
     }
 
     @Override
     public Subscription saveSubscription(Subscription subscription) {
-        SubscriptionEntity entity = SubscriptionMapper.toEntity(subscription);
+        SubscriptionEntity entity = SubscriptionMapper.toEntity(subscription, locations.idOf(subscription.getLocation()));
         SubscriptionEntity saved = subscriptionRepository.save(entity);
-        return SubscriptionMapper.toDomain(saved);
+        return toDomain(saved);
     }
 
     @Override
@@ -94,31 +148,79 @@ public class JpaStorageAdapter implements StoragePort {
     @Override
     public Optional<Subscription> getSubscriptionById(Long id) {
         return subscriptionRepository.findById(id)
-            .map(SubscriptionMapper::toDomain);
+            .map(this::toDomain);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<Subscription> getSubscriptionsByUserId(String userId) {
         return subscriptionRepository.findByUserId(userId)
             .stream()
-            .map(SubscriptionMapper::toDomain)
+            .map(this::toDomain)
             .collect(Collectors.toList());
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<Subscription> getActiveSubscriptions() {
         return subscriptionRepository.findByActiveTrue()
             .stream()
-            .map(SubscriptionMapper::toDomain)
+            .map(this::toDomain)
             .collect(Collectors.toList());
     }
 
     @Override
+    @Transactional // the lookup must see the primary's row, not a replica's
     public Subscription updateLastNotified(Long id, Instant timestamp) {
         SubscriptionEntity entity = subscriptionRepository.findById(id)
             .orElseThrow(() -> new IllegalArgumentException("Subscription not found"));
         entity.setLastNotifiedAt(timestamp);
         SubscriptionEntity saved = subscriptionRepository.save(entity);
-        return SubscriptionMapper.toDomain(saved);
+        return toDomain(saved);
+    }
+
+    private WeatherReading toWeatherReading(WeatherReadingEntity entity, Location location) {
+        return WeatherReadingMapper.toDomain(entity, location, conditions.condition(entity.getConditionId()));
+    }
+
+    private Forecast toForecast(ForecastEntity entity, Location location) {
+        return ForecastMapper.toDomain(entity, location, conditions.condition(entity.getConditionId()));
+    }
+
+    private Subscription toDomain(SubscriptionEntity entity) {
+        return SubscriptionMapper.toDomain(entity, locations.location(entity.getLocationId()));
+    }
+
+    /**
+     * Latest readings through latest_readings; a location without a pointer (stored before the
+     * table existed, or whose row was compacted away) is looked up in the history once and pointed at
+     */
+    private <E, D> Map<String, D> latest(Collection<String> locationKeys,
+                                         Function<Collection<Integer>, List<E>> byPointer,
+                                         Function<Integer, Optional<E>> byHistory,
+                                         Function<E, Integer> locationOf, Function<E, Long> idOf,
+                                         Function<E, Instant> timestampOf, ReadingType type,
+                                         BiFunction<E, Location, D> toDomain) {
+        Map<Integer, String> keys = new LinkedHashMap<>();
+        for (String locationKey : locationKeys) {
+            locations.find(locationKey).ifPresent(locationId -> keys.put(locationId, locationKey));
+        }
+        if (keys.isEmpty()) {
+            return Map.of();
+        }
+        Map<String, D> latest = new HashMap<>();
+        for (E entity : byPointer.apply(keys.keySet())) {
+            Integer locationId = locationOf.apply(entity);
+            latest.put(keys.get(locationId), toDomain.apply(entity, locations.location(locationId)));
+        }
+        keys.forEach((locationId, locationKey) -> {
+            if (!latest.containsKey(locationKey)) {
+                byHistory.apply(locationId).ifPresent(entity -> {
+                    readingWriter.backfillLatest(locationId, type, idOf.apply(entity), timestampOf.apply(entity));
+                    latest.put(locationKey, toDomain.apply(entity, locations.location(locationId)));
+                });
+            }
+        });
+        return latest;
     }
 }
@@ -0,0 +1,131 @@
+package com.weather.adapters.outbound.persistence;
+
+import com.weather.adapters.outbound.persistence.entity.LocationEntity;
+import com.weather.adapters.outbound.persistence.repository.LocationRepository;
+import com.weather.domain.model.Location;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Maps location keys to rows of the locations table and back, from memory after the first use.
+ * There are a few thousand locations at most and a key never changes its id, so nothing is
+ * evicted. New locations are committed on their own: the id is cached at once and must not
+ * disappear with a caller's rolled back transaction.
+ */
+@Component
+class LocationDirectory {
+
+    // A repeated insert fills in coordinates the first one lacked and otherwise keeps the row
+    private static final String UPSERT = """
+        INSERT INTO locations (location_key, city, country, latitude, longitude)
+        VALUES (:locationKey, :city, :country, :latitude, :longitude)
+        ON CONFLICT (location_key) DO UPDATE SET
+            latitude = COALESCE(locations.latitude, EXCLUDED.latitude),
+            longitude = COALESCE(locations.longitude, EXCLUDED.longitude)
+        RETURNING id, location_key, city, country, latitude, longitude
+        """;
+
+    private final LocationRepository repository;
+    private final NamedParameterJdbcTemplate jdbc;
+    private final TransactionTemplate ownTransaction;
+    private final Map<String, LocationEntity> byKey = new ConcurrentHashMap<>();
+    private final Map<Integer, LocationEntity> byId = new ConcurrentHashMap<>();
+
+    LocationDirectory(LocationRepository repository, NamedParameterJdbcTemplate jdbc,
+                      PlatformTransactionManager transactionManager) {
+        this.repository = repository;
+        this.jdbc = jdbc;
+        this.ownTransaction = new TransactionTemplate(transactionManager);
+        this.ownTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Id of the location, stored on first use
+     */
+    int idOf(Location location) {
+        if (location == null || location.getCity() == null) {
+            throw new IllegalArgumentException("A stored reading needs a location with a city");
+        }
+        LocationEntity known = byKey.get(location.getLocationKey());
+        if (known != null && (known.getLatitude() != null || !location.hasCoordinates())) {
+            return known.getId();
+        }
+        return remember(ownTransaction.execute(status -> upsert(location))).getId();
+    }
+
+    /**
+     * Id of a stored location; empty when nothing was ever stored for the key
+     */
+    Optional<Integer> find(String locationKey) {
+        LocationEntity known = byKey.get(locationKey);
+        if (known != null) {
+            return Optional.of(known.getId());
+        }
+        return repository.findByLocationKey(locationKey).map(this::remember).map(LocationEntity::getId);
+    }
+
+    /**
+     * A fresh domain copy of the location, null for an unknown id
+     */
+    Location location(Integer id) {
+        LocationEntity known = entity(id);
+        if (known == null) {
+            return null;
+        }
+        return Location.builder()
+            .city(known.getCity())
+            .country(known.getCountry())
+            .latitude(known.getLatitude())
+            .longitude(known.getLongitude())
+            .build();
+    }
+
+    String keyOf(Integer id) {
+        LocationEntity known = entity(id);
+        return known != null ? known.getLocationKey() : null;
+    }
+
+    List<String> keys() {
+        return repository.findAllLocationKeys();
+    }
+
+    private LocationEntity entity(Integer id) {
+        if (id == null) {
+            return null;
+        }
+        LocationEntity known = byId.get(id);
+        return known != null ? known : repository.findById(id).map(this::remember).orElse(null);
+    }
+
+    private LocationEntity upsert(Location location) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+            .addValue("locationKey", location.getLocationKey())
+            .addValue("city", location.getCity())
+            .addValue("country", location.getCountry())
+            .addValue("latitude", location.getLatitude())
+            .addValue("longitude", location.getLongitude());
+        return jdbc.queryForObject(UPSERT, params, (rs, row) -> LocationEntity.builder()
+            .id(rs.getInt("id"))
+            .locationKey(rs.getString("location_key"))
+            .city(rs.getString("city"))
+            .country(rs.getString("country"))
+            .latitude(rs.getObject("latitude", Double.class))
+            .longitude(rs.getObject("longitude", Double.class))
+            .build());
+    }
+
+    private LocationEntity remember(LocationEntity location) {
+        byKey.put(location.getLocationKey(), location);
+        byId.put(location.getId(), location);
+        return location;
+    }
+}
@@ -0,0 +1,199 @@
+package com.weather.adapters.outbound.persistence;
+
+import com.weather.adapters.outbound.persistence.entity.AQIReadingEntity;
+import com.weather.adapters.outbound.persistence.entity.ForecastEntity;
+import com.weather.adapters.outbound.persistence.entity.LatestReadingEntity.ReadingType;
+import com.weather.adapters.outbound.persistence.entity.WeatherReadingEntity;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Idempotent inserts of readings and upserts of forecasts.
+ * A provider answering with the same observation again (unchanged upstream timestamp) adds no row:
+ * the unique index on (location_id, timestamp, data_source) turns the repeat into a no-op.
+ * A forecast replaces the stored one for its location and date only when it was issued later.
+ * Every inserted reading also moves the location's latest_readings pointer, unless a newer
+ * observation is already stored.
+ */
+@Component
+class ReadingWriter {
+
+    private static final String INSERT_WEATHER = """
+        INSERT INTO weather_readings (location_id, timestamp,
+            temperature_celsius, temperature_fahrenheit, humidity, pressure, wind_speed, wind_direction,
+            condition_id, visibility, cloudiness, data_source, created_at)
+        VALUES (:locationId, :timestamp,
+            :temperatureCelsius, :temperatureFahrenheit, :humidity, :pressure, :windSpeed, :windDirection,
+            :conditionId, :visibility, :cloudiness, :dataSource, :createdAt)
+        ON CONFLICT (location_id, timestamp, data_source) DO NOTHING
+        RETURNING id
+        """;
+
+    private static final String INSERT_AQI = """
+        INSERT INTO aqi_readings (location_id, timestamp,
+            aqi, level, pm25, pm10, co, no2, so2, o3, data_source, created_at)
+        VALUES (:locationId, :timestamp,
+            :aqi, :level, :pm25, :pm10, :co, :no2, :so2, :o3, :dataSource, :createdAt)
+        ON CONFLICT (location_id, timestamp, data_source) DO NOTHING
+        RETURNING id
+        """;
+
+    private static final String POINT_LATEST = """
+        INSERT INTO latest_readings (location_id, reading_type, reading_id, timestamp)
+        VALUES (:locationId, :readingType, :readingId, :timestamp)
+        ON CONFLICT (location_id, reading_type) DO UPDATE SET
+            reading_id = EXCLUDED.reading_id, timestamp = EXCLUDED.timestamp
+        WHERE latest_readings.timestamp <= EXCLUDED.timestamp
+        """;
+
+    private static final String UPSERT_FORECAST = """
+        INSERT INTO forecasts (location_id, forecast_date,
+            temp_min, temp_max, temp_avg, humidity, wind_speed, condition_id,
+            precipitation_probability, precipitation_amount, cloudiness, uv_index, sunrise, sunset, data_source,
+            created_at, issued_at, revision)
+        VALUES (:locationId, :forecastDate,
+            :tempMin, :tempMax, :tempAvg, :humidity, :windSpeed, :conditionId,
+            :precipitationProbability, :precipitationAmount, :cloudiness, :uvIndex, :sunrise, :sunset, :dataSource,
+            :createdAt, :issuedAt, 1)
+        ON CONFLICT (location_id, forecast_date) DO UPDATE SET
+            temp_min = EXCLUDED.temp_min, temp_max = EXCLUDED.temp_max, temp_avg = EXCLUDED.temp_avg,
+            humidity = EXCLUDED.humidity, wind_speed = EXCLUDED.wind_speed,
+            condition_id = EXCLUDED.condition_id, precipitation_probability = EXCLUDED.precipitation_probability,
+            precipitation_amount = EXCLUDED.precipitation_amount, cloudiness = EXCLUDED.cloudiness,
+            uv_index = EXCLUDED.uv_index, sunrise = EXCLUDED.sunrise, sunset = EXCLUDED.sunset,
+            data_source = EXCLUDED.data_source, issued_at = EXCLUDED.issued_at,
+            revision = COALESCE(forecasts.revision, 1) + 1
+        WHERE forecasts.issued_at IS NULL OR forecasts.issued_at < EXCLUDED.issued_at
+        RETURNING id, revision
+        """;
+
+    private final NamedParameterJdbcTemplate jdbc;
+    private final TransactionTemplate ownTransaction;
+
+    ReadingWriter(NamedParameterJdbcTemplate jdbc, PlatformTransactionManager transactionManager) {
+        this.jdbc = jdbc;
+        this.ownTransaction = new TransactionTemplate(transactionManager);
+        this.ownTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * @return the new row id, or empty when this observation was stored before
+     */
+    Optional<Long> insertIfAbsent(WeatherReadingEntity reading) {
+        MapSqlParameterSource params = row(reading.getLocationId(), reading.getTimestamp(), reading.getCreatedAt())
+            .addValue("temperatureCelsius", reading.getTemperatureCelsius())
+            .addValue("temperatureFahrenheit", reading.getTemperatureFahrenheit())
+            .addValue("humidity", reading.getHumidity())
+            .addValue("pressure", reading.getPressure())
+            .addValue("windSpeed", reading.getWindSpeed())
+            .addValue("windDirection", reading.getWindDirection())
+            .addValue("conditionId", reading.getConditionId())
+            .addValue("visibility", reading.getVisibility())
+            .addValue("cloudiness", reading.getCloudiness())
+            .addValue("dataSource", reading.getDataSource() != null ? reading.getDataSource().name() : null);
+        Optional<Long> id = insert(INSERT_WEATHER, params);
+        id.ifPresent(readingId -> pointLatest(reading.getLocationId(), ReadingType.WEATHER, readingId,
+            reading.getTimestamp()));
+        return id;
+    }
+
+    /**
+     * @return the new row id, or empty when this observation was stored before
+     */
+    Optional<Long> insertIfAbsent(AQIReadingEntity reading) {
+        MapSqlParameterSource params = row(reading.getLocationId(), reading.getTimestamp(), reading.getCreatedAt())
+            .addValue("aqi", reading.getAqi())
+            .addValue("level", reading.getLevel() != null ? reading.getLevel().name() : null)
+            .addValue("pm25", reading.getPm25())
+            .addValue("pm10", reading.getPm10())
+            .addValue("co", reading.getCo())
+            .addValue("no2", reading.getNo2())
+            .addValue("so2", reading.getSo2())
+            .addValue("o3", reading.getO3())
+            .addValue("dataSource", reading.getDataSource() != null ? reading.getDataSource().name() : null);
+        Optional<Long> id = insert(INSERT_AQI, params);
+        id.ifPresent(readingId -> pointLatest(reading.getLocationId(), ReadingType.AQI, readingId,
+            reading.getTimestamp()));
+        return id;
+    }
+
+    /**
+     * Makes the reading the location's latest of its type, unless a newer one is recorded
+     */
+    void pointLatest(int locationId, ReadingType type, long readingId, Instant timestamp) {
+        jdbc.update(POINT_LATEST, new MapSqlParameterSource()
+            .addValue("locationId", locationId)
+            .addValue("readingType", type.name())
+            .addValue("readingId", readingId)
+            .addValue("timestamp", utc(timestamp)));
+    }
+
+    /**
+     * pointLatest for a pointer found missing while reading. A read-only transaction, possibly on a
+     * replica, cannot write it, so it is then written on the primary in a transaction of its own.
+     */
+    void backfillLatest(int locationId, ReadingType type, long readingId, Instant timestamp) {
+        if (TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            ownTransaction.executeWithoutResult(status -> pointLatest(locationId, type, readingId, timestamp));
+        } else {
+            pointLatest(locationId, type, readingId, timestamp);
+        }
+    }
+
+    /**
+     * Stores the forecast as the new revision of its location and date unless a later one is stored
+     * @return the stored row, or empty when the stored revision is at least as recent
+     */
+    Optional<ForecastEntity> upsert(ForecastEntity forecast) {
+        Instant issuedAt = forecast.getIssuedAt() != null ? forecast.getIssuedAt() : Instant.now();
+        MapSqlParameterSource params = row(forecast.getLocationId(), null, forecast.getCreatedAt())
+            .addValue("forecastDate", forecast.getForecastDate())
+            .addValue("tempMin", forecast.getTempMin())
+            .addValue("tempMax", forecast.getTempMax())
+            .addValue("tempAvg", forecast.getTempAvg())
+            .addValue("humidity", forecast.getHumidity())
+            .addValue("windSpeed", forecast.getWindSpeed())
+            .addValue("conditionId", forecast.getConditionId())
+            .addValue("precipitationProbability", forecast.getPrecipitationProbability())
+            .addValue("precipitationAmount", forecast.getPrecipitationAmount())
+            .addValue("cloudiness", forecast.getCloudiness())
+            .addValue("uvIndex", forecast.getUvIndex())
+            .addValue("sunrise", utc(forecast.getSunrise()))
+            .addValue("sunset", utc(forecast.getSunset()))
+            .addValue("dataSource", forecast.getDataSource() != null ? forecast.getDataSource().name() : null)
+            .addValue("issuedAt", utc(issuedAt));
+        return jdbc.query(UPSERT_FORECAST, params, (rs, row) -> {
+            forecast.setId(rs.getLong("id"));
+            forecast.setRevision(rs.getInt("revision"));
+            forecast.setIssuedAt(issuedAt);
+            return forecast;
+        }).stream().findFirst();
+    }
+
+    private Optional<Long> insert(String sql, MapSqlParameterSource params) {
+        List<Long> ids = jdbc.query(sql, params, (rs, row) -> rs.getLong(1));
+        return ids.stream().findFirst();
+    }
+
+    private static MapSqlParameterSource row(Integer locationId, Instant timestamp, Instant createdAt) {
+        return new MapSqlParameterSource()
+            .addValue("locationId", locationId)
+            .addValue("timestamp", utc(timestamp))
+            .addValue("createdAt", utc(createdAt != null ? createdAt : Instant.now()));
+    }
+
+    private static OffsetDateTime utc(Instant instant) {
+        return instant != null ? instant.atOffset(ZoneOffset.UTC) : null;
+    }
+}
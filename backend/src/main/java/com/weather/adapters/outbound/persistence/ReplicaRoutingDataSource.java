@@ -0,0 +1,176 @@
+package com.weather.adapters.outbound.persistence;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Connections for read-only transactions: from the replicas in turn, skipping any whose replay
+ * lag is above maxLag or could not be measured, and from the primary while none qualifies.
+ * Lag is measured on a schedule, so routing a connection costs no round trip. A replica starts
+ * out unmeasured and only receives reads after its first check.
+ * Publishes each pool's share of busy connections (weather.storage.pool.usage), the measured
+ * lag and the number of connections handed out per pool.
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractDataSource implements AutoCloseable {
+
+    // A replica that has replayed everything it received is current even when the primary is idle
+    static final String LAG_QUERY = """
+        SELECT CASE
+            WHEN NOT pg_is_in_recovery() OR pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0
+            ELSE EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp())
+        END
+        """;
+
+    private final DataSource primary;
+    private final List<Replica> replicas = new ArrayList<>();
+    private final double maxLagSeconds;
+    private final Counter primaryReads;
+    private final AtomicInteger next = new AtomicInteger();
+
+    public ReplicaRoutingDataSource(DataSource primary, Map<String, DataSource> replicas, Duration maxLag,
+                                    MeterRegistry meterRegistry) {
+        this.primary = primary;
+        this.maxLagSeconds = maxLag.toMillis() / 1000.0;
+        this.primaryReads = readCounter(meterRegistry, "primary");
+        registerUsage(meterRegistry, "primary", primary);
+        replicas.forEach((name, dataSource) -> {
+            Replica replica = new Replica(name, dataSource, readCounter(meterRegistry, name));
+            this.replicas.add(replica);
+            registerUsage(meterRegistry, name, dataSource);
+            Gauge.builder("weather.storage.replica.lag", replica, r -> r.lagSeconds != null ? r.lagSeconds : Double.NaN)
+                .description("Replay lag of the replica in seconds, NaN when it could not be measured")
+                .baseUnit("seconds")
+                .tag("replica", name)
+                .register(meterRegistry);
+        });
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return route().getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return route().getConnection(username, password);
+    }
+
+    DataSource route() {
+        int size = replicas.size();
+        int start = size > 0 ? Math.floorMod(next.getAndIncrement(), size) : 0;
+        for (int i = 0; i < size; i++) {
+            Replica replica = replicas.get((start + i) % size);
+            if (replica.current(maxLagSeconds)) {
+                replica.reads.increment();
+                return replica.dataSource;
+            }
+        }
+        primaryReads.increment();
+        return primary;
+    }
+
+    @Scheduled(fixedDelayString = "${weather.storage.replicas.check-interval:5000}")
+    public void checkLag() {
+        for (Replica replica : replicas) {
+            Double lag;
+            try {
+                lag = new JdbcTemplate(replica.dataSource).queryForObject(LAG_QUERY, Double.class);
+            } catch (DataAccessException e) {
+                log.debug("Lag check of replica {} failed: {}", replica.name, e.getMessage());
+                lag = null;
+            }
+            recordLag(replica.name, lag);
+        }
+    }
+
+    /**
+     * @param lagSeconds measured replay lag, null when the replica could not be reached
+     */
+    void recordLag(String name, Double lagSeconds) {
+        for (Replica replica : replicas) {
+            if (!replica.name.equals(name)) {
+                continue;
+            }
+            boolean wasCurrent = replica.current(maxLagSeconds);
+            replica.lagSeconds = lagSeconds;
+            boolean current = replica.current(maxLagSeconds);
+            if (wasCurrent && !current) {
+                log.warn("Replica {} is {} behind, reading from the others or the primary", name,
+                    lagSeconds != null ? lagSeconds + "s" : "unreachable or an unknown time");
+            } else if (!wasCurrent && current) {
+                log.info("Replica {} is current (lag {}s), serving reads", name, lagSeconds);
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        for (Replica replica : replicas) {
+            if (replica.dataSource instanceof AutoCloseable closeable) {
+                try {
+                    closeable.close();
+                } catch (Exception e) {
+                    log.warn("Closing replica pool {} failed: {}", replica.name, e.getMessage());
+                }
+            }
+        }
+    }
+
+    private static Counter readCounter(MeterRegistry meterRegistry, String pool) {
+        return Counter.builder("weather.storage.reads")
+            .description("Connections handed out to read-only transactions")
+            .tag("pool", pool)
+            .register(meterRegistry);
+    }
+
+    private static void registerUsage(MeterRegistry meterRegistry, String pool, DataSource dataSource) {
+        if (dataSource instanceof HikariDataSource hikari) {
+            Gauge.builder("weather.storage.pool.usage", hikari, ReplicaRoutingDataSource::usage)
+                .description("Share of the pool's maximum connections in use")
+                .tag("pool", pool)
+                .register(meterRegistry);
+        }
+    }
+
+    private static double usage(HikariDataSource pool) {
+        // The pool is created on first use
+        HikariPoolMXBean stats = pool.getHikariPoolMXBean();
+        return stats != null ? (double) stats.getActiveConnections() / pool.getMaximumPoolSize() : 0;
+    }
+
+    private static final class Replica {
+        private final String name;
+        private final DataSource dataSource;
+        private final Counter reads;
+        private volatile Double lagSeconds;
+
+        private Replica(String name, DataSource dataSource, Counter reads) {
+            this.name = name;
+            this.dataSource = dataSource;
+            this.reads = reads;
+        }
+
+        private boolean current(double maxLagSeconds) {
+            Double lag = lagSeconds;
+            return lag != null && lag <= maxLagSeconds;
+        }
+    }
+}
@@ -10,10 +10,9 @@ import java.util.stream.Collectors;
 
 public class SubscriptionMapper {
 
-    public static SubscriptionEntity toEntity(Subscription domain) {
+    public static SubscriptionEntity toEntity(Subscription domain, Integer locationId) {
         if (domain == null) return null;
 
-        Location loc = domain.getLocation();
         String alertTypesStr = domain.getAlertTypes() != null
             ? domain.getAlertTypes().stream()
                 .map(Enum::name)
@@ -26,10 +25,7 @@ public class SubscriptionMapper {
             .id(domain.getId())
             .userId(domain.getUserId())
             .email(domain.getEmail())
-            .city(loc != null ? loc.getCity() : null)
-            .country(loc != null ? loc.getCountry() : null)
-            .latitude(loc != null ? loc.getLatitude() : null)
-            .longitude(loc != null ? loc.getLongitude() : null)
+            .locationId(locationId)
             .alertTypes(alertTypesStr)
             .maxTemperature(thresholds != null ? thresholds.getMaxTemperature() : null)
             .minTemperature(thresholds != null ? thresholds.getMinTemperature() : null)
@@ -43,16 +39,9 @@ public class SubscriptionMapper {
             .build();
     }
 
-    public static Subscription toDomain(SubscriptionEntity entity) {
+    public static Subscription toDomain(SubscriptionEntity entity, Location location) {
         if (entity == null) return null;
 
-        Location location = Location.builder()
-            .city(entity.getCity())
-            .country(entity.getCountry())
-            .latitude(entity.getLatitude())
-            .longitude(entity.getLongitude())
-            .build();
-
         Set<Subscription.AlertType> alertTypes = entity.getAlertTypes() != null && !entity.getAlertTypes().isEmpty()
             ? Arrays.stream(entity.getAlertTypes().split(","))
                 .map(String::trim)
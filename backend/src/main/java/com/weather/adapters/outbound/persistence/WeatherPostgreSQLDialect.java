@@ -0,0 +1,21 @@
+package com.weather.adapters.outbound.persistence;
+
+import org.hibernate.dialect.PostgreSQLDialect;
+
+import java.sql.Types;
+
+/**
+ * PostgreSQLDialect that also validates a smallint attribute against an integer column.
+ * The measurement columns stay integer until db/maintenance/narrow_measurement_columns.sql
+ * rewrites them in a maintenance window; values are clamped to smallint on write either way
+ * (see {@link ColumnTypes}). Float attributes need no such leniency: the dialect already accepts
+ * them on double precision columns.
+ */
+public class WeatherPostgreSQLDialect extends PostgreSQLDialect {
+
+    @Override
+    public boolean equivalentTypes(int typeCode1, int typeCode2) {
+        return typeCode1 == Types.SMALLINT && typeCode2 == Types.INTEGER
+            || super.equivalentTypes(typeCode1, typeCode2);
+    }
+}
@@ -1,66 +1,53 @@
 package com.weather.adapters.outbound.persistence;
 
 import com.weather.adapters.outbound.persistence.entity.WeatherReadingEntity;
+import com.weather.adapters.outbound.persistence.entity.WeatherConditionEntity;
 import com.weather.domain.model.Location;
 import com.weather.domain.model.WeatherReading;
 
 public class WeatherReadingMapper {
 
-    public static WeatherReadingEntity toEntity(WeatherReading domain) {
+    public static WeatherReadingEntity toEntity(WeatherReading domain, Integer locationId, Short conditionId) {
         if (domain == null) return null;
 
-        Location loc = domain.getLocation();
-        String locationKey = loc != null ? loc.getLocationKey() : "";
-
         return WeatherReadingEntity.builder()
             .id(domain.getId())
-            .locationKey(locationKey)
-            .city(loc != null ? loc.getCity() : null)
-            .country(loc != null ? loc.getCountry() : null)
-            .latitude(loc != null ? loc.getLatitude() : null)
-            .longitude(loc != null ? loc.getLongitude() : null)
+            .locationId(locationId)
             .timestamp(domain.getTimestamp())
-            .temperatureCelsius(domain.getTemperatureCelsius())
-            .temperatureFahrenheit(domain.getTemperatureFahrenheit())
-            .humidity(domain.getHumidity())
-            .pressure(domain.getPressure())
-            .windSpeed(domain.getWindSpeed())
-            .windDirection(domain.getWindDirection())
-            .weatherCondition(domain.getWeatherCondition())
-            .weatherDescription(domain.getWeatherDescription())
-            .weatherIcon(domain.getWeatherIcon())
-            .visibility(domain.getVisibility())
-            .cloudiness(domain.getCloudiness())
+            .temperatureCelsius(ColumnTypes.toReal(domain.getTemperatureCelsius()))
+            .temperatureFahrenheit(ColumnTypes.toReal(domain.getTemperatureFahrenheit()))
+            .humidity(ColumnTypes.toReal(domain.getHumidity()))
+            .pressure(ColumnTypes.toReal(domain.getPressure()))
+            .windSpeed(ColumnTypes.toReal(domain.getWindSpeed()))
+            .windDirection(ColumnTypes.toSmallint(domain.getWindDirection()))
+            .conditionId(conditionId)
+            .visibility(ColumnTypes.toReal(domain.getVisibility()))
+            .cloudiness(ColumnTypes.toSmallint(domain.getCloudiness()))
             .dataSource(mapDataSource(domain.getDataSource()))
             .createdAt(domain.getCreatedAt())
             .build();
     }
 
-    public static WeatherReading toDomain(WeatherReadingEntity entity) {
+    public static WeatherReading toDomain(WeatherReadingEntity entity, Location location,
+                                          WeatherConditionEntity condition) {
         if (entity == null) return null;
 
-        Location location = Location.builder()
-            .city(entity.getCity())
-            .country(entity.getCountry())
-            .latitude(entity.getLatitude())
-            .longitude(entity.getLongitude())
-            .build();
-
         return WeatherReading.builder()
             .id(entity.getId())
             .location(location)
             .timestamp(entity.getTimestamp())
-            .temperatureCelsius(entity.getTemperatureCelsius())
-            .temperatureFahrenheit(entity.getTemperatureFahrenheit())
-            .humidity(entity.getHumidity())
-            .pressure(entity.getPressure())
-            .windSpeed(entity.getWindSpeed())
-            .windDirection(entity.getWindDirection())
-            .weatherCondition(entity.getWeatherCondition())
-            .weatherDescription(entity.getWeatherDescription())
-            .weatherIcon(entity.getWeatherIcon())
-            .visibility(entity.getVisibility())
-            .cloudiness(entity.getCloudiness())
+            .temperatureCelsius(ColumnTypes.fromReal(entity.getTemperatureCelsius()))
+            .temperatureFahrenheit(ColumnTypes.fromReal(entity.getTemperatureFahrenheit()))
+            .humidity(ColumnTypes.fromReal(entity.getHumidity()))
+            .pressure(ColumnTypes.fromReal(entity.getPressure()))
+            .windSpeed(ColumnTypes.fromReal(entity.getWindSpeed()))
+            .windDirection(ColumnTypes.fromSmallint(entity.getWindDirection()))
+            .conditionCode(condition != null ? ColumnTypes.fromSmallint(condition.getCode()) : null)
+            .weatherCondition(condition != null ? ColumnTypes.fromDictionary(condition.getMain()) : null)
+            .weatherDescription(condition != null ? ColumnTypes.fromDictionary(condition.getDescription()) : null)
+            .weatherIcon(condition != null ? ColumnTypes.fromDictionary(condition.getIcon()) : null)
+            .visibility(ColumnTypes.fromReal(entity.getVisibility()))
+            .cloudiness(ColumnTypes.fromSmallint(entity.getCloudiness()))
             .dataSource(mapDataSource(entity.getDataSource()))
             .createdAt(entity.getCreatedAt())
             .build();
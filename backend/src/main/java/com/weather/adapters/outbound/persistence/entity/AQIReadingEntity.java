@@ -8,9 +8,12 @@ import lombok.NoArgsConstructor;
 
 import java.time.Instant;
 
+/**
+ * BRIN and covering history indexes are built by the V9__HistoryIndexes migration
+ */
 @Entity
 @Table(name = "aqi_readings", indexes = {
-    @Index(name = "idx_aqi_location_timestamp", columnList = "locationKey,timestamp")
+    @Index(name = "uq_aqi_observation", columnList = "locationId,timestamp,dataSource", unique = true)
 })
 @Data
 @Builder
@@ -23,36 +26,27 @@ public class AQIReadingEntity {
     private Long id;
 
     @Column(nullable = false)
-    private String locationKey;
-
-    @Column(nullable = false)
-    private String city;
-
-    private String country;
-
-    private Double latitude;
-
-    private Double longitude;
+    private Integer locationId;
 
     @Column(nullable = false)
     private Instant timestamp;
 
-    private Integer aqi;
+    private Short aqi;
 
     @Enumerated(EnumType.STRING)
     private AQILevelType level;
 
-    private Double pm25;
+    private Float pm25;
 
-    private Double pm10;
+    private Float pm10;
 
-    private Double co;
+    private Float co;
 
-    private Double no2;
+    private Float no2;
 
-    private Double so2;
+    private Float so2;
 
-    private Double o3;
+    private Float o3;
 
     @Enumerated(EnumType.STRING)
     private DataSourceType dataSource;
@@ -11,7 +11,7 @@ import java.time.LocalDate;
 
 @Entity
 @Table(name = "forecasts", indexes = {
-    @Index(name = "idx_forecast_location_date", columnList = "locationKey,forecastDate")
+    @Index(name = "uq_forecast_location_date", columnList = "locationId,forecastDate", unique = true)
 })
 @Data
 @Builder
@@ -24,43 +24,31 @@ public class ForecastEntity {
     private Long id;
 
     @Column(nullable = false)
-    private String locationKey;
-
-    @Column(nullable = false)
-    private String city;
-
-    private String country;
-
-    private Double latitude;
-
-    private Double longitude;
+    private Integer locationId;
 
     @Column(nullable = false)
     private LocalDate forecastDate;
 
-    private Double tempMin;
+    private Float tempMin;
 
-    private Double tempMax;
+    private Float tempMax;
 
-    private Double tempAvg;
+    private Float tempAvg;
 
-    private Integer humidity;
+    private Short humidity;
 
-    private Double windSpeed;
+    private Float windSpeed;
 
-    private String weatherCondition;
+    /** Row of weather_conditions */
+    private Short conditionId;
 
-    private String weatherDescription;
+    private Float precipitationProbability;
 
-    private String weatherIcon;
+    private Float precipitationAmount;
 
-    private Double precipitationProbability;
+    private Short cloudiness;
 
-    private Double precipitationAmount;
-
-    private Integer cloudiness;
-
-    private Integer uvIndex;
+    private Short uvIndex;
 
     private Instant sunrise;
 
@@ -72,6 +60,12 @@ public class ForecastEntity {
     @Column(nullable = false)
     private Instant createdAt;
 
+    /** Fetch time of the forecast revision this row holds */
+    private Instant issuedAt;
+
+    /** 1 for the first forecast of the date, incremented each time a newer one replaces it */
+    private Integer revision;
+
     public enum DataSourceType {
         OPENWEATHER_API,
         IQAIR_API,
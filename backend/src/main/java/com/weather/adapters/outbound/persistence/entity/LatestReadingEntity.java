@@ -0,0 +1,50 @@
+package com.weather.adapters.outbound.persistence.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.Instant;
+
+/**
+ * Points at the most recent reading of each location and type, so fallback reads are a key
+ * lookup instead of a scan of the history tables
+ */
+@Entity
+@Table(name = "latest_readings")
+@IdClass(LatestReadingEntity.Key.class)
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LatestReadingEntity {
+
+    @Id
+    private Integer locationId;
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    private ReadingType readingType;
+
+    @Column(nullable = false)
+    private Long readingId;
+
+    @Column(nullable = false)
+    private Instant timestamp;
+
+    public enum ReadingType {
+        WEATHER,
+        AQI
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private Integer locationId;
+        private ReadingType readingType;
+    }
+}
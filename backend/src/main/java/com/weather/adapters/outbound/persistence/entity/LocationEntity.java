@@ -0,0 +1,38 @@
+package com.weather.adapters.outbound.persistence.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One row per location key; readings, forecasts and subscriptions refer to it by its integer id
+ * instead of repeating the key, names and coordinates on every row
+ */
+@Entity
+@Table(name = "locations", indexes = {
+    @Index(name = "uq_location_key", columnList = "locationKey", unique = true)
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LocationEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Integer id;
+
+    @Column(nullable = false)
+    private String locationKey;
+
+    @Column(nullable = false)
+    private String city;
+
+    private String country;
+
+    private Double latitude;
+
+    private Double longitude;
+}
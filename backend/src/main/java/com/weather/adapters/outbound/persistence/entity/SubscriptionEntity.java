@@ -30,13 +30,7 @@ public class SubscriptionEntity {
     private String email;
 
     @Column(nullable = false)
-    private String city;
-
-    private String country;
-
-    private Double latitude;
-
-    private Double longitude;
+    private Integer locationId;
 
     @Column(columnDefinition = "TEXT")
     private String alertTypes; // Stored as comma-separated values
@@ -0,0 +1,39 @@
+package com.weather.adapters.outbound.persistence.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Dictionary of the distinct condition / description / icon combinations; readings and forecasts
+ * store the two-byte id instead of the three strings. Absent parts are stored as empty strings so
+ * the unique index sees them as equal.
+ */
+@Entity
+@Table(name = "weather_conditions", indexes = {
+    @Index(name = "uq_weather_condition", columnList = "main,description,icon", unique = true)
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class WeatherConditionEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Short id;
+
+    /** Provider's numeric condition id, e.g. OpenWeather's 800 for a clear sky */
+    private Short code;
+
+    @Column(nullable = false)
+    private String main;
+
+    @Column(nullable = false)
+    private String description;
+
+    @Column(nullable = false)
+    private String icon;
+}
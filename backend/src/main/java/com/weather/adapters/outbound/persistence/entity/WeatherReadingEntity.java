@@ -8,9 +8,12 @@ import lombok.NoArgsConstructor;
 
 import java.time.Instant;
 
+/**
+ * BRIN and covering history indexes are built by the V9__HistoryIndexes migration
+ */
 @Entity
 @Table(name = "weather_readings", indexes = {
-    @Index(name = "idx_location_timestamp", columnList = "locationKey,timestamp")
+    @Index(name = "uq_weather_observation", columnList = "locationId,timestamp,dataSource", unique = true)
 })
 @Data
 @Builder
@@ -23,41 +26,29 @@ public class WeatherReadingEntity {
     private Long id;
 
     @Column(nullable = false)
-    private String locationKey;
-
-    @Column(nullable = false)
-    private String city;
-
-    private String country;
-
-    private Double latitude;
-
-    private Double longitude;
+    private Integer locationId;
 
     @Column(nullable = false)
     private Instant timestamp;
 
-    private Double temperatureCelsius;
-
-    private Double temperatureFahrenheit;
-
-    private Double humidity;
+    private Float temperatureCelsius;
 
-    private Double pressure;
+    private Float temperatureFahrenheit;
 
-    private Double windSpeed;
+    private Float humidity;
 
-    private Integer windDirection;
+    private Float pressure;
 
-    private String weatherCondition;
+    private Float windSpeed;
 
-    private String weatherDescription;
+    private Short windDirection;
 
-    private String weatherIcon;
+    /** Row of weather_conditions */
+    private Short conditionId;
 
-    private Double visibility;
+    private Float visibility;
 
-    private Integer cloudiness;
+    private Short cloudiness;
 
     @Enumerated(EnumType.STRING)
     private DataSourceType dataSource;
@@ -0,0 +1,210 @@
+package com.weather.adapters.outbound.persistence.migration;
+
+import lombok.extern.slf4j.Slf4j;
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Base of migrations that change large tables while instances of the previous release keep
+ * writing to them. They run outside a transaction, so nothing is held for the whole migration:
+ * rows change in id ranges of {@link #BATCH_SIZE}, each committed on its own; indexes are built
+ * CONCURRENTLY; and DDL needing a table lock gives up after {@link #LOCK_TIMEOUT} and retries
+ * instead of queueing every reader of the table behind it.
+ * Each step can be repeated, so a migration interrupted halfway is completed by the next run.
+ */
+@Slf4j
+abstract class OnlineMigration extends BaseJavaMigration {
+
+    static final int BATCH_SIZE = 5000;
+    static final String LOCK_TIMEOUT = "2s";
+
+    private static final int ATTEMPTS = 5;
+    private static final long RETRY_PAUSE_MILLIS = 1000;
+
+    @Override
+    public boolean canExecuteInTransaction() {
+        return false;
+    }
+
+    @Override
+    public final void migrate(Context context) throws Exception {
+        migrate(new JdbcTemplate(new SingleConnectionDataSource(context.getConnection(), true)));
+    }
+
+    protected abstract void migrate(JdbcTemplate jdbc) throws Exception;
+
+    /**
+     * Runs the batch over consecutive id ranges [from, to) up to the highest id present now.
+     * Rows inserted meanwhile are left to whoever inserted them.
+     * @return rows changed in total
+     */
+    protected long inBatches(JdbcTemplate jdbc, String table, Batch batch) {
+        Map<String, Object> ids = jdbc.queryForMap("SELECT min(id) AS low, max(id) AS high FROM " + table);
+        if (ids.get("low") == null) {
+            return 0;
+        }
+        long high = ((Number) ids.get("high")).longValue();
+        long changed = 0;
+        for (long from = ((Number) ids.get("low")).longValue(); from <= high; from += BATCH_SIZE) {
+            changed += batch.apply(from, from + BATCH_SIZE);
+        }
+        log.info("{}: {} rows changed in {}", getClass().getSimpleName(), changed, table);
+        return changed;
+    }
+
+    /**
+     * {@link #inBatches(JdbcTemplate, String, Batch)} for a statement whose two parameters bound
+     * the id range
+     */
+    protected long inBatches(JdbcTemplate jdbc, String table, String sql) {
+        return inBatches(jdbc, table, (from, to) -> jdbc.update(sql, from, to));
+    }
+
+    /**
+     * Runs the statements in one transaction that waits at most {@link #LOCK_TIMEOUT} for each
+     * lock, retrying a few times before failing the migration
+     */
+    protected void lockBriefly(JdbcTemplate jdbc, String... statements) throws InterruptedException {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                jdbc.execute((ConnectionCallback<Void>) connection -> {
+                    connection.setAutoCommit(false);
+                    try (Statement statement = connection.createStatement()) {
+                        statement.execute("SET LOCAL lock_timeout = '" + LOCK_TIMEOUT + "'");
+                        for (String sql : statements) {
+                            statement.execute(sql);
+                        }
+                        connection.commit();
+                    } catch (SQLException e) {
+                        connection.rollback();
+                        throw e;
+                    } finally {
+                        connection.setAutoCommit(true);
+                    }
+                    return null;
+                });
+                return;
+            } catch (PessimisticLockingFailureException e) {
+                if (attempt == ATTEMPTS) {
+                    throw e;
+                }
+                log.info("{}: table busy, retrying {}", getClass().getSimpleName(), statements[0]);
+                Thread.sleep(RETRY_PAUSE_MILLIS);
+            }
+        }
+    }
+
+    /**
+     * Builds the index CONCURRENTLY unless a valid one of that name exists.
+     * An invalid one, left behind by an interrupted build, is dropped and built again.
+     * @param definition everything after the index name, e.g. "ON t (a, b)"
+     */
+    protected void createIndex(JdbcTemplate jdbc, String index, boolean unique, String definition) {
+        Boolean valid = indexValid(jdbc, index);
+        if (Boolean.TRUE.equals(valid)) {
+            return;
+        }
+        if (valid != null) {
+            jdbc.execute("DROP INDEX CONCURRENTLY IF EXISTS " + index);
+        }
+        jdbc.execute("CREATE " + (unique ? "UNIQUE " : "") + "INDEX CONCURRENTLY " + index + " " + definition);
+    }
+
+    /**
+     * Deletes the rows that repeat a key, then builds the unique index on it.
+     * Writers of the previous release may store another duplicate before the build finishes, which
+     * fails it; the duplicates are then removed again and the build retried.
+     * @param key       columns of the index
+     * @param preferred condition under which row o is kept over row r with the same key
+     */
+    protected void createUniqueIndex(JdbcTemplate jdbc, String index, String table, String key, String preferred) {
+        for (int attempt = 1; ; attempt++) {
+            removeDuplicates(jdbc, table, key, preferred);
+            try {
+                createIndex(jdbc, index, true, "ON " + table + " (" + key + ")");
+                return;
+            } catch (DuplicateKeyException e) {
+                if (attempt == ATTEMPTS) {
+                    throw e;
+                }
+                log.info("{}: duplicates written during the build of {}, retrying", getClass().getSimpleName(), index);
+            }
+        }
+    }
+
+    private void removeDuplicates(JdbcTemplate jdbc, String table, String key, String preferred) {
+        String sameKey = Arrays.stream(key.split(",\\s*"))
+            .map(column -> "o." + column + " = r." + column)
+            .collect(Collectors.joining(" AND "));
+        inBatches(jdbc, table, """
+            DELETE FROM %s r WHERE r.id >= ? AND r.id < ?
+            AND EXISTS (SELECT 1 FROM %s o WHERE %s AND %s)
+            """.formatted(table, table, sameKey, preferred));
+    }
+
+    /**
+     * Makes the column NOT NULL without the full-table scan under an exclusive lock that
+     * SET NOT NULL alone does: a NOT VALID check is validated while writes go on, and
+     * SET NOT NULL then relies on it
+     */
+    protected void setNotNull(JdbcTemplate jdbc, String table, String column) throws InterruptedException {
+        Boolean notNull = jdbc.queryForObject(
+            "SELECT attnotnull FROM pg_attribute WHERE attrelid = ?::regclass AND attname = ?",
+            Boolean.class, table, column);
+        if (Boolean.TRUE.equals(notNull)) {
+            return;
+        }
+        String check = table + "_" + column + "_not_null";
+        addConstraint(jdbc, table, check, "CHECK (" + column + " IS NOT NULL)");
+        lockBriefly(jdbc, "ALTER TABLE " + table + " ALTER COLUMN " + column + " SET NOT NULL",
+            "ALTER TABLE " + table + " DROP CONSTRAINT " + check);
+    }
+
+    /**
+     * Adds the constraint NOT VALID, which only checks new rows, then validates the existing
+     * ones under a lock that lets reads and writes through
+     */
+    protected void addConstraint(JdbcTemplate jdbc, String table, String name, String definition)
+        throws InterruptedException {
+        List<Boolean> validated = jdbc.queryForList(
+            "SELECT convalidated FROM pg_constraint WHERE conname = ? AND conrelid = ?::regclass",
+            Boolean.class, name, table);
+        if (validated.isEmpty()) {
+            lockBriefly(jdbc, "ALTER TABLE " + table + " ADD CONSTRAINT " + name + " " + definition + " NOT VALID");
+        }
+        if (validated.isEmpty() || !validated.get(0)) {
+            jdbc.execute("ALTER TABLE " + table + " VALIDATE CONSTRAINT " + name);
+        }
+    }
+
+    /**
+     * true/false for a valid/invalid index, null when it does not exist
+     */
+    static Boolean indexValid(JdbcTemplate jdbc, String index) {
+        List<Boolean> valid = jdbc.queryForList("""
+            SELECT i.indisvalid FROM pg_index i JOIN pg_class c ON c.oid = i.indexrelid
+            WHERE c.relname = ? AND pg_table_is_visible(c.oid)
+            """, Boolean.class, index);
+        return valid.isEmpty() ? null : valid.get(0);
+    }
+
+    @FunctionalInterface
+    protected interface Batch {
+        /**
+         * @return rows changed among ids from (inclusive) to to (exclusive)
+         */
+        int apply(long from, long to);
+    }
+}
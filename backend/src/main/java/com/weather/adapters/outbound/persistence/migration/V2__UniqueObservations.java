@@ -0,0 +1,22 @@
+package com.weather.adapters.outbound.persistence.migration;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Adds the unique indexes that make a repeated observation a no-op insert. Duplicates stored
+ * before have to go first; each reading keeps its first stored copy.
+ */
+@Component
+public class V2__UniqueObservations extends OnlineMigration {
+
+    private static final String FIRST_STORED = "o.id < r.id";
+
+    @Override
+    protected void migrate(JdbcTemplate jdbc) {
+        createUniqueIndex(jdbc, "uq_weather_observation", "weather_readings",
+            "location_key, timestamp, data_source", FIRST_STORED);
+        createUniqueIndex(jdbc, "uq_aqi_observation", "aqi_readings",
+            "location_key, timestamp, data_source", FIRST_STORED);
+    }
+}
@@ -0,0 +1,27 @@
+package com.weather.adapters.outbound.persistence.migration;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Keeps one forecast per location and date, the latest one, and records which fetch it came from.
+ * issued_at and revision stay empty on existing rows: the upsert treats a row without issued_at as
+ * older than any fetch and counts its revisions from 1.
+ */
+@Component
+public class V3__ForecastRevisions extends OnlineMigration {
+
+    private static final String LATEST_STORED = "o.id > r.id";
+
+    @Override
+    protected void migrate(JdbcTemplate jdbc) throws InterruptedException {
+        lockBriefly(jdbc, """
+            ALTER TABLE forecasts
+                ADD COLUMN IF NOT EXISTS issued_at timestamp(6) with time zone,
+                ADD COLUMN IF NOT EXISTS revision integer
+            """);
+        createUniqueIndex(jdbc, "uq_forecast_location_date", "forecasts", "location_key, forecast_date", LATEST_STORED);
+        // Same leading columns as the unique index
+        jdbc.execute("DROP INDEX CONCURRENTLY IF EXISTS idx_forecast_location_date");
+    }
+}
@@ -0,0 +1,159 @@
+package com.weather.adapters.outbound.persistence.migration;
+
+import com.weather.domain.model.Location;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Points every reading, forecast and subscription at its locations row, then moves the indexes,
+ * latest_readings and the constraints from location_key to location_id.
+ * Keys come from {@link Location#keyOf}, which SQL cannot reproduce exactly; the stored
+ * location_key cannot be reused either, as rows written before the canonical keys hold
+ * "city,country" lower-cased, "null" country included. Names that normalize to the same key share
+ * one location, so their observations and forecasts may now repeat a key and are deduplicated
+ * again before the unique indexes are rebuilt on location_id.
+ * The location_key indexes stay, renamed, for the previous release until
+ * db/maintenance/drop_location_columns.sql drops them with their columns.
+ */
+@Component
+public class V6__LocationReferences extends OnlineMigration {
+
+    // Readings first: their names and coordinates come from the providers
+    private static final List<String> TABLES = List.of("weather_readings", "aqi_readings", "forecasts", "subscriptions");
+
+    private static final String FIRST_STORED = "o.id < r.id";
+    private static final String LATEST_ISSUED =
+        "(COALESCE(o.issued_at, '-infinity'), o.id) > (COALESCE(r.issued_at, '-infinity'), r.id)";
+
+    private static final String UPSERT = """
+        INSERT INTO locations (location_key, city, country, latitude, longitude)
+        VALUES (?, ?, ?, ?, ?)
+        ON CONFLICT (location_key) DO UPDATE SET
+            latitude = COALESCE(locations.latitude, EXCLUDED.latitude),
+            longitude = COALESCE(locations.longitude, EXCLUDED.longitude)
+        RETURNING id
+        """;
+
+    @Override
+    protected void migrate(JdbcTemplate jdbc) throws InterruptedException {
+        LocationNames names = new LocationNames(jdbc);
+        jdbc.execute("CREATE TEMPORARY TABLE IF NOT EXISTS location_names (city varchar(255), country varchar(255),"
+            + " location_id integer, PRIMARY KEY (city, country))");
+        for (String table : TABLES) {
+            inBatches(jdbc, table, (from, to) -> names.resolve(table, from, to));
+        }
+        jdbc.execute("DROP TABLE location_names");
+
+        renameIndex(jdbc, "idx_location_timestamp", "idx_weather_location_key");
+        renameIndex(jdbc, "uq_weather_observation", "uq_weather_observation_key");
+        renameIndex(jdbc, "idx_aqi_location_timestamp", "idx_aqi_location_key");
+        renameIndex(jdbc, "uq_aqi_observation", "uq_aqi_observation_key");
+        renameIndex(jdbc, "uq_forecast_location_date", "uq_forecast_location_key_date");
+
+        createIndex(jdbc, "idx_location_timestamp", false, "ON weather_readings (location_id, timestamp)");
+        createIndex(jdbc, "idx_aqi_location_timestamp", false, "ON aqi_readings (location_id, timestamp)");
+        createUniqueIndex(jdbc, "uq_weather_observation", "weather_readings",
+            "location_id, timestamp, data_source", FIRST_STORED);
+        createUniqueIndex(jdbc, "uq_aqi_observation", "aqi_readings",
+            "location_id, timestamp, data_source", FIRST_STORED);
+        createUniqueIndex(jdbc, "uq_forecast_location_date", "forecasts",
+            "location_id, forecast_date", LATEST_ISSUED);
+
+        if (indexValid(jdbc, "uq_latest_reading_key") == null) {
+            // A few rows per location, so one short exclusive lock; merged keys keep their newest
+            // pointer, and pointers whose reading was removed are rebuilt on first read
+            lockBriefly(jdbc,
+                "LOCK TABLE latest_readings IN ACCESS EXCLUSIVE MODE",
+                """
+                UPDATE latest_readings l SET location_id = r.location_id FROM weather_readings r
+                WHERE l.location_id IS NULL AND l.reading_type = 'WEATHER' AND r.id = l.reading_id
+                """,
+                """
+                UPDATE latest_readings l SET location_id = r.location_id FROM aqi_readings r
+                WHERE l.location_id IS NULL AND l.reading_type = 'AQI' AND r.id = l.reading_id
+                """,
+                "DELETE FROM latest_readings WHERE location_id IS NULL",
+                """
+                DELETE FROM latest_readings l USING latest_readings n
+                WHERE n.location_id = l.location_id AND n.reading_type = l.reading_type
+                  AND (n.timestamp, n.reading_id) > (l.timestamp, l.reading_id)
+                """,
+                "ALTER TABLE latest_readings ALTER COLUMN location_id SET NOT NULL,"
+                    + " DROP CONSTRAINT latest_readings_pkey,"
+                    + " ADD CONSTRAINT latest_readings_pkey PRIMARY KEY (location_id, reading_type)",
+                "CREATE UNIQUE INDEX uq_latest_reading_key ON latest_readings (location_key, reading_type)");
+        }
+
+        for (String table : TABLES) {
+            setNotNull(jdbc, table, "location_id");
+        }
+        addConstraint(jdbc, "weather_readings", "fk_weather_location", "FOREIGN KEY (location_id) REFERENCES locations");
+        addConstraint(jdbc, "aqi_readings", "fk_aqi_location", "FOREIGN KEY (location_id) REFERENCES locations");
+        addConstraint(jdbc, "forecasts", "fk_forecast_location", "FOREIGN KEY (location_id) REFERENCES locations");
+        addConstraint(jdbc, "subscriptions", "fk_subscription_location", "FOREIGN KEY (location_id) REFERENCES locations");
+    }
+
+    /**
+     * Renames the location_key index, unless an earlier run already did
+     */
+    private void renameIndex(JdbcTemplate jdbc, String index, String legacyName) throws InterruptedException {
+        if (indexValid(jdbc, legacyName) == null && indexValid(jdbc, index) != null) {
+            lockBriefly(jdbc, "ALTER INDEX " + index + " RENAME TO " + legacyName);
+        }
+    }
+
+    /**
+     * Location ids of the names seen so far, also kept in the location_names temporary table for
+     * the updates to join
+     */
+    private static final class LocationNames {
+
+        private final JdbcTemplate jdbc;
+        private final Map<Name, Integer> ids = new HashMap<>();
+        private final Set<Name> located = new HashSet<>();
+
+        LocationNames(JdbcTemplate jdbc) {
+            this.jdbc = jdbc;
+        }
+
+        int resolve(String table, long from, long to) {
+            List<Object[]> added = new ArrayList<>();
+            jdbc.query("SELECT DISTINCT city, country, latitude, longitude FROM " + table
+                + " WHERE id >= ? AND id < ? AND location_id IS NULL", rs -> {
+                String city = rs.getString("city");
+                String country = rs.getString("country");
+                Double latitude = rs.getObject("latitude", Double.class);
+                Double longitude = rs.getObject("longitude", Double.class);
+                // A missing and an empty country give the same key
+                Name name = new Name(city, country != null ? country : "");
+                boolean known = ids.containsKey(name);
+                if (!known || latitude != null && !located.contains(name)) {
+                    Integer id = jdbc.queryForObject(UPSERT, Integer.class,
+                        Location.keyOf(city, country), city, country, latitude, longitude);
+                    if (!known) {
+                        ids.put(name, id);
+                        added.add(new Object[]{name.city(), name.country(), id});
+                    }
+                    if (latitude != null) {
+                        located.add(name);
+                    }
+                }
+            }, from, to);
+            jdbc.batchUpdate("INSERT INTO location_names (city, country, location_id) VALUES (?, ?, ?)", added);
+
+            return jdbc.update("UPDATE " + table + " t SET location_id = n.location_id FROM location_names n"
+                + " WHERE t.id >= ? AND t.id < ? AND t.location_id IS NULL"
+                + " AND n.city = t.city AND n.country = COALESCE(t.country, '')", from, to);
+        }
+    }
+
+    private record Name(String city, String country) {
+    }
+}
@@ -0,0 +1,29 @@
+package com.weather.adapters.outbound.persistence.migration;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Points the stored readings and forecasts at the condition dictionary created by V7.
+ * Each batch touches its rows without changing them; the fill_condition trigger then resolves
+ * their texts to a condition_id, adding dictionary entries on the way.
+ */
+@Component
+public class V8__ConditionReferences extends OnlineMigration {
+
+    private static final String RESOLVE = """
+        UPDATE %s SET condition_id = NULL
+        WHERE id >= ? AND id < ? AND condition_id IS NULL
+          AND COALESCE(weather_condition, weather_description, weather_icon) IS NOT NULL
+        """;
+
+    @Override
+    protected void migrate(JdbcTemplate jdbc) throws InterruptedException {
+        inBatches(jdbc, "weather_readings", RESOLVE.formatted("weather_readings"));
+        inBatches(jdbc, "forecasts", RESOLVE.formatted("forecasts"));
+        addConstraint(jdbc, "weather_readings", "fk_weather_condition",
+            "FOREIGN KEY (condition_id) REFERENCES weather_conditions");
+        addConstraint(jdbc, "forecasts", "fk_forecast_condition",
+            "FOREIGN KEY (condition_id) REFERENCES weather_conditions");
+    }
+}
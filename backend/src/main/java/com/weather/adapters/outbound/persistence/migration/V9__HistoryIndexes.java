@@ -0,0 +1,32 @@
+package com.weather.adapters.outbound.persistence.migration;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Adds the reading indexes the history queries rely on: BRIN over timestamp for time-window scans
+ * across locations, and B-trees on (location_id, timestamp) that INCLUDE the columns of the history
+ * responses, so a location's history is read from the index alone instead of from heap pages that
+ * hold every location's rows in arrival order.
+ * The covering indexes start with the key of the plain (location_id, timestamp) indexes V6 built,
+ * which are dropped once they are in place.
+ */
+@Component
+public class V9__HistoryIndexes extends OnlineMigration {
+
+    @Override
+    protected void migrate(JdbcTemplate jdbc) {
+        // Readings are appended in roughly timestamp order, so small block ranges stay narrow
+        createIndex(jdbc, "brin_weather_timestamp", false,
+            "ON weather_readings USING brin (timestamp) WITH (pages_per_range = 32)");
+        createIndex(jdbc, "brin_aqi_timestamp", false,
+            "ON aqi_readings USING brin (timestamp) WITH (pages_per_range = 32)");
+        createIndex(jdbc, "idx_weather_history", false, "ON weather_readings (location_id, timestamp)"
+            + " INCLUDE (temperature_celsius, humidity, pressure, wind_speed, wind_direction, condition_id,"
+            + " visibility, cloudiness)");
+        createIndex(jdbc, "idx_aqi_history", false,
+            "ON aqi_readings (location_id, timestamp) INCLUDE (aqi, level, pm25, pm10, co, no2, so2, o3)");
+        jdbc.execute("DROP INDEX CONCURRENTLY IF EXISTS idx_location_timestamp");
+        jdbc.execute("DROP INDEX CONCURRENTLY IF EXISTS idx_aqi_location_timestamp");
+    }
+}
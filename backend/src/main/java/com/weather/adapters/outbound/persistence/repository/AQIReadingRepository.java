@@ -2,22 +2,26 @@ package com.weather.adapters.outbound.persistence.repository;
 
 import com.weather.adapters.outbound.persistence.entity.AQIReadingEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
-import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface AQIReadingRepository extends JpaRepository<AQIReadingEntity, Long> {
 
-    List<AQIReadingEntity> findByLocationKeyAndTimestampBetween(
-        String locationKey,
-        Instant from,
-        Instant to
-    );
+    Optional<AQIReadingEntity> findTopByLocationIdOrderByTimestampDesc(Integer locationId);
 
-    Optional<AQIReadingEntity> findTopByLocationKeyOrderByTimestampDesc(String locationKey);
+    /**
+     * Latest reading of each given location, found through latest_readings by primary keys only
+     */
+    @Query("SELECT r FROM AQIReadingEntity r, LatestReadingEntity l "
+        + "WHERE l.locationId IN :locationIds AND r.id = l.readingId "
+        + "AND l.readingType = com.weather.adapters.outbound.persistence.entity.LatestReadingEntity$ReadingType.AQI")
+    List<AQIReadingEntity> findLatestByLocationIdIn(@Param("locationIds") Collection<Integer> locationIds);
 
-    List<AQIReadingEntity> findByLocationKeyOrderByTimestampDesc(String locationKey);
+    List<AQIReadingEntity> findByLocationIdOrderByTimestampDesc(Integer locationId);
 }
@@ -1,8 +1,13 @@
 package com.weather.adapters.outbound.persistence.repository;
 
 import com.weather.adapters.outbound.persistence.entity.ForecastEntity;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.util.List;
@@ -10,13 +15,32 @@ import java.util.List;
 @Repository
 public interface ForecastRepository extends JpaRepository<ForecastEntity, Long> {
 
-    List<ForecastEntity> findByLocationKeyOrderByForecastDateAsc(String locationKey);
+    List<ForecastEntity> findByLocationIdOrderByForecastDateAsc(Integer locationId);
 
-    List<ForecastEntity> findByLocationKeyAndForecastDateBetween(
-        String locationKey,
+    /**
+     * Forecasts from the given date onward; each date holds only its latest revision
+     */
+    List<ForecastEntity> findByLocationIdAndForecastDateGreaterThanEqualOrderByForecastDateAsc(
+        Integer locationId,
+        LocalDate from,
+        Limit limit
+    );
+
+    List<ForecastEntity> findByLocationIdAndForecastDateBetween(
+        Integer locationId,
         LocalDate from,
         LocalDate to
     );
 
-    void deleteByLocationKeyAndForecastDateBefore(String locationKey, LocalDate date);
+    /**
+     * Bulk delete of one location's past forecasts, without loading them first
+     */
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM ForecastEntity f WHERE f.locationId = :locationId AND f.forecastDate < :date")
+    int deleteByLocationIdAndForecastDateBefore(@Param("locationId") Integer locationId,
+                                                @Param("date") LocalDate date);
+
+    @Query("SELECT DISTINCT f.locationId FROM ForecastEntity f")
+    List<Integer> findDistinctLocationIds();
 }
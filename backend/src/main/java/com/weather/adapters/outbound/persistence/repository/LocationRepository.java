@@ -0,0 +1,18 @@
+package com.weather.adapters.outbound.persistence.repository;
+
+import com.weather.adapters.outbound.persistence.entity.LocationEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface LocationRepository extends JpaRepository<LocationEntity, Integer> {
+
+    Optional<LocationEntity> findByLocationKey(String locationKey);
+
+    @Query("SELECT l.locationKey FROM LocationEntity l")
+    List<String> findAllLocationKeys();
+}
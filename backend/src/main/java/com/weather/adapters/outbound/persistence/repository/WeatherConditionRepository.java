@@ -0,0 +1,9 @@
+package com.weather.adapters.outbound.persistence.repository;
+
+import com.weather.adapters.outbound.persistence.entity.WeatherConditionEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface WeatherConditionRepository extends JpaRepository<WeatherConditionEntity, Short> {
+}
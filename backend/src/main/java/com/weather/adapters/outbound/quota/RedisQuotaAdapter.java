@@ -0,0 +1,219 @@
+package com.weather.adapters.outbound.quota;
+
+import com.weather.application.port.output.QuotaPort;
+import com.weather.config.QuotaProperties;
+import com.weather.config.QuotaProperties.Budget;
+import com.weather.domain.model.CallPriority;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.ratelimiter.RateLimiterRegistry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Redis token buckets (per minute and per day) shared by every replica.
+ * Lower priority classes stop drawing once the bucket falls to their reserve,
+ * which leaves the remainder for interactive calls. If Redis is unreachable,
+ * interactive calls fall back to a local Resilience4j rate limiter and the
+ * other classes are denied. A circuit breaker (redisQuota) makes that decision
+ * without touching Redis while it is open, so an outage does not add a command
+ * timeout to every provider call.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RedisQuotaAdapter implements QuotaPort {
+
+    static final String BREAKER = "redisQuota";
+
+    private static final Duration MINUTE = Duration.ofMinutes(1);
+    private static final Duration DAY = Duration.ofDays(1);
+
+    // KEYS: minute bucket, day bucket
+    // ARGV: minute capacity, minute window ms, day capacity, day window ms, cost, reserve fraction
+    // Returns {allowed, minute tokens, day tokens}; cost 0 only reads the buckets, a negative cost gives calls back.
+    private static final RedisScript<List> TOKEN_BUCKET = new DefaultRedisScript<>("""
+        local time = redis.call('TIME')
+        local now = tonumber(time[1]) * 1000 + math.floor(tonumber(time[2]) / 1000)
+        local cost = tonumber(ARGV[5])
+        local reserve = tonumber(ARGV[6])
+
+        local function refill(key, capacity, window)
+          local state = redis.call('HMGET', key, 'tokens', 'ts')
+          local tokens = tonumber(state[1]) or capacity
+          local ts = tonumber(state[2]) or now
+          return math.min(capacity, tokens + math.max(0, now - ts) * capacity / window)
+        end
+
+        local minuteCap, minuteWindow = tonumber(ARGV[1]), tonumber(ARGV[2])
+        local dayCap, dayWindow = tonumber(ARGV[3]), tonumber(ARGV[4])
+        local minute = refill(KEYS[1], minuteCap, minuteWindow)
+        local day = refill(KEYS[2], dayCap, dayWindow)
+
+        local allowed = 0
+        if cost > 0 and minute - cost >= minuteCap * reserve and day - cost >= dayCap * reserve then
+          minute = minute - cost
+          day = day - cost
+          allowed = 1
+        elseif cost < 0 then
+          minute = math.min(minuteCap, minute - cost)
+          day = math.min(dayCap, day - cost)
+          allowed = 1
+        end
+
+        if cost ~= 0 then
+          redis.call('HSET', KEYS[1], 'tokens', tostring(minute), 'ts', now)
+          redis.call('PEXPIRE', KEYS[1], minuteWindow * 2)
+          redis.call('HSET', KEYS[2], 'tokens', tostring(day), 'ts', now)
+          redis.call('PEXPIRE', KEYS[2], dayWindow * 2)
+        end
+
+        return {allowed, math.floor(minute), math.floor(day)}
+        """, List.class);
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final QuotaProperties properties;
+    private final RateLimiterRegistry rateLimiterRegistry;
+    private final CircuitBreakerRegistry circuitBreakerRegistry;
+    private final MeterRegistry meterRegistry;
+
+    private final Map<String, AtomicLong> remaining = new ConcurrentHashMap<>();
+
+    private CircuitBreaker breaker;
+
+    @PostConstruct
+    void init() {
+        breaker = circuitBreakerRegistry.circuitBreaker(BREAKER);
+        properties.getProviders().forEach((provider, budget) -> {
+            gauge(provider, "minute", budget.getPerMinute());
+            gauge(provider, "day", budget.getPerDay());
+        });
+    }
+
+    @Override
+    public boolean tryAcquire(String providerName, CallPriority priority, int calls) {
+        String provider = providerName.toLowerCase(Locale.ROOT);
+        Budget budget = properties.getProviders().get(provider);
+        if (!properties.isEnabled() || budget == null) {
+            return true;
+        }
+
+        String outcome;
+        boolean allowed;
+        try {
+            allowed = execute(provider, budget, calls, properties.getReserve().getOrDefault(priority, 0.0));
+            outcome = allowed ? "granted" : "denied";
+        } catch (Exception e) {
+            if (e instanceof CallNotPermittedException) {
+                log.debug("Quota store breaker open, using local limiter for {}", provider);
+            } else {
+                log.warn("Quota store unavailable for {}, using local limiter: {}", provider, e.getMessage());
+            }
+            allowed = priority == CallPriority.INTERACTIVE
+                && rateLimiterRegistry.rateLimiter(provider).acquirePermission(calls);
+            outcome = allowed ? "local" : "denied";
+        }
+
+        if (!allowed) {
+            log.debug("Quota denied {} {} call(s) to {}", calls, priority, provider);
+        }
+        Counter.builder("weather.quota.requests")
+            .tag("provider", provider)
+            .tag("priority", priority.name().toLowerCase(Locale.ROOT))
+            .tag("outcome", outcome)
+            .register(meterRegistry)
+            .increment();
+        return allowed;
+    }
+
+    /**
+     * Puts the calls back into both buckets, up to their capacity; while Redis is unreachable
+     * they stay spent
+     */
+    @Override
+    public void release(String providerName, int calls) {
+        String provider = providerName.toLowerCase(Locale.ROOT);
+        Budget budget = properties.getProviders().get(provider);
+        if (!properties.isEnabled() || budget == null || calls <= 0) {
+            return;
+        }
+        try {
+            execute(provider, budget, -calls, 0.0);
+        } catch (Exception e) {
+            log.debug("Could not give back {} call(s) to {}: {}", calls, provider, e.getMessage());
+            return;
+        }
+        Counter.builder("weather.quota.released")
+            .tag("provider", provider)
+            .register(meterRegistry)
+            .increment(calls);
+    }
+
+    /**
+     * Keeps the remaining-budget gauges current while no calls are being made
+     */
+    @Scheduled(fixedDelayString = "${weather.quota.gauge-refresh:15000}")
+    void refreshGauges() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        properties.getProviders().forEach((provider, budget) -> {
+            try {
+                execute(provider, budget, 0, 0.0);
+            } catch (Exception e) {
+                log.debug("Could not refresh quota gauges for {}: {}", provider, e.getMessage());
+            }
+        });
+    }
+
+    private boolean execute(String provider, Budget budget, int cost, double reserve) {
+        List<?> result = breaker.executeSupplier(() -> redisTemplate.execute(TOKEN_BUCKET,
+            List.of(key(provider, "minute"), key(provider, "day")),
+            String.valueOf(budget.getPerMinute()), String.valueOf(MINUTE.toMillis()),
+            String.valueOf(budget.getPerDay()), String.valueOf(DAY.toMillis()),
+            String.valueOf(cost), String.valueOf(reserve)));
+        if (result == null || result.size() < 3) {
+            throw new IllegalStateException("Unexpected quota script result: " + result);
+        }
+
+        remaining(provider, "minute").set(((Number) result.get(1)).longValue());
+        remaining(provider, "day").set(((Number) result.get(2)).longValue());
+        return ((Number) result.get(0)).longValue() == 1;
+    }
+
+    private void gauge(String provider, String window, long initial) {
+        AtomicLong value = remaining(provider, window);
+        value.set(initial);
+        Gauge.builder("weather.quota.remaining", value, AtomicLong::get)
+            .description("Provider calls left in the shared budget")
+            .tag("provider", provider)
+            .tag("window", window)
+            .register(meterRegistry);
+    }
+
+    private AtomicLong remaining(String provider, String window) {
+        return remaining.computeIfAbsent(provider + ":" + window, k -> new AtomicLong());
+    }
+
+    // Hash tag keeps both buckets of a provider in the same cluster slot
+    private static String key(String provider, String window) {
+        return "quota:{" + provider + "}:" + window;
+    }
+}
@@ -0,0 +1,33 @@
+package com.weather.adapters.outbound.scraper;
+
+import org.jsoup.nodes.Document;
+import org.jsoup.select.Evaluator;
+import org.jsoup.select.QueryParser;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+
+/**
+ * aqicn.org city pages: the headline US AQI value
+ */
+@Component
+class AqicnExtractor implements SiteExtractor {
+
+    private static final Evaluator AQI = QueryParser.parse("#aqiwgtvalue");
+
+    @Override
+    public String name() {
+        return "aqicn";
+    }
+
+    @Override
+    public Optional<String> airQualityPath(String city, String country) {
+        return Optional.of("/city/" + ScrapedText.slug(city) + "/");
+    }
+
+    @Override
+    public Optional<AirQuality> extractAirQuality(Document page) {
+        Double aqi = ScrapedText.number(page.selectFirst(AQI));
+        return aqi == null ? Optional.empty() : Optional.of(new AirQuality((int) Math.round(aqi), null, null));
+    }
+}
@@ -1,6 +1,9 @@
 package com.weather.adapters.outbound.scraper;
 
+import com.weather.adapters.outbound.scraper.ScrapeResultCache.Entry;
+import com.weather.adapters.outbound.scraper.ScraperHttpClient.Page;
 import com.weather.application.port.output.ScraperPort;
+import com.weather.config.ScraperProperties;
 import com.weather.domain.model.AQIReading;
 import com.weather.domain.model.Forecast;
 import com.weather.domain.model.Location;
@@ -8,106 +11,241 @@ import com.weather.domain.model.WeatherReading;
 import lombok.extern.slf4j.Slf4j;
 import org.jsoup.Jsoup;
 import org.jsoup.nodes.Document;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import java.net.URI;
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
-
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Scraping fallback engine.
+ * Configured sites are tried in order through their extractors; pages are fetched with one
+ * pooled client under per-host politeness limits, revalidated with ETag/Last-Modified, and
+ * parsed results are cached briefly. Concurrent fallbacks for the same page wait on the one
+ * request already in flight, so together they cost one request.
+ */
 @Slf4j
 @Component
 public class JsoupScraperAdapter implements ScraperPort {
 
-    @Value("${weather.scraper.enabled:true}")
-    private boolean enabled;
-
-    @Value("${weather.scraper.timeout:10000}")
-    private int timeout;
-
-    @Value("${weather.scraper.user-agent:Mozilla/5.0}")
-    private String userAgent;
+    private final ScraperProperties properties;
+    private final List<SiteExtractor> sites;
+    private final ScraperHttpClient http;
+    private final ScrapeResultCache results;
+    private final ConcurrentMap<String, CompletableFuture<Optional<Object>>> inFlight = new ConcurrentHashMap<>();
+
+    public JsoupScraperAdapter(ScraperProperties properties, List<SiteExtractor> extractors) {
+        this.properties = properties;
+        this.http = new ScraperHttpClient(properties);
+        this.results = new ScrapeResultCache(properties.getResultTtl(), properties.getMaxCachedResults());
+
+        // Configured order; sites without an extractor (or extractors without a site) are skipped
+        Map<String, SiteExtractor> byName = extractors.stream()
+            .collect(Collectors.toMap(SiteExtractor::name, Function.identity()));
+        this.sites = new ArrayList<>();
+        properties.getSites().forEach((name, site) -> {
+            SiteExtractor extractor = byName.get(name);
+            if (extractor == null) {
+                log.warn("No extractor for scraper site {}, ignoring it", name);
+            } else if (site.isEnabled() && site.getBaseUrl() != null) {
+                sites.add(extractor);
+            }
+        });
+    }
 
     @Override
     public Optional<WeatherReading> scrapeWeather(String city, String country) {
-        if (!enabled) {
+        if (!properties.isEnabled()) {
             log.debug("Scraper is disabled");
             return Optional.empty();
         }
 
-        try {
-            log.info("Attempting to scrape weather for {}", city);
-
-            String url = String.format("https://www.google.com/search?q=weather+%s", city.replace(" ", "+"));
-
-            Document doc = Jsoup.connect(url)
-                .userAgent(userAgent)
-                .timeout(timeout)
-                .get();
-
-            Location location = Location.builder()
-                .city(city)
-                .country(country)
-                .build();
-
-            WeatherReading reading = WeatherReading.builder()
-                .location(location)
+        return scrape("weather", city, country, SiteExtractor::weatherPath, SiteExtractor::extractWeather)
+            .map(weather -> WeatherReading.builder()
+                .location(location(city, country))
                 .timestamp(Instant.now())
+                .temperatureCelsius(weather.temperature())
+                .humidity(weather.humidity())
+                .pressure(weather.pressure())
+                .windSpeed(weather.windSpeed())
+                .weatherCondition(weather.condition())
+                .weatherDescription(weather.description())
                 .dataSource(WeatherReading.DataSource.SCRAPER_FALLBACK)
                 .createdAt(Instant.now())
-                .build();
-
-            log.warn("Scraper returned incomplete data for {}", city);
-            return Optional.of(reading);
+                .build());
+    }
 
-        } catch (Exception e) {
-            log.error("Error scraping weather for {}: {}", city, e.getMessage());
+    @Override
+    public Optional<AQIReading> scrapeAirQuality(String city, String country) {
+        if (!properties.isEnabled()) {
             return Optional.empty();
         }
+
+        return scrape("aqi", city, country, SiteExtractor::airQualityPath, SiteExtractor::extractAirQuality)
+            .map(airQuality -> AQIReading.builder()
+                .location(location(city, country))
+                .timestamp(Instant.now())
+                .aqi(airQuality.aqi())
+                .pm25(airQuality.pm25())
+                .pm10(airQuality.pm10())
+                .dataSource(WeatherReading.DataSource.SCRAPER_FALLBACK)
+                .createdAt(Instant.now())
+                .build());
     }
 
     @Override
-    public Optional<AQIReading> scrapeAirQuality(String city, String country) {
-        if (!enabled) {
+    public Optional<List<Forecast>> scrapeForecast(String city, String country, int days) {
+        if (!properties.isEnabled()) {
             return Optional.empty();
         }
 
-        try {
-            log.info("Attempting to scrape AQI for {}", city);
+        return scrape("forecast", city, country, SiteExtractor::forecastPath,
+                (extractor, page) -> Optional.of(extractor.extractForecast(page)).filter(list -> !list.isEmpty()))
+            .map(forecast -> {
+                Location location = location(city, country);
+                Instant now = Instant.now();
+                return forecast.stream()
+                    .limit(days)
+                    .map(day -> Forecast.builder()
+                        .location(location)
+                        .date(day.date())
+                        .tempMin(day.tempMin())
+                        .tempMax(day.tempMax())
+                        .tempAvg(day.tempMin() != null && day.tempMax() != null
+                            ? (day.tempMin() + day.tempMax()) / 2 : null)
+                        .weatherDescription(day.description())
+                        .precipitationProbability(day.precipitationProbability())
+                        .dataSource(WeatherReading.DataSource.SCRAPER_FALLBACK)
+                        .createdAt(now)
+                        .build())
+                    .collect(Collectors.toCollection(ArrayList::new));
+            });
+    }
 
-            Location location = Location.builder()
-                .city(city)
-                .country(country)
-                .build();
+    @Override
+    public boolean isEnabled() {
+        return properties.isEnabled() && !sites.isEmpty();
+    }
 
-            AQIReading reading = AQIReading.builder()
-                .location(location)
-                .timestamp(Instant.now())
-                .dataSource(WeatherReading.DataSource.SCRAPER_FALLBACK)
-                .createdAt(Instant.now())
-                .build();
+    int cachedResults() {
+        return results.size();
+    }
+
+    /**
+     * First result any site yields for the page kind; failures move on to the next site
+     */
+    private <T> Optional<T> scrape(String kind, String city, String country,
+                                   PathResolver pathResolver, BiFunction<SiteExtractor, Document, Optional<T>> extract) {
+        for (SiteExtractor site : sites) {
+            Optional<String> path = pathResolver.path(site, city, country);
+            if (path.isEmpty()) {
+                continue;
+            }
+            String url = properties.getSites().get(site.name()).getBaseUrl() + path.get();
+            try {
+                Optional<T> result = fetch(url, site, extract);
+                if (result.isPresent()) {
+                    log.info("Scraped {} for {} from {}", kind, city, site.name());
+                    return result;
+                }
+                log.debug("{} page for {} on {} had no usable data", kind, city, site.name());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return Optional.empty();
+            } catch (Exception e) {
+                log.warn("Scraping {} for {} from {} failed: {}", kind, city, site.name(), e.getMessage());
+            }
+        }
+        return Optional.empty();
+    }
 
-            log.warn("Scraper returned incomplete AQI data for {}", city);
-            return Optional.of(reading);
+    /**
+     * Cached result if fresh; otherwise joins the request already in flight for the URL or
+     * makes it
+     */
+    @SuppressWarnings("unchecked")
+    private <T> Optional<T> fetch(String url, SiteExtractor site,
+                                  BiFunction<SiteExtractor, Document, Optional<T>> extract) throws Exception {
+        Entry cached = results.get(url);
+        if (cached != null && cached.isFresh()) {
+            return Optional.of((T) cached.value());
+        }
 
+        CompletableFuture<Optional<Object>> request = new CompletableFuture<>();
+        CompletableFuture<Optional<Object>> running = inFlight.putIfAbsent(url, request);
+        if (running != null) {
+            log.debug("Joining the request in flight for {}", url);
+            try {
+                return (Optional<T>) running.get();
+            } catch (ExecutionException e) {
+                throw e.getCause() instanceof Exception cause ? cause : e;
+            }
+        }
+        try {
+            Optional<T> result = load(url, site, extract);
+            request.complete((Optional<Object>) result);
+            return result;
         } catch (Exception e) {
-            log.error("Error scraping AQI for {}: {}", city, e.getMessage());
-            return Optional.empty();
+            request.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(url, request);
         }
     }
 
-    @Override
-    public Optional<List<Forecast>> scrapeForecast(String city, String country, int days) {
-        if (!enabled) {
+    @SuppressWarnings("unchecked")
+    private <T> Optional<T> load(String url, SiteExtractor site,
+                                 BiFunction<SiteExtractor, Document, Optional<T>> extract) throws Exception {
+        // Another request may have finished between the first cache check and taking the slot
+        Entry cached = results.get(url);
+        if (cached != null && cached.isFresh()) {
+            return Optional.of((T) cached.value());
+        }
+
+        Page page = http.get(URI.create(url),
+            cached != null ? cached.etag() : null,
+            cached != null ? cached.lastModified() : null);
+        if (page.notModified()) {
+            Entry renewed = results.renew(url);
+            if (renewed != null) {
+                log.debug("{} not modified, reusing parsed result", url);
+                return Optional.of((T) renewed.value());
+            }
+            // Evicted while the request was out: nothing left to reuse, so fetch the page in full
+            log.debug("{} not modified but its result was evicted, fetching it again", url);
+            page = http.get(URI.create(url), null, null);
+        }
+        if (page.status() != 200 || page.body() == null) {
+            log.debug("{} answered {}", url, page.status());
             return Optional.empty();
         }
 
-        log.warn("Forecast scraping not fully implemented, returning empty");
-        return Optional.empty();
+        Optional<T> result = extract.apply(site, Jsoup.parse(page.body(), url));
+        String etag = page.etag();
+        String lastModified = page.lastModified();
+        result.ifPresent(value -> results.put(url, value, etag, lastModified));
+        return result;
     }
 
-    @Override
-    public boolean isEnabled() {
-        return enabled;
+    private static Location location(String city, String country) {
+        return Location.builder()
+            .city(city)
+            .country(country)
+            .build();
+    }
+
+    @FunctionalInterface
+    private interface PathResolver {
+        Optional<String> path(SiteExtractor site, String city, String country);
     }
 }
@@ -0,0 +1,57 @@
+package com.weather.adapters.outbound.scraper;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Bounded LRU of parsed scrape results by URL.
+ * Entries stay after their TTL so the validators can be sent with the next request; a 304
+ * then renews the entry without downloading or parsing the page again.
+ */
+class ScrapeResultCache {
+
+    private final Duration ttl;
+    private final Map<String, Entry> entries;
+
+    ScrapeResultCache(Duration ttl, int maxEntries) {
+        this.ttl = ttl;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    synchronized Entry get(String url) {
+        return entries.get(url);
+    }
+
+    synchronized void put(String url, Object value, String etag, String lastModified) {
+        entries.put(url, new Entry(value, etag, lastModified, System.nanoTime() + ttl.toNanos()));
+    }
+
+    /**
+     * Marks an entry fresh again after the site answered 304
+     */
+    synchronized Entry renew(String url) {
+        Entry entry = entries.get(url);
+        if (entry == null) {
+            return null;
+        }
+        Entry renewed = new Entry(entry.value(), entry.etag(), entry.lastModified(), System.nanoTime() + ttl.toNanos());
+        entries.put(url, renewed);
+        return renewed;
+    }
+
+    synchronized int size() {
+        return entries.size();
+    }
+
+    record Entry(Object value, String etag, String lastModified, long expiresAt) {
+        boolean isFresh() {
+            return expiresAt - System.nanoTime() > 0;
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.weather.adapters.outbound.scraper;
+
+import org.jsoup.nodes.Element;
+
+import java.text.Normalizer;
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Helpers shared by the site extractors
+ */
+final class ScrapedText {
+
+    private static final Pattern NUMBER = Pattern.compile("-?\\d+(?:[.,]\\d+)?");
+    private static final Pattern NON_SLUG = Pattern.compile("[^a-z0-9]+");
+
+    private ScrapedText() {
+    }
+
+    /**
+     * First number in the element's text, e.g. 12 for "12 °C"
+     */
+    static Double number(Element element) {
+        return element != null ? number(element.text()) : null;
+    }
+
+    static Double number(String text) {
+        if (text == null) {
+            return null;
+        }
+        Matcher matcher = NUMBER.matcher(text);
+        return matcher.find() ? Double.valueOf(matcher.group().replace(',', '.')) : null;
+    }
+
+    /**
+     * Every number in the text, e.g. [12, 7] for "12 / 7 °C"
+     */
+    static double[] numbers(String text) {
+        return NUMBER.matcher(text).results()
+            .mapToDouble(result -> Double.parseDouble(result.group().replace(',', '.')))
+            .toArray();
+    }
+
+    static String text(Element element) {
+        if (element == null) {
+            return null;
+        }
+        String text = element.text().strip();
+        return text.isEmpty() ? null : text;
+    }
+
+    /**
+     * URL path segment for a place name: "São Paulo" -> "sao-paulo"
+     */
+    static String slug(String value) {
+        String ascii = Normalizer.normalize(value, Normalizer.Form.NFD).replaceAll("\\p{M}", "");
+        String slug = NON_SLUG.matcher(ascii.toLowerCase(Locale.ROOT)).replaceAll("-");
+        return slug.replaceAll("^-+|-+$", "");
+    }
+}
@@ -0,0 +1,93 @@
+package com.weather.adapters.outbound.scraper;
+
+import com.weather.config.ScraperProperties;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.ratelimiter.RateLimiter;
+import io.github.resilience4j.ratelimiter.RateLimiterConfig;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * One pooled HTTP client for all scraping.
+ * Every host gets its own concurrency limit and request rate so a burst of fallbacks never
+ * hammers a site; requests that cannot get a slot within max-wait fail fast.
+ */
+class ScraperHttpClient {
+
+    private final HttpClient client;
+    private final Duration timeout;
+    private final String userAgent;
+    private final BulkheadConfig bulkheadConfig;
+    private final RateLimiterConfig rateLimiterConfig;
+    private final ConcurrentMap<String, Politeness> hosts = new ConcurrentHashMap<>();
+
+    ScraperHttpClient(ScraperProperties properties) {
+        this.timeout = properties.getTimeout();
+        this.userAgent = properties.getUserAgent();
+        this.client = HttpClient.newBuilder()
+            .connectTimeout(timeout)
+            .followRedirects(HttpClient.Redirect.NORMAL)
+            .build();
+
+        ScraperProperties.Politeness perHost = properties.getPerHost();
+        this.bulkheadConfig = BulkheadConfig.custom()
+            .maxConcurrentCalls(perHost.getMaxConcurrent())
+            .maxWaitDuration(perHost.getMaxWait())
+            .build();
+        this.rateLimiterConfig = RateLimiterConfig.custom()
+            .limitForPeriod(perHost.getRequestsPerPeriod())
+            .limitRefreshPeriod(perHost.getPeriod())
+            .timeoutDuration(perHost.getMaxWait())
+            .build();
+    }
+
+    /**
+     * GET with optional validators from an earlier response; a 304 comes back with a null body
+     */
+    Page get(URI uri, String etag, String lastModified) throws IOException, InterruptedException {
+        HttpRequest.Builder request = HttpRequest.newBuilder(uri)
+            .timeout(timeout)
+            .header("User-Agent", userAgent)
+            .header("Accept", "text/html");
+        if (etag != null) {
+            request.header("If-None-Match", etag);
+        }
+        if (lastModified != null) {
+            request.header("If-Modified-Since", lastModified);
+        }
+
+        Politeness politeness = hosts.computeIfAbsent(uri.getHost(), this::politeness);
+        politeness.bulkhead().acquirePermission();
+        try {
+            politeness.rateLimiter().acquirePermission();
+            HttpResponse<String> response = client.send(request.build(), HttpResponse.BodyHandlers.ofString());
+            return new Page(response.statusCode(),
+                response.statusCode() == 304 ? null : response.body(),
+                response.headers().firstValue("ETag").orElse(etag),
+                response.headers().firstValue("Last-Modified").orElse(lastModified));
+        } finally {
+            politeness.bulkhead().onComplete();
+        }
+    }
+
+    private Politeness politeness(String host) {
+        return new Politeness(Bulkhead.of("scraper-" + host, bulkheadConfig),
+            RateLimiter.of("scraper-" + host, rateLimiterConfig));
+    }
+
+    record Page(int status, String body, String etag, String lastModified) {
+        boolean notModified() {
+            return status == 304;
+        }
+    }
+
+    private record Politeness(Bulkhead bulkhead, RateLimiter rateLimiter) {}
+}
@@ -0,0 +1,61 @@
+package com.weather.adapters.outbound.scraper;
+
+import org.jsoup.nodes.Document;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Knows the page layout of one site.
+ * Implementations are Spring beans matched to weather.scraper.sites.&lt;name&gt; and should
+ * compile their selectors once; a kind of data the site does not offer keeps the default.
+ */
+public interface SiteExtractor {
+
+    /**
+     * Site name used as the configuration key
+     */
+    String name();
+
+    /**
+     * Path (relative to the site's base URL) of the current-conditions page
+     */
+    default Optional<String> weatherPath(String city, String country) {
+        return Optional.empty();
+    }
+
+    default Optional<String> airQualityPath(String city, String country) {
+        return Optional.empty();
+    }
+
+    default Optional<String> forecastPath(String city, String country) {
+        return Optional.empty();
+    }
+
+    default Optional<Weather> extractWeather(Document page) {
+        return Optional.empty();
+    }
+
+    default Optional<AirQuality> extractAirQuality(Document page) {
+        return Optional.empty();
+    }
+
+    /**
+     * Daily forecasts in date order; empty when the page has none
+     */
+    default List<Day> extractForecast(Document page) {
+        return List.of();
+    }
+
+    /**
+     * Current conditions in metric units (°C, %, hPa, m/s)
+     */
+    record Weather(Double temperature, Double humidity, Double pressure, Double windSpeed,
+                   String condition, String description) {}
+
+    record AirQuality(Integer aqi, Double pm25, Double pm10) {}
+
+    record Day(LocalDate date, Double tempMin, Double tempMax, String description,
+               Double precipitationProbability) {}
+}
@@ -0,0 +1,152 @@
+package com.weather.adapters.outbound.scraper;
+
+import org.jsoup.nodes.Document;
+import org.jsoup.nodes.Element;
+import org.jsoup.select.Evaluator;
+import org.jsoup.select.QueryParser;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.MonthDay;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * timeanddate.com: current conditions from the city weather page, daily forecasts from its
+ * 14-day (/ext) table
+ */
+@Component
+class TimeAndDateExtractor implements SiteExtractor {
+
+    private static final Evaluator TEMPERATURE = QueryParser.parse("#qlook .h2");
+    private static final Evaluator CONDITION = QueryParser.parse("#qlook > p");
+    private static final Evaluator DETAIL_ROWS = QueryParser.parse(".bk-focus__info tr");
+    private static final Evaluator ROW_LABEL = QueryParser.parse("th");
+    private static final Evaluator ROW_VALUE = QueryParser.parse("td");
+    private static final Evaluator FORECAST_ROWS = QueryParser.parse("#wt-ext > tbody > tr");
+    private static final Evaluator ROW_DATE = QueryParser.parse("th > span");
+    private static final Evaluator ROW_TEMPERATURES = QueryParser.parse("td:containsOwn(°C)");
+    private static final Evaluator ROW_DESCRIPTION = QueryParser.parse("td.small");
+    // Humidity is also a bare percentage; chance of precipitation is the last one in the row
+    private static final Evaluator ROW_CHANCE = QueryParser.parse("td:matchesOwn(^\\d+%$)");
+
+    private static final DateTimeFormatter ROW_DATE_FORMAT = DateTimeFormatter.ofPattern("MMM d", Locale.ENGLISH);
+
+    /** Country slugs that differ from the English country name */
+    private static final Map<String, String> COUNTRY_SLUGS = Map.of("GB", "uk", "US", "usa");
+
+    @Override
+    public String name() {
+        return "timeanddate";
+    }
+
+    @Override
+    public Optional<String> weatherPath(String city, String country) {
+        return countrySlug(country).map(slug -> "/weather/" + slug + "/" + ScrapedText.slug(city));
+    }
+
+    @Override
+    public Optional<String> forecastPath(String city, String country) {
+        return weatherPath(city, country).map(path -> path + "/ext");
+    }
+
+    @Override
+    public Optional<Weather> extractWeather(Document page) {
+        Double temperature = ScrapedText.number(page.selectFirst(TEMPERATURE));
+        if (temperature == null) {
+            return Optional.empty();
+        }
+
+        Double humidity = null;
+        Double pressure = null;
+        Double windKmh = null;
+        for (Element row : page.select(DETAIL_ROWS)) {
+            String label = ScrapedText.text(row.selectFirst(ROW_LABEL));
+            String value = ScrapedText.text(row.selectFirst(ROW_VALUE));
+            if (label == null || value == null) {
+                continue;
+            }
+            if (label.startsWith("Humidity")) {
+                humidity = ScrapedText.number(value);
+            } else if (label.startsWith("Pressure")) {
+                pressure = ScrapedText.number(value);
+            } else if (label.startsWith("Wind")) {
+                windKmh = ScrapedText.number(value);
+            }
+        }
+
+        String description = ScrapedText.text(page.selectFirst(CONDITION));
+        return Optional.of(new Weather(temperature, humidity, pressure,
+            windKmh != null ? windKmh / 3.6 : null, condition(description), description));
+    }
+
+    @Override
+    public List<Day> extractForecast(Document page) {
+        LocalDate today = LocalDate.now();
+        List<Day> days = new ArrayList<>();
+        for (Element row : page.select(FORECAST_ROWS)) {
+            LocalDate date = date(ScrapedText.text(row.selectFirst(ROW_DATE)), today);
+            Element temperatures = row.selectFirst(ROW_TEMPERATURES);
+            if (date == null || temperatures == null) {
+                continue;
+            }
+            double[] values = ScrapedText.numbers(temperatures.text());
+            if (values.length == 0) {
+                continue;
+            }
+            double high = values[0];
+            double low = values.length > 1 ? values[1] : values[0];
+            days.add(new Day(date, Math.min(low, high), Math.max(low, high),
+                ScrapedText.text(row.selectFirst(ROW_DESCRIPTION)),
+                ScrapedText.number(row.select(ROW_CHANCE).last())));
+        }
+        return days;
+    }
+
+    private static Optional<String> countrySlug(String country) {
+        if (country == null || country.isBlank()) {
+            return Optional.empty();
+        }
+        String code = country.toUpperCase(Locale.ROOT);
+        String known = COUNTRY_SLUGS.get(code);
+        if (known != null) {
+            return Optional.of(known);
+        }
+        String name = Locale.of("", code).getDisplayCountry(Locale.ENGLISH);
+        return name.isBlank() || name.equalsIgnoreCase(code) ? Optional.empty() : Optional.of(ScrapedText.slug(name));
+    }
+
+    // Rows read "Jan 15"; a date well before today belongs to next year
+    private static LocalDate date(String text, LocalDate today) {
+        if (text == null) {
+            return null;
+        }
+        try {
+            LocalDate date = MonthDay.parse(text, ROW_DATE_FORMAT).atYear(today.getYear());
+            return date.isBefore(today.minusDays(7)) ? date.plusYears(1) : date;
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+
+    // Map the free-text description to the condition names the APIs use
+    private static String condition(String description) {
+        if (description == null) {
+            return null;
+        }
+        String text = description.toLowerCase(Locale.ROOT);
+        if (text.contains("thunder")) return "Thunderstorm";
+        if (text.contains("snow") || text.contains("sleet")) return "Snow";
+        if (text.contains("drizzle")) return "Drizzle";
+        if (text.contains("rain") || text.contains("shower")) return "Rain";
+        if (text.contains("fog") || text.contains("mist") || text.contains("haze")) return "Mist";
+        if (text.contains("cloud") || text.contains("overcast")) return "Clouds";
+        if (text.contains("sun") || text.contains("clear")) return "Clear";
+        return null;
+    }
+}
@@ -1,5 +1,6 @@
 package com.weather.application.port.input;
 
+import com.weather.domain.model.CallPriority;
 import com.weather.domain.model.Forecast;
 
 import java.util.List;
@@ -16,5 +17,12 @@ public interface GetForecastUseCase {
      * @param days Number of days (1-7)
      * @return List of forecasts
      */
-    List<Forecast> getForecast(String city, String country, int days);
+    default List<Forecast> getForecast(String city, String country, int days) {
+        return getForecast(city, country, days, CallPriority.INTERACTIVE);
+    }
+
+    /**
+     * Gets weather forecast, spending provider quota at the given priority
+     */
+    List<Forecast> getForecast(String city, String country, int days, CallPriority priority);
 }
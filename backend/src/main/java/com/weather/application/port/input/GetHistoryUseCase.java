@@ -1,7 +1,7 @@
 package com.weather.application.port.input;
 
-import com.weather.domain.model.WeatherReading;
-import com.weather.domain.model.AQIReading;
+import com.weather.domain.model.WeatherHistoryRow;
+import com.weather.domain.model.AQIHistoryRow;
 
 import java.time.Instant;
 import java.util.List;
@@ -14,10 +14,10 @@ public interface GetHistoryUseCase {
     /**
      * Gets weather history for a location
      */
-    List<WeatherReading> getWeatherHistory(String city, String country, Instant from, Instant to);
+    List<WeatherHistoryRow> getWeatherHistory(String city, String country, Instant from, Instant to);
 
     /**
      * Gets AQI history for a location
      */
-    List<AQIReading> getAQIHistory(String city, String country, Instant from, Instant to);
+    List<AQIHistoryRow> getAQIHistory(String city, String country, Instant from, Instant to);
 }
@@ -1,8 +1,13 @@
 package com.weather.application.port.input;
 
+import com.weather.domain.model.CallPriority;
+import com.weather.domain.model.Location;
 import com.weather.domain.model.WeatherReading;
 import com.weather.domain.model.AQIReading;
 
+import java.util.List;
+import java.util.Map;
+
 /**
  * Input port for retrieving current weather data.
  * This defines the interface that the application layer exposes.
@@ -15,7 +20,20 @@ public interface GetWeatherUseCase {
      * @param country Country code (optional)
      * @return Weather reading with AQI data
      */
-    WeatherResponse getCurrentWeather(String city, String country);
+    default WeatherResponse getCurrentWeather(String city, String country) {
+        return getCurrentWeather(city, country, CallPriority.INTERACTIVE);
+    }
+
+    /**
+     * Gets current weather, spending provider quota at the given priority
+     */
+    WeatherResponse getCurrentWeather(String city, String country, CallPriority priority);
+
+    /**
+     * Gets current weather for several locations, batching provider calls.
+     * Unknown or unavailable locations are left out of the result, which is keyed by location key.
+     */
+    Map<String, WeatherResponse> getCurrentWeather(List<Location> locations, CallPriority priority);
 
     /**
      * Response object containing weather and air quality data
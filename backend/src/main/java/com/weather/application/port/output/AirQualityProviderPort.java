@@ -1,6 +1,7 @@
 package com.weather.application.port.output;
 
 import com.weather.domain.model.AQIReading;
+import com.weather.domain.model.WeatherReading;
 
 import java.util.Optional;
 
@@ -14,6 +15,13 @@ public interface AirQualityProviderPort {
      */
     Optional<AQIReading> getCurrentAirQuality(String city, String country);
 
+    /**
+     * Fetches current air quality together with any weather data the same response carries
+     */
+    default Optional<CurrentConditions> getCurrentConditions(String city, String country) {
+        return getCurrentAirQuality(city, country).map(aqi -> new CurrentConditions(aqi, null));
+    }
+
     /**
      * Checks if the provider is available
      */
@@ -23,4 +31,14 @@ public interface AirQualityProviderPort {
      * Returns provider name for logging
      */
     String getProviderName();
+
+    /**
+     * Source recorded on readings this provider serves
+     */
+    WeatherReading.DataSource getDataSource();
+
+    /**
+     * Air quality plus the provider's weather observation, which may be null
+     */
+    record CurrentConditions(AQIReading airQuality, WeatherReading weather) {}
 }
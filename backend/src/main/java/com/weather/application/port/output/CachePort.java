@@ -1,7 +1,10 @@
 package com.weather.application.port.output;
 
 import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Output port for caching operations
@@ -18,6 +21,16 @@ public interface CachePort {
      */
     <T> Optional<T> get(String key, Class<T> type);
 
+    /**
+     * Retrieves value from cache without blocking; lookups issued together share one round-trip
+     */
+    <T> CompletableFuture<Optional<T>> getAsync(String key, Class<T> type);
+
+    /**
+     * Retrieves several values of one type in a single round-trip; missing keys are left out of the map
+     */
+    <T> CompletableFuture<Map<String, T>> getAllAsync(Collection<String> keys, Class<T> type);
+
     /**
      * Removes value from cache
      */
@@ -0,0 +1,30 @@
+package com.weather.application.port.output;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Output port for the shared list of live replicas
+ */
+public interface MembershipPort {
+
+    /**
+     * Registers or refreshes this node; it drops out when no heartbeat arrives within the TTL
+     */
+    void heartbeat(Node node, Duration ttl);
+
+    /**
+     * Removes this node right away, e.g. on shutdown
+     */
+    void leave(Node node);
+
+    /**
+     * Nodes with a current heartbeat
+     */
+    List<Node> members();
+
+    /**
+     * A replica and the base URL other replicas reach it at
+     */
+    record Node(String id, String url) {}
+}
@@ -0,0 +1,30 @@
+package com.weather.application.port.output;
+
+import com.weather.domain.model.CallPriority;
+
+/**
+ * Output port for the shared, per-provider call budget
+ */
+public interface QuotaPort {
+
+    /**
+     * Takes one call from the provider budget if the priority class is allowed to
+     * @return false when the call must not be made (serve stale data instead)
+     */
+    default boolean tryAcquire(String provider, CallPriority priority) {
+        return tryAcquire(provider, priority, 1);
+    }
+
+    /**
+     * Takes several calls at once, all or nothing, for work that must not be split up (a batch)
+     * @return false when the calls must not be made
+     */
+    boolean tryAcquire(String provider, CallPriority priority, int calls);
+
+    /**
+     * Gives back calls taken but never made, e.g. turned away by the provider's circuit breaker.
+     * A store that cannot give calls back keeps them.
+     */
+    default void release(String provider, int calls) {
+    }
+}
@@ -3,21 +3,36 @@ package com.weather.application.port.output;
 import com.weather.domain.model.*;
 
 import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 public interface StoragePort {
 
     WeatherReading saveWeatherReading(WeatherReading reading);
-    List<WeatherReading> getWeatherHistory(String locationKey, Instant from, Instant to);
+    /** Readings of one location between from and to, oldest first */
+    List<WeatherHistoryRow> getWeatherHistory(String locationKey, Instant from, Instant to);
     Optional<WeatherReading> getLatestWeatherReading(String locationKey);
+    /** Latest reading per location key in one query; locations without any are left out */
+    Map<String, WeatherReading> getLatestWeatherReadings(Collection<String> locationKeys);
 
     AQIReading saveAQIReading(AQIReading reading);
-    List<AQIReading> getAQIHistory(String locationKey, Instant from, Instant to);
+    /** Readings of one location between from and to, oldest first */
+    List<AQIHistoryRow> getAQIHistory(String locationKey, Instant from, Instant to);
     Optional<AQIReading> getLatestAQIReading(String locationKey);
+    /** Latest reading per location key in one query; locations without any are left out */
+    Map<String, AQIReading> getLatestAQIReadings(Collection<String> locationKeys);
+
+    Set<String> getKnownLocationKeys();
+    /** Whether anything was ever stored for the location, on any replica */
+    boolean isKnownLocation(String locationKey);
 
     Forecast saveForecast(Forecast forecast);
-    List<Forecast> getForecasts(String locationKey, int days);
+    /** Up to the given number of daily forecasts from the date on, pass the location's own today */
+    List<Forecast> getForecasts(String locationKey, LocalDate from, int days);
 
     Subscription saveSubscription(Subscription subscription);
     void deleteSubscription(Long id);
@@ -2,8 +2,12 @@ package com.weather.application.port.output;
 
 import com.weather.domain.model.WeatherReading;
 import com.weather.domain.model.Forecast;
+import com.weather.domain.model.Location;
 
+import java.time.Duration;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -13,11 +17,58 @@ public interface WeatherProviderPort {
 
     /**
      * Fetches current weather from external API
+     * @throws com.weather.domain.exception.LocationNotFoundException if the provider does not know the location
      */
     Optional<WeatherReading> getCurrentWeather(String city, String country);
 
+    /**
+     * Fetches current weather for several locations, keyed by location key, within the budget.
+     * Locations that fail, are unknown or are not reached before the budget runs out are left
+     * out; providers with a multi-city endpoint override this to save calls.
+     */
+    default Map<String, WeatherReading> getCurrentWeatherBatch(List<Location> locations, Duration budget) {
+        long deadline = System.nanoTime() + budget.toNanos();
+        Map<String, WeatherReading> readings = new LinkedHashMap<>();
+        for (Location location : locations) {
+            if (deadline - System.nanoTime() <= 0) {
+                break;
+            }
+            try {
+                getCurrentWeather(location.getCity(), location.getCountry())
+                    .ifPresent(reading -> readings.put(location.getLocationKey(), reading));
+            } catch (RuntimeException e) {
+                // the caller falls back per location
+            }
+        }
+        return readings;
+    }
+
+    /**
+     * Upstream calls {@link #getCurrentWeatherBatch} will make for these locations, which is
+     * the quota the batch takes up front
+     */
+    default int batchCalls(List<Location> locations) {
+        return locations.size();
+    }
+
+    /**
+     * True when the provider can return current weather and the daily forecast in one call
+     */
+    default boolean supportsCombinedFetch() {
+        return false;
+    }
+
+    /**
+     * Fetches current weather and the daily forecast for a location with coordinates in a
+     * single upstream call; empty when unsupported or unavailable
+     */
+    default Optional<CurrentAndForecast> getCurrentAndForecast(Location location) {
+        return Optional.empty();
+    }
+
     /**
      * Fetches forecast from external API
+     * @throws com.weather.domain.exception.LocationNotFoundException if the provider does not know the location
      */
     Optional<List<Forecast>> getForecast(String city, String country, int days);
 
@@ -30,4 +81,14 @@ public interface WeatherProviderPort {
      * Returns provider name for logging
      */
     String getProviderName();
+
+    /**
+     * Source recorded on readings this provider serves
+     */
+    WeatherReading.DataSource getDataSource();
+
+    /**
+     * Current conditions and daily forecasts taken from the same upstream response
+     */
+    record CurrentAndForecast(WeatherReading current, List<Forecast> forecasts) {}
 }
@@ -0,0 +1,30 @@
+package com.weather.application.service;
+
+import com.weather.application.port.output.QuotaPort;
+import com.weather.application.port.output.AirQualityProviderPort;
+import com.weather.config.ProviderRoutingProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Routes air quality calls between every configured {@link AirQualityProviderPort}
+ */
+@Component
+public class AirQualityProviderRegistry extends ProviderRegistry<AirQualityProviderPort> {
+
+    public AirQualityProviderRegistry(List<AirQualityProviderPort> providers, QuotaPort quota,
+                                   ProviderRoutingProperties properties) {
+        super(providers, quota, properties);
+    }
+
+    @Override
+    protected String nameOf(AirQualityProviderPort provider) {
+        return provider.getProviderName();
+    }
+
+    @Override
+    protected boolean isAvailable(AirQualityProviderPort provider) {
+        return provider.isAvailable();
+    }
+}
@@ -0,0 +1,28 @@
+package com.weather.application.service;
+
+/**
+ * Cache keys of per-location readings.
+ * The location key is wrapped in a Redis Cluster hash tag, so the weather, AQI and forecast
+ * entries of one location hash to the same slot and can be read or written together.
+ */
+public final class CacheKeys {
+
+    private CacheKeys() {
+    }
+
+    public static String weather(String locationKey) {
+        return "weather:" + tag(locationKey);
+    }
+
+    public static String aqi(String locationKey) {
+        return "aqi:" + tag(locationKey);
+    }
+
+    public static String forecast(String locationKey) {
+        return "forecast:" + tag(locationKey);
+    }
+
+    private static String tag(String locationKey) {
+        return "{" + locationKey + "}";
+    }
+}
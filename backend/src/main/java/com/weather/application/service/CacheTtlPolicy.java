@@ -0,0 +1,173 @@
+package com.weather.application.service;
+
+import com.weather.config.CacheTtlProperties;
+import com.weather.config.CacheTtlProperties.Rule;
+import com.weather.domain.model.AQIReading;
+import com.weather.domain.model.Location;
+import com.weather.domain.model.WeatherReading;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.time.DateTimeException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Computes per-location cache TTLs.
+ * A reading is kept until the provider is expected to publish the next one (its upstream
+ * timestamp plus the provider cadence), stretched by up to max-stretch cadences when the
+ * location has been stable at this local hour, and clamped to the configured floor/ceiling.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CacheTtlPolicy {
+
+    private static final int MAX_TRACKED = 10_000;
+    private static final double ALPHA = 0.3;
+    private static final Duration MIN_INTERVAL = Duration.ofMinutes(10);
+
+    private final CacheTtlProperties properties;
+
+    private final ConcurrentMap<String, Volatility> volatility = new ConcurrentHashMap<>();
+
+    /**
+     * TTL for a freshly fetched weather reading; also records its change against the previous one
+     */
+    public Duration weatherTtl(String locationKey, WeatherReading reading) {
+        Volatility tracker = tracker("weather:" + locationKey);
+        ZoneId zone = zoneOf(reading.getLocation());
+        // one unit of change: 1 °C, 10 % humidity, 2 m/s wind or a different condition
+        tracker.observe(reading.getTimestamp(), zone, reading.getWeatherCondition(),
+            value(reading.getTemperatureCelsius()),
+            value(reading.getHumidity()) / 10,
+            value(reading.getWindSpeed()) / 2);
+        return ttl(properties.getWeather(), reading.getTimestamp(), tracker.stability(zone));
+    }
+
+    /**
+     * TTL for a freshly fetched AQI reading; also records its change against the previous one
+     */
+    public Duration aqiTtl(String locationKey, AQIReading reading) {
+        Volatility tracker = tracker("aqi:" + locationKey);
+        ZoneId zone = zoneOf(reading.getLocation());
+        // one unit of change: 10 AQI points
+        tracker.observe(reading.getTimestamp(), zone, null,
+            reading.getAqi() != null ? reading.getAqi() / 10.0 : 0);
+        return ttl(properties.getAqi(), reading.getTimestamp(), tracker.stability(zone));
+    }
+
+    /**
+     * TTL for a forecast issued (fetched) at the given time
+     */
+    public Duration forecastTtl(Instant issuedAt) {
+        return ttl(properties.getForecast(), issuedAt, 0);
+    }
+
+    /**
+     * Oldest upstream timestamp still considered current for weather data
+     */
+    public Duration weatherMaxAge() {
+        return properties.getWeather().getCeiling();
+    }
+
+    Duration ttl(Rule rule, Instant observedAt, double stability) {
+        Instant now = Instant.now();
+        Duration untilUpdate = observedAt == null
+            ? rule.getCadence()
+            : Duration.between(now, observedAt.plus(rule.getCadence()));
+        if (untilUpdate.isNegative()) {
+            untilUpdate = Duration.ZERO;
+        }
+
+        double stretch = Math.max(0, rule.getMaxStretch() - 1) * stability;
+        Duration ttl = untilUpdate.plusMillis((long) (rule.getCadence().toMillis() * stretch));
+
+        if (ttl.compareTo(rule.getFloor()) < 0) {
+            return rule.getFloor();
+        }
+        return ttl.compareTo(rule.getCeiling()) > 0 ? rule.getCeiling() : ttl;
+    }
+
+    private Volatility tracker(String key) {
+        if (volatility.size() >= MAX_TRACKED) {
+            log.debug("Volatility tracker reached {} entries, clearing", MAX_TRACKED);
+            volatility.clear();
+        }
+        return volatility.computeIfAbsent(key, k -> new Volatility());
+    }
+
+    private static ZoneId zoneOf(Location location) {
+        if (location == null || location.getTimezone() == null) {
+            return ZoneOffset.UTC;
+        }
+        try {
+            return ZoneId.of(location.getTimezone());
+        } catch (DateTimeException e) {
+            return ZoneOffset.UTC;
+        }
+    }
+
+    private static double value(Double value) {
+        return value != null ? value : 0;
+    }
+
+    /**
+     * Exponentially weighted change per hour, overall and per local hour of day.
+     * A score of 0 means nothing changed between provider updates.
+     */
+    static final class Volatility {
+        private final double[] hourly = new double[24];
+        private double overall = Double.NaN;
+        private Instant lastObservedAt;
+        private double[] lastValues;
+        private String lastCategory;
+
+        Volatility() {
+            Arrays.fill(hourly, Double.NaN);
+        }
+
+        synchronized void observe(Instant observedAt, ZoneId zone, String category, double... values) {
+            if (observedAt == null) {
+                return;
+            }
+            if (lastObservedAt != null && observedAt.isAfter(lastObservedAt)) {
+                double distance = Objects.equals(category, lastCategory) ? 0 : 1;
+                for (int i = 0; i < values.length; i++) {
+                    distance += Math.abs(values[i] - lastValues[i]);
+                }
+                long minutes = Math.max(MIN_INTERVAL.toMinutes(),
+                    Duration.between(lastObservedAt, observedAt).toMinutes());
+                double score = distance * 60 / minutes;
+
+                int hour = observedAt.atZone(zone).getHour();
+                hourly[hour] = Double.isNaN(hourly[hour]) ? score : ALPHA * score + (1 - ALPHA) * hourly[hour];
+                overall = Double.isNaN(overall) ? score : ALPHA * score + (1 - ALPHA) * overall;
+            }
+            if (lastObservedAt == null || !observedAt.isBefore(lastObservedAt)) {
+                lastObservedAt = observedAt;
+                lastValues = values;
+                lastCategory = category;
+            }
+        }
+
+        /**
+         * 1 for a location that never changes at this hour, towards 0 as it gets volatile;
+         * 0 while nothing is known yet
+         */
+        synchronized double stability(ZoneId zone) {
+            double score = hourly[Instant.now().atZone(zone).getHour()];
+            if (Double.isNaN(score)) {
+                score = overall;
+            }
+            return Double.isNaN(score) ? 0 : 1 / (1 + score);
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.weather.application.service;
+
+import com.weather.application.port.output.CachePort;
+import com.weather.application.port.output.StoragePort;
+import com.weather.application.port.output.WeatherProviderPort;
+import com.weather.application.port.output.WeatherProviderPort.CurrentAndForecast;
+import com.weather.application.service.LocationRegistry.ResolvedLocation;
+import com.weather.domain.model.Forecast;
+import com.weather.domain.model.WeatherReading;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Uses the provider's combined current + forecast call when it has one.
+ * The caller gets the half it asked for and handles it as a normal API result; the other
+ * half is cached and stored here, so the follow-up request of a page view is a cache hit.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CombinedWeatherFetcher {
+
+    private final CachePort cache;
+    private final StoragePort storage;
+    private final LocationRegistry locationRegistry;
+    private final CacheTtlPolicy ttlPolicy;
+
+    /**
+     * Combined fetches need coordinates, which we learn from the first single-city response
+     */
+    public boolean applies(WeatherProviderPort provider, ResolvedLocation location) {
+        return provider.supportsCombinedFetch() && location.location().hasCoordinates();
+    }
+
+    /**
+     * Current weather from a combined call; the forecast half is cached and stored
+     */
+    public Optional<WeatherReading> currentWithForecast(WeatherProviderPort provider, ResolvedLocation location) {
+        return fetch(provider, location).map(result -> {
+            storeForecasts(provider, location, result.forecasts());
+            return result.current();
+        });
+    }
+
+    /**
+     * Daily forecasts (sorted by date) from a combined call; the current half is cached and stored
+     */
+    public Optional<List<Forecast>> forecastWithCurrent(WeatherProviderPort provider, ResolvedLocation location) {
+        return fetch(provider, location).map(result -> {
+            storeCurrent(provider, location, result.current());
+            return sorted(result.forecasts());
+        });
+    }
+
+    private Optional<CurrentAndForecast> fetch(WeatherProviderPort provider, ResolvedLocation location) {
+        if (!applies(provider, location)) {
+            return Optional.empty();
+        }
+        return provider.getCurrentAndForecast(location.location());
+    }
+
+    private void storeCurrent(WeatherProviderPort provider, ResolvedLocation location, WeatherReading reading) {
+        if (reading == null) {
+            return;
+        }
+        reading.setLocation(locationRegistry.learn(location, reading.getLocation()));
+        reading.setDataSource(provider.getDataSource());
+        reading.setCreatedAt(Instant.now());
+        cache.put(CacheKeys.weather(location.key()), reading, ttlPolicy.weatherTtl(location.key(), reading));
+        storage.saveWeatherReading(reading);
+        log.debug("Stored current weather for {} from combined fetch", location.key());
+    }
+
+    private void storeForecasts(WeatherProviderPort provider, ResolvedLocation location, List<Forecast> forecasts) {
+        if (forecasts == null || forecasts.isEmpty()) {
+            return;
+        }
+        Instant now = Instant.now();
+        List<Forecast> ordered = sorted(forecasts);
+        ordered.forEach(forecast -> {
+            forecast.setLocation(locationRegistry.learn(location, forecast.getLocation()));
+            forecast.setDataSource(provider.getDataSource());
+            if (forecast.getCreatedAt() == null) {
+                forecast.setCreatedAt(now);
+            }
+        });
+        cache.put(CacheKeys.forecast(location.key()), ordered.toArray(Forecast[]::new), ttlPolicy.forecastTtl(now));
+        ordered.forEach(storage::saveForecast);
+        log.debug("Stored {} forecast days for {} from combined fetch", ordered.size(), location.key());
+    }
+
+    private static List<Forecast> sorted(List<Forecast> forecasts) {
+        return forecasts.stream()
+            .sorted(Comparator.comparing(Forecast::getDate, Comparator.nullsLast(Comparator.naturalOrder())))
+            .toList();
+    }
+}
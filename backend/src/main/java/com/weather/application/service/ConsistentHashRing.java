@@ -0,0 +1,96 @@
+package com.weather.application.service;
+
+import com.weather.application.port.output.MembershipPort.Node;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Immutable consistent-hash ring with virtual nodes.
+ * A key belongs to the first ring point at or after its hash, so a node joining or leaving
+ * only moves the keys between its own points and their predecessors.
+ */
+final class ConsistentHashRing {
+
+    private static final double RANGE = Math.pow(2, 64);
+
+    private final long[] points;
+    private final Node[] owners;
+
+    ConsistentHashRing(List<Node> nodes, int virtualNodes) {
+        // Sort first so every replica builds the same ring from the same members
+        List<Node> sorted = nodes.stream().sorted(Comparator.comparing(Node::id)).toList();
+        int size = sorted.size() * virtualNodes;
+        long[] hashes = new long[size];
+        Node[] nodesByPoint = new Node[size];
+        Integer[] order = new Integer[size];
+        int i = 0;
+        for (Node node : sorted) {
+            for (int v = 0; v < virtualNodes; v++) {
+                hashes[i] = hash(node.id() + "#" + v);
+                nodesByPoint[i] = node;
+                order[i] = i;
+                i++;
+            }
+        }
+        Arrays.sort(order, Comparator.comparingLong((Integer index) -> hashes[index])
+            .thenComparing(index -> nodesByPoint[index].id()));
+
+        this.points = new long[size];
+        this.owners = new Node[size];
+        for (int p = 0; p < size; p++) {
+            points[p] = hashes[order[p]];
+            owners[p] = nodesByPoint[order[p]];
+        }
+    }
+
+    boolean isEmpty() {
+        return points.length == 0;
+    }
+
+    /**
+     * Owner of the key; null on an empty ring
+     */
+    Node ownerOf(String key) {
+        if (points.length == 0) {
+            return null;
+        }
+        int index = Arrays.binarySearch(points, hash(key));
+        if (index < 0) {
+            index = -index - 1;
+        }
+        return owners[index == points.length ? 0 : index];
+    }
+
+    /**
+     * Fraction of the hash space owned by the node
+     */
+    double share(String nodeId) {
+        double owned = 0;
+        for (int p = 0; p < points.length; p++) {
+            if (owners[p].id().equals(nodeId)) {
+                // Distance back to the previous point; long arithmetic wraps exactly like the ring
+                long distance = points[p] - points[p == 0 ? points.length - 1 : p - 1];
+                owned += points.length == 1 ? RANGE : distance >= 0 ? distance : distance + RANGE;
+            }
+        }
+        return owned / RANGE;
+    }
+
+    // 64-bit FNV-1a with a final avalanche; points must spread evenly over the whole range
+    static long hash(String value) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b;
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
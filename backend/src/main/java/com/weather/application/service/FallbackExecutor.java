@@ -0,0 +1,215 @@
+package com.weather.application.service;
+
+import com.weather.domain.exception.LocationNotFoundException;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Runs a chain of fallback tiers (API, scraper, storage...) within a total latency budget.
+ * The next tier is started speculatively once the running one exceeds its observed p95
+ * latency, or immediately when any running attempt fails or comes back empty, even if an
+ * earlier speculative attempt is still in flight. The first non-empty result wins and every
+ * other attempt is cancelled. A tier reporting that the location does not exist ends
+ * the chain: the {@link LocationNotFoundException} is rethrown to the caller.
+ */
+@Slf4j
+// Named apart from Resilience4j's auto-configured "fallbackExecutor" bean
+@Component("tieredFallbackExecutor")
+public class FallbackExecutor {
+
+    private static final int MIN_SAMPLES = 20;
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final Map<String, LatencyWindow> latencies = new ConcurrentHashMap<>();
+
+    @Value("${weather.fallback.budget:4s}")
+    private Duration defaultBudget;
+
+    @Value("${weather.fallback.default-hedge-delay:800ms}")
+    private Duration defaultHedgeDelay;
+
+    @Value("${weather.fallback.min-hedge-delay:50ms}")
+    private Duration minHedgeDelay;
+
+    /**
+     * The budget chains run with unless the caller passes one
+     */
+    public Duration defaultBudget() {
+        return defaultBudget;
+    }
+
+    /**
+     * Executes the chain with the configured default budget
+     */
+    public <T> Optional<Outcome<T>> execute(String chain, List<Tier<T>> tiers) {
+        return execute(chain, defaultBudget, tiers);
+    }
+
+    /**
+     * Executes the chain and returns the first acceptable result within the budget
+     */
+    public <T> Optional<Outcome<T>> execute(String chain, Duration budget, List<Tier<T>> tiers) {
+        if (tiers.isEmpty()) {
+            return Optional.empty();
+        }
+
+        long deadline = System.nanoTime() + budget.toNanos();
+        CompletionService<Attempt<T>> completion = new ExecutorCompletionService<>(executor);
+        List<Future<Attempt<T>>> running = new ArrayList<>();
+        int next = 0;
+        int outstanding = 0;
+        long lastStarted = 0;
+
+        try {
+            while (outstanding > 0 || next < tiers.size()) {
+                if (outstanding == 0) {
+                    lastStarted = System.nanoTime();
+                    running.add(start(completion, chain, tiers.get(next++)));
+                    outstanding++;
+                }
+
+                long now = System.nanoTime();
+                long remaining = deadline - now;
+                if (remaining <= 0) {
+                    log.warn("Fallback chain {} exhausted its {} ms budget", chain, budget.toMillis());
+                    return Optional.empty();
+                }
+
+                long wait = remaining;
+                if (next < tiers.size()) {
+                    long hedgeAt = lastStarted + hedgeDelay(chain, tiers.get(next - 1)).toNanos();
+                    wait = Math.max(0, Math.min(hedgeAt - now, remaining));
+                }
+
+                Future<Attempt<T>> done = completion.poll(wait, TimeUnit.NANOSECONDS);
+                if (done == null) {
+                    if (next < tiers.size()) {
+                        log.debug("Hedging {}: starting {} speculatively", chain, tiers.get(next).name());
+                        lastStarted = System.nanoTime();
+                        running.add(start(completion, chain, tiers.get(next++)));
+                        outstanding++;
+                    }
+                    continue;
+                }
+
+                outstanding--;
+                Attempt<T> attempt = done.get();
+                if (attempt.notFound() != null) {
+                    throw attempt.notFound();
+                }
+                if (attempt.value().isPresent()) {
+                    return Optional.of(new Outcome<>(attempt.tier(), attempt.value().get()));
+                }
+                if (outstanding > 0 && next < tiers.size()) {
+                    // A failed attempt frees its slot even while a slower one is still running
+                    lastStarted = System.nanoTime();
+                    running.add(start(completion, chain, tiers.get(next++)));
+                    outstanding++;
+                }
+            }
+
+            return Optional.empty();
+
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return Optional.empty();
+        } catch (ExecutionException e) {
+            // attempts never throw; see start()
+            return Optional.empty();
+        } finally {
+            running.forEach(future -> future.cancel(true));
+        }
+    }
+
+    private <T> Future<Attempt<T>> start(CompletionService<Attempt<T>> completion, String chain, Tier<T> tier) {
+        return completion.submit(() -> {
+            long started = System.nanoTime();
+            try {
+                Optional<T> value = tier.call().get();
+                record(chain, tier, System.nanoTime() - started);
+                return new Attempt<>(tier.name(), value == null ? Optional.empty() : value, null);
+            } catch (LocationNotFoundException e) {
+                record(chain, tier, System.nanoTime() - started);
+                return new Attempt<>(tier.name(), Optional.empty(), e);
+            } catch (Exception e) {
+                record(chain, tier, System.nanoTime() - started);
+                log.warn("Fallback tier {}/{} failed: {}", chain, tier.name(), e.getMessage());
+                return new Attempt<>(tier.name(), Optional.empty(), null);
+            }
+        });
+    }
+
+    private void record(String chain, Tier<?> tier, long nanos) {
+        latencies.computeIfAbsent(chain + "/" + tier.name(), k -> new LatencyWindow()).record(nanos);
+    }
+
+    private Duration hedgeDelay(String chain, Tier<?> tier) {
+        LatencyWindow window = latencies.get(chain + "/" + tier.name());
+        if (window == null || window.size() < MIN_SAMPLES) {
+            return defaultHedgeDelay;
+        }
+        long p95 = window.percentile(0.95);
+        return Duration.ofNanos(Math.max(p95, minHedgeDelay.toNanos()));
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * A single step of a fallback chain
+     */
+    public record Tier<T>(String name, Supplier<Optional<T>> call) {}
+
+    /**
+     * The winning result and the tier that produced it
+     */
+    public record Outcome<T>(String tier, T value) {}
+
+    private record Attempt<T>(String tier, Optional<T> value, LocationNotFoundException notFound) {}
+
+    /**
+     * Fixed-size ring buffer of recent latencies
+     */
+    static final class LatencyWindow {
+        private final long[] samples = new long[128];
+        private int count;
+        private int position;
+
+        synchronized void record(long nanos) {
+            samples[position] = nanos;
+            position = (position + 1) % samples.length;
+            count = Math.min(count + 1, samples.length);
+        }
+
+        synchronized int size() {
+            return count;
+        }
+
+        synchronized long percentile(double quantile) {
+            long[] sorted = Arrays.copyOf(samples, count);
+            Arrays.sort(sorted);
+            int index = (int) Math.ceil(quantile * count) - 1;
+            return sorted[Math.max(0, Math.min(index, count - 1))];
+        }
+    }
+}
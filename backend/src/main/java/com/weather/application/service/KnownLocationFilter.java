@@ -0,0 +1,148 @@
+package com.weather.application.service;
+
+import com.weather.application.port.output.CachePort;
+import com.weather.application.port.output.StoragePort;
+import com.weather.config.LocationProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Keeps unknown locations away from providers and storage.
+ * A Bloom filter of every location key we have ever stored answers "seen" without I/O. The
+ * filter is local and only learns what this replica stores between rebuilds, so a key it does
+ * not contain is looked up in the shared locations table before it counts as never seen.
+ * Locations the provider reported as unknown are remembered for a short TTL, locally and in
+ * the shared cache, so repeated bad queries are rejected before any call.
+ */
+@Slf4j
+@Service
+public class KnownLocationFilter {
+
+    private static final String MISS_PREFIX = "miss:";
+
+    private final CachePort cache;
+    private final StoragePort storage;
+    private final LocationRegistry locationRegistry;
+    private final Duration missTtl;
+    private final int expectedLocations;
+    private final double falsePositiveRate;
+
+    /** location key -> expiry (nanoTime) of the local negative entry, least recently used evicted first */
+    private final Map<String, Long> misses;
+
+    private volatile BloomFilter filter;
+    private volatile BloomFilter rebuilding;
+    private volatile boolean ready;
+
+    public KnownLocationFilter(CachePort cache, StoragePort storage, LocationRegistry locationRegistry,
+                               LocationProperties properties) {
+        this.cache = cache;
+        this.storage = storage;
+        this.locationRegistry = locationRegistry;
+        this.missTtl = Duration.ofSeconds(properties.getMissTtl());
+        this.expectedLocations = properties.getFilterExpectedLocations();
+        this.falsePositiveRate = properties.getFilterFalsePositiveRate();
+        int maxMisses = properties.getMaxEntries();
+        this.misses = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Long> eldest) {
+                return size() > maxMisses;
+            }
+        });
+        this.filter = new BloomFilter(expectedLocations, falsePositiveRate);
+    }
+
+    /**
+     * True when the provider recently reported this location as unknown
+     */
+    public boolean isKnownMissing(String locationKey) {
+        Long expiry = misses.get(locationKey);
+        if (expiry != null) {
+            if (expiry - System.nanoTime() > 0) {
+                return true;
+            }
+            misses.remove(locationKey, expiry);
+        }
+
+        // Anything we have stored before is not worth a round trip
+        if (mightExist(locationKey)) {
+            return false;
+        }
+        if (cache.exists(MISS_PREFIX + locationKey)) {
+            remember(locationKey);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * False only when the location has definitely never been stored
+     */
+    public boolean mightExist(String locationKey) {
+        if (!ready || filter.mightContain(locationKey)) {
+            return true;
+        }
+        try {
+            // Another replica may have stored it since the last rebuild
+            if (storage.isKnownLocation(locationKey)) {
+                add(locationKey);
+                return true;
+            }
+            return false;
+        } catch (Exception e) {
+            log.debug("Could not look up location {}: {}", locationKey, e.getMessage());
+            return true;
+        }
+    }
+
+    public void recordFound(String locationKey) {
+        add(locationKey);
+        misses.remove(locationKey);
+    }
+
+    public void recordMissing(String locationKey) {
+        log.info("Remembering unknown location {} for {}s", locationKey, missTtl.toSeconds());
+        remember(locationKey);
+        cache.put(MISS_PREFIX + locationKey, Boolean.TRUE, missTtl);
+    }
+
+    /**
+     * Rebuilds the filter from stored readings and provider-confirmed registry entries
+     */
+    @Scheduled(fixedDelayString = "${weather.locations.filter-rebuild-interval:3600000}")
+    public void rebuild() {
+        BloomFilter next = new BloomFilter(expectedLocations, falsePositiveRate);
+        rebuilding = next;
+        try {
+            Set<String> stored = storage.getKnownLocationKeys();
+            stored.forEach(next::put);
+            locationRegistry.knownKeys().forEach(next::put);
+            filter = next;
+            ready = true;
+            log.info("Known-location filter rebuilt with {} stored locations", stored.size());
+        } catch (Exception e) {
+            log.warn("Could not rebuild known-location filter: {}", e.getMessage());
+        } finally {
+            rebuilding = null;
+        }
+    }
+
+    private void add(String locationKey) {
+        filter.put(locationKey);
+        BloomFilter next = rebuilding;
+        if (next != null) {
+            next.put(locationKey);
+        }
+    }
+
+    private void remember(String locationKey) {
+        misses.put(locationKey, System.nanoTime() + missTtl.toNanos());
+    }
+}
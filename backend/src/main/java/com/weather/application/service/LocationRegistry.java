@@ -0,0 +1,160 @@
+package com.weather.application.service;
+
+import com.weather.application.port.output.CachePort;
+import com.weather.config.LocationProperties;
+import com.weather.domain.model.Location;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Canonicalises city/country/alias input to a stable location key.
+ * Every service, cache key and repository query goes through this registry so the
+ * same place never fragments into several keys.
+ */
+@Slf4j
+@Service
+public class LocationRegistry {
+
+    private static final String CACHE_PREFIX = "location:";
+
+    private final CachePort cache;
+    private final Map<String, String> aliases;
+    private final Duration resolutionTtl;
+
+    /** normalized input -> canonical key, least recently used evicted first */
+    private final Map<String, String> resolutions;
+
+    /** canonical key -> the single key instance handed out to callers and its canonical location */
+    private final Map<String, ResolvedLocation> locations;
+
+    public LocationRegistry(CachePort cache, LocationProperties properties) {
+        this.cache = cache;
+        this.resolutions = lru(properties.getMaxEntries());
+        this.locations = lru(properties.getMaxEntries());
+        this.resolutionTtl = Duration.ofSeconds(properties.getResolutionTtl());
+        this.aliases = new HashMap<>();
+        properties.getAliases().forEach((alias, target) -> aliases.put(Location.normalize(alias), target));
+    }
+
+    /**
+     * Resolves user input to a canonical location and its key
+     */
+    public ResolvedLocation resolve(String city, String country) {
+        if (city == null || city.isBlank()) {
+            throw new IllegalArgumentException("City is required");
+        }
+
+        String inputKey = Location.keyOf(city, country);
+        String known = resolutions.get(inputKey);
+        if (known != null) {
+            ResolvedLocation resolved = locations.get(known);
+            if (resolved != null) {
+                return resolved;
+            }
+        }
+
+        Location named = resolveAlias(inputKey)
+            .orElseGet(() -> Location.builder()
+                .city(collapse(city))
+                .country(country != null && !country.isBlank() ? collapse(country).toUpperCase(Locale.ROOT) : null)
+                .build());
+        // Cached by canonical key, as learn() writes it: an alias finds the coordinates of its target
+        Location canonical = cache.get(CACHE_PREFIX + named.getLocationKey(), Location.class).orElse(named);
+
+        return register(inputKey, canonical);
+    }
+
+    /**
+     * Records coordinates observed from a provider response for an already resolved location
+     */
+    public Location learn(ResolvedLocation resolved, Location observed) {
+        ResolvedLocation known = locations.get(resolved.key());
+        Location current = known != null ? known.location() : resolved.location();
+        if (observed == null || current.hasCoordinates() || !observed.hasCoordinates()) {
+            return current;
+        }
+
+        Location updated = Location.builder()
+            .city(current.getCity())
+            .country(current.getCountry())
+            .latitude(observed.getLatitude())
+            .longitude(observed.getLongitude())
+            .timezone(observed.getTimezone() != null ? observed.getTimezone() : current.getTimezone())
+            .build();
+
+        locations.put(resolved.key(), new ResolvedLocation(resolved.key(), updated));
+        cache.put(CACHE_PREFIX + resolved.key(), updated, resolutionTtl);
+        log.debug("Learned coordinates for {}: {},{}", resolved.key(), updated.getLatitude(), updated.getLongitude());
+        return updated;
+    }
+
+    /**
+     * Returns the in-memory keys of locations a provider has confirmed (coordinates learned)
+     */
+    public Set<String> knownKeys() {
+        Set<String> keys = new HashSet<>();
+        synchronized (locations) {
+            locations.forEach((key, resolved) -> {
+                if (resolved.location().hasCoordinates()) {
+                    keys.add(key);
+                }
+            });
+        }
+        return keys;
+    }
+
+    private ResolvedLocation register(String inputKey, Location canonical) {
+        ResolvedLocation candidate = new ResolvedLocation(canonical.getLocationKey(), canonical);
+        ResolvedLocation resolved = locations.computeIfAbsent(candidate.key(), key -> candidate);
+        resolutions.put(inputKey, resolved.key());
+
+        if (resolved == candidate) {
+            cache.put(CACHE_PREFIX + resolved.key(), canonical, resolutionTtl);
+        }
+        return resolved;
+    }
+
+    /**
+     * Bounded map evicting the least recently used entry, so a flood of distinct inputs cannot grow it
+     */
+    private static <V> Map<String, V> lru(int maxEntries) {
+        return Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, V> eldest) {
+                return size() > maxEntries;
+            }
+        });
+    }
+
+    private Optional<Location> resolveAlias(String inputKey) {
+        String target = aliases.get(inputKey);
+        if (target == null) {
+            return Optional.empty();
+        }
+
+        String[] parts = target.split(",", 2);
+        return Optional.of(Location.builder()
+            .city(collapse(parts[0]))
+            .country(parts.length > 1 ? collapse(parts[1]).toUpperCase(Locale.ROOT) : null)
+            .build());
+    }
+
+    private static String collapse(String value) {
+        return value.trim().replaceAll("\\s+", " ");
+    }
+
+    /**
+     * Canonical location together with its interned key
+     */
+    public record ResolvedLocation(String key, Location location) {}
+}
@@ -0,0 +1,160 @@
+package com.weather.application.service;
+
+import com.weather.application.port.output.MembershipPort;
+import com.weather.application.port.output.MembershipPort.Node;
+import com.weather.config.AffinityProperties;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.net.InetAddress;
+import java.net.URI;
+import java.net.UnknownHostException;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Decides which replica owns a location.
+ * Every node heartbeats into the shared member list and rebuilds its hash ring whenever the
+ * membership changes, so all replicas agree on the owner of a location key and a join or
+ * leave only moves that node's share of the keys. Until the first heartbeat succeeds (or
+ * when Redis is unreachable) every node serves everything itself.
+ */
+@Slf4j
+@Service
+@ConditionalOnProperty(prefix = "weather.affinity", name = "enabled", havingValue = "true")
+public class NodeAffinity {
+
+    private final MembershipPort membership;
+    private final LocationRegistry locationRegistry;
+    private final AffinityProperties properties;
+    private final Node self;
+
+    private volatile ConsistentHashRing ring;
+    private volatile Set<Node> members = Set.of();
+    private volatile Set<String> memberAddresses = Set.of();
+
+    public NodeAffinity(MembershipPort membership, LocationRegistry locationRegistry, AffinityProperties properties) {
+        this.membership = membership;
+        this.locationRegistry = locationRegistry;
+        this.properties = properties;
+        if (properties.getAdvertisedUrl() == null || properties.getAdvertisedUrl().isBlank()) {
+            throw new IllegalStateException("weather.affinity.advertised-url is required when affinity is enabled");
+        }
+        String nodeId = properties.getNodeId() != null && !properties.getNodeId().isBlank()
+            ? properties.getNodeId() : hostName();
+        this.self = new Node(nodeId, properties.getAdvertisedUrl().replaceAll("/+$", ""));
+        this.ring = new ConsistentHashRing(List.of(), properties.getVirtualNodes());
+    }
+
+    @PostConstruct
+    void join() {
+        refresh();
+    }
+
+    /**
+     * The node that should serve this location, or empty when it is this node (or no ring is known)
+     */
+    public Optional<Node> remoteOwner(String city, String country) {
+        ConsistentHashRing current = ring;
+        if (current.isEmpty()) {
+            return Optional.empty();
+        }
+        Node owner = current.ownerOf(locationRegistry.resolve(city, country).key());
+        return owner == null || owner.id().equals(self.id()) ? Optional.empty() : Optional.of(owner);
+    }
+
+    public Node self() {
+        return self;
+    }
+
+    /**
+     * True when the address belongs to another live member, going by what the members'
+     * advertised hosts resolved to when the membership last changed
+     */
+    public boolean isMemberAddress(String address) {
+        return memberAddresses.contains(address);
+    }
+
+    /**
+     * Heartbeat plus membership check; the ring is rebuilt only when members changed
+     */
+    @Scheduled(fixedDelayString = "${weather.affinity.heartbeat-interval:5000}")
+    public void refresh() {
+        List<Node> live;
+        try {
+            membership.heartbeat(self, properties.getMemberTtl());
+            live = membership.members();
+        } catch (Exception e) {
+            // Serving every location locally is always correct, only less efficient
+            if (!ring.isEmpty()) {
+                log.warn("Membership store unavailable, serving all locations locally: {}", e.getMessage());
+                ring = new ConsistentHashRing(List.of(), properties.getVirtualNodes());
+                members = Set.of();
+                memberAddresses = Set.of();
+            }
+            return;
+        }
+
+        Set<Node> current = new HashSet<>(live);
+        current.add(self);
+        if (current.equals(members)) {
+            return;
+        }
+        Set<Node> joined = new HashSet<>(current);
+        joined.removeAll(members);
+        Set<Node> left = new HashSet<>(members);
+        left.removeAll(current);
+
+        ConsistentHashRing rebuilt = new ConsistentHashRing(List.copyOf(current), properties.getVirtualNodes());
+        ring = rebuilt;
+        members = current;
+        memberAddresses = addressesOf(current);
+        log.info("Ring rebalanced: {} members, joined {}, left {}; this node owns {}% of locations",
+            current.size(), ids(joined), ids(left), Math.round(rebuilt.share(self.id()) * 1000) / 10.0);
+    }
+
+    @PreDestroy
+    void leave() {
+        try {
+            membership.leave(self);
+        } catch (Exception e) {
+            log.debug("Could not leave the member list: {}", e.getMessage());
+        }
+    }
+
+    private Set<String> addressesOf(Set<Node> nodes) {
+        Set<String> addresses = new HashSet<>();
+        for (Node node : nodes) {
+            if (node.id().equals(self.id())) {
+                continue;
+            }
+            try {
+                for (InetAddress address : InetAddress.getAllByName(URI.create(node.url()).getHost())) {
+                    addresses.add(address.getHostAddress());
+                }
+            } catch (UnknownHostException | IllegalArgumentException e) {
+                log.warn("Cannot resolve member {} at {}: {}", node.id(), node.url(), e.getMessage());
+            }
+        }
+        return Set.copyOf(addresses);
+    }
+
+    private static List<String> ids(Set<Node> nodes) {
+        return nodes.stream().map(Node::id).sorted().toList();
+    }
+
+    private static String hostName() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            return UUID.randomUUID().toString();
+        }
+    }
+}
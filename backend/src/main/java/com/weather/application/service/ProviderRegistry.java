@@ -0,0 +1,237 @@
+package com.weather.application.service;
+
+import com.weather.application.port.output.QuotaPort;
+import com.weather.config.ProviderRoutingProperties;
+import com.weather.domain.exception.CallRejectedException;
+import com.weather.domain.exception.LocationNotFoundException;
+import com.weather.domain.model.CallPriority;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+
+/**
+ * Holds every implementation of one provider port and routes calls between them.
+ * Each provider keeps a moving average of latency and error rate; calls go to the fastest
+ * healthy provider that still has quota, and interactive calls can race the best two.
+ * A provider that keeps failing is skipped until its probe interval allows a trial call.
+ * Quota taken for a call the provider turned away unsent is given back.
+ */
+@Slf4j
+public abstract class ProviderRegistry<P> {
+
+    private final List<Member<P>> members;
+    private final QuotaPort quota;
+    private final ProviderRoutingProperties properties;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    protected ProviderRegistry(List<P> providers, QuotaPort quota, ProviderRoutingProperties properties) {
+        this.quota = quota;
+        this.properties = properties;
+        this.members = providers.stream()
+            .map(provider -> new Member<>(provider, new ProviderStats(nameOf(provider))))
+            .toList();
+    }
+
+    protected abstract String nameOf(P provider);
+
+    protected abstract boolean isAvailable(P provider);
+
+    /**
+     * True when at least one provider is configured
+     */
+    public boolean hasAvailable() {
+        return members.stream().anyMatch(member -> isAvailable(member.provider()));
+    }
+
+    /**
+     * Picks the provider(s) for one call and takes their quota; empty when every provider is
+     * unavailable or over budget for this priority
+     */
+    public Optional<Route<P>> route(CallPriority priority) {
+        return route(priority, true);
+    }
+
+    /**
+     * Same as {@link #route(CallPriority)}; racing can be turned off for calls that must go to a single provider
+     */
+    public Optional<Route<P>> route(CallPriority priority, boolean allowRace) {
+        boolean race = allowRace && properties.isRaceInteractive() && priority == CallPriority.INTERACTIVE;
+        Member<P> primary = null;
+        for (Member<P> member : ranked()) {
+            if (!quota.tryAcquire(member.stats().name(), priority)) {
+                member.stats().quotaDenied();
+                continue;
+            }
+            if (primary == null) {
+                primary = member;
+                if (!race) {
+                    break;
+                }
+            } else {
+                log.debug("Racing {} against {}", primary.stats().name(), member.stats().name());
+                return Optional.of(new Route<>(primary, member, 1));
+            }
+        }
+        return Optional.ofNullable(primary).map(member -> new Route<>(member, null, 1));
+    }
+
+    /**
+     * Picks one provider for a batch and takes the quota of all its upstream calls at once;
+     * empty when no provider can afford the whole batch
+     */
+    public Optional<Route<P>> routeBatch(CallPriority priority, ToIntFunction<P> calls) {
+        for (Member<P> member : ranked()) {
+            int cost = calls.applyAsInt(member.provider());
+            if (quota.tryAcquire(member.stats().name(), priority, cost)) {
+                return Optional.of(new Route<>(member, null, cost));
+            }
+            member.stats().quotaDenied();
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Runs the call on the routed provider, or on both when racing; the first non-empty result
+     * wins. The slower call of a race still finishes so its latency is recorded.
+     */
+    public <T> Optional<T> call(Route<P> route, Function<P, Optional<T>> call) {
+        if (route.secondary() == null) {
+            return timed(route.primary(), route.calls(), call);
+        }
+
+        CompletionService<Attempt<T>> completion = new ExecutorCompletionService<>(executor);
+        for (Member<P> member : List.of(route.primary(), route.secondary())) {
+            completion.submit(() -> {
+                try {
+                    return new Attempt<>(timed(member, route.calls(), call), null);
+                } catch (RuntimeException e) {
+                    return new Attempt<>(Optional.empty(), e);
+                }
+            });
+        }
+
+        RuntimeException failure = null;
+        try {
+            for (int i = 0; i < 2; i++) {
+                Attempt<T> attempt = completion.take().get();
+                if (attempt.value().isPresent()) {
+                    return attempt.value();
+                }
+                // A provider that does not know the location outranks a plain failure
+                if (attempt.failure() != null
+                    && (failure == null || attempt.failure() instanceof LocationNotFoundException)) {
+                    failure = attempt.failure();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return Optional.empty();
+        } catch (ExecutionException e) {
+            // attempts never throw
+            return Optional.empty();
+        }
+        if (failure != null) {
+            throw failure;
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Current averages per provider, best first
+     */
+    public List<ProviderStats.Snapshot> snapshot() {
+        List<Member<P>> available = new ArrayList<>();
+        for (Member<P> member : members) {
+            if (isAvailable(member.provider())) {
+                available.add(member);
+            }
+        }
+        available.sort(Comparator
+            .comparing((Member<P> member) -> !member.stats().isHealthy(properties))
+            .thenComparingDouble(member -> member.stats().isHealthy(properties)
+                ? member.stats().latencyNanos() : member.stats().errorRate()));
+        return available.stream().map(member -> member.stats().snapshot()).toList();
+    }
+
+    /**
+     * Providers a call may go to: an unhealthy one whose trial call this caller just won comes
+     * first, then the healthy ones by latency (unmeasured first). Other unhealthy providers
+     * are left out.
+     */
+    private List<Member<P>> ranked() {
+        long now = System.nanoTime();
+        List<Member<P>> healthy = new ArrayList<>();
+        List<Member<P>> probing = new ArrayList<>();
+        for (Member<P> member : members) {
+            if (!isAvailable(member.provider())) {
+                continue;
+            }
+            if (member.stats().isHealthy(properties)) {
+                healthy.add(member);
+            } else if (member.stats().tryClaimProbe(now, properties)) {
+                log.debug("Sending a trial call to unhealthy provider {}", member.stats().name());
+                probing.add(member);
+            }
+        }
+        healthy.sort(Comparator.comparingDouble(member -> member.stats().latencyNanos()));
+        probing.addAll(healthy);
+        return probing;
+    }
+
+    private <T> Optional<T> timed(Member<P> member, int calls, Function<P, Optional<T>> call) {
+        long started = System.nanoTime();
+        try {
+            Optional<T> value = call.apply(member.provider());
+            boolean answered = value != null && value.isPresent();
+            member.stats().record(System.nanoTime() - started, !answered, properties.getSmoothing());
+            return answered ? value : Optional.empty();
+        } catch (CallRejectedException e) {
+            // Nothing went upstream: neither a measurement nor a spent call
+            log.debug("{}, returning {} call(s) of quota", e.getMessage(), calls);
+            quota.release(member.stats().name(), calls);
+            return Optional.empty();
+        } catch (LocationNotFoundException e) {
+            // A definite answer, not a provider fault
+            member.stats().record(System.nanoTime() - started, false, properties.getSmoothing());
+            throw e;
+        } catch (RuntimeException e) {
+            member.stats().record(System.nanoTime() - started, true, properties.getSmoothing());
+            throw e;
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * The provider a call goes to, plus the one it races against (null when not racing),
+     * and the quota each of them took
+     */
+    public record Route<P>(Member<P> primary, Member<P> secondary, int calls) {
+
+        public P provider() {
+            return primary.provider();
+        }
+
+        public boolean racing() {
+            return secondary != null;
+        }
+    }
+
+    public record Member<P>(P provider, ProviderStats stats) {}
+
+    private record Attempt<T>(Optional<T> value, RuntimeException failure) {}
+}
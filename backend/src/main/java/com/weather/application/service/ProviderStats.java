@@ -0,0 +1,74 @@
+package com.weather.application.service;
+
+import com.weather.config.ProviderRoutingProperties;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Exponentially weighted latency and error rate of one provider, plus quota rejections
+ */
+public final class ProviderStats {
+
+    private final String name;
+    private double latencyNanos;
+    private double errorRate;
+    private long calls;
+    private long quotaDenials;
+    private long lastCallAt;
+    private final AtomicLong nextProbeAt = new AtomicLong(System.nanoTime());
+
+    ProviderStats(String name) {
+        this.name = name;
+    }
+
+    public String name() {
+        return name;
+    }
+
+    synchronized void record(long nanos, boolean failed, double smoothing) {
+        latencyNanos = calls == 0 ? nanos : smoothing * nanos + (1 - smoothing) * latencyNanos;
+        errorRate = smoothing * (failed ? 1 : 0) + (1 - smoothing) * errorRate;
+        calls++;
+        lastCallAt = System.nanoTime();
+    }
+
+    synchronized void quotaDenied() {
+        quotaDenials++;
+    }
+
+    /**
+     * Unmeasured providers report zero so they get tried
+     */
+    synchronized double latencyNanos() {
+        return latencyNanos;
+    }
+
+    synchronized double errorRate() {
+        return errorRate;
+    }
+
+    synchronized boolean isHealthy(ProviderRoutingProperties properties) {
+        return errorRate < properties.getMaxErrorRate();
+    }
+
+    /**
+     * Claims the trial call of an unhealthy provider: once the probe interval has passed since
+     * its last call, exactly one caller wins and the next probe moves a full interval ahead
+     */
+    boolean tryClaimProbe(long now, ProviderRoutingProperties properties) {
+        long interval = properties.getProbeInterval().toNanos();
+        long claimed = nextProbeAt.get();
+        long due = Math.max(claimed, lastCallAt() + interval);
+        return now - due >= 0 && nextProbeAt.compareAndSet(claimed, now + interval);
+    }
+
+    private synchronized long lastCallAt() {
+        return lastCallAt;
+    }
+
+    synchronized Snapshot snapshot() {
+        return new Snapshot(name, latencyNanos / 1_000_000, errorRate, calls, quotaDenials);
+    }
+
+    public record Snapshot(String name, double latencyMillis, double errorRate, long calls, long quotaDenials) {}
+}
@@ -0,0 +1,57 @@
+package com.weather.application.service;
+
+import com.weather.application.port.input.GetWeatherUseCase;
+import com.weather.application.port.output.StoragePort;
+import com.weather.domain.model.CallPriority;
+import com.weather.domain.model.Location;
+import com.weather.domain.model.Subscription;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Keeps the cache warm for every location with an active subscription.
+ * All locations go through one batch lookup at REFRESH priority, so the provider sees a
+ * handful of multi-city calls instead of one call per subscription.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "weather.refresh", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class SubscriptionRefreshJob {
+
+    private final StoragePort storage;
+    private final GetWeatherUseCase getWeatherUseCase;
+
+    @Scheduled(fixedDelayString = "${weather.refresh.interval:600000}",
+        initialDelayString = "${weather.refresh.initial-delay:60000}")
+    public void refresh() {
+        try {
+            List<Location> locations = subscribedLocations();
+            if (locations.isEmpty()) {
+                return;
+            }
+            int refreshed = getWeatherUseCase.getCurrentWeather(locations, CallPriority.REFRESH).size();
+            log.info("Refreshed weather for {} of {} subscribed locations", refreshed, locations.size());
+        } catch (Exception e) {
+            log.warn("Subscription refresh failed: {}", e.getMessage());
+        }
+    }
+
+    private List<Location> subscribedLocations() {
+        Map<String, Location> unique = new LinkedHashMap<>();
+        storage.getActiveSubscriptions().stream()
+            .map(Subscription::getLocation)
+            .filter(Objects::nonNull)
+            .filter(location -> location.getCity() != null)
+            .forEach(location -> unique.putIfAbsent(location.getLocationKey(), location));
+        return List.copyOf(unique.values());
+    }
+}
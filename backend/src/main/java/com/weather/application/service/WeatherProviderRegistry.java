@@ -0,0 +1,30 @@
+package com.weather.application.service;
+
+import com.weather.application.port.output.QuotaPort;
+import com.weather.application.port.output.WeatherProviderPort;
+import com.weather.config.ProviderRoutingProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Routes weather calls between every configured {@link WeatherProviderPort}
+ */
+@Component
+public class WeatherProviderRegistry extends ProviderRegistry<WeatherProviderPort> {
+
+    public WeatherProviderRegistry(List<WeatherProviderPort> providers, QuotaPort quota,
+                                   ProviderRoutingProperties properties) {
+        super(providers, quota, properties);
+    }
+
+    @Override
+    protected String nameOf(WeatherProviderPort provider) {
+        return provider.getProviderName();
+    }
+
+    @Override
+    protected boolean isAvailable(WeatherProviderPort provider) {
+        return provider.isAvailable();
+    }
+}
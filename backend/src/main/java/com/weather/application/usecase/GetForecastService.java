@@ -2,13 +2,29 @@ package com.weather.application.usecase;
 
 import com.weather.application.port.input.GetForecastUseCase;
 import com.weather.application.port.output.*;
+import com.weather.application.service.CacheKeys;
+import com.weather.application.service.CacheTtlPolicy;
+import com.weather.application.service.CombinedWeatherFetcher;
+import com.weather.application.service.FallbackExecutor;
+import com.weather.application.service.FallbackExecutor.Outcome;
+import com.weather.application.service.FallbackExecutor.Tier;
+import com.weather.application.service.KnownLocationFilter;
+import com.weather.application.service.LocationRegistry;
+import com.weather.application.service.LocationRegistry.ResolvedLocation;
+import com.weather.application.service.ProviderRegistry.Route;
+import com.weather.application.service.WeatherProviderRegistry;
+import com.weather.domain.exception.LocationNotFoundException;
+import com.weather.domain.model.CallPriority;
 import com.weather.domain.model.Forecast;
+import com.weather.domain.model.WeatherReading;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
-import java.time.Duration;
+import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Optional;
 
@@ -17,55 +33,126 @@ import java.util.Optional;
 @RequiredArgsConstructor
 public class GetForecastService implements GetForecastUseCase {
 
-    private final WeatherProviderPort weatherProvider;
+    private final WeatherProviderRegistry weatherProviders;
     private final ScraperPort scraper;
     private final CachePort cache;
     private final StoragePort storage;
+    private final LocationRegistry locationRegistry;
+    private final FallbackExecutor fallbackExecutor;
+    private final KnownLocationFilter knownLocations;
+    private final CombinedWeatherFetcher combinedFetcher;
+    private final CacheTtlPolicy ttlPolicy;
 
-    private static final Duration FORECAST_CACHE_TTL = Duration.ofHours(1);
+    private static final String TIER_API = "api";
+    private static final String TIER_SCRAPER = "scraper";
+    private static final String TIER_STORED = "stored";
 
     @Override
-    public List<Forecast> getForecast(String city, String country, int days) {
+    public List<Forecast> getForecast(String city, String country, int days, CallPriority priority) {
         if (days < 1 || days > 7) {
             throw new IllegalArgumentException("Days must be between 1 and 7");
         }
 
-        String locationKey = buildLocationKey(city, country);
-        String cacheKey = String.format("forecast:%s:%d", locationKey, days);
+        ResolvedLocation location = locationRegistry.resolve(city, country);
+        String locationKey = location.key();
+        String canonicalCity = location.location().getCity();
+        String canonicalCountry = location.location().getCountry();
 
         log.info("Fetching {}-day forecast for {}", days, locationKey);
 
-        Optional<List<Forecast>> apiResult = weatherProvider.getForecast(city, country, days);
-        if (apiResult.isPresent()) {
-            List<Forecast> forecasts = apiResult.get();
-            forecasts.forEach(storage::saveForecast);
-            log.info("Fetched forecast from API for {}", locationKey);
-            return forecasts;
+        if (knownLocations.isKnownMissing(locationKey)) {
+            log.debug("Rejecting known-unknown location {}", locationKey);
+            throw new LocationNotFoundException(locationKey);
         }
+        boolean seen = knownLocations.mightExist(locationKey);
 
-        if (scraper.isEnabled()) {
-            Optional<List<Forecast>> scraperResult = scraper.scrapeForecast(city, country, days);
-            if (scraperResult.isPresent()) {
-                List<Forecast> forecasts = scraperResult.get();
-                forecasts.forEach(storage::saveForecast);
-                log.warn("Fetched forecast from scraper for {}", locationKey);
-                return forecasts;
+        Optional<List<Forecast>> cached = getCachedForecasts(locationKey, days);
+        if (cached.isPresent()) {
+            log.debug("Returning cached forecast for {}", locationKey);
+            return cached.get();
+        }
+
+        Tier<List<Forecast>> stored = new Tier<>(TIER_STORED, () -> Optional.of(storage.getForecasts(locationKey, location.location().today(), days))
+            .filter(forecasts -> !forecasts.isEmpty()));
+        Tier<List<Forecast>> scraped = new Tier<>(TIER_SCRAPER, () -> scraper.scrapeForecast(canonicalCity, canonicalCountry, days)
+            .map(forecasts -> prepare(forecasts, location, WeatherReading.DataSource.SCRAPER_FALLBACK)));
+
+        // Over budget: stored forecasts first, the scraper only as a last resort.
+        // Storage is skipped for locations that were never stored.
+        Optional<Route<WeatherProviderPort>> route = weatherProviders.route(priority);
+        boolean withinBudget = route.isPresent();
+        List<Tier<List<Forecast>>> tiers = new ArrayList<>();
+        if (withinBudget) {
+            // One call for current + forecast when the provider offers it, the plain endpoint otherwise.
+            // The route paid for one call: an empty combined answer falls through to the next tier.
+            tiers.add(new Tier<>(TIER_API, () -> weatherProviders.call(route.get(), provider ->
+                (combinedFetcher.applies(provider, location)
+                    ? combinedFetcher.forecastWithCurrent(provider, location)
+                    : provider.getForecast(canonicalCity, canonicalCountry, days))
+                    .map(forecasts -> prepare(forecasts, location, provider.getDataSource())))));
+        } else {
+            log.warn("Provider quota exhausted, serving stored forecast for {}", locationKey);
+            if (seen) {
+                tiers.add(stored);
             }
         }
+        if (scraper.isEnabled()) {
+            tiers.add(scraped);
+        }
+        if (withinBudget && seen) {
+            tiers.add(stored);
+        }
 
-        List<Forecast> stored = storage.getForecasts(locationKey, days);
-        if (!stored.isEmpty()) {
-            log.warn("Using stored forecast for {}", locationKey);
-            return stored;
+        Optional<Outcome<List<Forecast>>> outcome;
+        try {
+            outcome = fallbackExecutor.execute("forecast", tiers);
+        } catch (LocationNotFoundException e) {
+            knownLocations.recordMissing(locationKey);
+            throw e;
+        }
+        if (outcome.isPresent()) {
+            List<Forecast> forecasts = outcome.get().value();
+            switch (outcome.get().tier()) {
+                case TIER_API -> log.info("Fetched forecast from API for {}", locationKey);
+                case TIER_SCRAPER -> log.warn("Fetched forecast from scraper for {}", locationKey);
+                default -> {
+                    log.warn("Using stored forecast for {}", locationKey);
+                    return forecasts;
+                }
+            }
+            List<Forecast> ordered = cacheForecasts(locationKey, forecasts);
+            forecasts.forEach(storage::saveForecast);
+            return new ArrayList<>(ordered.subList(0, Math.min(days, ordered.size())));
         }
 
         log.error("Failed to fetch forecast for {}", locationKey);
         return new ArrayList<>();
     }
 
-    private String buildLocationKey(String city, String country) {
-        return country != null
-            ? String.format("%s,%s", city, country).toLowerCase()
-            : city.toLowerCase();
+    private Optional<List<Forecast>> getCachedForecasts(String locationKey, int days) {
+        return cache.get(CacheKeys.forecast(locationKey), Forecast[].class)
+            .filter(forecasts -> forecasts.length >= days)
+            .map(forecasts -> new ArrayList<>(Arrays.asList(forecasts).subList(0, days)));
+    }
+
+    private List<Forecast> cacheForecasts(String locationKey, List<Forecast> forecasts) {
+        List<Forecast> ordered = forecasts.stream()
+            .sorted(Comparator.comparing(Forecast::getDate, Comparator.nullsLast(Comparator.naturalOrder())))
+            .toList();
+        cache.put(CacheKeys.forecast(locationKey), ordered.toArray(Forecast[]::new), ttlPolicy.forecastTtl(Instant.now()));
+        return ordered;
+    }
+
+    private List<Forecast> prepare(List<Forecast> forecasts, ResolvedLocation location, WeatherReading.DataSource source) {
+        Instant now = Instant.now();
+        forecasts.forEach(forecast -> {
+            forecast.setLocation(locationRegistry.learn(location, forecast.getLocation()));
+            forecast.setDataSource(source);
+            if (forecast.getCreatedAt() == null) {
+                forecast.setCreatedAt(now);
+            }
+        });
+        knownLocations.recordFound(location.key());
+        return forecasts;
     }
 }
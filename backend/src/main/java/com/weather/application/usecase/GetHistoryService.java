@@ -2,13 +2,16 @@ package com.weather.application.usecase;
 
 import com.weather.application.port.input.GetHistoryUseCase;
 import com.weather.application.port.output.StoragePort;
-import com.weather.domain.model.AQIReading;
-import com.weather.domain.model.WeatherReading;
+import com.weather.application.service.KnownLocationFilter;
+import com.weather.application.service.LocationRegistry;
+import com.weather.domain.model.AQIHistoryRow;
+import com.weather.domain.model.WeatherHistoryRow;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.List;
 
 @Slf4j
@@ -17,24 +20,26 @@ import java.util.List;
 public class GetHistoryService implements GetHistoryUseCase {
 
     private final StoragePort storage;
+    private final LocationRegistry locationRegistry;
+    private final KnownLocationFilter knownLocations;
 
     @Override
-    public List<WeatherReading> getWeatherHistory(String city, String country, Instant from, Instant to) {
-        String locationKey = buildLocationKey(city, country);
+    public List<WeatherHistoryRow> getWeatherHistory(String city, String country, Instant from, Instant to) {
+        String locationKey = locationRegistry.resolve(city, country).key();
         log.info("Fetching weather history for {} from {} to {}", locationKey, from, to);
+        if (!knownLocations.mightExist(locationKey)) {
+            return new ArrayList<>();
+        }
         return storage.getWeatherHistory(locationKey, from, to);
     }
 
     @Override
-    public List<AQIReading> getAQIHistory(String city, String country, Instant from, Instant to) {
-        String locationKey = buildLocationKey(city, country);
+    public List<AQIHistoryRow> getAQIHistory(String city, String country, Instant from, Instant to) {
+        String locationKey = locationRegistry.resolve(city, country).key();
         log.info("Fetching AQI history for {} from {} to {}", locationKey, from, to);
+        if (!knownLocations.mightExist(locationKey)) {
+            return new ArrayList<>();
+        }
         return storage.getAQIHistory(locationKey, from, to);
     }
-
-    private String buildLocationKey(String city, String country) {
-        return country != null
-            ? String.format("%s,%s", city, country).toLowerCase()
-            : city.toLowerCase();
-    }
 }
@@ -2,142 +2,549 @@ package com.weather.application.usecase;
 
 import com.weather.application.port.input.GetWeatherUseCase;
 import com.weather.application.port.output.*;
+import com.weather.application.port.output.AirQualityProviderPort.CurrentConditions;
+import com.weather.application.service.AirQualityProviderRegistry;
+import com.weather.application.service.CacheKeys;
+import com.weather.application.service.CacheTtlPolicy;
+import com.weather.application.service.CombinedWeatherFetcher;
+import com.weather.application.service.FallbackExecutor;
+import com.weather.application.service.FallbackExecutor.Outcome;
+import com.weather.application.service.FallbackExecutor.Tier;
+import com.weather.application.service.KnownLocationFilter;
+import com.weather.application.service.LocationRegistry;
+import com.weather.application.service.LocationRegistry.ResolvedLocation;
+import com.weather.application.service.ProviderRegistry.Route;
+import com.weather.application.service.WeatherProviderRegistry;
+import com.weather.domain.exception.LocationNotFoundException;
 import com.weather.domain.model.AQIReading;
+import com.weather.domain.model.CallPriority;
 import com.weather.domain.model.Location;
 import com.weather.domain.model.WeatherReading;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.time.Duration;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class GetWeatherService implements GetWeatherUseCase {
 
-    private final WeatherProviderPort weatherProvider;
-    private final AirQualityProviderPort airQualityProvider;
+    private final WeatherProviderRegistry weatherProviders;
+    private final AirQualityProviderRegistry airQualityProviders;
     private final ScraperPort scraper;
     private final CachePort cache;
     private final StoragePort storage;
+    private final LocationRegistry locationRegistry;
+    private final FallbackExecutor fallbackExecutor;
+    private final KnownLocationFilter knownLocations;
+    private final CacheTtlPolicy ttlPolicy;
+    private final CombinedWeatherFetcher combinedFetcher;
 
-    private static final Duration WEATHER_CACHE_TTL = Duration.ofMinutes(10);
-    private static final Duration AQI_CACHE_TTL = Duration.ofMinutes(30);
+    private static final String TIER_API = "api";
+    private static final String TIER_AQI_PROVIDER = "aqi-provider";
+    private static final String TIER_SCRAPER = "scraper";
+    private static final String TIER_STORED = "stored";
+    private static final Duration BATCH_GRACE = Duration.ofMillis(200);
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    @Value("${weather.fallback.batch-budget:8s}")
+    private Duration batchBudget;
 
     @Override
-    public WeatherResponse getCurrentWeather(String city, String country) {
-        String locationKey = buildLocationKey(city, country);
+    public WeatherResponse getCurrentWeather(String city, String country, CallPriority priority) {
+        long deadline = System.nanoTime() + fallbackExecutor.defaultBudget().toNanos();
+        ResolvedLocation location = locationRegistry.resolve(city, country);
+        String locationKey = location.key();
         log.info("Fetching weather for location: {}", locationKey);
 
-        WeatherReading cachedWeather = getCachedWeather(locationKey);
-        AQIReading cachedAQI = getCachedAQI(locationKey);
+        if (knownLocations.isKnownMissing(locationKey)) {
+            log.debug("Rejecting known-unknown location {}", locationKey);
+            throw new LocationNotFoundException(locationKey);
+        }
+        boolean seen = knownLocations.mightExist(locationKey);
 
-        if (cachedWeather != null && cachedWeather.isRecent() && cachedAQI != null) {
+        // Both lookups are in flight together, so this costs one cache round-trip
+        CompletableFuture<Optional<WeatherReading>> weatherLookup =
+            cache.getAsync(CacheKeys.weather(locationKey), WeatherReading.class);
+        CompletableFuture<Optional<AQIReading>> aqiLookup = cache.getAsync(CacheKeys.aqi(locationKey), AQIReading.class);
+        WeatherReading cachedWeather = weatherLookup.join().orElse(null);
+        AQIReading cachedAQI = aqiLookup.join().orElse(null);
+
+        boolean weatherCurrent = cachedWeather != null && cachedWeather.isRecent(ttlPolicy.weatherMaxAge());
+        if (weatherCurrent && cachedAQI != null) {
             log.debug("Returning cached data for {}", locationKey);
             return new WeatherResponse(cachedWeather, cachedAQI, true);
         }
 
-        WeatherReading weather = fetchWeather(city, country, locationKey);
-        AQIReading aqi = fetchAirQuality(city, country, locationKey);
+        // The air quality provider's answer when its weather tier ran, whichever tier won
+        AtomicReference<CompletableFuture<Optional<CurrentConditions>>> sharedCall = new AtomicReference<>();
+        WeatherReading weather;
+        try {
+            weather = weatherCurrent
+                ? cachedWeather
+                : fetchWeather(location, cachedWeather, weatherProviders.route(priority), seen,
+                    () -> storage.getLatestWeatherReading(locationKey),
+                    airQualityProviderTier(location, priority, sharedCall), null);
+        } catch (LocationNotFoundException e) {
+            knownLocations.recordMissing(locationKey);
+            throw e;
+        }
+        CompletableFuture<Optional<CurrentConditions>> shared = sharedCall.get();
+        AQIReading aqi;
+        if (shared != null && !awaited(shared, deadline)) {
+            // Out of time: answer without fresh AQI, the shared call still caches it when it arrives
+            log.debug("Answering {} before the air quality provider call made for weather returned", locationKey);
+            shared.thenAccept(conditions -> conditions.map(CurrentConditions::airQuality)
+                .ifPresent(reading -> useSharedAirQuality(location, reading)));
+            aqi = cachedAQI;
+        } else {
+            AQIReading sharedAQI = sharedAirQuality(shared);
+            aqi = sharedAQI != null
+                ? useSharedAirQuality(location, sharedAQI)
+                : fetchAirQuality(location, cachedAQI, priority, seen, weather, null);
+        }
+
+        return new WeatherResponse(weather, aqi, weather != null && weather == cachedWeather);
+    }
+
+    /**
+     * Fetches weather for several locations; everything that has to go upstream is sent as one
+     * batch to a single routed provider, which takes the quota of all its calls at once.
+     * Locations the batch could not answer get a provider call of their own, quota permitting,
+     * before falling back like a single request; they and their AQI are fetched in parallel,
+     * and the whole request shares one deadline.
+     */
+    @Override
+    public Map<String, WeatherResponse> getCurrentWeather(List<Location> locations, CallPriority priority) {
+        long deadline = System.nanoTime() + batchBudget.toNanos();
+        Map<String, ResolvedLocation> resolved = new LinkedHashMap<>();
+        Map<String, WeatherReading> weather = new HashMap<>();
+        Map<String, WeatherReading> cachedReadings = new HashMap<>();
+        Map<String, ResolvedLocation> toFetch = new LinkedHashMap<>();
+
+        for (Location requested : locations) {
+            ResolvedLocation location = locationRegistry.resolve(requested.getCity(), requested.getCountry());
+            String locationKey = location.key();
+            if (resolved.containsKey(locationKey)) {
+                continue;
+            }
+            if (knownLocations.isKnownMissing(locationKey)) {
+                log.debug("Skipping known-unknown location {}", locationKey);
+                continue;
+            }
+            resolved.put(locationKey, location);
+        }
+
+        // One multi-get per reading type instead of a round-trip per location
+        CompletableFuture<Map<String, WeatherReading>> weatherLookup =
+            getCached(resolved.keySet(), CacheKeys::weather, WeatherReading.class);
+        CompletableFuture<Map<String, AQIReading>> aqiLookup =
+            getCached(resolved.keySet(), CacheKeys::aqi, AQIReading.class);
+        cachedReadings.putAll(weatherLookup.join());
+
+        resolved.forEach((locationKey, location) -> {
+            WeatherReading cached = cachedReadings.get(locationKey);
+            if (cached != null && cached.isRecent(ttlPolicy.weatherMaxAge())) {
+                weather.put(locationKey, cached);
+            } else {
+                toFetch.put(locationKey, location);
+            }
+        });
+
+        List<ResolvedLocation> fallback = new ArrayList<>();
+        if (toFetch.size() == 1) {
+            ResolvedLocation location = toFetch.values().iterator().next();
+            fetchSingle(location, cachedReadings.get(location.key()), weatherProviders.route(priority, false),
+                () -> storage.getLatestWeatherReading(location.key()), Duration.ofNanos(deadline - System.nanoTime()))
+                .ifPresent(reading -> weather.put(location.key(), reading));
+        } else if (!toFetch.isEmpty()) {
+            List<Location> batchLocations = toFetch.values().stream().map(ResolvedLocation::location).toList();
+            Optional<Route<WeatherProviderPort>> route =
+                weatherProviders.routeBatch(priority, provider -> provider.batchCalls(batchLocations));
+            Map<String, WeatherReading> fetched = route
+                .map(r -> batch(r, batchLocations, Duration.ofNanos(Math.max(0, deadline - System.nanoTime()))))
+                .orElse(Map.of());
+            toFetch.forEach((locationKey, location) -> {
+                WeatherReading reading = fetched.get(locationKey);
+                if (reading == null) {
+                    fallback.add(location);
+                    return;
+                }
+                prepare(reading, location, route.get().provider().getDataSource());
+                cacheWeather(locationKey, reading);
+                storage.saveWeatherReading(reading);
+                weather.put(locationKey, reading);
+            });
+        }
+
+        // Fallback locations without a cached reading go to storage first: one query for all of them
+        List<String> storedKeys = fallback.stream()
+            .map(ResolvedLocation::key)
+            .filter(locationKey -> !cachedReadings.containsKey(locationKey) && knownLocations.mightExist(locationKey))
+            .toList();
+        Map<String, WeatherReading> storedReadings = storedKeys.isEmpty()
+            ? Map.of() : storage.getLatestWeatherReadings(storedKeys);
+        weather.putAll(inParallel(fallback, deadline, (location, budget) ->
+            fetchSingle(location, cachedReadings.get(location.key()),
+                budget.isZero() ? Optional.empty() : weatherProviders.route(priority, false),
+                () -> Optional.ofNullable(storedReadings.get(location.key())), budget)));
+
+        Map<String, AQIReading> aqis = new HashMap<>(aqiLookup.join());
+        List<ResolvedLocation> missingAQI = resolved.values().stream()
+            .filter(location -> weather.containsKey(location.key()) && !aqis.containsKey(location.key()))
+            .toList();
+        aqis.putAll(inParallel(missingAQI, deadline, (location, budget) ->
+            Optional.ofNullable(fetchAirQuality(location, null, priority, knownLocations.mightExist(location.key()),
+                weather.get(location.key()), budget))));
 
-        if (weather != null) {
-            storage.saveWeatherReading(weather);
+        Map<String, WeatherResponse> responses = new LinkedHashMap<>();
+        resolved.forEach((locationKey, location) -> {
+            WeatherReading reading = weather.get(locationKey);
+            if (reading != null) {
+                responses.put(locationKey,
+                    new WeatherResponse(reading, aqis.get(locationKey), reading == cachedReadings.get(locationKey)));
+            }
+        });
+        return responses;
+    }
+
+    private Map<String, WeatherReading> batch(Route<WeatherProviderPort> route, List<Location> locations,
+                                              Duration budget) {
+        log.info("Fetching weather for {} locations in one {} batch", locations.size(),
+            route.provider().getProviderName());
+        return weatherProviders.call(route, provider -> Optional.of(provider.getCurrentWeatherBatch(locations, budget))
+                .filter(readings -> !readings.isEmpty()))
+            .orElse(Map.of());
+    }
+
+    /**
+     * Runs the fetch for every location at once, each with whatever is left of the batch
+     * deadline; locations still unanswered when it passes are left out
+     */
+    private <T> Map<String, T> inParallel(List<ResolvedLocation> locations, long deadline,
+                                          BiFunction<ResolvedLocation, Duration, Optional<T>> fetch) {
+        if (locations.isEmpty()) {
+            return Map.of();
+        }
+        Map<String, Future<Optional<T>>> running = new LinkedHashMap<>();
+        for (ResolvedLocation location : locations) {
+            running.put(location.key(), executor.submit(() ->
+                fetch.apply(location, Duration.ofNanos(Math.max(0, deadline - System.nanoTime())))));
         }
-        if (aqi != null) {
-            storage.saveAQIReading(aqi);
+        Map<String, T> results = new HashMap<>();
+        for (Map.Entry<String, Future<Optional<T>>> entry : running.entrySet()) {
+            // A result won right at the deadline still needs a moment to be cached and stored
+            long wait = deadline + BATCH_GRACE.toNanos() - System.nanoTime();
+            try {
+                entry.getValue().get(Math.max(0, wait), TimeUnit.NANOSECONDS)
+                    .ifPresent(value -> results.put(entry.getKey(), value));
+            } catch (TimeoutException e) {
+                entry.getValue().cancel(true);
+                log.warn("Batch deadline passed before {} was answered", entry.getKey());
+            } catch (ExecutionException e) {
+                log.warn("Batch fallback for {} failed: {}", entry.getKey(), e.getCause().getMessage());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                running.values().forEach(future -> future.cancel(true));
+                break;
+            }
         }
+        return results;
+    }
 
-        return new WeatherResponse(weather, aqi, false);
+    private Optional<WeatherReading> fetchSingle(ResolvedLocation location, WeatherReading cached,
+                                                 Optional<Route<WeatherProviderPort>> route,
+                                                 Supplier<Optional<WeatherReading>> storedLookup, Duration budget) {
+        try {
+            return Optional.ofNullable(fetchWeather(location, cached, route,
+                knownLocations.mightExist(location.key()), storedLookup, null, budget));
+        } catch (LocationNotFoundException e) {
+            knownLocations.recordMissing(location.key());
+            return Optional.empty();
+        }
     }
 
-    private WeatherReading fetchWeather(String city, String country, String locationKey) {
-        Optional<WeatherReading> apiResult = weatherProvider.getCurrentWeather(city, country);
-        if (apiResult.isPresent()) {
-            WeatherReading reading = apiResult.get();
-            reading.setDataSource(WeatherReading.DataSource.OPENWEATHER_API);
-            reading.setCreatedAt(Instant.now());
-            cacheWeather(locationKey, reading);
-            log.info("Fetched weather from API for {}", locationKey);
-            return reading;
+    /**
+     * Weather served by an air quality provider when the weather providers are slow or down;
+     * null when no such provider is configured. The provider call runs apart from the tier, so
+     * when a faster tier wins and this one is cancelled, the AQI it was paying for still arrives.
+     */
+    private Tier<WeatherReading> airQualityProviderTier(ResolvedLocation location, CallPriority priority,
+                                                        AtomicReference<CompletableFuture<Optional<CurrentConditions>>> sharedCall) {
+        if (!airQualityProviders.hasAvailable()) {
+            return null;
         }
+        String city = location.location().getCity();
+        String country = location.location().getCountry();
+        return new Tier<>(TIER_AQI_PROVIDER, () -> {
+            CompletableFuture<Optional<CurrentConditions>> call = CompletableFuture.supplyAsync(() ->
+                airQualityProviders.route(priority, false)
+                    .flatMap(route -> airQualityProviders.call(route, provider -> provider.getCurrentConditions(city, country)
+                        .map(conditions -> new CurrentConditions(
+                            conditions.airQuality() == null ? null
+                                : prepare(conditions.airQuality(), location, provider.getDataSource()),
+                            conditions.weather() == null ? null
+                                : prepare(conditions.weather(), location, provider.getDataSource()))))),
+                executor);
+            sharedCall.set(call);
+            try {
+                return call.get().map(CurrentConditions::weather);
+            } catch (InterruptedException e) {
+                // A faster tier won; the call itself keeps running for its AQI
+                Thread.currentThread().interrupt();
+                return Optional.empty();
+            } catch (ExecutionException e) {
+                throw e.getCause() instanceof RuntimeException cause ? cause : new IllegalStateException(e.getCause());
+            }
+        });
+    }
 
+    /**
+     * Waits for the air quality provider call made for weather until the request's deadline;
+     * false when it is still running then
+     */
+    private static boolean awaited(CompletableFuture<?> sharedCall, long deadline) {
+        try {
+            sharedCall.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            return true;
+        } catch (ExecutionException e) {
+            return true;
+        } catch (TimeoutException e) {
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * AQI from the finished air quality provider call made for weather; null when there was no
+     * such call or it brought no AQI
+     */
+    private static AQIReading sharedAirQuality(CompletableFuture<Optional<CurrentConditions>> sharedCall) {
+        if (sharedCall == null || sharedCall.isCompletedExceptionally()) {
+            return null;
+        }
+        return sharedCall.join().map(CurrentConditions::airQuality).orElse(null);
+    }
+
+    private WeatherReading fetchWeather(ResolvedLocation location, WeatherReading cached,
+                                        Optional<Route<WeatherProviderPort>> route, boolean seen,
+                                        Supplier<Optional<WeatherReading>> storedLookup,
+                                        Tier<WeatherReading> airQualityProviderTier, Duration budget) {
+        String locationKey = location.key();
+        String city = location.location().getCity();
+        String country = location.location().getCountry();
+        boolean callProvider = route.isPresent();
+
+        // Provider not called (over budget or out of time): serve whatever we already have first
+        if (!callProvider && cached != null) {
+            log.warn("Provider not called, serving cached weather for {}", locationKey);
+            return cached;
+        }
+
+        Tier<WeatherReading> stored = new Tier<>(TIER_STORED, storedLookup);
+        Tier<WeatherReading> scraped = new Tier<>(TIER_SCRAPER, () -> scraper.scrapeWeather(city, country)
+            .map(reading -> prepare(reading, location, WeatherReading.DataSource.SCRAPER_FALLBACK)));
+
+        // Storage is skipped for locations that were never stored; over budget it goes before the scraper
+        List<Tier<WeatherReading>> tiers = new ArrayList<>();
+        if (callProvider) {
+            // One call for current + forecast when the provider offers it, the plain endpoint otherwise.
+            // The route paid for one call: an empty combined answer falls through to the next tier.
+            tiers.add(new Tier<>(TIER_API, () -> weatherProviders.call(route.get(), provider ->
+                (combinedFetcher.applies(provider, location)
+                    ? combinedFetcher.currentWithForecast(provider, location)
+                    : provider.getCurrentWeather(city, country))
+                    .map(reading -> prepare(reading, location, provider.getDataSource())))));
+        } else if (seen) {
+            tiers.add(stored);
+        }
+        if (airQualityProviderTier != null) {
+            tiers.add(airQualityProviderTier);
+        }
         if (scraper.isEnabled()) {
-            Optional<WeatherReading> scraperResult = scraper.scrapeWeather(city, country);
-            if (scraperResult.isPresent()) {
-                WeatherReading reading = scraperResult.get();
-                reading.setDataSource(WeatherReading.DataSource.SCRAPER_FALLBACK);
-                reading.setCreatedAt(Instant.now());
-                cacheWeather(locationKey, reading);
-                log.warn("Fetched weather from scraper fallback for {}", locationKey);
+            tiers.add(scraped);
+        }
+        if (callProvider && seen) {
+            tiers.add(stored);
+        }
+
+        Optional<Outcome<WeatherReading>> outcome = execute("weather", budget, tiers);
+        if (outcome.isEmpty()) {
+            log.error("Failed to fetch weather data for {}", locationKey);
+            return null;
+        }
+
+        WeatherReading reading = outcome.get().value();
+        switch (outcome.get().tier()) {
+            case TIER_API -> log.info("Fetched weather from API for {}", locationKey);
+            case TIER_AQI_PROVIDER -> log.warn("Fetched weather from an air quality provider for {}", locationKey);
+            case TIER_SCRAPER -> log.warn("Fetched weather from scraper fallback for {}", locationKey);
+            default -> {
+                log.warn("Using stored weather data for {}", locationKey);
                 return reading;
             }
         }
 
-        Optional<WeatherReading> stored = storage.getLatestWeatherReading(locationKey);
-        if (stored.isPresent()) {
-            log.warn("Using stored weather data for {}", locationKey);
-            return stored.get();
-        }
+        cacheWeather(locationKey, reading);
+        storage.saveWeatherReading(reading);
+        return reading;
+    }
 
-        log.error("Failed to fetch weather data for {}", locationKey);
-        return null;
+    private AQIReading useSharedAirQuality(ResolvedLocation location, AQIReading reading) {
+        log.info("Using AQI from the air quality provider call made for weather of {}", location.key());
+        cacheAQI(location.key(), reading);
+        storage.saveAQIReading(reading);
+        return reading;
     }
 
-    private AQIReading fetchAirQuality(String city, String country, String locationKey) {
-        Optional<AQIReading> apiResult = airQualityProvider.getCurrentAirQuality(city, country);
-        if (apiResult.isPresent()) {
-            AQIReading reading = apiResult.get();
-            reading.setDataSource(WeatherReading.DataSource.IQAIR_API);
-            reading.setCreatedAt(Instant.now());
-            cacheAQI(locationKey, reading);
-            log.info("Fetched AQI from API for {}", locationKey);
-            return reading;
+    private AQIReading fetchAirQuality(ResolvedLocation location, AQIReading cached, CallPriority priority,
+                                       boolean seen, WeatherReading currentWeather, Duration budget) {
+        String locationKey = location.key();
+        String city = location.location().getCity();
+        String country = location.location().getCountry();
+
+        Optional<Route<AirQualityProviderPort>> route = airQualityProviders.route(priority);
+        boolean withinBudget = route.isPresent();
+        if (!withinBudget && cached != null) {
+            log.warn("Provider quota exhausted, serving cached AQI for {}", locationKey);
+            return cached;
         }
 
+        Tier<AQIReading> stored = new Tier<>(TIER_STORED, () -> storage.getLatestAQIReading(locationKey));
+        Tier<AQIReading> scraped = new Tier<>(TIER_SCRAPER, () -> scraper.scrapeAirQuality(city, country)
+            .map(reading -> prepare(reading, location, WeatherReading.DataSource.SCRAPER_FALLBACK)));
+
+        // Storage is skipped for locations that were never stored; over budget it goes before the scraper
+        List<Tier<AQIReading>> tiers = new ArrayList<>();
+        if (withinBudget) {
+            tiers.add(new Tier<>(TIER_API, () -> airQualityProviders.call(route.get(), provider ->
+                provider.getCurrentConditions(city, country)
+                    .flatMap(conditions -> {
+                        offerWeather(provider, location, conditions.weather(), currentWeather);
+                        return Optional.ofNullable(conditions.airQuality());
+                    })
+                    .map(reading -> prepare(reading, location, provider.getDataSource())))));
+        } else if (seen) {
+            tiers.add(stored);
+        }
         if (scraper.isEnabled()) {
-            Optional<AQIReading> scraperResult = scraper.scrapeAirQuality(city, country);
-            if (scraperResult.isPresent()) {
-                AQIReading reading = scraperResult.get();
-                reading.setDataSource(WeatherReading.DataSource.SCRAPER_FALLBACK);
-                reading.setCreatedAt(Instant.now());
-                cacheAQI(locationKey, reading);
-                log.warn("Fetched AQI from scraper fallback for {}", locationKey);
+            tiers.add(scraped);
+        }
+        if (withinBudget && seen) {
+            tiers.add(stored);
+        }
+
+        Optional<Outcome<AQIReading>> outcome = execute("aqi", budget, tiers);
+        if (outcome.isEmpty()) {
+            log.error("Failed to fetch AQI data for {}", locationKey);
+            return null;
+        }
+
+        AQIReading reading = outcome.get().value();
+        switch (outcome.get().tier()) {
+            case TIER_API -> log.info("Fetched AQI from API for {}", locationKey);
+            case TIER_SCRAPER -> log.warn("Fetched AQI from scraper fallback for {}", locationKey);
+            default -> {
+                log.warn("Using stored AQI data for {}", locationKey);
                 return reading;
             }
         }
 
-        Optional<AQIReading> stored = storage.getLatestAQIReading(locationKey);
-        if (stored.isPresent()) {
-            log.warn("Using stored AQI data for {}", locationKey);
-            return stored.get();
+        cacheAQI(locationKey, reading);
+        storage.saveAQIReading(reading);
+        return reading;
+    }
+
+    /**
+     * Runs a fallback chain within the given budget, or the executor's default when null
+     */
+    private <T> Optional<Outcome<T>> execute(String chain, Duration budget, List<Tier<T>> tiers) {
+        return budget != null ? fallbackExecutor.execute(chain, budget, tiers) : fallbackExecutor.execute(chain, tiers);
+    }
+
+    /**
+     * Caches the air quality provider's weather observation when ours is missing or outdated
+     */
+    private void offerWeather(AirQualityProviderPort provider, ResolvedLocation location, WeatherReading reading,
+                              WeatherReading currentWeather) {
+        if (reading == null || reading.getTimestamp() == null) {
+            return;
         }
+        if (currentWeather != null && (currentWeather.isRecent(ttlPolicy.weatherMaxAge())
+            || currentWeather.getTimestamp() == null
+            || !reading.getTimestamp().isAfter(currentWeather.getTimestamp()))) {
+            return;
+        }
+        log.info("Refreshing cached weather for {} from {}", location.key(), provider.getProviderName());
+        cacheWeather(location.key(), prepare(reading, location, provider.getDataSource()));
+    }
 
-        log.error("Failed to fetch AQI data for {}", locationKey);
-        return null;
+    private WeatherReading prepare(WeatherReading reading, ResolvedLocation location, WeatherReading.DataSource source) {
+        reading.setLocation(locationRegistry.learn(location, reading.getLocation()));
+        reading.setDataSource(source);
+        reading.setCreatedAt(Instant.now());
+        knownLocations.recordFound(location.key());
+        return reading;
     }
 
-    private WeatherReading getCachedWeather(String locationKey) {
-        return cache.get("weather:" + locationKey, WeatherReading.class).orElse(null);
+    private AQIReading prepare(AQIReading reading, ResolvedLocation location, WeatherReading.DataSource source) {
+        reading.setLocation(locationRegistry.learn(location, reading.getLocation()));
+        reading.setDataSource(source);
+        reading.setCreatedAt(Instant.now());
+        knownLocations.recordFound(location.key());
+        return reading;
     }
 
-    private AQIReading getCachedAQI(String locationKey) {
-        return cache.get("aqi:" + locationKey, AQIReading.class).orElse(null);
+    /**
+     * Cached readings by location key, read with a single multi-get
+     */
+    private <T> CompletableFuture<Map<String, T>> getCached(Collection<String> locationKeys,
+                                                            Function<String, String> cacheKey, Class<T> type) {
+        Map<String, String> byCacheKey = new HashMap<>();
+        locationKeys.forEach(locationKey -> byCacheKey.put(cacheKey.apply(locationKey), locationKey));
+        return cache.getAllAsync(byCacheKey.keySet(), type).thenApply(found -> {
+            Map<String, T> byLocation = new HashMap<>();
+            found.forEach((key, value) -> byLocation.put(byCacheKey.get(key), value));
+            return byLocation;
+        });
     }
 
     private void cacheWeather(String locationKey, WeatherReading reading) {
-        cache.put("weather:" + locationKey, reading, WEATHER_CACHE_TTL);
+        cache.put(CacheKeys.weather(locationKey), reading, ttlPolicy.weatherTtl(locationKey, reading));
     }
 
     private void cacheAQI(String locationKey, AQIReading reading) {
-        cache.put("aqi:" + locationKey, reading, AQI_CACHE_TTL);
+        cache.put(CacheKeys.aqi(locationKey), reading, ttlPolicy.aqiTtl(locationKey, reading));
     }
 
-    private String buildLocationKey(String city, String country) {
-        return country != null
-            ? String.format("%s,%s", city, country).toLowerCase()
-            : city.toLowerCase();
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
     }
 }
@@ -0,0 +1,43 @@
+package com.weather.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Location affinity between replicas.
+ * Each location key has one owner node on a consistent-hash ring built from the live members
+ * in Redis; requests reaching another node are forwarded to the owner or redirected to it.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "weather.affinity")
+public class AffinityProperties {
+
+    private boolean enabled = false;
+
+    /** Stable id of this replica; the host name when empty */
+    private String nodeId;
+
+    /** Base URL other replicas use to reach this one, e.g. http://10.0.0.12:8080 */
+    private String advertisedUrl;
+
+    /** Ring points per node; more points spread keys more evenly */
+    private int virtualNodes = 160;
+
+    /** A node that has not sent a heartbeat for this long leaves the ring */
+    private Duration memberTtl = Duration.ofSeconds(15);
+
+    private Mode mode = Mode.FORWARD;
+
+    private Duration forwardTimeout = Duration.ofSeconds(2);
+
+    public enum Mode {
+        /** Proxy the request to the owner and relay its answer */
+        FORWARD,
+        /** Answer 307 with the owner's URL, marked so the owner serves it; for balancers and clients that follow it */
+        REDIRECT
+    }
+}
@@ -0,0 +1,45 @@
+package com.weather.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Pools of upstream API keys per provider.
+ * Providers without an entry use their single (or comma-separated) weather.*.api-key.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "weather.api-keys")
+public class ApiKeyProperties {
+
+    /** Provider name (as in weather.quota.providers) -> keys */
+    private Map<String, List<Key>> providers = new HashMap<>();
+
+    /** How long a key answered with 429 is skipped when the response has no Retry-After */
+    private Duration rateLimitedQuarantine = Duration.ofMinutes(1);
+
+    /** How long a key answered with 401/403 is skipped */
+    private Duration unauthorizedQuarantine = Duration.ofHours(1);
+
+    public List<Key> keysFor(String provider) {
+        return providers.getOrDefault(provider, new ArrayList<>());
+    }
+
+    @Data
+    public static class Key {
+        private String value;
+        /** Name used in logs and metrics instead of the key itself */
+        private String name;
+        /** Share of requests relative to the other keys */
+        private int weight = 1;
+        /** Upstream limit of this key; 0 means no local limit */
+        private int perMinute;
+    }
+}
@@ -0,0 +1,36 @@
+package com.weather.config;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Adaptive cache TTL rules per data type.
+ * cadence: how often the provider publishes new data; floor/ceiling bound the TTL;
+ * max-stretch: how many cadences a perfectly stable location may be cached for.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "weather.cache.ttl")
+public class CacheTtlProperties {
+
+    private Rule weather = new Rule(Duration.ofMinutes(10), Duration.ofMinutes(2), Duration.ofHours(1), 4.0);
+
+    private Rule aqi = new Rule(Duration.ofHours(1), Duration.ofMinutes(5), Duration.ofHours(3), 2.0);
+
+    private Rule forecast = new Rule(Duration.ofHours(3), Duration.ofMinutes(15), Duration.ofHours(6), 1.0);
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Rule {
+        private Duration cadence;
+        private Duration floor;
+        private Duration ceiling;
+        private double maxStretch;
+    }
+}
@@ -0,0 +1,30 @@
+package com.weather.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Location registry configuration (aliases map free-form input to "City,CC")
+ * and the negative cache / known-location filter in front of providers
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "weather.locations")
+public class LocationProperties {
+
+    private Map<String, String> aliases = new HashMap<>();
+
+    private int maxEntries = 10_000;
+
+    private long resolutionTtl = 604800; // 7 days
+
+    private long missTtl = 300; // 5 minutes
+
+    private int filterExpectedLocations = 100_000;
+
+    private double filterFalsePositiveRate = 0.01;
+}
@@ -0,0 +1,30 @@
+package com.weather.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Routing between several providers of the same data.
+ * Calls go to the healthy provider with the lowest recent latency; interactive calls may
+ * race the two best providers and take whichever answers first.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "weather.providers")
+public class ProviderRoutingProperties {
+
+    /** Weight of the newest sample in the latency and error-rate averages */
+    private double smoothing = 0.2;
+
+    /** Providers failing more often than this are skipped, apart from one trial call per probe interval */
+    private double maxErrorRate = 0.5;
+
+    /** An unhealthy provider gets one trial call after this long without traffic */
+    private Duration probeInterval = Duration.ofSeconds(30);
+
+    /** Race the two best providers for interactive calls (costs quota on both) */
+    private boolean raceInteractive = false;
+}
@@ -0,0 +1,36 @@
+package com.weather.config;
+
+import com.weather.domain.model.CallPriority;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Provider call budgets shared by all replicas.
+ * Reserve is the fraction of each budget a priority class may not dip into.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "weather.quota")
+public class QuotaProperties {
+
+    private boolean enabled = true;
+
+    private Map<String, Budget> providers = new HashMap<>();
+
+    private Map<CallPriority, Double> reserve = new EnumMap<>(Map.of(
+        CallPriority.INTERACTIVE, 0.0,
+        CallPriority.REFRESH, 0.2,
+        CallPriority.BULK, 0.5
+    ));
+
+    @Data
+    public static class Budget {
+        private long perMinute;
+        private long perDay;
+    }
+}
@@ -1,8 +1,12 @@
 package com.weather.config;
 
+import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.lettuce.core.ReadFrom;
+import io.lettuce.core.metrics.MicrometerOptions;
+import org.springframework.boot.autoconfigure.data.redis.LettuceClientConfigurationBuilderCustomizer;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
@@ -10,7 +14,9 @@ import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 
 /**
- * Redis configuration for caching
+ * Redis configuration for caching.
+ * Works against a single node or a Redis Cluster (spring.data.redis.cluster.nodes); reads can be
+ * served by replicas and command latency is recorded per node.
  */
 @Configuration
 public class RedisConfig {
@@ -27,11 +33,53 @@ public class RedisConfig {
         return template;
     }
 
+    /**
+     * Sends reads to replicas when weather.cache.redis.read-from is set; writes always go to the primary
+     */
+    @Bean
+    public LettuceClientConfigurationBuilderCustomizer readFromCustomizer(RedisTopologyProperties properties) {
+        return builder -> {
+            if (properties.getReadFrom() != null && !properties.getReadFrom().isBlank()) {
+                builder.readFrom(ReadFrom.valueOf(camelCase(properties.getReadFrom().strip())));
+            }
+        };
+    }
+
+    /**
+     * Latency timers tagged with the command and the remote node, so one slow shard stands out
+     */
+    @Bean
+    public MicrometerOptions lettuceMicrometerOptions(RedisTopologyProperties properties) {
+        return MicrometerOptions.builder()
+            .targetPercentiles(properties.getLatencyPercentiles())
+            .build();
+    }
+
     @Bean
     public ObjectMapper objectMapper() {
         ObjectMapper mapper = new ObjectMapper();
         mapper.registerModule(new JavaTimeModule());
         mapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        // Derived getters (e.g. locationKey) are serialized but have no setter
+        mapper.disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
         return mapper;
     }
+
+    // replica-preferred -> replicaPreferred, the spelling ReadFrom.valueOf expects; subnet:/regex: pass as-is
+    private static String camelCase(String name) {
+        if (name.contains(":")) {
+            return name;
+        }
+        StringBuilder result = new StringBuilder(name.length());
+        boolean upper = false;
+        for (char c : name.toCharArray()) {
+            if (c == '-' || c == '_') {
+                upper = true;
+            } else {
+                result.append(upper ? Character.toUpperCase(c) : c);
+                upper = false;
+            }
+        }
+        return result.toString();
+    }
 }
@@ -0,0 +1,25 @@
+package com.weather.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Client-side Redis topology settings on top of spring.data.redis.
+ * Cluster nodes and topology refresh are configured through spring.data.redis.cluster.* and
+ * spring.data.redis.lettuce.cluster.refresh.*.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "weather.cache.redis")
+public class RedisTopologyProperties {
+
+    /**
+     * Where reads go, as a Lettuce ReadFrom name (upstream, replica-preferred, lowest-latency, subnet:..., ...);
+     * blank keeps every command on the primary
+     */
+    private String readFrom;
+
+    /** Percentiles published for the per-node command latency (lettuce.command.completion) */
+    private double[] latencyPercentiles = {0.5, 0.95, 0.99};
+}
@@ -0,0 +1,37 @@
+package com.weather.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * PostgreSQL read replicas serving read-only transactions (history, latest-reading fallback,
+ * subscription listing). Writes and everything else stay on spring.datasource.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "weather.storage.replicas")
+public class ReplicaProperties {
+
+    private boolean enabled = false;
+
+    private List<Node> nodes = new ArrayList<>();
+
+    /** Replay lag above which a replica is skipped until it catches up */
+    private Duration maxLag = Duration.ofSeconds(10);
+
+    @Data
+    public static class Node {
+        /** Pool name, used as the pool tag of the metrics */
+        private String name;
+        private String url;
+        /** Credentials of spring.datasource when blank */
+        private String username;
+        private String password;
+        private int maximumPoolSize = 10;
+    }
+}
@@ -0,0 +1,50 @@
+package com.weather.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Scraping fallback settings.
+ * Sites are tried in the order they are listed; each needs a matching extractor.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "weather.scraper")
+public class ScraperProperties {
+
+    private boolean enabled = true;
+
+    /** Connect and response timeout per request */
+    private Duration timeout = Duration.ofSeconds(3);
+
+    private String userAgent = "Mozilla/5.0";
+
+    /** How long a parsed page is served without asking the site again */
+    private Duration resultTtl = Duration.ofMinutes(2);
+
+    private int maxCachedResults = 500;
+
+    private Politeness perHost = new Politeness();
+
+    private Map<String, Site> sites = new LinkedHashMap<>();
+
+    @Data
+    public static class Politeness {
+        private int maxConcurrent = 2;
+        private int requestsPerPeriod = 1;
+        private Duration period = Duration.ofSeconds(1);
+        /** Longest a request waits for a concurrency slot or rate permit before the site is skipped */
+        private Duration maxWait = Duration.ofSeconds(1);
+    }
+
+    @Data
+    public static class Site {
+        private boolean enabled = true;
+        private String baseUrl;
+    }
+}
@@ -0,0 +1,12 @@
+package com.weather.domain.exception;
+
+/**
+ * Thrown when a provider turns a call away before sending it upstream (circuit open, bulkhead full).
+ * Nothing was spent upstream, so the quota taken for the call is given back.
+ */
+public class CallRejectedException extends RuntimeException {
+
+    public CallRejectedException(String provider, Throwable cause) {
+        super(provider + " rejected the call: " + cause.getMessage(), cause);
+    }
+}
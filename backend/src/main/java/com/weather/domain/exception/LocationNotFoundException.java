@@ -0,0 +1,11 @@
+package com.weather.domain.exception;
+
+/**
+ * Thrown when the authoritative weather provider does not know a location
+ */
+public class LocationNotFoundException extends RuntimeException {
+
+    public LocationNotFoundException(String location) {
+        super("Location not found: " + location);
+    }
+}
@@ -0,0 +1,19 @@
+package com.weather.domain.model;
+
+import java.time.Instant;
+
+/**
+ * A stored air quality observation as a history response shows it, without its location
+ */
+public record AQIHistoryRow(
+    Instant timestamp,
+    Integer aqi,
+    AQIReading.AQILevel level,
+    Double pm25,
+    Double pm10,
+    Double co,
+    Double no2,
+    Double so2,
+    Double o3
+) {
+}
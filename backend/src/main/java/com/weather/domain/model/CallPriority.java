@@ -0,0 +1,13 @@
+package com.weather.domain.model;
+
+/**
+ * Priority class of an upstream provider call, used when the provider quota is tight.
+ */
+public enum CallPriority {
+    /** A user is waiting on the response */
+    INTERACTIVE,
+    /** Scheduled refresh of locations that are already cached */
+    REFRESH,
+    /** Bulk or batch work that can be postponed */
+    BULK
+}
@@ -24,6 +24,8 @@ public class Forecast {
     private Double tempAvg;
     private Integer humidity;
     private Double windSpeed;
+    /** Provider's numeric condition id (OpenWeather: 800 clear sky, 5xx rain, ...), when it sends one */
+    private Integer conditionCode;
     private String weatherCondition;
     private String weatherDescription;
     private String weatherIcon;
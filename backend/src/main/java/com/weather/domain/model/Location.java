@@ -5,6 +5,14 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.text.Normalizer;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
 /**
  * Domain entity representing a geographical location.
  * This is framework-agnostic pure domain model.
@@ -14,6 +22,11 @@ import lombok.NoArgsConstructor;
 @NoArgsConstructor
 @AllArgsConstructor
 public class Location {
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    // The last time zone to leave a date behind; earlier dates are past everywhere
+    private static final ZoneOffset LATEST_OFFSET = ZoneOffset.ofHours(-12);
+
     private String city;
     private String country;
     private Double latitude;
@@ -24,10 +37,54 @@ public class Location {
      * Returns a unique identifier for this location
      */
     public String getLocationKey() {
-        return String.format("%s,%s", city, country).toLowerCase();
+        return keyOf(city, country);
     }
 
     public boolean hasCoordinates() {
         return latitude != null && longitude != null;
     }
+
+    /**
+     * The current date at this location; while its time zone is unknown, the oldest date that
+     * is still today somewhere
+     */
+    public LocalDate today() {
+        if (timezone != null && !timezone.isBlank()) {
+            try {
+                return LocalDate.now(ZoneId.of(timezone));
+            } catch (DateTimeException e) {
+                // not a zone id or offset we can read
+            }
+        }
+        return earliestToday();
+    }
+
+    /**
+     * The oldest date that is still today somewhere
+     */
+    public static LocalDate earliestToday() {
+        return LocalDate.now(LATEST_OFFSET);
+    }
+
+    /**
+     * Builds the canonical key for a city/country pair.
+     * The country part is omitted when absent, so "London" maps to "london" rather than "london,null".
+     */
+    public static String keyOf(String city, String country) {
+        String normalizedCity = normalize(city);
+        String normalizedCountry = normalize(country);
+        return normalizedCountry.isEmpty()
+            ? normalizedCity
+            : normalizedCity + "," + normalizedCountry;
+    }
+
+    /**
+     * Normalizes free-form location input: strips diacritics, collapses whitespace and lower-cases.
+     */
+    public static String normalize(String value) {
+        if (value == null) return "";
+        String decomposed = Normalizer.normalize(value, Normalizer.Form.NFD);
+        String stripped = DIACRITICS.matcher(decomposed).replaceAll("");
+        return WHITESPACE.matcher(stripped.trim()).replaceAll(" ").toLowerCase(Locale.ROOT);
+    }
 }
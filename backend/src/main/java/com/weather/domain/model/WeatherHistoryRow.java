@@ -0,0 +1,21 @@
+package com.weather.domain.model;
+
+import java.time.Instant;
+
+/**
+ * A stored weather observation as a history response shows it: the measurements only, all for
+ * the location the history was requested for
+ */
+public record WeatherHistoryRow(
+    Instant timestamp,
+    Double temperatureCelsius,
+    Double humidity,
+    Double pressure,
+    Double windSpeed,
+    Integer windDirection,
+    String weatherCondition,
+    String weatherDescription,
+    Double visibility,
+    Integer cloudiness
+) {
+}
@@ -5,6 +5,7 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.time.Duration;
 import java.time.Instant;
 
 /**
@@ -24,6 +25,8 @@ public class WeatherReading {
     private Double pressure;
     private Double windSpeed;
     private Integer windDirection;
+    /** Provider's numeric condition id (OpenWeather: 800 clear sky, 5xx rain, ...), when it sends one */
+    private Integer conditionCode;
     private String weatherCondition;
     private String weatherDescription;
     private String weatherIcon;
@@ -63,10 +66,10 @@ public class WeatherReading {
     }
 
     /**
-     * Checks if the reading is recent (within the last hour)
+     * Checks if the reading was observed within the given age
      */
-    public boolean isRecent() {
+    public boolean isRecent(Duration maxAge) {
         if (timestamp == null) return false;
-        return timestamp.isAfter(Instant.now().minusSeconds(3600));
+        return timestamp.isAfter(Instant.now().minus(maxAge));
     }
 }
@@ -0,0 +1,43 @@
+-- Contract step of V5/V6: drops the location columns that location_id replaced, with their
+-- indexes and the triggers that kept them filled for the previous release. Not a Flyway
+-- migration; run it once no instance older than V6 is left:
+--
+--   psql -v ON_ERROR_STOP=1 -f drop_location_columns.sql
+--
+-- Dropping a column only updates the catalog, but waits for an exclusive lock on its table. The
+-- space is reclaimed by the table's next rewrite: VACUUM FULL at the end, which locks each table
+-- while it is copied, so keep it to a maintenance window or leave it out.
+
+SET lock_timeout = '5s';
+
+DROP TRIGGER IF EXISTS fill_location ON weather_readings;
+DROP TRIGGER IF EXISTS fill_location ON aqi_readings;
+DROP TRIGGER IF EXISTS fill_location ON forecasts;
+DROP TRIGGER IF EXISTS fill_location ON subscriptions;
+DROP TRIGGER IF EXISTS fill_location ON latest_readings;
+DROP FUNCTION IF EXISTS fill_reading_location();
+DROP FUNCTION IF EXISTS fill_subscription_location();
+DROP FUNCTION IF EXISTS fill_latest_location();
+DROP FUNCTION IF EXISTS location_id_of(text, text, text, float8, float8);
+DROP FUNCTION IF EXISTS location_key_of(text, text);
+DROP FUNCTION IF EXISTS normalize_location(text);
+
+ALTER TABLE weather_readings
+    DROP COLUMN IF EXISTS location_key, DROP COLUMN IF EXISTS city, DROP COLUMN IF EXISTS country,
+    DROP COLUMN IF EXISTS latitude, DROP COLUMN IF EXISTS longitude;
+ALTER TABLE aqi_readings
+    DROP COLUMN IF EXISTS location_key, DROP COLUMN IF EXISTS city, DROP COLUMN IF EXISTS country,
+    DROP COLUMN IF EXISTS latitude, DROP COLUMN IF EXISTS longitude;
+ALTER TABLE forecasts
+    DROP COLUMN IF EXISTS location_key, DROP COLUMN IF EXISTS city, DROP COLUMN IF EXISTS country,
+    DROP COLUMN IF EXISTS latitude, DROP COLUMN IF EXISTS longitude;
+ALTER TABLE subscriptions
+    DROP COLUMN IF EXISTS city, DROP COLUMN IF EXISTS country,
+    DROP COLUMN IF EXISTS latitude, DROP COLUMN IF EXISTS longitude;
+ALTER TABLE latest_readings DROP COLUMN IF EXISTS location_key;
+
+RESET lock_timeout;
+
+VACUUM (FULL, ANALYZE) weather_readings;
+VACUUM (FULL, ANALYZE) aqi_readings;
+VACUUM (FULL, ANALYZE) forecasts;
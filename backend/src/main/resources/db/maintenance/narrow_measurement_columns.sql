@@ -0,0 +1,60 @@
+-- Contract step of V7/V8: drops the condition texts that condition_id replaced, with the trigger
+-- that kept them filled for the previous release, and narrows the measurements to the real and
+-- smallint attributes of the entities. Not a Flyway migration; run it once no instance older
+-- than V8 is left:
+--
+--   psql -v ON_ERROR_STOP=1 -f narrow_measurement_columns.sql
+--
+-- Each ALTER TABLE rewrites its table under an exclusive lock that blocks reads and writes for
+-- the whole copy, so run it in a maintenance window. The rewrite also reclaims the space of
+-- columns dropped earlier, e.g. by drop_location_columns.sql. Until it runs, the application
+-- reads and writes the wider columns as they are.
+
+DROP TRIGGER IF EXISTS fill_condition ON weather_readings;
+DROP TRIGGER IF EXISTS fill_condition ON forecasts;
+DROP FUNCTION IF EXISTS fill_condition();
+DROP FUNCTION IF EXISTS condition_id_of(text, text, text);
+
+-- Clamped like ColumnTypes.toSmallint; STRICT keeps NULL as NULL, which greatest/least alone
+-- would turn into 32767
+CREATE FUNCTION pg_temp.to_smallint(value integer) RETURNS smallint
+    LANGUAGE sql IMMUTABLE STRICT
+    AS 'SELECT greatest(-32768, least(32767, value))::smallint';
+
+ALTER TABLE weather_readings
+    DROP COLUMN IF EXISTS weather_condition, DROP COLUMN IF EXISTS weather_description,
+    DROP COLUMN IF EXISTS weather_icon,
+    ALTER COLUMN temperature_celsius TYPE real,
+    ALTER COLUMN temperature_fahrenheit TYPE real,
+    ALTER COLUMN humidity TYPE real,
+    ALTER COLUMN pressure TYPE real,
+    ALTER COLUMN wind_speed TYPE real,
+    ALTER COLUMN visibility TYPE real,
+    ALTER COLUMN wind_direction TYPE smallint USING pg_temp.to_smallint(wind_direction),
+    ALTER COLUMN cloudiness TYPE smallint USING pg_temp.to_smallint(cloudiness);
+
+ALTER TABLE forecasts
+    DROP COLUMN IF EXISTS weather_condition, DROP COLUMN IF EXISTS weather_description,
+    DROP COLUMN IF EXISTS weather_icon,
+    ALTER COLUMN temp_min TYPE real,
+    ALTER COLUMN temp_max TYPE real,
+    ALTER COLUMN temp_avg TYPE real,
+    ALTER COLUMN wind_speed TYPE real,
+    ALTER COLUMN precipitation_probability TYPE real,
+    ALTER COLUMN precipitation_amount TYPE real,
+    ALTER COLUMN humidity TYPE smallint USING pg_temp.to_smallint(humidity),
+    ALTER COLUMN cloudiness TYPE smallint USING pg_temp.to_smallint(cloudiness),
+    ALTER COLUMN uv_index TYPE smallint USING pg_temp.to_smallint(uv_index);
+
+ALTER TABLE aqi_readings
+    ALTER COLUMN pm25 TYPE real,
+    ALTER COLUMN pm10 TYPE real,
+    ALTER COLUMN co TYPE real,
+    ALTER COLUMN no2 TYPE real,
+    ALTER COLUMN so2 TYPE real,
+    ALTER COLUMN o3 TYPE real,
+    ALTER COLUMN aqi TYPE smallint USING pg_temp.to_smallint(aqi);
+
+ANALYZE weather_readings;
+ANALYZE forecasts;
+ANALYZE aqi_readings;
@@ -0,0 +1,101 @@
+-- Schema as Hibernate created it before migrations were introduced. Existing databases are
+-- baselined at this version (spring.flyway.baseline-on-migrate) and start at V2.
+
+CREATE TABLE weather_readings (
+    id bigserial NOT NULL,
+    location_key varchar(255) NOT NULL,
+    city varchar(255) NOT NULL,
+    country varchar(255),
+    latitude float(53),
+    longitude float(53),
+    timestamp timestamp(6) with time zone NOT NULL,
+    temperature_celsius float(53),
+    temperature_fahrenheit float(53),
+    humidity float(53),
+    pressure float(53),
+    wind_speed float(53),
+    wind_direction integer,
+    weather_condition varchar(255),
+    weather_description varchar(255),
+    weather_icon varchar(255),
+    visibility float(53),
+    cloudiness integer,
+    data_source varchar(255) CHECK (data_source IN ('OPENWEATHER_API','IQAIR_API','SCRAPER_FALLBACK','CACHED')),
+    created_at timestamp(6) with time zone NOT NULL,
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE aqi_readings (
+    id bigserial NOT NULL,
+    location_key varchar(255) NOT NULL,
+    city varchar(255) NOT NULL,
+    country varchar(255),
+    latitude float(53),
+    longitude float(53),
+    timestamp timestamp(6) with time zone NOT NULL,
+    aqi integer,
+    level varchar(255) CHECK (level IN ('GOOD','MODERATE','UNHEALTHY_SENSITIVE','UNHEALTHY','VERY_UNHEALTHY','HAZARDOUS')),
+    pm25 float(53),
+    pm10 float(53),
+    co float(53),
+    no2 float(53),
+    so2 float(53),
+    o3 float(53),
+    data_source varchar(255) CHECK (data_source IN ('OPENWEATHER_API','IQAIR_API','SCRAPER_FALLBACK','CACHED')),
+    created_at timestamp(6) with time zone NOT NULL,
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE forecasts (
+    id bigserial NOT NULL,
+    location_key varchar(255) NOT NULL,
+    city varchar(255) NOT NULL,
+    country varchar(255),
+    latitude float(53),
+    longitude float(53),
+    forecast_date date NOT NULL,
+    temp_min float(53),
+    temp_max float(53),
+    temp_avg float(53),
+    humidity integer,
+    wind_speed float(53),
+    weather_condition varchar(255),
+    weather_description varchar(255),
+    weather_icon varchar(255),
+    precipitation_probability float(53),
+    precipitation_amount float(53),
+    cloudiness integer,
+    uv_index integer,
+    sunrise timestamp(6) with time zone,
+    sunset timestamp(6) with time zone,
+    data_source varchar(255) CHECK (data_source IN ('OPENWEATHER_API','IQAIR_API','SCRAPER_FALLBACK','CACHED')),
+    created_at timestamp(6) with time zone NOT NULL,
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE subscriptions (
+    id bigserial NOT NULL,
+    user_id varchar(255) NOT NULL,
+    email varchar(255) NOT NULL,
+    city varchar(255) NOT NULL,
+    country varchar(255),
+    latitude float(53),
+    longitude float(53),
+    alert_types text,
+    max_temperature float(53),
+    min_temperature float(53),
+    maxaqi integer,
+    max_wind_speed float(53),
+    max_precipitation float(53),
+    maxuvindex integer,
+    active boolean NOT NULL,
+    created_at timestamp(6) with time zone NOT NULL,
+    last_notified_at timestamp(6) with time zone,
+    PRIMARY KEY (id)
+);
+
+CREATE INDEX idx_location_timestamp ON weather_readings (location_key, timestamp);
+CREATE INDEX idx_aqi_location_timestamp ON aqi_readings (location_key, timestamp);
+CREATE INDEX idx_forecast_location_date ON forecasts (location_key, forecast_date);
+CREATE INDEX idx_subscription_user ON subscriptions (user_id);
+CREATE INDEX idx_subscription_active ON subscriptions (active);
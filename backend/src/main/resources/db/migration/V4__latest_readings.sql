@@ -0,0 +1,20 @@
+-- Pointer to the newest reading of each location and type, moved forward by every insert.
+-- Locations missing here are looked up by timestamp once and recorded on first read.
+
+CREATE TABLE latest_readings (
+    location_key varchar(255) NOT NULL,
+    reading_type varchar(255) NOT NULL CHECK (reading_type IN ('WEATHER','AQI')),
+    reading_id bigint NOT NULL,
+    timestamp timestamp(6) with time zone NOT NULL,
+    PRIMARY KEY (location_key, reading_type)
+);
+
+INSERT INTO latest_readings (location_key, reading_type, reading_id, timestamp)
+SELECT DISTINCT ON (location_key) location_key, 'WEATHER', id, timestamp
+FROM weather_readings
+ORDER BY location_key, timestamp DESC, id DESC;
+
+INSERT INTO latest_readings (location_key, reading_type, reading_id, timestamp)
+SELECT DISTINCT ON (location_key) location_key, 'AQI', id, timestamp
+FROM aqi_readings
+ORDER BY location_key, timestamp DESC, id DESC;
@@ -0,0 +1,127 @@
+-- Each location is stored once and referenced by a 4-byte id instead of repeating its key,
+-- names and coordinates on every row. This adds the table and the empty references; V6 fills
+-- them, and db/maintenance/drop_location_columns.sql drops the old columns once every instance
+-- runs this release.
+--
+-- Until then the previous release keeps writing the old columns without location_id, and this one
+-- writes location_id alone. The triggers below fill in whichever side is missing, so each release
+-- reads complete rows written by the other.
+
+SET LOCAL lock_timeout = '5s';
+
+CREATE TABLE locations (
+    id serial NOT NULL,
+    location_key varchar(255) NOT NULL,
+    city varchar(255) NOT NULL,
+    country varchar(255),
+    latitude float(53),
+    longitude float(53),
+    PRIMARY KEY (id)
+);
+
+CREATE UNIQUE INDEX uq_location_key ON locations (location_key);
+
+-- Nullable and NOT VALID: no existing row is read or rewritten here
+ALTER TABLE weather_readings ADD COLUMN location_id integer,
+    ADD CONSTRAINT fk_weather_location FOREIGN KEY (location_id) REFERENCES locations NOT VALID;
+ALTER TABLE aqi_readings ADD COLUMN location_id integer,
+    ADD CONSTRAINT fk_aqi_location FOREIGN KEY (location_id) REFERENCES locations NOT VALID;
+ALTER TABLE forecasts ADD COLUMN location_id integer,
+    ADD CONSTRAINT fk_forecast_location FOREIGN KEY (location_id) REFERENCES locations NOT VALID;
+ALTER TABLE subscriptions ADD COLUMN location_id integer,
+    ADD CONSTRAINT fk_subscription_location FOREIGN KEY (location_id) REFERENCES locations NOT VALID;
+ALTER TABLE latest_readings ADD COLUMN location_id integer;
+
+-- Location.normalize and Location.keyOf, for subscriptions, which never stored a key. Marks
+-- outside U+0300-U+036F are kept where keyOf strips them; V6 resolves existing rows with keyOf.
+CREATE FUNCTION normalize_location(value text) RETURNS text
+    LANGUAGE sql IMMUTABLE
+    AS $$
+        SELECT lower(regexp_replace(
+            btrim(regexp_replace(normalize(COALESCE(value, ''), NFD), '[\u0300-\u036f]+', '', 'g')),
+            '\s+', ' ', 'g'))
+    $$;
+
+CREATE FUNCTION location_key_of(city text, country text) RETURNS text
+    LANGUAGE sql IMMUTABLE
+    AS $$
+        SELECT CASE WHEN normalize_location(country) = '' THEN normalize_location(city)
+            ELSE normalize_location(city) || ',' || normalize_location(country) END
+    $$;
+
+-- Id of the location with this key, inserted on first use; coordinates fill in when first known
+CREATE FUNCTION location_id_of(new_key text, new_city text, new_country text,
+    new_latitude float8, new_longitude float8) RETURNS integer
+    LANGUAGE plpgsql
+    AS $$
+    DECLARE
+        existing_id integer;
+    BEGIN
+        SELECT id INTO existing_id FROM locations WHERE location_key = new_key;
+        IF existing_id IS NULL THEN
+            INSERT INTO locations (location_key, city, country, latitude, longitude)
+            VALUES (new_key, new_city, new_country, new_latitude, new_longitude)
+            ON CONFLICT (location_key) DO NOTHING
+            RETURNING id INTO existing_id;
+            IF existing_id IS NULL THEN
+                SELECT id INTO existing_id FROM locations WHERE location_key = new_key;
+            END IF;
+        ELSIF new_latitude IS NOT NULL THEN
+            UPDATE locations SET latitude = new_latitude, longitude = new_longitude
+            WHERE id = existing_id AND latitude IS NULL;
+        END IF;
+        RETURN existing_id;
+    END
+    $$;
+
+CREATE FUNCTION fill_reading_location() RETURNS trigger LANGUAGE plpgsql
+    AS $$
+    BEGIN
+        IF NEW.location_id IS NULL THEN
+            NEW.location_id := location_id_of(NEW.location_key, NEW.city, NEW.country, NEW.latitude, NEW.longitude);
+        ELSIF NEW.location_key IS NULL THEN
+            SELECT location_key, city, country, latitude, longitude
+            INTO NEW.location_key, NEW.city, NEW.country, NEW.latitude, NEW.longitude
+            FROM locations WHERE id = NEW.location_id;
+        END IF;
+        RETURN NEW;
+    END
+    $$;
+
+CREATE FUNCTION fill_subscription_location() RETURNS trigger LANGUAGE plpgsql
+    AS $$
+    BEGIN
+        IF NEW.location_id IS NULL THEN
+            NEW.location_id := location_id_of(location_key_of(NEW.city, NEW.country),
+                NEW.city, NEW.country, NEW.latitude, NEW.longitude);
+        ELSIF NEW.city IS NULL THEN
+            SELECT city, country, latitude, longitude
+            INTO NEW.city, NEW.country, NEW.latitude, NEW.longitude
+            FROM locations WHERE id = NEW.location_id;
+        END IF;
+        RETURN NEW;
+    END
+    $$;
+
+CREATE FUNCTION fill_latest_location() RETURNS trigger LANGUAGE plpgsql
+    AS $$
+    BEGIN
+        IF NEW.location_id IS NULL THEN
+            SELECT id INTO NEW.location_id FROM locations WHERE location_key = NEW.location_key;
+        ELSIF NEW.location_key IS NULL THEN
+            SELECT location_key INTO NEW.location_key FROM locations WHERE id = NEW.location_id;
+        END IF;
+        RETURN NEW;
+    END
+    $$;
+
+CREATE TRIGGER fill_location BEFORE INSERT ON weather_readings
+    FOR EACH ROW EXECUTE FUNCTION fill_reading_location();
+CREATE TRIGGER fill_location BEFORE INSERT ON aqi_readings
+    FOR EACH ROW EXECUTE FUNCTION fill_reading_location();
+CREATE TRIGGER fill_location BEFORE INSERT ON forecasts
+    FOR EACH ROW EXECUTE FUNCTION fill_reading_location();
+CREATE TRIGGER fill_location BEFORE INSERT ON subscriptions
+    FOR EACH ROW EXECUTE FUNCTION fill_subscription_location();
+CREATE TRIGGER fill_location BEFORE INSERT ON latest_readings
+    FOR EACH ROW EXECUTE FUNCTION fill_latest_location();
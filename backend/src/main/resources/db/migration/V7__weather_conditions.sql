@@ -0,0 +1,74 @@
+-- Conditions move to a dictionary referenced by a smallint. This adds the dictionary and the empty
+-- references; V8 fills them, and db/maintenance/narrow_measurement_columns.sql drops the text
+-- columns once every instance runs this release.
+--
+-- Until then the previous release keeps writing the texts without condition_id, and this one
+-- writes condition_id alone. The trigger fills in whichever side is missing. Missing parts are
+-- stored as '' like ConditionDictionary does; the provider code is unknown here.
+
+SET LOCAL lock_timeout = '5s';
+
+CREATE TABLE weather_conditions (
+    id smallint GENERATED BY DEFAULT AS IDENTITY,
+    code smallint,
+    main varchar(255) NOT NULL,
+    description varchar(255) NOT NULL,
+    icon varchar(255) NOT NULL,
+    PRIMARY KEY (id)
+);
+
+CREATE UNIQUE INDEX uq_weather_condition ON weather_conditions (main, description, icon);
+
+ALTER TABLE weather_readings ADD COLUMN condition_id smallint,
+    ADD CONSTRAINT fk_weather_condition FOREIGN KEY (condition_id) REFERENCES weather_conditions NOT VALID;
+ALTER TABLE forecasts ADD COLUMN condition_id smallint,
+    ADD CONSTRAINT fk_forecast_condition FOREIGN KEY (condition_id) REFERENCES weather_conditions NOT VALID;
+
+CREATE FUNCTION condition_id_of(new_main text, new_description text, new_icon text) RETURNS smallint
+    LANGUAGE plpgsql
+    AS $$
+    DECLARE
+        existing_id smallint;
+    BEGIN
+        IF COALESCE(new_main, new_description, new_icon) IS NULL THEN
+            RETURN NULL;
+        END IF;
+        SELECT id INTO existing_id FROM weather_conditions
+        WHERE main = COALESCE(new_main, '') AND description = COALESCE(new_description, '')
+          AND icon = COALESCE(new_icon, '');
+        IF existing_id IS NULL THEN
+            INSERT INTO weather_conditions (main, description, icon)
+            VALUES (COALESCE(new_main, ''), COALESCE(new_description, ''), COALESCE(new_icon, ''))
+            ON CONFLICT (main, description, icon) DO NOTHING
+            RETURNING id INTO existing_id;
+            IF existing_id IS NULL THEN
+                SELECT id INTO existing_id FROM weather_conditions
+                WHERE main = COALESCE(new_main, '') AND description = COALESCE(new_description, '')
+                  AND icon = COALESCE(new_icon, '');
+            END IF;
+        END IF;
+        RETURN existing_id;
+    END
+    $$;
+
+-- A condition_id set by this release wins and its texts are copied for the previous one; otherwise
+-- the texts, as written by the previous release or left unchanged, decide the condition_id
+CREATE FUNCTION fill_condition() RETURNS trigger LANGUAGE plpgsql
+    AS $$
+    BEGIN
+        IF TG_OP = 'INSERT' AND NEW.condition_id IS NOT NULL
+            OR TG_OP = 'UPDATE' AND NEW.condition_id IS DISTINCT FROM OLD.condition_id THEN
+            SELECT NULLIF(main, ''), NULLIF(description, ''), NULLIF(icon, '')
+            INTO NEW.weather_condition, NEW.weather_description, NEW.weather_icon
+            FROM weather_conditions WHERE id = NEW.condition_id;
+        ELSE
+            NEW.condition_id := condition_id_of(NEW.weather_condition, NEW.weather_description, NEW.weather_icon);
+        END IF;
+        RETURN NEW;
+    END
+    $$;
+
+CREATE TRIGGER fill_condition BEFORE INSERT OR UPDATE ON weather_readings
+    FOR EACH ROW EXECUTE FUNCTION fill_condition();
+CREATE TRIGGER fill_condition BEFORE INSERT OR UPDATE ON forecasts
+    FOR EACH ROW EXECUTE FUNCTION fill_condition();
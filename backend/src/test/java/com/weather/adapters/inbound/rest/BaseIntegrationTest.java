@@ -56,7 +56,8 @@ public abstract class BaseIntegrationTest {
         registry.add("spring.datasource.url", postgresContainer::getJdbcUrl);
         registry.add("spring.datasource.username", postgresContainer::getUsername);
         registry.add("spring.datasource.password", postgresContainer::getPassword);
-        registry.add("spring.jpa.hibernate.ddl-auto", () -> "create-drop");
+        // Schema from the Flyway migrations, as in production
+        registry.add("spring.jpa.hibernate.ddl-auto", () -> "validate");
 
         // Redis configuration
         registry.add("spring.data.redis.host", redisContainer::getHost);
@@ -1,9 +1,9 @@
 package com.weather.adapters.inbound.rest;
 
 import com.weather.application.port.input.GetHistoryUseCase;
+import com.weather.domain.model.AQIHistoryRow;
 import com.weather.domain.model.AQIReading;
-import com.weather.domain.model.Location;
-import com.weather.domain.model.WeatherReading;
+import com.weather.domain.model.WeatherHistoryRow;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.mock.mockito.MockBean;
@@ -41,19 +41,12 @@ class HistoryControllerIntegrationTest extends BaseIntegrationTest {
         Instant from = Instant.now().minus(7, ChronoUnit.DAYS);
         Instant to = Instant.now();
 
-        Location location = Location.builder()
-            .city(city)
-            .country(country)
-            .latitude(51.5074)
-            .longitude(-0.1278)
-            .build();
-
-        List<WeatherReading> readings = Arrays.asList(
-            createWeatherReading(location, 15.5, 65.0, from.plus(1, ChronoUnit.DAYS)),
-            createWeatherReading(location, 16.0, 70.0, from.plus(2, ChronoUnit.DAYS)),
-            createWeatherReading(location, 14.5, 68.0, from.plus(3, ChronoUnit.DAYS)),
-            createWeatherReading(location, 17.0, 62.0, from.plus(4, ChronoUnit.DAYS)),
-            createWeatherReading(location, 15.0, 66.0, from.plus(5, ChronoUnit.DAYS))
+        List<WeatherHistoryRow> readings = Arrays.asList(
+            createWeatherRow(15.5, 65.0, from.plus(1, ChronoUnit.DAYS)),
+            createWeatherRow(16.0, 70.0, from.plus(2, ChronoUnit.DAYS)),
+            createWeatherRow(14.5, 68.0, from.plus(3, ChronoUnit.DAYS)),
+            createWeatherRow(17.0, 62.0, from.plus(4, ChronoUnit.DAYS)),
+            createWeatherRow(15.0, 66.0, from.plus(5, ChronoUnit.DAYS))
         );
 
         when(getHistoryUseCase.getWeatherHistory(eq(city), eq(country), any(Instant.class), any(Instant.class)))
@@ -99,13 +92,9 @@ class HistoryControllerIntegrationTest extends BaseIntegrationTest {
         Instant from = Instant.now().minus(3, ChronoUnit.DAYS);
         Instant to = Instant.now();
 
-        Location location = Location.builder()
-            .city(city)
-            .build();
-
-        List<WeatherReading> readings = Arrays.asList(
-            createWeatherReading(location, 18.0, 60.0, from.plus(1, ChronoUnit.DAYS)),
-            createWeatherReading(location, 19.0, 62.0, from.plus(2, ChronoUnit.DAYS))
+        List<WeatherHistoryRow> readings = Arrays.asList(
+            createWeatherRow(18.0, 60.0, from.plus(1, ChronoUnit.DAYS)),
+            createWeatherRow(19.0, 62.0, from.plus(2, ChronoUnit.DAYS))
         );
 
         when(getHistoryUseCase.getWeatherHistory(eq(city), any(), any(Instant.class), any(Instant.class)))
@@ -134,16 +123,11 @@ class HistoryControllerIntegrationTest extends BaseIntegrationTest {
         Instant from = Instant.now().minus(5, ChronoUnit.DAYS);
         Instant to = Instant.now();
 
-        Location location = Location.builder()
-            .city(city)
-            .country(country)
-            .build();
-
-        List<AQIReading> readings = Arrays.asList(
-            createAQIReading(location, 150, AQIReading.AQILevel.UNHEALTHY, 85.5, from.plus(1, ChronoUnit.DAYS)),
-            createAQIReading(location, 120, AQIReading.AQILevel.UNHEALTHY_SENSITIVE, 65.0, from.plus(2, ChronoUnit.DAYS)),
-            createAQIReading(location, 95, AQIReading.AQILevel.MODERATE, 45.5, from.plus(3, ChronoUnit.DAYS)),
-            createAQIReading(location, 75, AQIReading.AQILevel.MODERATE, 35.0, from.plus(4, ChronoUnit.DAYS))
+        List<AQIHistoryRow> readings = Arrays.asList(
+            createAQIRow(150, AQIReading.AQILevel.UNHEALTHY, 85.5, from.plus(1, ChronoUnit.DAYS)),
+            createAQIRow(120, AQIReading.AQILevel.UNHEALTHY_SENSITIVE, 65.0, from.plus(2, ChronoUnit.DAYS)),
+            createAQIRow(95, AQIReading.AQILevel.MODERATE, 45.5, from.plus(3, ChronoUnit.DAYS)),
+            createAQIRow(75, AQIReading.AQILevel.MODERATE, 35.0, from.plus(4, ChronoUnit.DAYS))
         );
 
         when(getHistoryUseCase.getAQIHistory(eq(city), eq(country), any(Instant.class), any(Instant.class)))
@@ -188,12 +172,8 @@ class HistoryControllerIntegrationTest extends BaseIntegrationTest {
         Instant from = Instant.now().minus(2, ChronoUnit.DAYS);
         Instant to = Instant.now();
 
-        Location location = Location.builder()
-            .city(city)
-            .build();
-
-        List<AQIReading> readings = Arrays.asList(
-            createAQIReading(location, 180, AQIReading.AQILevel.UNHEALTHY, 95.0, from.plus(1, ChronoUnit.DAYS))
+        List<AQIHistoryRow> readings = Arrays.asList(
+            createAQIRow(180, AQIReading.AQILevel.UNHEALTHY, 95.0, from.plus(1, ChronoUnit.DAYS))
         );
 
         when(getHistoryUseCase.getAQIHistory(eq(city), any(), any(Instant.class), any(Instant.class)))
@@ -316,37 +296,12 @@ class HistoryControllerIntegrationTest extends BaseIntegrationTest {
     }
 
     // Helper methods
-    private WeatherReading createWeatherReading(Location location, Double temp, Double humidity, Instant timestamp) {
-        return WeatherReading.builder()
-            .location(location)
-            .temperatureCelsius(temp)
-            .humidity(humidity)
-            .pressure(1013.0)
-            .windSpeed(5.5)
-            .windDirection(180)
-            .weatherCondition("Clouds")
-            .weatherDescription("Partly cloudy")
-            .visibility(10000.0)
-            .cloudiness(50)
-            .timestamp(timestamp)
-            .dataSource(WeatherReading.DataSource.OPENWEATHER_API)
-            .build();
+    private WeatherHistoryRow createWeatherRow(Double temp, Double humidity, Instant timestamp) {
+        return new WeatherHistoryRow(timestamp, temp, humidity, 1013.0, 5.5, 180,
+            "Clouds", "Partly cloudy", 10000.0, 50);
     }
 
-    private AQIReading createAQIReading(Location location, Integer aqi, AQIReading.AQILevel level,
-                                        Double pm25, Instant timestamp) {
-        return AQIReading.builder()
-            .location(location)
-            .aqi(aqi)
-            .level(level)
-            .pm25(pm25)
-            .pm10(120.0)
-            .co(1.5)
-            .no2(45.0)
-            .so2(20.0)
-            .o3(80.0)
-            .timestamp(timestamp)
-            .dataSource(WeatherReading.DataSource.IQAIR_API)
-            .build();
+    private AQIHistoryRow createAQIRow(Integer aqi, AQIReading.AQILevel level, Double pm25, Instant timestamp) {
+        return new AQIHistoryRow(timestamp, aqi, level, pm25, 120.0, 1.5, 45.0, 20.0, 80.0);
     }
 }
@@ -0,0 +1,87 @@
+package com.weather.adapters.inbound.rest;
+
+import com.weather.application.port.output.MembershipPort.Node;
+import com.weather.application.service.NodeAffinity;
+import com.weather.config.AffinityProperties;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests for the one-hop guarantees of LocationAffinityFilter in redirect mode
+ */
+@DisplayName("Location Affinity Filter Tests")
+class LocationAffinityFilterTest {
+
+    private static final Node SELF = new Node("self", "http://10.0.0.1:8080");
+    private static final Node OWNER = new Node("owner", "http://10.0.0.2:8080");
+
+    private NodeAffinity affinity;
+    private LocationAffinityFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        affinity = mock(NodeAffinity.class);
+        when(affinity.self()).thenReturn(SELF);
+        when(affinity.remoteOwner(any(), any())).thenReturn(Optional.of(OWNER));
+        when(affinity.isMemberAddress("10.0.0.2")).thenReturn(true);
+        AffinityProperties properties = new AffinityProperties();
+        properties.setMode(AffinityProperties.Mode.REDIRECT);
+        filter = new LocationAffinityFilter(affinity, properties);
+    }
+
+    @Test
+    @DisplayName("Should mark the redirect with a hop parameter and serve a marked request locally")
+    void shouldRedirectOnce() throws Exception {
+        MockHttpServletResponse redirected = filter(request("city=London", "203.0.113.7"));
+
+        assertThat(redirected.getStatus()).isEqualTo(307);
+        assertThat(redirected.getHeader("Location"))
+            .isEqualTo("http://10.0.0.2:8080/api/v1/weather?city=London&affinityHop=self");
+
+        MockHttpServletResponse served = filter(request("city=London&affinityHop=self", "203.0.113.7"));
+        assertThat(served.getStatus()).isEqualTo(200);
+        assertThat(served.getHeader(LocationAffinityFilter.SERVED_BY_HEADER)).isEqualTo("self");
+    }
+
+    @Test
+    @DisplayName("Should honour the forward header only from another member")
+    void shouldTrustForwardHeaderFromMembersOnly() throws Exception {
+        MockHttpServletRequest fromClient = request("city=London", "203.0.113.7");
+        fromClient.addHeader(LocationAffinityFilter.FORWARDED_HEADER, "owner");
+        MockHttpServletRequest fromMember = request("city=London", "10.0.0.2");
+        fromMember.addHeader(LocationAffinityFilter.FORWARDED_HEADER, "owner");
+
+        assertThat(filter(fromClient).getStatus()).isEqualTo(307);
+        assertThat(filter(fromMember).getStatus()).isEqualTo(200);
+    }
+
+    private MockHttpServletResponse filter(MockHttpServletRequest request) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        FilterChain chain = new MockFilterChain();
+        filter.doFilter(request, response, chain);
+        return response;
+    }
+
+    private static MockHttpServletRequest request(String query, String remoteAddress) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/weather");
+        request.setQueryString(query);
+        for (String pair : query.split("&")) {
+            String[] parts = pair.split("=", 2);
+            request.addParameter(parts[0], parts[1]);
+        }
+        request.setRemoteAddr(remoteAddress);
+        return request;
+    }
+}
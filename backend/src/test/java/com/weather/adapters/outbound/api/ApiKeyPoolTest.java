@@ -0,0 +1,91 @@
+package com.weather.adapters.outbound.api;
+
+import com.weather.config.ApiKeyProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for ApiKeyPool rotation, limits and quarantine
+ */
+@DisplayName("API Key Pool Tests")
+class ApiKeyPoolTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    @DisplayName("Should hand out keys in proportion to their weights")
+    void shouldRotateByWeight() {
+        ApiKeyPool pool = pool(key("a", 3, 0), key("b", 1, 0));
+
+        List<String> picked = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            picked.add(pool.acquire().orElseThrow());
+        }
+
+        assertThat(picked).containsExactly("a", "a", "b", "a", "a", "a", "b", "a");
+    }
+
+    @Test
+    @DisplayName("Should skip a key once its per-minute limit is used up")
+    void shouldRespectPerKeyLimit() {
+        ApiKeyPool pool = pool(key("a", 1, 2), key("b", 1, 0));
+
+        List<String> picked = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            picked.add(pool.acquire().orElseThrow());
+        }
+
+        assertThat(picked).filteredOn("a"::equals).hasSize(2);
+        assertThat(meterRegistry.get("weather.provider.key.available").tag("key", "a").gauge().value()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should quarantine rejected keys and take them back after the quarantine")
+    void shouldQuarantineAndRecover() {
+        ApiKeyPool pool = pool(key("a", 1, 0), key("b", 1, 0));
+
+        pool.record("a", 401, null);
+        assertThat(pool.acquire()).contains("b");
+        assertThat(pool.acquire()).contains("b");
+
+        pool.record("b", 429, Duration.ZERO);
+        assertThat(pool.acquire()).contains("b");
+
+        pool.record("b", 429, Duration.ofMinutes(5));
+        assertThat(pool.acquire()).isEmpty();
+        assertThat(meterRegistry.get("weather.provider.key.requests").tag("outcome", "unauthorized").counter().count())
+            .isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Should fall back to the comma-separated legacy key")
+    void shouldSplitLegacyKeys() {
+        ApiKeyPool pool = ApiKeyPool.create("OpenWeatherMap", "one, two", new ApiKeyProperties(), meterRegistry);
+
+        assertThat(List.of(pool.acquire().orElseThrow(), pool.acquire().orElseThrow())).containsExactly("one", "two");
+        assertThat(ApiKeyPool.create("IQAir", "", new ApiKeyProperties(), meterRegistry).isEmpty()).isTrue();
+    }
+
+    private ApiKeyPool pool(ApiKeyProperties.Key... keys) {
+        ApiKeyProperties properties = new ApiKeyProperties();
+        properties.setUnauthorizedQuarantine(Duration.ofHours(1));
+        properties.getProviders().put("test", List.of(keys));
+        return ApiKeyPool.create("test", null, properties, meterRegistry);
+    }
+
+    private static ApiKeyProperties.Key key(String value, int weight, int perMinute) {
+        ApiKeyProperties.Key key = new ApiKeyProperties.Key();
+        key.setValue(value);
+        key.setName(value);
+        key.setWeight(weight);
+        key.setPerMinute(perMinute);
+        return key;
+    }
+}
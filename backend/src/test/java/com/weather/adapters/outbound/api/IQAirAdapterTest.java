@@ -0,0 +1,116 @@
+package com.weather.adapters.outbound.api;
+
+import com.weather.application.port.output.AirQualityProviderPort.CurrentConditions;
+import com.weather.config.ApiKeyProperties;
+import com.weather.domain.model.WeatherReading;
+import io.github.resilience4j.timelimiter.TimeLimiterConfig;
+import io.github.resilience4j.timelimiter.TimeLimiterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests for IQAirAdapter against a local MockWebServer
+ */
+@DisplayName("IQAir Adapter Tests")
+class IQAirAdapterTest {
+
+    private static final String LONDON_JSON = """
+        {"status":"success","data":{"city":"London","state":"England","country":"United Kingdom",
+         "location":{"type":"Point","coordinates":[-0.1278,51.5074]},
+         "current":{"pollution":{"ts":"2025-01-15T14:00:00.000Z","aqius":45,"mainus":"p2","aqicn":16,"maincn":"p2"},
+                    "weather":{"ts":"2025-01-15T14:00:00.000Z","tp":8,"pr":1021,"hu":76,"ws":3.6,"wd":250,"ic":"04d"}}}}
+        """;
+
+    private MockWebServer server;
+    private IQAirAdapter adapter;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = new MockWebServer();
+        server.start();
+
+        // Generous timeout: a loaded CI host must not turn a slow MockWebServer answer into a failure
+        TimeLimiterRegistry timeLimiters = TimeLimiterRegistry.of(TimeLimiterConfig.custom()
+            .timeoutDuration(Duration.ofSeconds(10))
+            .build());
+        adapter = new IQAirAdapter(WebClient.builder(), timeLimiters, new ApiKeyProperties(),
+            new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(adapter, "apiKey", "test-key");
+        ReflectionTestUtils.setField(adapter, "baseUrl", server.url("/").toString());
+        adapter.init();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        server.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should map the weather block alongside the AQI reading")
+    void shouldMapWeatherBlock() {
+        server.enqueue(json(200, LONDON_JSON));
+
+        Optional<CurrentConditions> conditions = adapter.getCurrentConditions("London", "GB");
+
+        assertThat(conditions).isPresent();
+        assertThat(conditions.get().airQuality().getAqi()).isEqualTo(45);
+        WeatherReading weather = conditions.get().weather();
+        assertThat(weather.getTemperatureCelsius()).isEqualTo(8.0);
+        assertThat(weather.getPressure()).isEqualTo(1021.0);
+        assertThat(weather.getWindSpeed()).isEqualTo(3.6);
+        assertThat(weather.getWeatherCondition()).isEqualTo("Clouds");
+        assertThat(weather.getLocation().getLatitude()).isEqualTo(51.5074);
+        assertThat(server.getRequestCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should return AQI without weather when the block is missing")
+    void shouldTolerateMissingWeatherBlock() {
+        server.enqueue(json(200, LONDON_JSON.replaceAll(",\\s*\"weather\":\\{[^}]*}", "")));
+
+        Optional<CurrentConditions> conditions = adapter.getCurrentConditions("London", "GB");
+
+        assertThat(conditions).isPresent();
+        assertThat(conditions.get().airQuality().getAqi()).isEqualTo(45);
+        assertThat(conditions.get().weather()).isNull();
+    }
+
+    @Test
+    @DisplayName("Should rotate keys and skip a key that was rate limited")
+    void shouldQuarantineRateLimitedKey() throws InterruptedException {
+        ReflectionTestUtils.setField(adapter, "apiKey", "key-a, key-b");
+        adapter.init();
+        server.enqueue(new MockResponse().setResponseCode(429).setHeader("Retry-After", "60"));
+        server.enqueue(json(200, LONDON_JSON));
+        server.enqueue(json(200, LONDON_JSON));
+
+        assertThatThrownBy(() -> adapter.getCurrentConditions("London", "GB")).isInstanceOf(ProviderException.class);
+        assertThat(adapter.getCurrentConditions("London", "GB")).isPresent();
+        assertThat(adapter.getCurrentConditions("London", "GB")).isPresent();
+
+        assertThat(server.takeRequest().getPath()).contains("key=key-a");
+        assertThat(server.takeRequest().getPath()).contains("key=key-b");
+        assertThat(server.takeRequest().getPath()).contains("key=key-b");
+    }
+
+    private static MockResponse json(int status, String body) {
+        return new MockResponse()
+            .setResponseCode(status)
+            .setHeader("Content-Type", "application/json")
+            .setBody(body);
+    }
+}
@@ -0,0 +1,259 @@
+package com.weather.adapters.outbound.api;
+
+import com.weather.domain.exception.LocationNotFoundException;
+import com.weather.domain.model.Forecast;
+import com.weather.domain.model.Location;
+import com.weather.domain.model.WeatherReading;
+import com.weather.config.ApiKeyProperties;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.retry.RetryRegistry;
+import io.github.resilience4j.timelimiter.TimeLimiterConfig;
+import io.github.resilience4j.timelimiter.TimeLimiterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests for OpenWeatherAdapter against a local MockWebServer
+ */
+@DisplayName("OpenWeather Adapter Tests")
+class OpenWeatherAdapterTest {
+
+    private static final String LONDON_JSON = """
+        {"coord":{"lon":-0.1257,"lat":51.5085},
+         "weather":[{"id":803,"main":"Clouds","description":"broken clouds","icon":"04d"}],
+         "main":{"temp":14.2,"pressure":1012,"humidity":71},
+         "visibility":10000,"wind":{"speed":4.1,"deg":240},"clouds":{"all":75},
+         "dt":1700000000,"sys":{"country":"GB"},"id":2643743,"name":"London","cod":200}
+        """;
+
+    private MockWebServer server;
+    private OpenWeatherAdapter adapter;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = new MockWebServer();
+        server.start();
+
+        // Generous timeout: a loaded CI host must not turn a slow MockWebServer answer into a failure
+        TimeLimiterRegistry timeLimiters = TimeLimiterRegistry.of(TimeLimiterConfig.custom()
+            .timeoutDuration(Duration.ofSeconds(10))
+            .build());
+        adapter = new OpenWeatherAdapter(WebClient.builder(), timeLimiters,
+            CircuitBreakerRegistry.ofDefaults(), RetryRegistry.ofDefaults(), new ApiKeyProperties(),
+            new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(adapter, "apiKey", "test-key");
+        ReflectionTestUtils.setField(adapter, "baseUrl", server.url("/").toString());
+        ReflectionTestUtils.setField(adapter, "oneCallBaseUrl", server.url("/").toString());
+        adapter.init();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        server.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should map current weather response")
+    void shouldMapCurrentWeather() {
+        server.enqueue(json(200, LONDON_JSON));
+
+        Optional<WeatherReading> reading = adapter.getCurrentWeather("London", "GB");
+
+        assertThat(reading).isPresent();
+        assertThat(reading.get().getTemperatureCelsius()).isEqualTo(14.2);
+        assertThat(reading.get().getLocation().getLatitude()).isEqualTo(51.5085);
+        assertThat(reading.get().getConditionCode()).isEqualTo(803);
+    }
+
+    @Test
+    @DisplayName("Should report unknown city as not found, not as a provider failure")
+    void shouldReportUnknownCity() {
+        server.enqueue(json(404, "{\"cod\":\"404\",\"message\":\"city not found\"}"));
+
+        assertThatThrownBy(() -> adapter.getCurrentWeather("Lodnon", null))
+            .isInstanceOf(LocationNotFoundException.class);
+    }
+
+    @Test
+    @DisplayName("Should surface server errors so the circuit breaker records them")
+    void shouldThrowOnServerError() {
+        server.enqueue(json(503, "{}"));
+
+        assertThatThrownBy(() -> adapter.getCurrentWeather("London", "GB"))
+            .isInstanceOf(ProviderException.class);
+    }
+
+    @Test
+    @DisplayName("Should surface empty bodies as failures")
+    void shouldThrowOnEmptyBody() {
+        server.enqueue(json(200, "{}"));
+
+        assertThatThrownBy(() -> adapter.getCurrentWeather("London", "GB"))
+            .isInstanceOf(ProviderException.class);
+    }
+
+    @Test
+    @DisplayName("Should refresh known cities through the group endpoint, 20 ids per call")
+    void shouldBatchKnownCitiesThroughGroupEndpoint() {
+        server.setDispatcher(new CityDispatcher());
+        List<Location> cities = IntStream.rangeClosed(1, 25)
+            .mapToObj(i -> Location.builder().city("City" + i).country("GB").build())
+            .toList();
+
+        // First pass learns the city ids one call at a time
+        assertThat(adapter.getCurrentWeatherBatch(cities, Duration.ofSeconds(30))).hasSize(25);
+        int learningCalls = server.getRequestCount();
+        assertThat(learningCalls).isGreaterThanOrEqualTo(25);
+
+        Map<String, WeatherReading> readings = adapter.getCurrentWeatherBatch(cities, Duration.ofSeconds(30));
+
+        assertThat(readings).hasSize(25).containsKey("city7,gb");
+        assertThat(readings.get("city7,gb").getTemperatureCelsius()).isEqualTo(7.0);
+        assertThat(readings.get("city7,gb").getLocation().getTimezone()).isEqualTo("+01:00");
+        assertThat(server.getRequestCount() - learningCalls).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should look cities up in parallel and leave out those unanswered at the deadline")
+    void shouldStopBatchAtDeadline() {
+        CityDispatcher cities = new CityDispatcher();
+        server.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) throws InterruptedException {
+                MockResponse response = cities.dispatch(request);
+                // City9 answers long after the others
+                return request.getRequestUrl().queryParameter("q").startsWith("City9")
+                    ? response.setBodyDelay(3, TimeUnit.SECONDS) : response.setBodyDelay(300, TimeUnit.MILLISECONDS);
+            }
+        });
+        List<Location> batch = IntStream.rangeClosed(1, 9)
+            .mapToObj(i -> Location.builder().city("City" + i).country("GB").build())
+            .toList();
+
+        long started = System.nanoTime();
+        Map<String, WeatherReading> readings = adapter.getCurrentWeatherBatch(batch, Duration.ofMillis(1500));
+
+        assertThat(Duration.ofNanos(System.nanoTime() - started)).isLessThan(Duration.ofMillis(2500));
+        assertThat(readings).hasSize(8).doesNotContainKey("city9,gb");
+    }
+
+    @Test
+    @DisplayName("Should map current weather and daily forecasts from one One Call response")
+    void shouldMapOneCallResponse() throws InterruptedException {
+        ReflectionTestUtils.setField(adapter, "oneCallEnabled", true);
+        server.enqueue(json(200, """
+            {"lat":51.5085,"lon":-0.1257,"timezone_offset":3600,
+             "current":{"dt":1700000000,"temp":14.2,"pressure":1012,"humidity":71,"clouds":75,
+                        "wind_speed":4.1,"wind_deg":240,"weather":[{"main":"Clouds","description":"broken clouds"}]},
+             "daily":[{"dt":1700042400,"sunrise":1700032000,"sunset":1700064000,"temp":{"day":13.0,"min":9.5,"max":15.1},
+                       "humidity":70,"wind_speed":5.0,"clouds":80,"pop":0.6,"uvi":1.4,
+                       "weather":[{"main":"Rain","description":"light rain"}]}]}
+            """));
+        Location london = Location.builder().city("London").country("GB").latitude(51.5).longitude(-0.12).build();
+
+        var result = adapter.getCurrentAndForecast(london);
+
+        assertThat(result).isPresent();
+        assertThat(result.get().current().getWindSpeed()).isEqualTo(4.1);
+        assertThat(result.get().current().getLocation().getTimezone()).isEqualTo("+01:00");
+        assertThat(result.get().forecasts()).singleElement().satisfies(day -> {
+            assertThat(day.getTempMax()).isEqualTo(15.1);
+            assertThat(day.getPrecipitationProbability()).isEqualTo(60.0);
+        });
+        assertThat(server.getRequestCount()).isEqualTo(1);
+        assertThat(server.takeRequest().getPath()).startsWith("/onecall?lat=51.5&lon=-0.12");
+    }
+
+    @Test
+    @DisplayName("Should fold a chunked forecast body into daily aggregates with majority conditions")
+    void shouldStreamForecastIntoDailyAggregates() {
+        long day = LocalDate.of(2025, 1, 15).atStartOfDay(ZoneId.systemDefault()).toEpochSecond();
+        String body = "{\"cod\":\"200\",\"cnt\":4,\"list\":["
+            + forecastItem(day + 3_600, 6.0, 5.1, 6.4, "Clear", 0.1) + ","
+            + forecastItem(day + 14_400, 9.0, 8.2, 9.5, "Rain", 0.8) + ","
+            + forecastItem(day + 25_200, 12.0, 11.0, 12.9, "Rain", 0.9) + ","
+            + forecastItem(day + 90_000, 7.0, 6.5, 7.7, "Clouds", 0.0)
+            + "],\"city\":{\"id\":2643743,\"name\":\"London\",\"coord\":{\"lat\":51.5085,\"lon\":-0.1257},"
+            + "\"country\":\"GB\",\"timezone\":0}}";
+        server.enqueue(new MockResponse()
+            .setHeader("Content-Type", "application/json")
+            .setChunkedBody(body, 37));
+
+        Optional<List<Forecast>> forecasts = adapter.getForecast("London", "GB", 2);
+
+        assertThat(forecasts).isPresent();
+        assertThat(forecasts.get()).hasSize(2);
+        Forecast first = forecasts.get().get(0);
+        assertThat(first.getDate()).isEqualTo(LocalDate.of(2025, 1, 15));
+        assertThat(first.getTempMin()).isEqualTo(5.1);
+        assertThat(first.getTempMax()).isEqualTo(12.9);
+        assertThat(first.getTempAvg()).isEqualTo(9.0);
+        assertThat(first.getWeatherCondition()).isEqualTo("Rain");
+        assertThat(first.getWeatherDescription()).isEqualTo("rain sky");
+        assertThat(first.getConditionCode()).isEqualTo(500);
+        assertThat(first.getPrecipitationProbability()).isEqualTo(10.0);
+        assertThat(first.getLocation().getLatitude()).isEqualTo(51.5085);
+        assertThat(forecasts.get().get(1).getWeatherCondition()).isEqualTo("Clouds");
+    }
+
+    private static String forecastItem(long dt, double temp, double min, double max, String condition, double pop) {
+        return "{\"dt\":" + dt + ",\"main\":{\"temp\":" + temp + ",\"temp_min\":" + min + ",\"temp_max\":" + max
+            + ",\"pressure\":1012,\"humidity\":70},\"weather\":[{\"id\":500,\"main\":\"" + condition
+            + "\",\"description\":\"" + condition.toLowerCase() + " sky\",\"icon\":\"10d\"}],"
+            + "\"clouds\":{\"all\":90},\"wind\":{\"speed\":4.2,\"deg\":200},\"pop\":" + pop
+            + ",\"sys\":{\"pod\":\"d\"},\"dt_txt\":\"2025-01-15 00:00:00\"}";
+    }
+
+    /** Answers /weather?q=CityN and /group?id=... with city id N and temperature N */
+    private static final class CityDispatcher extends Dispatcher {
+        @Override
+        public MockResponse dispatch(RecordedRequest request) {
+            String path = request.getRequestUrl().encodedPath();
+            if (path.endsWith("/group")) {
+                String list = Arrays.stream(request.getRequestUrl().queryParameter("id").split(","))
+                    .map(id -> city(Integer.parseInt(id), ",\"sys\":{\"country\":\"GB\",\"timezone\":3600}"))
+                    .collect(Collectors.joining(","));
+                return json(200, "{\"cnt\":" + list.split("\"cod\"").length + ",\"list\":[" + list + "]}");
+            }
+            int n = Integer.parseInt(request.getRequestUrl().queryParameter("q").replaceAll("\\D", ""));
+            return json(200, city(n, ",\"sys\":{\"country\":\"GB\"},\"timezone\":3600"));
+        }
+
+        private static String city(int n, String extra) {
+            return "{\"coord\":{\"lon\":0,\"lat\":50},\"weather\":[{\"id\":800,\"main\":\"Clear\"}],"
+                + "\"main\":{\"temp\":" + n + ",\"pressure\":1012,\"humidity\":50},\"dt\":1700000000,\"id\":" + n
+                + ",\"name\":\"City" + n + "\",\"cod\":200" + extra + "}";
+        }
+    }
+
+    private static MockResponse json(int status, String body) {
+        return new MockResponse()
+            .setResponseCode(status)
+            .setHeader("Content-Type", "application/json")
+            .setBody(body);
+    }
+}
@@ -0,0 +1,139 @@
+package com.weather.adapters.outbound.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentMatchers;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.ReactiveValueOperations;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.reset;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests for the Redis outage degradation mode
+ */
+@DisplayName("Redis Cache Adapter Tests")
+class RedisCacheAdapterTest {
+
+    private RedisTemplate<String, String> redisTemplate;
+    private ValueOperations<String, String> values;
+    private ReactiveValueOperations<String, String> reactiveValues;
+    private RedisCacheAdapter adapter;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        redisTemplate = mock(RedisTemplate.class);
+        values = mock(ValueOperations.class);
+        when(redisTemplate.opsForValue()).thenReturn(values);
+        ReactiveStringRedisTemplate reactiveRedisTemplate = mock(ReactiveStringRedisTemplate.class);
+        reactiveValues = mock(ReactiveValueOperations.class);
+        when(reactiveRedisTemplate.opsForValue()).thenReturn(reactiveValues);
+
+        adapter = new RedisCacheAdapter(redisTemplate, reactiveRedisTemplate, new ObjectMapper(),
+            CircuitBreakerRegistry.ofDefaults(), new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(adapter, "localMaxEntries", 10);
+        adapter.init();
+    }
+
+    @Test
+    @DisplayName("Should switch to the local cache after the first connection failure")
+    void shouldDegradeOnConnectionFailure() {
+        doThrow(new RedisConnectionFailureException("refused"))
+            .when(values).set(anyString(), anyString(), any(Duration.class));
+
+        adapter.put("weather:london,gb", "cloudy", Duration.ofMinutes(10));
+        reset(values);
+
+        assertThat(adapter.isDegraded()).isTrue();
+        assertThat(adapter.get("weather:london,gb", String.class)).contains("cloudy");
+        assertThat(adapter.exists("weather:london,gb")).isTrue();
+        verifyNoInteractions(values);
+    }
+
+    @Test
+    @DisplayName("Should invalidate keys touched during the outage before returning to Redis")
+    void shouldReconcileOnRecovery() {
+        doThrow(new RedisConnectionFailureException("refused"))
+            .when(values).set(anyString(), anyString(), any(Duration.class));
+        adapter.put("weather:london,gb", "cloudy", Duration.ofMinutes(10));
+        adapter.evict("aqi:london,gb");
+        assertThat(adapter.pendingInvalidations()).isEqualTo(2);
+
+        when(redisTemplate.execute(ArgumentMatchers.<RedisCallback<String>>any())).thenReturn("PONG");
+        adapter.probe();
+
+        assertThat(adapter.isDegraded()).isFalse();
+        assertThat(adapter.pendingInvalidations()).isZero();
+        assertThat(adapter.localEntries()).isZero();
+        verify(redisTemplate, times(1)).delete(anyList());
+
+        when(values.get("weather:london,gb")).thenReturn("\"sunny\"");
+        assertThat(adapter.get("weather:london,gb", String.class)).contains("sunny");
+    }
+
+    @Test
+    @DisplayName("Should stay degraded while Redis does not answer the probe")
+    void shouldStayDegradedWhileProbeFails() {
+        when(values.get(anyString())).thenThrow(new RedisConnectionFailureException("refused"));
+        adapter.get("weather:london,gb", String.class);
+
+        when(redisTemplate.execute(ArgumentMatchers.<RedisCallback<String>>any()))
+            .thenThrow(new RedisConnectionFailureException("refused"));
+        adapter.probe();
+
+        assertThat(adapter.isDegraded()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should read several keys with one multi-get and leave out the missing ones")
+    void shouldMultiGet() {
+        when(reactiveValues.multiGet(List.of("weather:{a}", "weather:{b}", "weather:{c}")))
+            .thenReturn(Mono.just(Arrays.asList("\"sunny\"", null, "\"rain\"")));
+
+        assertThat(adapter.getAllAsync(List.of("weather:{a}", "weather:{b}", "weather:{c}", "weather:{a}"),
+            String.class).join())
+            .containsExactly(Map.entry("weather:{a}", "sunny"), Map.entry("weather:{c}", "rain"));
+        verify(reactiveValues, times(1)).multiGet(any());
+    }
+
+    @Test
+    @DisplayName("Should answer async reads from the local cache once Redis fails")
+    void shouldDegradeAsyncReads() {
+        when(reactiveValues.get("weather:{london,gb}"))
+            .thenReturn(Mono.error(new RedisConnectionFailureException("refused")));
+
+        assertThat(adapter.getAsync("weather:{london,gb}", String.class).join()).isEmpty();
+        assertThat(adapter.isDegraded()).isTrue();
+
+        adapter.put("weather:{london,gb}", "cloudy", Duration.ofMinutes(10));
+        assertThat(adapter.getAsync("weather:{london,gb}", String.class).join()).contains("cloudy");
+        assertThat(adapter.getAllAsync(List.of("weather:{london,gb}"), String.class).join())
+            .containsEntry("weather:{london,gb}", "cloudy");
+        verify(reactiveValues, times(1)).get(anyString());
+    }
+}
@@ -0,0 +1,162 @@
+package com.weather.adapters.outbound.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.weather.application.service.CacheKeys;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.lettuce.core.ReadFrom;
+import io.lettuce.core.cluster.SlotHash;
+import io.lettuce.core.internal.HostAndPort;
+import io.lettuce.core.metrics.MicrometerCommandLatencyRecorder;
+import io.lettuce.core.metrics.MicrometerOptions;
+import io.lettuce.core.resource.ClientResources;
+import io.lettuce.core.resource.DnsResolvers;
+import io.lettuce.core.resource.MappingSocketAddressResolver;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.RedisClusterConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceClientConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.serializer.StringRedisSerializer;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.containers.wait.strategy.Wait;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+/**
+ * Runs the cache adapter against a three-primary, three-replica Redis Cluster.
+ * The nodes announce their container addresses, so the client maps them to the published ports.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+@DisplayName("Redis Cluster Cache Integration Tests")
+class RedisClusterCacheIntegrationTest {
+
+    private static final List<Integer> PORTS = List.of(7000, 7001, 7002, 7003, 7004, 7005);
+
+    @Container
+    static GenericContainer<?> cluster = new GenericContainer<>(DockerImageName.parse("grokzen/redis-cluster:7.0.10"))
+        .withExposedPorts(PORTS.toArray(Integer[]::new))
+        .waitingFor(Wait.forLogMessage(".*Cluster state changed: ok.*", 1));
+
+    private static SimpleMeterRegistry meterRegistry;
+    private static ClientResources clientResources;
+    private static LettuceConnectionFactory connectionFactory;
+    private static RedisTemplate<String, String> redisTemplate;
+    private static RedisCacheAdapter adapter;
+
+    @BeforeAll
+    static void connect() {
+        meterRegistry = new SimpleMeterRegistry();
+        clientResources = ClientResources.builder()
+            .socketAddressResolver(MappingSocketAddressResolver.create(DnsResolvers.UNRESOLVED,
+                announced -> HostAndPort.of(cluster.getHost(), cluster.getMappedPort(announced.getPort()))))
+            .commandLatencyRecorder(new MicrometerCommandLatencyRecorder(meterRegistry, MicrometerOptions.create()))
+            .build();
+
+        RedisClusterConfiguration clusterConfiguration = new RedisClusterConfiguration(
+            List.of(cluster.getHost() + ":" + cluster.getMappedPort(7000)));
+        LettuceClientConfiguration clientConfiguration = LettuceClientConfiguration.builder()
+            .clientResources(clientResources)
+            .readFrom(ReadFrom.REPLICA_PREFERRED)
+            .commandTimeout(Duration.ofSeconds(2))
+            .build();
+        connectionFactory = new LettuceConnectionFactory(clusterConfiguration, clientConfiguration);
+        connectionFactory.afterPropertiesSet();
+        connectionFactory.start();
+
+        redisTemplate = new RedisTemplate<>();
+        redisTemplate.setConnectionFactory(connectionFactory);
+        redisTemplate.setKeySerializer(new StringRedisSerializer());
+        redisTemplate.setValueSerializer(new StringRedisSerializer());
+        redisTemplate.afterPropertiesSet();
+
+        adapter = new RedisCacheAdapter(redisTemplate, new ReactiveStringRedisTemplate(connectionFactory),
+            new ObjectMapper(), CircuitBreakerRegistry.ofDefaults(), meterRegistry);
+        ReflectionTestUtils.setField(adapter, "localMaxEntries", 10);
+        adapter.init();
+    }
+
+    @AfterAll
+    static void disconnect() {
+        if (connectionFactory != null) {
+            connectionFactory.destroy();
+        }
+        if (clientResources != null) {
+            clientResources.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("Should keep all entries of a location in one hash slot")
+    void shouldCoLocateLocationKeys() {
+        String location = "london,gb";
+        adapter.put(CacheKeys.weather(location), "cloudy", Duration.ofMinutes(5));
+        adapter.put(CacheKeys.aqi(location), 42, Duration.ofMinutes(5));
+        adapter.put(CacheKeys.forecast(location), List.of("rain"), Duration.ofMinutes(5));
+
+        Set<Integer> slots = Set.of(SlotHash.getSlot(CacheKeys.weather(location)),
+            SlotHash.getSlot(CacheKeys.aqi(location)), SlotHash.getSlot(CacheKeys.forecast(location)));
+        assertThat(slots).hasSize(1);
+
+        // A raw MGET fails with CROSSSLOT unless the keys share a slot
+        List<byte[]> values = redisTemplate.execute(connection -> connection.stringCommands().mGet(
+            bytes(CacheKeys.weather(location)), bytes(CacheKeys.aqi(location)), bytes(CacheKeys.forecast(location))),
+            true);
+        assertThat(values).hasSize(3).doesNotContainNull();
+    }
+
+    @Test
+    @DisplayName("Should read, evict and evict by pattern across shards")
+    void shouldServeAcrossShards() {
+        List<String> locations = IntStream.range(0, 30).mapToObj(i -> "city" + i + ",gb").toList();
+        locations.forEach(location -> adapter.put(CacheKeys.weather(location), location, Duration.ofMinutes(5)));
+
+        // Replica reads may briefly trail the primary
+        await().atMost(Duration.ofSeconds(5)).untilAsserted(() ->
+            assertThat(adapter.get(CacheKeys.weather("city7,gb"), String.class)).contains("city7,gb"));
+        List<String> keys = locations.stream().map(CacheKeys::weather).toList();
+        await().atMost(Duration.ofSeconds(5)).untilAsserted(() ->
+            assertThat(adapter.getAllAsync(keys, String.class).join()).hasSize(locations.size()));
+
+        adapter.evict(CacheKeys.weather("city7,gb"));
+        assertThat(redisTemplate.hasKey(CacheKeys.weather("city7,gb"))).isFalse();
+
+        adapter.evictPattern("weather:{city*");
+        assertThat(redisTemplate.keys("weather:{city*")).isEmpty();
+        assertThat(adapter.isDegraded()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should record command latency per cluster node")
+    void shouldRecordLatencyPerNode() {
+        IntStream.range(0, 50).forEach(i -> adapter.put(CacheKeys.weather("town" + i + ",gb"), i, Duration.ofMinutes(1)));
+
+        Set<String> nodes = meterRegistry.getMeters().stream()
+            .filter(meter -> meter.getId().getName().equals("lettuce.command.completion"))
+            .map(Meter::getId)
+            .map(id -> id.getTag("remote"))
+            .collect(Collectors.toSet());
+        assertThat(nodes).hasSizeGreaterThanOrEqualTo(3);
+    }
+
+    private static byte[] bytes(String key) {
+        return key.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,95 @@
+package com.weather.adapters.outbound.persistence;
+
+import com.weather.adapters.inbound.rest.BaseIntegrationTest;
+import com.weather.application.port.output.StoragePort;
+import com.weather.domain.model.Location;
+import com.weather.domain.model.WeatherReading;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Dictionary-encoded conditions and the real/smallint measurement columns
+ */
+@DisplayName("Condition Dictionary Integration Tests")
+class ConditionDictionaryIntegrationTest extends BaseIntegrationTest {
+
+    @Autowired
+    private StoragePort storage;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Test
+    @DisplayName("Should store a condition once and read readings back unchanged")
+    void shouldRoundTripThroughDictionary() {
+        Instant observed = Instant.now().truncatedTo(ChronoUnit.SECONDS);
+
+        storage.saveWeatherReading(reading(observed.minusSeconds(600), "Dictionary"));
+        storage.saveWeatherReading(reading(observed, "Dictionary"));
+
+        assertThat(jdbc.queryForObject(
+            "SELECT count(*) FROM weather_conditions WHERE main = 'Drizzle' AND description = 'light drizzle'",
+            Integer.class)).isEqualTo(1);
+        assertThat(storage.getLatestWeatherReading("dictionary,gb")).hasValueSatisfying(latest -> {
+            assertThat(latest.getConditionCode()).isEqualTo(300);
+            assertThat(latest.getWeatherCondition()).isEqualTo("Drizzle");
+            assertThat(latest.getWeatherDescription()).isEqualTo("light drizzle");
+            assertThat(latest.getWeatherIcon()).isNull();
+            assertThat(latest.getTemperatureCelsius()).isEqualTo(12.3);
+            assertThat(latest.getPressure()).isEqualTo(1013.25);
+            assertThat(latest.getWindDirection()).isEqualTo(270);
+        });
+    }
+
+    @Test
+    @DisplayName("Should resolve condition texts of the previous release and fill them in for it")
+    void shouldKeepPreviousReleaseColumns() {
+        // The previous release writes the texts without condition_id
+        jdbc.update("""
+            INSERT INTO weather_readings (location_key, city, country, timestamp, weather_condition,
+                weather_description, data_source, created_at)
+            VALUES ('previous,gb', 'Previous', 'GB', now(), 'Mist', 'mist', 'OPENWEATHER_API', now())
+            """);
+        Integer conditionId = jdbc.queryForObject(
+            "SELECT condition_id FROM weather_readings WHERE location_key = 'previous,gb'", Integer.class);
+        assertThat(jdbc.queryForMap("SELECT main, description, icon FROM weather_conditions WHERE id = ?", conditionId))
+            .containsEntry("main", "Mist")
+            .containsEntry("description", "mist")
+            .containsEntry("icon", "");
+
+        // This release writes condition_id alone
+        jdbc.update("""
+            INSERT INTO forecasts (location_key, city, country, forecast_date, condition_id, data_source, created_at)
+            VALUES ('previous,gb', 'Previous', 'GB', current_date, ?, 'OPENWEATHER_API', now())
+            """, conditionId);
+        assertThat(jdbc.queryForMap("""
+            SELECT weather_condition, weather_description, weather_icon FROM forecasts
+            WHERE location_key = 'previous,gb'
+            """))
+            .containsEntry("weather_condition", "Mist")
+            .containsEntry("weather_description", "mist")
+            .containsEntry("weather_icon", null);
+    }
+
+    private static WeatherReading reading(Instant observed, String city) {
+        return WeatherReading.builder()
+            .location(Location.builder().city(city).country("GB").build())
+            .timestamp(observed)
+            .temperatureCelsius(12.3)
+            .pressure(1013.25)
+            .windDirection(270)
+            .conditionCode(300)
+            .weatherCondition("Drizzle")
+            .weatherDescription("light drizzle")
+            .dataSource(WeatherReading.DataSource.OPENWEATHER_API)
+            .createdAt(Instant.now())
+            .build();
+    }
+}
@@ -0,0 +1,88 @@
+package com.weather.adapters.outbound.persistence;
+
+import com.weather.adapters.inbound.rest.BaseIntegrationTest;
+import com.weather.application.port.output.StoragePort;
+import com.weather.domain.model.Forecast;
+import com.weather.domain.model.Location;
+import com.weather.domain.model.WeatherReading;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Forecast revisions and retention against PostgreSQL
+ */
+@DisplayName("Forecast Revision Integration Tests")
+class ForecastRevisionIntegrationTest extends BaseIntegrationTest {
+
+    private static final String LOCATION_KEY = "revision,gb";
+    private static final String OF_LOCATION = " WHERE location_id = (SELECT id FROM locations WHERE location_key = ?)";
+
+    @Autowired
+    private StoragePort storage;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Autowired
+    private ForecastRetentionJob retentionJob;
+
+    @Test
+    @DisplayName("Should keep one row per date holding the latest revision")
+    void shouldReplaceOlderRevision() {
+        LocalDate tomorrow = Location.earliestToday().plusDays(1);
+        Instant issued = Instant.now().truncatedTo(ChronoUnit.SECONDS);
+
+        storage.saveForecast(forecast(tomorrow, 10.0, issued));
+        storage.saveForecast(forecast(tomorrow, 12.0, issued.plusSeconds(3600)));
+        storage.saveForecast(forecast(tomorrow, 99.0, issued.minusSeconds(3600)));
+
+        List<Forecast> stored = storage.getForecasts(LOCATION_KEY, tomorrow, 5);
+        assertThat(stored).hasSize(1);
+        assertThat(stored.get(0).getTempMax()).isEqualTo(12.0);
+        assertThat(jdbc.queryForObject("SELECT revision FROM forecasts" + OF_LOCATION,
+            Integer.class, LOCATION_KEY)).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should serve forecasts from today onward and purge past dates")
+    void shouldServeUpcomingAndPurgePast() {
+        LocalDate today = Location.earliestToday();
+        Instant issued = Instant.now();
+        for (int offset = -5; offset <= 3; offset++) {
+            storage.saveForecast(forecast(today.plusDays(offset), 10.0 + offset, issued));
+        }
+
+        assertThat(storage.getForecasts(LOCATION_KEY, today, 3)).extracting(Forecast::getDate)
+            .containsExactly(today, today.plusDays(1), today.plusDays(2));
+        // Where the date has already moved on, its today comes first
+        LocalDate aheadToday = Location.builder().timezone("+14:00").build().today();
+        assertThat(aheadToday).isEqualTo(LocalDate.now(ZoneOffset.ofHours(14)));
+        assertThat(storage.getForecasts(LOCATION_KEY, aheadToday, 1)).extracting(Forecast::getDate)
+            .containsExactly(aheadToday);
+
+        retentionJob.purge();
+
+        assertThat(jdbc.queryForObject("SELECT min(forecast_date) FROM forecasts" + OF_LOCATION,
+            LocalDate.class, LOCATION_KEY)).isEqualTo(today.minusDays(1));
+    }
+
+    private static Forecast forecast(LocalDate date, double tempMax, Instant issuedAt) {
+        return Forecast.builder()
+            .location(Location.builder().city("Revision").country("GB").build())
+            .date(date)
+            .tempMax(tempMax)
+            .dataSource(WeatherReading.DataSource.OPENWEATHER_API)
+            .createdAt(issuedAt)
+            .build();
+    }
+}
@@ -0,0 +1,73 @@
+package com.weather.adapters.outbound.persistence;
+
+import com.weather.adapters.inbound.rest.BaseIntegrationTest;
+import com.weather.application.port.output.StoragePort;
+import com.weather.domain.model.Location;
+import com.weather.domain.model.WeatherReading;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The latest_readings pointer kept next to the reading history
+ */
+@DisplayName("Latest Reading Integration Tests")
+class LatestReadingIntegrationTest extends BaseIntegrationTest {
+
+    private static final String OF_LOCATION = " WHERE location_id = (SELECT id FROM locations WHERE location_key = ?)";
+
+    @Autowired
+    private StoragePort storage;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Test
+    @DisplayName("Should point at the newest observation even when an older one arrives later")
+    void shouldFollowNewestObservation() {
+        Instant observed = Instant.now().truncatedTo(ChronoUnit.SECONDS);
+
+        storage.saveWeatherReading(reading("Pointer", observed.minusSeconds(600)));
+        WeatherReading newest = storage.saveWeatherReading(reading("Pointer", observed));
+        storage.saveWeatherReading(reading("Pointer", observed.minusSeconds(300)));
+
+        assertThat(storage.getLatestWeatherReading("pointer,gb"))
+            .hasValueSatisfying(latest -> assertThat(latest.getId()).isEqualTo(newest.getId()));
+    }
+
+    @Test
+    @DisplayName("Should look up several locations together and backfill missing pointers")
+    void shouldBatchAndBackfill() {
+        Instant observed = Instant.now().truncatedTo(ChronoUnit.SECONDS);
+        WeatherReading first = storage.saveWeatherReading(reading("First", observed));
+        WeatherReading second = storage.saveWeatherReading(reading("Second", observed));
+        jdbc.update("DELETE FROM latest_readings" + OF_LOCATION, "second,gb");
+
+        Map<String, WeatherReading> latest = storage.getLatestWeatherReadings(
+            List.of("first,gb", "second,gb", "nowhere,gb"));
+
+        assertThat(latest).containsOnlyKeys("first,gb", "second,gb");
+        assertThat(latest.get("first,gb").getId()).isEqualTo(first.getId());
+        assertThat(latest.get("second,gb").getId()).isEqualTo(second.getId());
+        assertThat(jdbc.queryForObject("SELECT reading_id FROM latest_readings" + OF_LOCATION,
+            Long.class, "second,gb")).isEqualTo(second.getId());
+    }
+
+    private static WeatherReading reading(String city, Instant observed) {
+        return WeatherReading.builder()
+            .location(Location.builder().city(city).country("GB").build())
+            .timestamp(observed)
+            .temperatureCelsius(12.5)
+            .dataSource(WeatherReading.DataSource.OPENWEATHER_API)
+            .createdAt(Instant.now())
+            .build();
+    }
+}
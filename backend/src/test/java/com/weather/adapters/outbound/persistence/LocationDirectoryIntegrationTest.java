@@ -0,0 +1,96 @@
+package com.weather.adapters.outbound.persistence;
+
+import com.weather.adapters.inbound.rest.BaseIntegrationTest;
+import com.weather.application.port.output.StoragePort;
+import com.weather.domain.model.Location;
+import com.weather.domain.model.WeatherHistoryRow;
+import com.weather.domain.model.WeatherReading;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Readings stored against a shared locations row
+ */
+@DisplayName("Location Directory Integration Tests")
+class LocationDirectoryIntegrationTest extends BaseIntegrationTest {
+
+    @Autowired
+    private StoragePort storage;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Test
+    @DisplayName("Should store a location once and fill in coordinates learned later")
+    void shouldShareLocationRow() {
+        Instant observed = Instant.now().truncatedTo(ChronoUnit.SECONDS);
+
+        storage.saveWeatherReading(reading(Location.builder().city("Shared").country("GB").build(), observed));
+        storage.saveWeatherReading(reading(Location.builder().city("shared").country("gb")
+            .latitude(51.5).longitude(-0.12).build(), observed.plusSeconds(600)));
+
+        assertThat(jdbc.queryForObject("SELECT count(*) FROM locations WHERE location_key = 'shared,gb'",
+            Integer.class)).isEqualTo(1);
+        List<WeatherHistoryRow> history = storage.getWeatherHistory("shared,gb",
+            observed.minusSeconds(60), observed.plusSeconds(660));
+        assertThat(history).extracting(WeatherHistoryRow::timestamp)
+            .containsExactly(observed, observed.plusSeconds(600));
+        assertThat(storage.getLatestWeatherReading("shared,gb")).hasValueSatisfying(reading -> {
+            assertThat(reading.getLocation().getCity()).isEqualTo("Shared");
+            assertThat(reading.getLocation().getLatitude()).isEqualTo(51.5);
+        });
+        assertThat(storage.getKnownLocationKeys()).contains("shared,gb");
+    }
+
+    @Test
+    @DisplayName("Should find nothing for a location that was never stored")
+    void shouldIgnoreUnknownLocation() {
+        Instant now = Instant.now();
+
+        assertThat(storage.getWeatherHistory("unstored,gb", now.minusSeconds(3600), now)).isEmpty();
+        assertThat(storage.getLatestWeatherReading("unstored,gb")).isEmpty();
+        assertThat(jdbc.queryForObject("SELECT count(*) FROM locations WHERE location_key = 'unstored,gb'",
+            Integer.class)).isZero();
+    }
+
+    @Test
+    @DisplayName("Should link rows of the previous release and fill in the columns it reads")
+    void shouldKeepPreviousReleaseColumns() {
+        // The previous release writes the key and names without location_id
+        jdbc.update("""
+            INSERT INTO weather_readings (location_key, city, country, latitude, longitude, timestamp, data_source, created_at)
+            VALUES ('previous,gb', 'Previous', 'GB', 51.5, -0.12, now(), 'OPENWEATHER_API', now())
+            """);
+        Integer locationId = jdbc.queryForObject(
+            "SELECT location_id FROM weather_readings WHERE location_key = 'previous,gb'", Integer.class);
+        assertThat(jdbc.queryForObject("SELECT latitude FROM locations WHERE id = ?", Double.class, locationId))
+            .isEqualTo(51.5);
+
+        // This release writes location_id alone
+        jdbc.update("""
+            INSERT INTO aqi_readings (location_id, timestamp, aqi, data_source, created_at)
+            VALUES (?, now(), 42, 'IQAIR_API', now())
+            """, locationId);
+        assertThat(jdbc.queryForMap("SELECT location_key, city FROM aqi_readings WHERE location_id = ?", locationId))
+            .containsEntry("location_key", "previous,gb")
+            .containsEntry("city", "Previous");
+    }
+
+    private static WeatherReading reading(Location location, Instant observed) {
+        return WeatherReading.builder()
+            .location(location)
+            .timestamp(observed)
+            .temperatureCelsius(12.5)
+            .dataSource(WeatherReading.DataSource.OPENWEATHER_API)
+            .createdAt(Instant.now())
+            .build();
+    }
+}
@@ -0,0 +1,410 @@
+package com.weather.adapters.outbound.persistence;
+
+import com.weather.adapters.inbound.rest.BaseIntegrationTest;
+import com.weather.adapters.outbound.persistence.repository.*;
+import com.weather.application.port.output.StoragePort;
+import com.weather.domain.model.AQIReading;
+import com.weather.domain.model.Forecast;
+import com.weather.domain.model.Location;
+import com.weather.domain.model.WeatherReading;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.fail;
+
+/**
+ * Plans of the statements the persistence adapter sends, captured at the JDBC driver and run
+ * again under EXPLAIN. The tables hold a handful of rows, so sequential scans are disabled: the
+ * assertions are about which index can serve a query, not about the planner's cost choice.
+ * Whole-table reads (all location keys, the condition dictionary) are left out on purpose.
+ */
+@DisplayName("Query Plan Integration Tests")
+class QueryPlanIntegrationTest extends BaseIntegrationTest {
+
+    private static final List<Executed> EXECUTED = new CopyOnWriteArrayList<>();
+
+    @Autowired
+    private StoragePort storage;
+
+    @Autowired
+    private WeatherReadingRepository weatherRepository;
+
+    @Autowired
+    private AQIReadingRepository aqiRepository;
+
+    @Autowired
+    private ForecastRepository forecastRepository;
+
+    @Autowired
+    private LocationRepository locationRepository;
+
+    @Autowired
+    private SubscriptionRepository subscriptionRepository;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    private final Instant observed = Instant.now().truncatedTo(ChronoUnit.SECONDS);
+    private Integer locationId;
+
+    @BeforeEach
+    void seed() {
+        storage.saveWeatherReading(weather("Planned"));
+        storage.saveAQIReading(aqi("Planned"));
+        locationId = locationRepository.findByLocationKey("planned,gb").orElseThrow().getId();
+    }
+
+    @Test
+    @DisplayName("Should read a location's history through its (location, timestamp) indexes")
+    void shouldReadHistoryByLocation() {
+        Instant from = observed.minus(1, ChronoUnit.DAYS);
+
+        assertThat(planOf("from weather_readings",
+            () -> storage.getWeatherHistory("planned,gb", from, observed)))
+            .containsAnyOf("idx_weather_history", "uq_weather_observation");
+        assertThat(planOf("from weather_readings",
+            () -> weatherRepository.findByLocationIdOrderByTimestampDesc(locationId)))
+            .containsAnyOf("idx_weather_history", "uq_weather_observation");
+        assertThat(planOf("from aqi_readings",
+            () -> storage.getAQIHistory("planned,gb", from, observed)))
+            .containsAnyOf("idx_aqi_history", "uq_aqi_observation");
+        assertThat(planOf("from aqi_readings",
+            () -> aqiRepository.findByLocationIdOrderByTimestampDesc(locationId)))
+            .containsAnyOf("idx_aqi_history", "uq_aqi_observation");
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    @DisplayName("Should answer history ranges from the covering indexes alone")
+    void shouldReadHistoryFromIndexOnly() {
+        // The visibility map VACUUM sets is what lets the planner skip the heap; VACUUM cannot
+        // run in a transaction, so the readings seeded for this test are committed and removed below
+        Instant from = observed.minus(1, ChronoUnit.DAYS);
+        try {
+            jdbc.execute("VACUUM (ANALYZE) weather_readings, aqi_readings");
+
+            assertThat(planOf("from weather_readings", () -> storage.getWeatherHistory("planned,gb", from, observed)))
+                .contains("Index Only Scan using idx_weather_history")
+                .doesNotContain("Sort");
+            assertThat(planOf("from aqi_readings", () -> storage.getAQIHistory("planned,gb", from, observed)))
+                .contains("Index Only Scan using idx_aqi_history")
+                .doesNotContain("Sort");
+        } finally {
+            jdbc.update("DELETE FROM latest_readings WHERE location_id = ?", locationId);
+            jdbc.update("DELETE FROM weather_readings WHERE location_id = ?", locationId);
+            jdbc.update("DELETE FROM aqi_readings WHERE location_id = ?", locationId);
+        }
+    }
+
+    @Test
+    @DisplayName("Should find the newest reading of a location without sorting its history")
+    void shouldFindNewestReading() {
+        assertThat(planOf("from weather_readings",
+            () -> weatherRepository.findTopByLocationIdOrderByTimestampDesc(locationId)))
+            .containsAnyOf("idx_weather_history", "uq_weather_observation")
+            .doesNotContain("Sort");
+        assertThat(planOf("from aqi_readings",
+            () -> aqiRepository.findTopByLocationIdOrderByTimestampDesc(locationId)))
+            .containsAnyOf("idx_aqi_history", "uq_aqi_observation")
+            .doesNotContain("Sort");
+    }
+
+    @Test
+    @DisplayName("Should follow latest_readings pointers by primary key")
+    void shouldFollowLatestPointers() {
+        assertThat(planOf("from weather_readings",
+            () -> weatherRepository.findLatestByLocationIdIn(List.of(locationId))))
+            .contains("latest_readings_pkey", "weather_readings_pkey");
+        assertThat(planOf("from aqi_readings",
+            () -> aqiRepository.findLatestByLocationIdIn(List.of(locationId))))
+            .contains("latest_readings_pkey", "aqi_readings_pkey");
+    }
+
+    @Test
+    @DisplayName("Should serve every forecast query from the (location, date) unique index")
+    void shouldServeForecastsFromUniqueIndex() {
+        LocalDate today = LocalDate.now(ZoneOffset.UTC);
+        storage.saveForecast(forecast("Planned", today));
+
+        assertThat(planOf("from forecasts",
+            () -> forecastRepository.findByLocationIdOrderByForecastDateAsc(locationId)))
+            .contains("uq_forecast_location_date");
+        assertThat(planOf("from forecasts",
+            () -> forecastRepository.findByLocationIdAndForecastDateGreaterThanEqualOrderByForecastDateAsc(
+                locationId, today, Limit.of(5))))
+            .contains("uq_forecast_location_date");
+        assertThat(planOf("from forecasts",
+            () -> forecastRepository.findByLocationIdAndForecastDateBetween(locationId, today, today.plusDays(5))))
+            .contains("uq_forecast_location_date");
+        assertThat(planOf("from forecasts",
+            () -> forecastRepository.deleteByLocationIdAndForecastDateBefore(locationId, today.minusDays(1))))
+            .contains("uq_forecast_location_date");
+        assertThat(planOf("from forecasts", forecastRepository::findDistinctLocationIds))
+            .contains("uq_forecast_location_date");
+    }
+
+    @Test
+    @DisplayName("Should look up locations and subscriptions by index")
+    void shouldLookUpByIndex() {
+        assertThat(planOf("from locations", () -> locationRepository.findByLocationKey("planned,gb")))
+            .contains("uq_location_key");
+        assertThat(planOf("from subscriptions", () -> subscriptionRepository.findByUserId("planner")))
+            .contains("idx_subscription_user");
+        assertThat(planOf("from subscriptions", subscriptionRepository::findByActiveTrue))
+            .contains("idx_subscription_active");
+        assertThat(planOf("from subscriptions", () -> subscriptionRepository.findByUserIdAndActiveTrue("planner")))
+            .contains("idx_subscription_");
+    }
+
+    @Test
+    @DisplayName("Should resolve write conflicts on the unique indexes")
+    void shouldResolveConflictsOnUniqueIndexes() {
+        assertThat(planOf("INSERT INTO weather_readings", () -> storage.saveWeatherReading(weather("Conflict"))))
+            .contains("uq_weather_observation");
+        assertThat(planOf("INSERT INTO aqi_readings", () -> storage.saveAQIReading(aqi("Conflict"))))
+            .contains("uq_aqi_observation");
+        assertThat(planOf("INSERT INTO latest_readings", () -> storage.saveWeatherReading(weather("Pointed"))))
+            .contains("latest_readings_pkey");
+        assertThat(planOf("INSERT INTO forecasts",
+            () -> storage.saveForecast(forecast("Conflict", LocalDate.now(ZoneOffset.UTC)))))
+            .contains("uq_forecast_location_date");
+        assertThat(planOf("INSERT INTO locations", () -> storage.saveWeatherReading(weather("Unplanned"))))
+            .contains("uq_location_key");
+        WeatherReading unseenCondition = weather("Planned");
+        unseenCondition.setWeatherDescription("plan-only drizzle");
+        assertThat(planOf("INSERT INTO weather_conditions", () -> storage.saveWeatherReading(unseenCondition)))
+            .contains("uq_weather_condition");
+    }
+
+    @Test
+    @DisplayName("Should scan a time window across locations with the BRIN indexes")
+    void shouldScanTimeWindowWithBrin() {
+        // Without a location a B-tree is read whole, which only beats BRIN's block ranges on a few
+        // pages; a couple of weeks of minutely readings, rolled back with the test, make it a real choice
+        jdbc.update("""
+            INSERT INTO weather_readings (location_id, timestamp, temperature_celsius, data_source, created_at)
+            SELECT ?, now() - g * interval '1 minute', 9.5, 'OPENWEATHER_API', now() FROM generate_series(1, 20000) g
+            """, locationId);
+        jdbc.update("""
+            INSERT INTO aqi_readings (location_id, timestamp, aqi, data_source, created_at)
+            SELECT ?, now() - g * interval '1 minute', 42, 'IQAIR_API', now() FROM generate_series(1, 20000) g
+            """, locationId);
+        jdbc.execute("ANALYZE weather_readings, aqi_readings");
+        OffsetDateTime to = observed.atOffset(ZoneOffset.UTC);
+        OffsetDateTime from = to.minusHours(1);
+
+        assertThat(plan("SELECT count(*) FROM weather_readings WHERE timestamp >= ? AND timestamp < ?", from, to))
+            .contains("brin_weather_timestamp");
+        assertThat(plan("SELECT count(*) FROM aqi_readings WHERE timestamp >= ? AND timestamp < ?", from, to))
+            .contains("brin_aqi_timestamp");
+    }
+
+    /**
+     * EXPLAIN of the last statement containing sqlFragment that call sent, with the same bindings
+     */
+    private String planOf(String sqlFragment, Runnable call) {
+        EXECUTED.clear();
+        call.run();
+        List<Executed> matching = EXECUTED.stream()
+            .filter(executed -> executed.sql().toLowerCase().contains(sqlFragment.toLowerCase()))
+            .toList();
+        if (matching.isEmpty()) {
+            fail("No statement containing '" + sqlFragment + "' among " + EXECUTED);
+        }
+        Executed executed = matching.get(matching.size() - 1);
+        String plan = explain(executed.sql(), statement -> {
+            for (Binding binding : executed.bindings()) {
+                binding.applyTo(statement);
+            }
+        });
+        assertThat(plan).as(executed.sql()).doesNotContain("Seq Scan");
+        return plan;
+    }
+
+    private String plan(String sql, Object... args) {
+        return explain(sql, statement -> {
+            for (int i = 0; i < args.length; i++) {
+                statement.setObject(i + 1, args[i]);
+            }
+        });
+    }
+
+    private String explain(String sql, Binder binder) {
+        return jdbc.execute((ConnectionCallback<String>) connection -> {
+            try (Statement settings = connection.createStatement()) {
+                settings.execute("SET enable_seqscan = off");
+                try (PreparedStatement explain = connection.prepareStatement("EXPLAIN " + sql)) {
+                    binder.bind(explain);
+                    StringBuilder plan = new StringBuilder();
+                    try (ResultSet rows = explain.executeQuery()) {
+                        while (rows.next()) {
+                            plan.append(rows.getString(1)).append('\n');
+                        }
+                    }
+                    return plan.toString();
+                } finally {
+                    settings.execute("RESET enable_seqscan");
+                }
+            }
+        });
+    }
+
+    private static WeatherReading weather(String city) {
+        return WeatherReading.builder()
+            .location(Location.builder().city(city).country("GB").build())
+            .timestamp(Instant.now().truncatedTo(ChronoUnit.SECONDS))
+            .temperatureCelsius(9.5)
+            .conditionCode(500)
+            .weatherCondition("Rain")
+            .weatherDescription("light rain")
+            .dataSource(WeatherReading.DataSource.OPENWEATHER_API)
+            .createdAt(Instant.now())
+            .build();
+    }
+
+    private static AQIReading aqi(String city) {
+        return AQIReading.builder()
+            .location(Location.builder().city(city).country("GB").build())
+            .timestamp(Instant.now().truncatedTo(ChronoUnit.SECONDS))
+            .aqi(42)
+            .pm25(8.0)
+            .dataSource(WeatherReading.DataSource.IQAIR_API)
+            .createdAt(Instant.now())
+            .build();
+    }
+
+    private static Forecast forecast(String city, LocalDate date) {
+        return Forecast.builder()
+            .location(Location.builder().city(city).country("GB").build())
+            .date(date)
+            .tempMax(14.0)
+            .tempMin(6.0)
+            .createdAt(Instant.now())
+            .build();
+    }
+
+    @FunctionalInterface
+    private interface Binder {
+        void bind(PreparedStatement statement) throws SQLException;
+    }
+
+    private record Executed(String sql, List<Binding> bindings) {
+    }
+
+    private record Binding(Method setter, Object[] args) {
+
+        void applyTo(PreparedStatement statement) throws SQLException {
+            try {
+                setter.invoke(statement, args);
+            } catch (InvocationTargetException e) {
+                if (e.getCause() instanceof SQLException sql) {
+                    throw sql;
+                }
+                throw new IllegalStateException(e.getCause());
+            } catch (IllegalAccessException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+
+    /**
+     * Wraps the application's DataSource so every executed prepared statement is recorded
+     * together with its parameter setter calls
+     */
+    @TestConfiguration
+    static class StatementRecording {
+
+        private static final Set<String> EXECUTE = Set.of("execute", "executeQuery", "executeUpdate", "executeLargeUpdate");
+
+        @Bean
+        static BeanPostProcessor recordingDataSource() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    return bean instanceof DataSource dataSource
+                        ? wrap(DataSource.class, dataSource, (method, result, args) ->
+                            result instanceof Connection connection ? wrapConnection(connection) : result)
+                        : bean;
+                }
+            };
+        }
+
+        private static Connection wrapConnection(Connection connection) {
+            return wrap(Connection.class, connection, (method, result, args) ->
+                result instanceof PreparedStatement statement && method.getName().equals("prepareStatement")
+                    ? wrapStatement(statement, (String) args[0])
+                    : result);
+        }
+
+        private static PreparedStatement wrapStatement(PreparedStatement statement, String sql) {
+            List<Binding> bindings = new ArrayList<>();
+            return wrap(PreparedStatement.class, statement, (method, result, args) -> {
+                String name = method.getName();
+                if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer) {
+                    bindings.add(new Binding(method, args.clone()));
+                } else if (name.equals("clearParameters")) {
+                    bindings.clear();
+                } else if (EXECUTE.contains(name) && (args == null || args.length == 0)) {
+                    EXECUTED.add(new Executed(sql, List.copyOf(bindings)));
+                }
+                return result;
+            });
+        }
+
+        @SuppressWarnings("unchecked")
+        private static <T> T wrap(Class<T> type, T target, AfterCall afterCall) {
+            InvocationHandler handler = (proxy, method, args) -> {
+                switch (method.getName()) {
+                    case "equals":
+                        return proxy == args[0];
+                    case "hashCode":
+                        return System.identityHashCode(proxy);
+                    default:
+                        break;
+                }
+                try {
+                    return afterCall.apply(method, method.invoke(target, args), args);
+                } catch (InvocationTargetException e) {
+                    throw e.getCause();
+                }
+            };
+            return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, handler);
+        }
+
+        @FunctionalInterface
+        private interface AfterCall {
+            Object apply(Method method, Object result, Object[] args);
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.weather.adapters.outbound.persistence;
+
+import com.weather.adapters.inbound.rest.BaseIntegrationTest;
+import com.weather.application.port.output.StoragePort;
+import com.weather.domain.model.Location;
+import com.weather.domain.model.WeatherReading;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Idempotent reading inserts against PostgreSQL
+ */
+@DisplayName("Reading Deduplication Integration Tests")
+class ReadingDeduplicationIntegrationTest extends BaseIntegrationTest {
+
+    private static final String LOCATION_KEY = "dedupe,gb";
+    private static final String OF_LOCATION = " WHERE location_id = (SELECT id FROM locations WHERE location_key = ?)";
+
+    @Autowired
+    private StoragePort storage;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @AfterEach
+    void cleanUp() {
+        jdbc.update("DELETE FROM weather_readings" + OF_LOCATION, LOCATION_KEY);
+    }
+
+    @Test
+    @DisplayName("Should store a repeated observation only once")
+    void shouldIgnoreRepeatedObservation() {
+        Instant observed = Instant.now().truncatedTo(ChronoUnit.SECONDS);
+
+        WeatherReading first = storage.saveWeatherReading(reading(observed));
+        WeatherReading repeat = storage.saveWeatherReading(reading(observed));
+        storage.saveWeatherReading(reading(observed.plusSeconds(600)));
+
+        assertThat(first.getId()).isNotNull();
+        assertThat(repeat.getId()).isNull();
+        assertThat(rows()).isEqualTo(2);
+    }
+
+    private int rows() {
+        return jdbc.queryForObject("SELECT count(*) FROM weather_readings" + OF_LOCATION,
+            Integer.class, LOCATION_KEY);
+    }
+
+    private static WeatherReading reading(Instant observed) {
+        return WeatherReading.builder()
+            .location(Location.builder().city("Dedupe").country("GB").build())
+            .timestamp(observed)
+            .temperatureCelsius(12.5)
+            .dataSource(WeatherReading.DataSource.OPENWEATHER_API)
+            .createdAt(Instant.now())
+            .build();
+    }
+}
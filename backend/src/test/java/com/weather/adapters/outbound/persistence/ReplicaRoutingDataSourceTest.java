@@ -0,0 +1,90 @@
+package com.weather.adapters.outbound.persistence;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests for choosing the pool of a read-only transaction
+ */
+@DisplayName("Replica Routing Data Source Tests")
+class ReplicaRoutingDataSourceTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final DataSource primary = mock(DataSource.class);
+    private final DataSource first = mock(DataSource.class);
+    private final DataSource second = mock(DataSource.class);
+
+    @Test
+    @DisplayName("Should read from the primary until a replica's lag has been measured")
+    void shouldWaitForFirstLagCheck() {
+        ReplicaRoutingDataSource routing = routing();
+
+        assertThat(routing.route()).isSameAs(primary);
+
+        routing.recordLag("first", 0.4);
+        assertThat(routing.route()).isSameAs(first);
+    }
+
+    @Test
+    @DisplayName("Should take current replicas in turn")
+    void shouldRotateAcrossReplicas() {
+        ReplicaRoutingDataSource routing = routing();
+        routing.recordLag("first", 0.0);
+        routing.recordLag("second", 2.0);
+
+        assertThat(routing.route()).isSameAs(first);
+        assertThat(routing.route()).isSameAs(second);
+        assertThat(routing.route()).isSameAs(first);
+        assertThat(meterRegistry.get("weather.storage.reads").tag("pool", "first").counter().count()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should skip a lagging replica and fall back to the primary when none is current")
+    void shouldFallBackOnLag() {
+        ReplicaRoutingDataSource routing = routing();
+        routing.recordLag("first", 30.0);
+        routing.recordLag("second", 0.0);
+
+        assertThat(routing.route()).isSameAs(second);
+        assertThat(routing.route()).isSameAs(second);
+
+        routing.recordLag("second", 11.0);
+        assertThat(routing.route()).isSameAs(primary);
+        assertThat(meterRegistry.get("weather.storage.reads").tag("pool", "primary").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("weather.storage.replica.lag").tag("replica", "first").gauge().value())
+            .isEqualTo(30.0);
+    }
+
+    @Test
+    @DisplayName("Should treat a replica it cannot reach as behind")
+    void shouldSkipUnreachableReplica() throws SQLException {
+        ReplicaRoutingDataSource routing = routing();
+        routing.recordLag("first", 0.0);
+        routing.recordLag("second", 0.0);
+        when(first.getConnection()).thenThrow(new SQLException("Connection refused"));
+        when(second.getConnection()).thenThrow(new SQLException("Connection refused"));
+
+        routing.checkLag();
+
+        assertThat(routing.route()).isSameAs(primary);
+        assertThat(meterRegistry.get("weather.storage.replica.lag").tag("replica", "second").gauge().value()).isNaN();
+    }
+
+    private ReplicaRoutingDataSource routing() {
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        replicas.put("first", first);
+        replicas.put("second", second);
+        return new ReplicaRoutingDataSource(primary, replicas, Duration.ofSeconds(10), meterRegistry);
+    }
+}
@@ -0,0 +1,134 @@
+package com.weather.adapters.outbound.persistence;
+
+import com.weather.config.ReplicaDataSourceConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Routes transactions between two PostgreSQL servers wired like ReplicaDataSourceConfig.
+ * The second server is not a streaming replica; each holds a row naming itself, so a query
+ * shows which one answered.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+@DisplayName("Replica Routing Integration Tests")
+class ReplicaRoutingIntegrationTest {
+
+    @Container
+    static PostgreSQLContainer<?> primaryContainer = new PostgreSQLContainer<>(DockerImageName.parse("postgres:16-alpine"));
+
+    @Container
+    static PostgreSQLContainer<?> replicaContainer = new PostgreSQLContainer<>(DockerImageName.parse("postgres:16-alpine"));
+
+    private static HikariDataSource primaryPool;
+    private static HikariDataSource replicaPool;
+
+    private SimpleMeterRegistry meterRegistry;
+    private ReplicaRoutingDataSource routing;
+    private JdbcTemplate jdbc;
+    private TransactionTemplate readOnly;
+    private TransactionTemplate readWrite;
+
+    @BeforeAll
+    static void createPools() {
+        primaryPool = pool("primary", primaryContainer);
+        replicaPool = pool("replica", replicaContainer);
+        for (HikariDataSource pool : new HikariDataSource[]{primaryPool, replicaPool}) {
+            JdbcTemplate server = new JdbcTemplate(pool);
+            server.execute("CREATE TABLE IF NOT EXISTS server (name text)");
+            server.update("INSERT INTO server (name) VALUES (?)", pool.getPoolName());
+        }
+    }
+
+    @AfterAll
+    static void closePools() {
+        primaryPool.close();
+        replicaPool.close();
+    }
+
+    @BeforeEach
+    void route() {
+        meterRegistry = new SimpleMeterRegistry();
+        routing = new ReplicaRoutingDataSource(primaryPool, Map.of("replica", replicaPool),
+            Duration.ofSeconds(10), meterRegistry);
+        DataSource dataSource = new ReplicaDataSourceConfig().dataSource(primaryPool, routing);
+        jdbc = new JdbcTemplate(dataSource);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        readWrite = new TransactionTemplate(transactionManager);
+    }
+
+    @Test
+    @DisplayName("Should serve read-only transactions from a current replica and everything else from the primary")
+    void shouldRouteReadOnlyTransactions() {
+        assertThat(answeredBy(readOnly)).isEqualTo("primary");
+
+        routing.checkLag();
+
+        assertThat(answeredBy(readOnly)).isEqualTo("replica");
+        assertThat(answeredBy(readWrite)).isEqualTo("primary");
+        assertThat(answeredBy()).isEqualTo("primary");
+        assertThat(meterRegistry.get("weather.storage.replica.lag").tag("replica", "replica").gauge().value()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should read from the primary while the replica lags and return once it catches up")
+    void shouldFallBackWhileLagging() {
+        routing.recordLag("replica", 45.0);
+        assertThat(answeredBy(readOnly)).isEqualTo("primary");
+
+        routing.checkLag();
+        assertThat(answeredBy(readOnly)).isEqualTo("replica");
+    }
+
+    @Test
+    @DisplayName("Should report connections in use per pool")
+    void shouldReportPoolUsage() {
+        routing.checkLag();
+
+        Double usedDuringRead = readOnly.execute(status -> {
+            answeredBy();
+            return meterRegistry.get("weather.storage.pool.usage").tag("pool", "replica").gauge().value();
+        });
+
+        assertThat(usedDuringRead).isEqualTo(1.0 / replicaPool.getMaximumPoolSize());
+        assertThat(meterRegistry.get("weather.storage.pool.usage").tag("pool", "primary").gauge().value()).isZero();
+        assertThat(meterRegistry.get("weather.storage.reads").tag("pool", "replica").counter().count()).isEqualTo(1);
+    }
+
+    private String answeredBy(TransactionTemplate transaction) {
+        return transaction.execute(status -> answeredBy());
+    }
+
+    private String answeredBy() {
+        return jdbc.queryForObject("SELECT name FROM server", String.class);
+    }
+
+    private static HikariDataSource pool(String name, PostgreSQLContainer<?> container) {
+        HikariDataSource pool = new HikariDataSource();
+        pool.setPoolName(name);
+        pool.setJdbcUrl(container.getJdbcUrl());
+        pool.setUsername(container.getUsername());
+        pool.setPassword(container.getPassword());
+        pool.setMaximumPoolSize(4);
+        return pool;
+    }
+}
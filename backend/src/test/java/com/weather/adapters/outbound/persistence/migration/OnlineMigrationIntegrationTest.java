@@ -0,0 +1,104 @@
+package com.weather.adapters.outbound.persistence.migration;
+
+import com.weather.adapters.inbound.rest.BaseIntegrationTest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Online schema changes against PostgreSQL, on a scratch table.
+ * Outside the test transaction: indexes are built CONCURRENTLY and each batch commits.
+ */
+@DisplayName("Online Migration Integration Tests")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class OnlineMigrationIntegrationTest extends BaseIntegrationTest {
+
+    @Autowired
+    private DataSource dataSource;
+
+    private Connection connection;
+    private JdbcTemplate jdbc;
+
+    private final OnlineMigration migration = new V0__Scratch();
+
+    @BeforeEach
+    void createTable() throws SQLException {
+        connection = dataSource.getConnection();
+        jdbc = new JdbcTemplate(new SingleConnectionDataSource(connection, true));
+        jdbc.execute("CREATE TABLE online_scratch (id bigserial PRIMARY KEY, k integer, v integer)");
+    }
+
+    @AfterEach
+    void dropTable() throws SQLException {
+        jdbc.execute("DROP TABLE online_scratch");
+        connection.close();
+    }
+
+    @Test
+    @DisplayName("Should remove duplicates batch by batch and build the unique index")
+    void shouldBuildUniqueIndex() {
+        // Three batches, with repeated keys in the last one
+        jdbc.update("INSERT INTO online_scratch (k, v) SELECT n, n FROM generate_series(1, 12000) n");
+        jdbc.update("INSERT INTO online_scratch (k, v) VALUES (1, -1), (2, -2), (2, -3)");
+
+        migration.createUniqueIndex(jdbc, "uq_online_scratch", "online_scratch", "k", "o.id < r.id");
+
+        assertThat(jdbc.queryForObject("SELECT count(*) FROM online_scratch", Integer.class)).isEqualTo(12000);
+        assertThat(jdbc.queryForObject("SELECT v FROM online_scratch WHERE k = 2", Integer.class)).isEqualTo(2);
+        assertThat(OnlineMigration.indexValid(jdbc, "uq_online_scratch")).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should replace an invalid index left by an interrupted build")
+    void shouldRebuildInvalidIndex() {
+        jdbc.update("INSERT INTO online_scratch (k, v) VALUES (1, 1), (1, 2)");
+        assertThatThrownBy(() -> jdbc.execute("CREATE UNIQUE INDEX CONCURRENTLY uq_online_scratch ON online_scratch (k)"))
+            .isInstanceOf(DataIntegrityViolationException.class);
+        assertThat(OnlineMigration.indexValid(jdbc, "uq_online_scratch")).isFalse();
+
+        migration.createUniqueIndex(jdbc, "uq_online_scratch", "online_scratch", "k", "o.id < r.id");
+
+        assertThat(OnlineMigration.indexValid(jdbc, "uq_online_scratch")).isTrue();
+        assertThat(jdbc.queryForObject("SELECT v FROM online_scratch", Integer.class)).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should make a column NOT NULL through a validated check")
+    void shouldSetNotNull() throws Exception {
+        jdbc.update("INSERT INTO online_scratch (k, v) VALUES (1, 1), (2, 2)");
+
+        migration.setNotNull(jdbc, "online_scratch", "v");
+        migration.setNotNull(jdbc, "online_scratch", "v");
+
+        assertThat(jdbc.queryForObject("SELECT attnotnull FROM pg_attribute"
+            + " WHERE attrelid = 'online_scratch'::regclass AND attname = 'v'", Boolean.class)).isTrue();
+        assertThat(jdbc.queryForObject("SELECT count(*) FROM pg_constraint"
+            + " WHERE conrelid = 'online_scratch'::regclass AND contype = 'c'", Integer.class)).isZero();
+        assertThatThrownBy(() -> jdbc.update("INSERT INTO online_scratch (k) VALUES (3)"))
+            .isInstanceOf(DataIntegrityViolationException.class);
+    }
+
+    /**
+     * Flyway derives the version from the class name, even for a migration that is never registered
+     */
+    private static final class V0__Scratch extends OnlineMigration {
+
+        @Override
+        protected void migrate(JdbcTemplate jdbc) {
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.weather.adapters.outbound.quota;
+
+import com.weather.config.QuotaProperties;
+import com.weather.domain.model.CallPriority;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.ratelimiter.RateLimiterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests for quota decisions while Redis is unavailable
+ */
+@DisplayName("Redis Quota Adapter Tests")
+class RedisQuotaAdapterTest {
+
+    private RedisTemplate<String, String> redisTemplate;
+    private RedisQuotaAdapter adapter;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        redisTemplate = mock(RedisTemplate.class);
+        QuotaProperties properties = new QuotaProperties();
+        QuotaProperties.Budget budget = new QuotaProperties.Budget();
+        budget.setPerMinute(60);
+        budget.setPerDay(1000);
+        properties.getProviders().put("openweathermap", budget);
+
+        CircuitBreakerRegistry breakers = CircuitBreakerRegistry.of(CircuitBreakerConfig.custom()
+            .slidingWindowSize(4)
+            .minimumNumberOfCalls(2)
+            .waitDurationInOpenState(Duration.ofMinutes(1))
+            .build());
+        adapter = new RedisQuotaAdapter(redisTemplate, properties, RateLimiterRegistry.ofDefaults(),
+            breakers, new SimpleMeterRegistry());
+        adapter.init();
+    }
+
+    @Test
+    @DisplayName("Should draw from the shared bucket while Redis answers")
+    @SuppressWarnings("unchecked")
+    void shouldUseSharedBucket() {
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), any(Object[].class)))
+            .thenReturn(List.of(0L, 0L, 0L));
+
+        assertThat(adapter.tryAcquire("OpenWeatherMap", CallPriority.INTERACTIVE)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should stop calling Redis once the breaker opens and decide locally")
+    @SuppressWarnings("unchecked")
+    void shouldFailFastWhileBreakerOpen() {
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), any(Object[].class)))
+            .thenThrow(new QueryTimeoutException("Redis command timed out"));
+
+        assertThat(adapter.tryAcquire("openweathermap", CallPriority.INTERACTIVE)).isTrue();
+        assertThat(adapter.tryAcquire("openweathermap", CallPriority.REFRESH)).isFalse();
+        clearInvocations(redisTemplate);
+
+        assertThat(adapter.tryAcquire("openweathermap", CallPriority.INTERACTIVE)).isTrue();
+        assertThat(adapter.tryAcquire("openweathermap", CallPriority.BULK)).isFalse();
+        verifyNoInteractions(redisTemplate);
+    }
+}
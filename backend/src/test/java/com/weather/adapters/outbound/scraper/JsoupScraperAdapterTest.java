@@ -0,0 +1,235 @@
+package com.weather.adapters.outbound.scraper;
+
+import com.weather.config.ScraperProperties;
+import com.weather.domain.model.AQIReading;
+import com.weather.domain.model.Forecast;
+import com.weather.domain.model.WeatherReading;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for JsoupScraperAdapter against saved pages served by a local MockWebServer
+ */
+@DisplayName("Jsoup Scraper Adapter Tests")
+class JsoupScraperAdapterTest {
+
+    private static final String ETAG = "\"london-v1\"";
+
+    private static final Map<String, String> PAGES = Map.of(
+        "/weather/uk/london", "timeanddate-london.html",
+        "/weather/uk/london/ext", "timeanddate-london-ext.html",
+        "/city/london/", "aqicn-london.html");
+
+    private MockWebServer server;
+    private ScraperProperties properties;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = new MockWebServer();
+        server.setDispatcher(new FixtureDispatcher());
+        server.start();
+
+        properties = new ScraperProperties();
+        properties.getPerHost().setRequestsPerPeriod(50);
+        String baseUrl = server.url("").toString().replaceAll("/$", "");
+        for (String name : List.of("timeanddate", "aqicn")) {
+            ScraperProperties.Site site = new ScraperProperties.Site();
+            site.setBaseUrl(baseUrl);
+            properties.getSites().put(name, site);
+        }
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        server.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should extract current weather from the site page")
+    void shouldExtractWeather() {
+        Optional<WeatherReading> weather = adapter().scrapeWeather("London", "GB");
+
+        assertThat(weather).isPresent();
+        assertThat(weather.get().getTemperatureCelsius()).isEqualTo(8.0);
+        assertThat(weather.get().getHumidity()).isEqualTo(76.0);
+        assertThat(weather.get().getPressure()).isEqualTo(1021.0);
+        assertThat(weather.get().getWindSpeed()).isEqualTo(5.0);
+        assertThat(weather.get().getWeatherCondition()).isEqualTo("Clouds");
+        assertThat(weather.get().getDataSource()).isEqualTo(WeatherReading.DataSource.SCRAPER_FALLBACK);
+    }
+
+    @Test
+    @DisplayName("Should serve a repeated scrape from the result cache")
+    void shouldReuseCachedResult() {
+        JsoupScraperAdapter adapter = adapter();
+
+        adapter.scrapeWeather("London", "GB");
+        Optional<WeatherReading> second = adapter.scrapeWeather("London", "GB");
+
+        assertThat(second).isPresent();
+        assertThat(second.get().getTemperatureCelsius()).isEqualTo(8.0);
+        assertThat(server.getRequestCount()).isEqualTo(1);
+        assertThat(adapter.cachedResults()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should revalidate an expired result with its ETag and reuse it on 304")
+    void shouldRevalidateWithEtag() throws InterruptedException {
+        properties.setResultTtl(Duration.ZERO);
+        JsoupScraperAdapter adapter = adapter();
+
+        adapter.scrapeWeather("London", "GB");
+        Optional<WeatherReading> second = adapter.scrapeWeather("London", "GB");
+
+        assertThat(second).isPresent();
+        assertThat(second.get().getTemperatureCelsius()).isEqualTo(8.0);
+        assertThat(server.getRequestCount()).isEqualTo(2);
+        assertThat(server.takeRequest().getHeader("If-None-Match")).isNull();
+        assertThat(server.takeRequest().getHeader("If-None-Match")).isEqualTo(ETAG);
+    }
+
+    @Test
+    @DisplayName("Should fetch the page again in full when its result was evicted during revalidation")
+    void shouldRefetchWhenEvictedDuringRevalidation() throws InterruptedException {
+        properties.setResultTtl(Duration.ZERO);
+        properties.setMaxCachedResults(1);
+        JsoupScraperAdapter adapter = adapter();
+        ScrapeResultCache results = (ScrapeResultCache) ReflectionTestUtils.getField(adapter, "results");
+        FixtureDispatcher fixtures = new FixtureDispatcher();
+        server.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                if (request.getHeader("If-None-Match") != null) {
+                    results.put("http://elsewhere/", "other", null, null);
+                }
+                return fixtures.dispatch(request);
+            }
+        });
+
+        adapter.scrapeWeather("London", "GB");
+        Optional<WeatherReading> second = adapter.scrapeWeather("London", "GB");
+
+        assertThat(second).isPresent();
+        assertThat(second.get().getTemperatureCelsius()).isEqualTo(8.0);
+        assertThat(server.getRequestCount()).isEqualTo(3);
+        server.takeRequest();
+        assertThat(server.takeRequest().getHeader("If-None-Match")).isEqualTo(ETAG);
+        assertThat(server.takeRequest().getHeader("If-None-Match")).isNull();
+    }
+
+    @Test
+    @DisplayName("Should make one request for concurrent scrapes of the same page")
+    void shouldCoalesceConcurrentScrapes() throws Exception {
+        FixtureDispatcher fixtures = new FixtureDispatcher();
+        server.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                return fixtures.dispatch(request).setHeadersDelay(300, TimeUnit.MILLISECONDS);
+            }
+        });
+        JsoupScraperAdapter adapter = adapter();
+        ExecutorService callers = Executors.newFixedThreadPool(4);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Optional<WeatherReading>>> scrapes = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            scrapes.add(callers.submit(() -> {
+                start.await();
+                return adapter.scrapeWeather("London", "GB");
+            }));
+        }
+        start.countDown();
+        for (Future<Optional<WeatherReading>> scrape : scrapes) {
+            assertThat(scrape.get()).isPresent();
+        }
+        callers.shutdown();
+
+        assertThat(server.getRequestCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should extract daily forecasts limited to the requested days")
+    void shouldExtractForecast() {
+        Optional<List<Forecast>> forecast = adapter().scrapeForecast("London", "GB", 2);
+
+        assertThat(forecast).isPresent();
+        assertThat(forecast.get()).hasSize(2);
+        Forecast first = forecast.get().get(0);
+        assertThat(first.getDate().getDayOfMonth()).isEqualTo(15);
+        assertThat(first.getTempMin()).isEqualTo(4.0);
+        assertThat(first.getTempMax()).isEqualTo(9.0);
+        assertThat(first.getPrecipitationProbability()).isEqualTo(20.0);
+        assertThat(forecast.get().get(1).getWeatherDescription()).startsWith("Light rain");
+    }
+
+    @Test
+    @DisplayName("Should fall through to the site that offers air quality")
+    void shouldExtractAirQuality() {
+        Optional<AQIReading> aqi = adapter().scrapeAirQuality("London", "GB");
+
+        assertThat(aqi).isPresent();
+        assertThat(aqi.get().getAqi()).isEqualTo(42);
+        assertThat(server.getRequestCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should return empty when no site has the page")
+    void shouldReturnEmptyForUnknownCity() {
+        assertThat(adapter().scrapeWeather("Atlantis", "GB")).isEmpty();
+    }
+
+    private JsoupScraperAdapter adapter() {
+        return new JsoupScraperAdapter(properties, List.of(new TimeAndDateExtractor(), new AqicnExtractor()));
+    }
+
+    private static String fixture(String name) {
+        try (InputStream in = JsoupScraperAdapterTest.class.getResourceAsStream("/scraper/" + name)) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Serves the saved pages with an ETag and honours If-None-Match
+     */
+    private static class FixtureDispatcher extends Dispatcher {
+        @Override
+        public MockResponse dispatch(RecordedRequest request) {
+            String page = PAGES.get(request.getPath());
+            if (page == null) {
+                return new MockResponse().setResponseCode(404);
+            }
+            if (ETAG.equals(request.getHeader("If-None-Match"))) {
+                return new MockResponse().setResponseCode(304).setHeader("ETag", ETAG);
+            }
+            return new MockResponse()
+                .setHeader("Content-Type", "text/html; charset=utf-8")
+                .setHeader("ETag", ETAG)
+                .setBody(fixture(page));
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.weather.application.service;
+
+import com.weather.config.CacheTtlProperties;
+import com.weather.domain.model.Location;
+import com.weather.domain.model.WeatherReading;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for adaptive cache TTLs
+ */
+@DisplayName("Cache TTL Policy Tests")
+class CacheTtlPolicyTest {
+
+    private CacheTtlPolicy policy;
+
+    @BeforeEach
+    void setUp() {
+        policy = new CacheTtlPolicy(new CacheTtlProperties());
+    }
+
+    @Test
+    @DisplayName("Should cache until the provider's next expected update")
+    void shouldExpireAtNextUpdate() {
+        Instant observedAt = Instant.now().minus(Duration.ofMinutes(4));
+
+        Duration ttl = policy.weatherTtl("london,gb", reading(observedAt, 14.0, "Clouds"));
+
+        assertThat(ttl).isBetween(Duration.ofMinutes(5), Duration.ofMinutes(6));
+    }
+
+    @Test
+    @DisplayName("Should fall back to the floor when the provider is overdue")
+    void shouldApplyFloorWhenOverdue() {
+        Duration ttl = policy.weatherTtl("london,gb", reading(Instant.now().minus(Duration.ofMinutes(30)), 14.0, "Clouds"));
+
+        assertThat(ttl).isEqualTo(Duration.ofMinutes(2));
+    }
+
+    @Test
+    @DisplayName("Should keep stable locations longer than volatile ones")
+    void shouldStretchStableLocations() {
+        Instant start = Instant.now().minus(Duration.ofMinutes(40));
+        Duration stable = Duration.ZERO;
+        Duration volatileTtl = Duration.ZERO;
+        for (int i = 0; i < 4; i++) {
+            Instant observedAt = start.plus(Duration.ofMinutes(10L * i));
+            stable = policy.weatherTtl("reykjavik,is", reading(observedAt, 5.0, "Clear"));
+            volatileTtl = policy.weatherTtl("denver,us", reading(observedAt, 10.0 + 4 * i, i % 2 == 0 ? "Rain" : "Clear"));
+        }
+
+        assertThat(stable).isGreaterThanOrEqualTo(Duration.ofMinutes(30));
+        assertThat(volatileTtl).isLessThan(Duration.ofMinutes(10));
+        assertThat(stable).isLessThanOrEqualTo(Duration.ofHours(1));
+    }
+
+    private static WeatherReading reading(Instant observedAt, double temperature, String condition) {
+        return WeatherReading.builder()
+            .location(Location.builder().city("Somewhere").timezone("+00:00").build())
+            .timestamp(observedAt)
+            .temperatureCelsius(temperature)
+            .humidity(70.0)
+            .windSpeed(3.0)
+            .weatherCondition(condition)
+            .build();
+    }
+}
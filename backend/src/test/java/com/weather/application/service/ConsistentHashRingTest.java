@@ -0,0 +1,83 @@
+package com.weather.application.service;
+
+import com.weather.application.port.output.MembershipPort.Node;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+/**
+ * Tests for ConsistentHashRing balance and key movement
+ */
+@DisplayName("Consistent Hash Ring Tests")
+class ConsistentHashRingTest {
+
+    private static final int KEYS = 20_000;
+
+    @Test
+    @DisplayName("Should spread keys evenly over the nodes")
+    void shouldBalanceKeys() {
+        List<Node> nodes = nodes(4);
+        ConsistentHashRing ring = new ConsistentHashRing(nodes, 160);
+
+        Map<String, Integer> counts = new HashMap<>();
+        for (int i = 0; i < KEYS; i++) {
+            counts.merge(ring.ownerOf("city-" + i + ",gb").id(), 1, Integer::sum);
+        }
+
+        assertThat(counts).hasSize(4);
+        assertThat(counts.values()).allSatisfy(count -> assertThat(count).isBetween(KEYS / 4 * 8 / 10, KEYS / 4 * 12 / 10));
+        double total = nodes.stream().mapToDouble(node -> ring.share(node.id())).sum();
+        assertThat(total).isCloseTo(1.0, within(1e-9));
+    }
+
+    @Test
+    @DisplayName("Should only move keys to a joining node")
+    void shouldMoveOnlyJoinedShare() {
+        List<Node> before = nodes(4);
+        List<Node> after = new ArrayList<>(before);
+        after.add(new Node("node-5", "http://node-5:8080"));
+        ConsistentHashRing oldRing = new ConsistentHashRing(before, 160);
+        ConsistentHashRing newRing = new ConsistentHashRing(after, 160);
+
+        int moved = 0;
+        for (int i = 0; i < KEYS; i++) {
+            String key = "city-" + i + ",gb";
+            Node oldOwner = oldRing.ownerOf(key);
+            Node newOwner = newRing.ownerOf(key);
+            if (!oldOwner.equals(newOwner)) {
+                assertThat(newOwner.id()).isEqualTo("node-5");
+                moved++;
+            }
+        }
+
+        assertThat(moved).isBetween(KEYS / 5 * 7 / 10, KEYS / 5 * 13 / 10);
+    }
+
+    @Test
+    @DisplayName("Should build the same ring regardless of member order")
+    void shouldBeOrderIndependent() {
+        List<Node> nodes = nodes(3);
+        ConsistentHashRing forward = new ConsistentHashRing(nodes, 50);
+        ConsistentHashRing reversed = new ConsistentHashRing(nodes.reversed(), 50);
+
+        for (int i = 0; i < 1000; i++) {
+            assertThat(reversed.ownerOf("k" + i)).isEqualTo(forward.ownerOf("k" + i));
+        }
+        assertThat(new ConsistentHashRing(List.of(), 50).ownerOf("k")).isNull();
+    }
+
+    private static List<Node> nodes(int count) {
+        List<Node> nodes = new ArrayList<>();
+        for (int i = 1; i <= count; i++) {
+            nodes.add(new Node("node-" + i, "http://node-" + i + ":8080"));
+        }
+        return nodes;
+    }
+}
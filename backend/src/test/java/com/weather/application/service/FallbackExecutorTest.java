@@ -0,0 +1,120 @@
+package com.weather.application.service;
+
+import com.weather.application.service.FallbackExecutor.Outcome;
+import com.weather.application.service.FallbackExecutor.Tier;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for the hedged fallback chain
+ */
+@DisplayName("Fallback Executor Tests")
+class FallbackExecutorTest {
+
+    private FallbackExecutor executor;
+
+    @BeforeEach
+    void setUp() {
+        executor = new FallbackExecutor();
+        ReflectionTestUtils.setField(executor, "defaultBudget", Duration.ofSeconds(2));
+        ReflectionTestUtils.setField(executor, "defaultHedgeDelay", Duration.ofMillis(100));
+        ReflectionTestUtils.setField(executor, "minHedgeDelay", Duration.ofMillis(10));
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should return primary result when it answers quickly")
+    void shouldPreferFastPrimary() {
+        Optional<Outcome<String>> outcome = executor.execute("test", List.of(
+            new Tier<>("primary", () -> Optional.of("api")),
+            new Tier<>("secondary", () -> Optional.of("scraper"))
+        ));
+
+        assertThat(outcome).map(Outcome::tier).contains("primary");
+    }
+
+    @Test
+    @DisplayName("Should move to next tier immediately when primary is empty")
+    void shouldFallThroughOnEmpty() {
+        long started = System.nanoTime();
+
+        Optional<Outcome<String>> outcome = executor.execute("test", List.of(
+            new Tier<>("primary", Optional::<String>empty),
+            new Tier<>("secondary", () -> { throw new IllegalStateException("down"); }),
+            new Tier<>("stored", () -> Optional.of("db"))
+        ));
+
+        assertThat(outcome).map(Outcome::value).contains("db");
+        assertThat(Duration.ofNanos(System.nanoTime() - started)).isLessThan(Duration.ofMillis(100));
+    }
+
+    @Test
+    @DisplayName("Should hedge a slow primary and cancel it once the next tier wins")
+    void shouldHedgeSlowPrimary() throws InterruptedException {
+        AtomicBoolean interrupted = new AtomicBoolean();
+
+        Optional<Outcome<String>> outcome = executor.execute("test", List.of(
+            new Tier<>("primary", () -> sleep(1_000, interrupted)),
+            new Tier<>("secondary", () -> Optional.of("scraper"))
+        ));
+
+        assertThat(outcome).map(Outcome::tier).contains("secondary");
+        Thread.sleep(50);
+        assertThat(interrupted).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should start the next tier as soon as a hedged attempt fails while the slow one runs")
+    void shouldNotWaitForHedgeDelayAfterFailure() {
+        ReflectionTestUtils.setField(executor, "defaultHedgeDelay", Duration.ofMillis(300));
+        long started = System.nanoTime();
+
+        Optional<Outcome<String>> outcome = executor.execute("test", List.of(
+            new Tier<>("primary", () -> sleep(1_000, new AtomicBoolean())),
+            new Tier<>("secondary", () -> { throw new IllegalStateException("down"); }),
+            new Tier<>("stored", () -> Optional.of("db"))
+        ));
+
+        assertThat(outcome).map(Outcome::tier).contains("stored");
+        // One hedge delay for the slow primary, none for the failed secondary
+        assertThat(Duration.ofNanos(System.nanoTime() - started)).isLessThan(Duration.ofMillis(550));
+    }
+
+    @Test
+    @DisplayName("Should give up when the budget is exhausted")
+    void shouldRespectBudget() {
+        long started = System.nanoTime();
+
+        Optional<Outcome<String>> outcome = executor.execute("test", Duration.ofMillis(150), List.of(
+            new Tier<>("primary", () -> sleep(1_000, new AtomicBoolean())),
+            new Tier<>("secondary", () -> sleep(1_000, new AtomicBoolean()))
+        ));
+
+        assertThat(outcome).isEmpty();
+        assertThat(Duration.ofNanos(System.nanoTime() - started)).isLessThan(Duration.ofMillis(500));
+    }
+
+    private static Optional<String> sleep(long millis, AtomicBoolean interrupted) {
+        try {
+            Thread.sleep(millis);
+            return Optional.of("slow");
+        } catch (InterruptedException e) {
+            interrupted.set(true);
+            return Optional.empty();
+        }
+    }
+}
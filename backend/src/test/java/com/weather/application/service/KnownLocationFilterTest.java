@@ -0,0 +1,112 @@
+package com.weather.application.service;
+
+import com.weather.application.port.output.CachePort;
+import com.weather.application.port.output.StoragePort;
+import com.weather.config.LocationProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for the negative cache and known-location Bloom filter
+ */
+@DisplayName("Known Location Filter Tests")
+class KnownLocationFilterTest {
+
+    private CachePort cache;
+    private StoragePort storage;
+    private KnownLocationFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        cache = mock(CachePort.class);
+        storage = mock(StoragePort.class);
+
+        LocationProperties properties = new LocationProperties();
+        properties.setFilterExpectedLocations(10_000);
+        filter = new KnownLocationFilter(cache, storage, new LocationRegistry(cache, properties), properties);
+    }
+
+    @Test
+    @DisplayName("Should treat every location as possibly known until the first rebuild")
+    void shouldBeOpenBeforeRebuild() {
+        assertThat(filter.mightExist("anything")).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should never report a stored location as unseen and rarely misreport others")
+    void shouldHaveNoFalseNegatives() {
+        Set<String> stored = new HashSet<>();
+        IntStream.range(0, 10_000).forEach(i -> stored.add("city-" + i + ",cc"));
+        when(storage.getKnownLocationKeys()).thenReturn(stored);
+
+        filter.rebuild();
+
+        assertThat(stored).allMatch(filter::mightExist);
+        long falsePositives = IntStream.range(0, 10_000)
+            .filter(i -> filter.mightExist("other-" + i + ",xx"))
+            .count();
+        assertThat(falsePositives).isLessThan(300);
+    }
+
+    @Test
+    @DisplayName("Should confirm a filter miss against storage and learn locations stored by other replicas")
+    void shouldCheckStorageOnMiss() {
+        when(storage.getKnownLocationKeys()).thenReturn(Set.of());
+        filter.rebuild();
+        when(storage.isKnownLocation("elsewhere,gb")).thenReturn(true);
+
+        assertThat(filter.mightExist("nowhere,gb")).isFalse();
+        assertThat(filter.mightExist("elsewhere,gb")).isTrue();
+        assertThat(filter.mightExist("elsewhere,gb")).isTrue();
+
+        verify(storage, times(1)).isKnownLocation("elsewhere,gb");
+    }
+
+    @Test
+    @DisplayName("Should answer repeated misses locally without touching the cache")
+    void shouldRememberMissesLocally() {
+        when(storage.getKnownLocationKeys()).thenReturn(Set.of());
+        filter.rebuild();
+
+        filter.recordMissing("lodnon");
+
+        assertThat(filter.isKnownMissing("lodnon")).isTrue();
+        verify(cache, never()).exists(anyString());
+
+        filter.recordFound("lodnon");
+        assertThat(filter.isKnownMissing("lodnon")).isFalse();
+        assertThat(filter.mightExist("lodnon")).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should drop only the least recently used miss when full")
+    void shouldEvictLeastRecentlyUsedMiss() {
+        LocationProperties properties = new LocationProperties();
+        properties.setMaxEntries(2);
+        KnownLocationFilter small = new KnownLocationFilter(cache, storage, new LocationRegistry(cache, properties),
+            properties);
+
+        small.recordMissing("lodnon");
+        small.recordMissing("pairs");
+        assertThat(small.isKnownMissing("lodnon")).isTrue();
+        small.recordMissing("berln");
+
+        assertThat(small.isKnownMissing("lodnon")).isTrue();
+        assertThat(small.isKnownMissing("berln")).isTrue();
+        verify(cache, never()).exists(anyString());
+        assertThat(small.isKnownMissing("pairs")).isFalse();
+    }
+}
@@ -0,0 +1,132 @@
+package com.weather.application.service;
+
+import com.weather.application.port.output.CachePort;
+import com.weather.application.service.LocationRegistry.ResolvedLocation;
+import com.weather.config.LocationProperties;
+import com.weather.domain.model.Location;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for LocationRegistry key canonicalisation
+ */
+@DisplayName("Location Registry Tests")
+class LocationRegistryTest {
+
+    private CachePort cache;
+    private LocationRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        cache = mock(CachePort.class);
+        when(cache.get(anyString(), eq(Location.class))).thenReturn(Optional.empty());
+
+        LocationProperties properties = new LocationProperties();
+        properties.setAliases(Map.of("NYC", "New York,US"));
+        registry = new LocationRegistry(cache, properties);
+    }
+
+    @Test
+    @DisplayName("Should omit country from key when absent")
+    void shouldOmitMissingCountry() {
+        assertThat(registry.resolve("London", null).key()).isEqualTo("london");
+        assertThat(Location.builder().city("London").build().getLocationKey()).isEqualTo("london");
+    }
+
+    @Test
+    @DisplayName("Should fold diacritics, whitespace and case into one key")
+    void shouldCanonicaliseInput() {
+        ResolvedLocation first = registry.resolve("  São   Paulo ", "br");
+        ResolvedLocation second = registry.resolve("sao paulo", "BR");
+
+        assertThat(first.key()).isEqualTo("sao paulo,br");
+        assertThat(second.key()).isSameAs(first.key());
+        assertThat(first.location().getCity()).isEqualTo("São Paulo");
+        assertThat(first.location().getCountry()).isEqualTo("BR");
+    }
+
+    @Test
+    @DisplayName("Should resolve configured aliases")
+    void shouldResolveAliases() {
+        ResolvedLocation resolved = registry.resolve("nyc", null);
+
+        assertThat(resolved.key()).isEqualTo("new york,us");
+        assertThat(resolved.location().getCity()).isEqualTo("New York");
+        assertThat(registry.resolve("New York", "us").key()).isSameAs(resolved.key());
+    }
+
+    @Test
+    @DisplayName("Should serve repeated resolutions from memory")
+    void shouldCacheResolutionsInMemory() {
+        registry.resolve("Berlin", "DE");
+        registry.resolve("berlin", "de");
+
+        verify(cache, times(1)).get(eq("location:berlin,de"), eq(Location.class));
+    }
+
+    @Test
+    @DisplayName("Should learn coordinates from provider responses")
+    void shouldLearnCoordinates() {
+        ResolvedLocation resolved = registry.resolve("Paris", "FR");
+        Location observed = Location.builder().city("Paris").country("FR").latitude(48.85).longitude(2.35).build();
+
+        Location learned = registry.learn(resolved, observed);
+
+        assertThat(learned.getLatitude()).isEqualTo(48.85);
+        assertThat(registry.resolve("paris", "fr").location().hasCoordinates()).isTrue();
+        verify(cache).put(eq("location:paris,fr"), eq(learned), any());
+    }
+
+    @Test
+    @DisplayName("Should read and write the shared cache under the canonical key")
+    void shouldCacheUnderCanonicalKey() {
+        Location learned = Location.builder().city("New York").country("US").latitude(40.71).longitude(-74.01).build();
+        when(cache.get(eq("location:new york,us"), eq(Location.class))).thenReturn(Optional.of(learned));
+
+        ResolvedLocation resolved = registry.resolve("NYC", null);
+
+        assertThat(resolved.location().hasCoordinates()).isTrue();
+        verify(cache, never()).get(eq("location:nyc"), eq(Location.class));
+        verify(cache, never()).put(eq("location:nyc"), any(), any());
+    }
+
+    @Test
+    @DisplayName("Should evict the least recently used resolution when full")
+    void shouldEvictLeastRecentlyUsed() {
+        LocationProperties properties = new LocationProperties();
+        properties.setMaxEntries(2);
+        LocationRegistry small = new LocationRegistry(cache, properties);
+
+        small.resolve("Oslo", "NO");
+        small.resolve("Rome", "IT");
+        small.resolve("Oslo", "NO");
+        small.resolve("Lima", "PE");
+        small.resolve("Oslo", "NO");
+        small.resolve("Rome", "IT");
+
+        verify(cache, times(1)).get(eq("location:oslo,no"), eq(Location.class));
+        verify(cache, times(2)).get(eq("location:rome,it"), eq(Location.class));
+    }
+
+    @Test
+    @DisplayName("Should reject blank city")
+    void shouldRejectBlankCity() {
+        assertThatThrownBy(() -> registry.resolve(" ", "GB"))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,153 @@
+package com.weather.application.service;
+
+import com.weather.application.port.output.CachePort;
+import com.weather.application.port.output.MembershipPort;
+import com.weather.config.AffinityProperties;
+import com.weather.config.LocationProperties;
+import com.weather.domain.model.Location;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests for NodeAffinity membership handling against an in-memory member list
+ */
+@DisplayName("Node Affinity Tests")
+class NodeAffinityTest {
+
+    private InMemoryMembership membership;
+    private LocationRegistry locationRegistry;
+
+    @BeforeEach
+    void setUp() {
+        membership = new InMemoryMembership();
+        CachePort cache = mock(CachePort.class);
+        when(cache.get(anyString(), eq(Location.class))).thenReturn(Optional.empty());
+        locationRegistry = new LocationRegistry(cache, new LocationProperties());
+    }
+
+    @Test
+    @DisplayName("Should agree on one owner per location across nodes")
+    void shouldAgreeOnOwners() {
+        NodeAffinity a = node("a");
+        NodeAffinity b = node("b");
+        NodeAffinity c = node("c");
+        List.of(a, b, c).forEach(NodeAffinity::refresh);
+
+        int remoteForAll = 0;
+        for (int i = 0; i < 200; i++) {
+            String city = "City" + i;
+            long localOwners = List.of(a, b, c).stream()
+                .filter(node -> node.remoteOwner(city, "GB").isEmpty())
+                .count();
+            assertThat(localOwners).isEqualTo(1);
+            if (a.remoteOwner(city, "GB").isPresent()) {
+                remoteForAll++;
+            }
+        }
+        assertThat(remoteForAll).isBetween(100, 170);
+        // Spelling variants resolve to the same key and so the same owner
+        assertThat(a.remoteOwner("  london ", "gb")).isEqualTo(a.remoteOwner("London", "GB"));
+    }
+
+    @Test
+    @DisplayName("Should take over a departed node's locations")
+    void shouldRebalanceOnLeave() {
+        NodeAffinity a = node("a");
+        NodeAffinity b = node("b");
+        a.refresh();
+        b.refresh();
+        assertThat(ownedLocally(a)).isLessThan(200);
+
+        b.leave();
+        a.refresh();
+
+        assertThat(ownedLocally(a)).isEqualTo(200);
+    }
+
+    @Test
+    @DisplayName("Should serve everything locally when the member list is unavailable")
+    void shouldServeLocallyWithoutMembership() {
+        NodeAffinity a = node("a");
+        node("b");
+        a.refresh();
+        assertThat(ownedLocally(a)).isLessThan(200);
+
+        membership.down = true;
+        a.refresh();
+
+        assertThat(ownedLocally(a)).isEqualTo(200);
+    }
+
+    @Test
+    @DisplayName("Should recognise the addresses of other members only")
+    void shouldRecogniseMemberAddresses() {
+        NodeAffinity a = node("127.0.0.2");
+        node("127.0.0.3");
+        a.refresh();
+
+        assertThat(a.isMemberAddress("127.0.0.3")).isTrue();
+        assertThat(a.isMemberAddress("127.0.0.2")).isFalse();
+        assertThat(a.isMemberAddress("10.9.9.9")).isFalse();
+    }
+
+    private int ownedLocally(NodeAffinity node) {
+        int owned = 0;
+        for (int i = 0; i < 200; i++) {
+            if (node.remoteOwner("City" + i, "GB").isEmpty()) {
+                owned++;
+            }
+        }
+        return owned;
+    }
+
+    private NodeAffinity node(String id) {
+        AffinityProperties properties = new AffinityProperties();
+        properties.setEnabled(true);
+        properties.setNodeId(id);
+        properties.setAdvertisedUrl("http://" + id + ":8080/");
+        NodeAffinity node = new NodeAffinity(membership, locationRegistry, properties);
+        node.join();
+        return node;
+    }
+
+    private static class InMemoryMembership implements MembershipPort {
+        private final Map<String, Node> nodes = new LinkedHashMap<>();
+        private boolean down;
+
+        @Override
+        public void heartbeat(Node node, Duration ttl) {
+            check();
+            nodes.put(node.id(), node);
+        }
+
+        @Override
+        public void leave(Node node) {
+            nodes.remove(node.id());
+        }
+
+        @Override
+        public List<Node> members() {
+            check();
+            return List.copyOf(nodes.values());
+        }
+
+        private void check() {
+            if (down) {
+                throw new IllegalStateException("member list unavailable");
+            }
+        }
+    }
+}
@@ -0,0 +1,255 @@
+package com.weather.application.service;
+
+import com.weather.application.port.output.QuotaPort;
+import com.weather.application.port.output.WeatherProviderPort;
+import com.weather.application.service.ProviderRegistry.Route;
+import com.weather.config.ProviderRoutingProperties;
+import com.weather.domain.exception.CallRejectedException;
+import com.weather.domain.exception.LocationNotFoundException;
+import com.weather.domain.model.CallPriority;
+import com.weather.domain.model.Forecast;
+import com.weather.domain.model.WeatherReading;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests for provider routing with local stub providers
+ */
+@DisplayName("Provider Registry Tests")
+class ProviderRegistryTest {
+
+    private final Set<String> overBudget = ConcurrentHashMap.newKeySet();
+    private final Map<String, AtomicInteger> released = new ConcurrentHashMap<>();
+    private final QuotaPort quota = new QuotaPort() {
+        @Override
+        public boolean tryAcquire(String provider, CallPriority priority, int calls) {
+            return !overBudget.contains(provider);
+        }
+
+        @Override
+        public void release(String provider, int calls) {
+            released.computeIfAbsent(provider, k -> new AtomicInteger()).addAndGet(calls);
+        }
+    };
+    private ProviderRoutingProperties properties;
+
+    @BeforeEach
+    void setUp() {
+        properties = new ProviderRoutingProperties();
+        properties.setSmoothing(0.5);
+    }
+
+    @Test
+    @DisplayName("Should route to the provider with the lowest recent latency")
+    void shouldPreferFastestProvider() {
+        StubProvider slow = new StubProvider("slow", 40);
+        StubProvider fast = new StubProvider("fast", 2);
+        WeatherProviderRegistry registry = new WeatherProviderRegistry(List.of(slow, fast), quota, properties);
+
+        // Both start unmeasured; one call each gives them a latency
+        fetch(registry, CallPriority.BULK);
+        fetch(registry, CallPriority.BULK);
+        for (int i = 0; i < 5; i++) {
+            fetch(registry, CallPriority.BULK);
+        }
+
+        assertThat(slow.calls.get()).isEqualTo(1);
+        assertThat(fast.calls.get()).isEqualTo(6);
+        assertThat(registry.snapshot().get(0).name()).isEqualTo("fast");
+    }
+
+    @Test
+    @DisplayName("Should stop routing to a failing provider until its probe interval passes")
+    void shouldSkipUnhealthyProvider() {
+        StubProvider broken = new StubProvider("broken", 0);
+        broken.failing = true;
+        StubProvider healthy = new StubProvider("healthy", 20);
+        WeatherProviderRegistry registry = new WeatherProviderRegistry(List.of(broken, healthy), quota, properties);
+
+        for (int i = 0; i < 6; i++) {
+            try {
+                fetch(registry, CallPriority.BULK);
+            } catch (RuntimeException e) {
+                // expected while the broken provider is still tried
+            }
+        }
+        int brokenCalls = broken.calls.get();
+        for (int i = 0; i < 5; i++) {
+            fetch(registry, CallPriority.BULK);
+        }
+
+        assertThat(broken.calls.get()).isEqualTo(brokenCalls);
+        assertThat(registry.snapshot().get(1).errorRate()).isGreaterThanOrEqualTo(0.5);
+
+        properties.setProbeInterval(Duration.ZERO);
+        assertThatThrownBy(() -> fetch(registry, CallPriority.BULK)).isInstanceOf(IllegalStateException.class);
+        assertThat(broken.calls.get()).isEqualTo(brokenCalls + 1);
+    }
+
+    @Test
+    @DisplayName("Should let exactly one concurrent caller probe an unhealthy provider per interval")
+    void shouldProbeOncePerInterval() throws Exception {
+        properties.setProbeInterval(Duration.ofMillis(100));
+        StubProvider broken = new StubProvider("broken", 0);
+        broken.failing = true;
+        WeatherProviderRegistry registry = new WeatherProviderRegistry(List.of(broken), quota, properties);
+        assertThatThrownBy(() -> fetch(registry, CallPriority.BULK)).isInstanceOf(IllegalStateException.class);
+        assertThat(registry.route(CallPriority.BULK)).isEmpty();
+
+        Thread.sleep(150);
+        ExecutorService callers = Executors.newFixedThreadPool(16);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Boolean>> routed = new ArrayList<>();
+        for (int i = 0; i < 16; i++) {
+            routed.add(callers.submit(() -> {
+                start.await();
+                return registry.route(CallPriority.BULK).isPresent();
+            }));
+        }
+        start.countDown();
+        int probes = 0;
+        for (Future<Boolean> future : routed) {
+            probes += future.get() ? 1 : 0;
+        }
+        callers.shutdown();
+
+        assertThat(probes).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should fall through to the next provider when one is over budget")
+    void shouldSkipProviderOverBudget() {
+        StubProvider first = new StubProvider("first", 0);
+        StubProvider second = new StubProvider("second", 0);
+        WeatherProviderRegistry registry = new WeatherProviderRegistry(List.of(first, second), quota, properties);
+        overBudget.add("first");
+
+        assertThat(registry.route(CallPriority.REFRESH)).map(Route::provider).contains(second);
+
+        overBudget.add("second");
+        assertThat(registry.route(CallPriority.REFRESH)).isEmpty();
+        assertThat(registry.snapshot()).allMatch(stats -> stats.quotaDenials() > 0);
+    }
+
+    @Test
+    @DisplayName("Should race the two best providers for interactive calls and take the first answer")
+    void shouldRaceInteractiveCalls() {
+        properties.setRaceInteractive(true);
+        StubProvider slow = new StubProvider("slow", 500);
+        StubProvider fast = new StubProvider("fast", 5);
+        WeatherProviderRegistry registry = new WeatherProviderRegistry(List.of(slow, fast), quota, properties);
+
+        Route<WeatherProviderPort> route = registry.route(CallPriority.INTERACTIVE).orElseThrow();
+        long started = System.nanoTime();
+        Optional<WeatherReading> reading = registry.call(route, p -> p.getCurrentWeather("London", "GB"));
+
+        assertThat(route.racing()).isTrue();
+        assertThat(reading).map(WeatherReading::getWeatherDescription).contains("fast");
+        assertThat(Duration.ofNanos(System.nanoTime() - started)).isLessThan(Duration.ofMillis(400));
+        assertThat(registry.route(CallPriority.BULK)).map(Route::racing).contains(false);
+    }
+
+    @Test
+    @DisplayName("Should pass on unknown locations without marking the provider unhealthy")
+    void shouldPropagateNotFound() {
+        StubProvider provider = new StubProvider("only", 0);
+        provider.unknown = true;
+        WeatherProviderRegistry registry = new WeatherProviderRegistry(List.of(provider), quota, properties);
+
+        assertThatThrownBy(() -> fetch(registry, CallPriority.INTERACTIVE))
+            .isInstanceOf(LocationNotFoundException.class);
+        assertThat(registry.snapshot().get(0).errorRate()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should give back the quota of a call the provider turned away unsent")
+    void shouldReleaseQuotaOfRejectedCall() {
+        StubProvider provider = new StubProvider("only", 0);
+        provider.rejecting = true;
+        WeatherProviderRegistry registry = new WeatherProviderRegistry(List.of(provider), quota, properties);
+
+        assertThat(fetch(registry, CallPriority.INTERACTIVE)).isEmpty();
+
+        Route<WeatherProviderPort> batch = registry.routeBatch(CallPriority.BULK, p -> 3).orElseThrow();
+        assertThat(registry.call(batch, p -> p.getCurrentWeather("London", "GB"))).isEmpty();
+
+        assertThat(released.get("only")).hasValue(4);
+        assertThat(registry.snapshot().get(0).errorRate()).isZero();
+    }
+
+    private static Optional<WeatherReading> fetch(WeatherProviderRegistry registry, CallPriority priority) {
+        Route<WeatherProviderPort> route = registry.route(priority).orElseThrow();
+        return registry.call(route, provider -> provider.getCurrentWeather("London", "GB"));
+    }
+
+    private static class StubProvider implements WeatherProviderPort {
+        private final String name;
+        private final long delayMillis;
+        private final AtomicInteger calls = new AtomicInteger();
+        private volatile boolean failing;
+        private volatile boolean unknown;
+        private volatile boolean rejecting;
+
+        StubProvider(String name, long delayMillis) {
+            this.name = name;
+            this.delayMillis = delayMillis;
+        }
+
+        @Override
+        public Optional<WeatherReading> getCurrentWeather(String city, String country) {
+            if (rejecting) {
+                throw new CallRejectedException(name, new IllegalStateException("circuit open"));
+            }
+            calls.incrementAndGet();
+            try {
+                Thread.sleep(delayMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            if (failing) {
+                throw new IllegalStateException(name + " is down");
+            }
+            if (unknown) {
+                throw new LocationNotFoundException(city);
+            }
+            return Optional.of(WeatherReading.builder().weatherDescription(name).build());
+        }
+
+        @Override
+        public Optional<List<Forecast>> getForecast(String city, String country, int days) {
+            return Optional.empty();
+        }
+
+        @Override
+        public boolean isAvailable() {
+            return true;
+        }
+
+        @Override
+        public String getProviderName() {
+            return name;
+        }
+
+        @Override
+        public WeatherReading.DataSource getDataSource() {
+            return WeatherReading.DataSource.OPENWEATHER_API;
+        }
+    }
+}
@@ -0,0 +1,407 @@
+package com.weather.application.usecase;
+
+import com.weather.application.port.input.GetWeatherUseCase.WeatherResponse;
+import com.weather.application.port.output.*;
+import com.weather.application.port.output.AirQualityProviderPort.CurrentConditions;
+import com.weather.application.port.output.WeatherProviderPort.CurrentAndForecast;
+import com.weather.application.service.AirQualityProviderRegistry;
+import com.weather.application.service.CacheTtlPolicy;
+import com.weather.application.service.CombinedWeatherFetcher;
+import com.weather.application.service.FallbackExecutor;
+import com.weather.application.service.KnownLocationFilter;
+import com.weather.application.service.LocationRegistry;
+import com.weather.application.service.WeatherProviderRegistry;
+import com.weather.config.CacheTtlProperties;
+import com.weather.config.LocationProperties;
+import com.weather.config.ProviderRoutingProperties;
+import com.weather.domain.exception.LocationNotFoundException;
+import com.weather.domain.model.AQIReading;
+import com.weather.domain.model.CallPriority;
+import com.weather.domain.model.Forecast;
+import com.weather.domain.model.Location;
+import com.weather.domain.model.WeatherReading;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for GetWeatherService quota handling
+ */
+@DisplayName("Get Weather Service Tests")
+class GetWeatherServiceTest {
+
+    private WeatherProviderPort weatherProvider;
+    private AirQualityProviderPort airQualityProvider;
+    private ScraperPort scraper;
+    private CachePort cache;
+    private StoragePort storage;
+    private QuotaPort quota;
+    private KnownLocationFilter knownLocations;
+    private GetWeatherService service;
+
+    @BeforeEach
+    void setUp() {
+        weatherProvider = mock(WeatherProviderPort.class);
+        airQualityProvider = mock(AirQualityProviderPort.class);
+        scraper = mock(ScraperPort.class);
+        cache = mock(CachePort.class);
+        storage = mock(StoragePort.class);
+        quota = mock(QuotaPort.class);
+
+        when(weatherProvider.getProviderName()).thenReturn("OpenWeatherMap");
+        when(airQualityProvider.getProviderName()).thenReturn("IQAir");
+        when(weatherProvider.getDataSource()).thenReturn(WeatherReading.DataSource.OPENWEATHER_API);
+        when(airQualityProvider.getDataSource()).thenReturn(WeatherReading.DataSource.IQAIR_API);
+        when(weatherProvider.isAvailable()).thenReturn(true);
+        when(cache.get(anyString(), any())).thenReturn(Optional.empty());
+        when(cache.getAsync(anyString(), any())).thenReturn(CompletableFuture.completedFuture(Optional.empty()));
+        when(cache.getAllAsync(any(), any())).thenReturn(CompletableFuture.completedFuture(Map.of()));
+        when(airQualityProvider.getCurrentConditions(anyString(), any())).thenReturn(Optional.empty());
+        when(storage.getLatestAQIReading(anyString())).thenReturn(Optional.empty());
+
+        FallbackExecutor fallbackExecutor = new FallbackExecutor();
+        ReflectionTestUtils.setField(fallbackExecutor, "defaultBudget", Duration.ofSeconds(2));
+        ReflectionTestUtils.setField(fallbackExecutor, "defaultHedgeDelay", Duration.ofMillis(500));
+        ReflectionTestUtils.setField(fallbackExecutor, "minHedgeDelay", Duration.ofMillis(50));
+
+        LocationProperties properties = new LocationProperties();
+        LocationRegistry registry = new LocationRegistry(cache, properties);
+        knownLocations = new KnownLocationFilter(cache, storage, registry, properties);
+
+        CacheTtlPolicy ttlPolicy = new CacheTtlPolicy(new CacheTtlProperties());
+        CombinedWeatherFetcher combinedFetcher = new CombinedWeatherFetcher(cache, storage, registry, ttlPolicy);
+        ProviderRoutingProperties routing = new ProviderRoutingProperties();
+        service = new GetWeatherService(
+            new WeatherProviderRegistry(List.of(weatherProvider), quota, routing),
+            new AirQualityProviderRegistry(List.of(airQualityProvider), quota, routing),
+            scraper, cache, storage, registry, fallbackExecutor, knownLocations, ttlPolicy, combinedFetcher);
+        ReflectionTestUtils.setField(service, "batchBudget", Duration.ofSeconds(3));
+    }
+
+    @Test
+    @DisplayName("Should call the provider and persist the reading when within budget")
+    void shouldCallProviderWithinBudget() {
+        when(quota.tryAcquire(anyString(), eq(CallPriority.INTERACTIVE))).thenReturn(true);
+        when(weatherProvider.getCurrentWeather("London", "GB")).thenReturn(Optional.of(reading(Instant.now())));
+
+        WeatherResponse response = service.getCurrentWeather("London", "GB");
+
+        assertThat(response.weather().getDataSource()).isEqualTo(WeatherReading.DataSource.OPENWEATHER_API);
+        verify(storage).saveWeatherReading(response.weather());
+    }
+
+    @Test
+    @DisplayName("Should serve stale cached weather without calling upstream when over budget")
+    void shouldServeStaleCacheOverBudget() {
+        WeatherReading stale = reading(Instant.now().minus(Duration.ofHours(3)));
+        when(cache.getAsync("weather:{london,gb}", WeatherReading.class))
+            .thenReturn(CompletableFuture.completedFuture(Optional.of(stale)));
+        when(quota.tryAcquire(anyString(), eq(CallPriority.REFRESH))).thenReturn(false);
+
+        WeatherResponse response = service.getCurrentWeather("London", "GB", CallPriority.REFRESH);
+
+        assertThat(response.weather()).isSameAs(stale);
+        assertThat(response.fromCache()).isTrue();
+        verify(weatherProvider, never()).getCurrentWeather(anyString(), any());
+        verify(airQualityProvider, never()).getCurrentConditions(anyString(), any());
+    }
+
+    @Test
+    @DisplayName("Should fall back to stored data without calling upstream when over budget")
+    void shouldServeStoredDataOverBudget() {
+        WeatherReading stored = reading(Instant.now().minus(Duration.ofHours(2)));
+        when(storage.getLatestWeatherReading("london,gb")).thenReturn(Optional.of(stored));
+        when(quota.tryAcquire(anyString(), eq(CallPriority.BULK))).thenReturn(false);
+
+        WeatherResponse response = service.getCurrentWeather("London", "GB", CallPriority.BULK);
+
+        assertThat(response.weather()).isSameAs(stored);
+        verify(weatherProvider, never()).getCurrentWeather(anyString(), any());
+        verify(storage, never()).saveWeatherReading(any());
+        verify(storage, never()).saveAQIReading(any(AQIReading.class));
+    }
+
+    @Test
+    @DisplayName("Should negative-cache unknown locations and reject repeats without upstream calls")
+    void shouldNegativeCacheUnknownLocation() {
+        when(quota.tryAcquire(anyString(), any())).thenReturn(true);
+        when(weatherProvider.getCurrentWeather("Lodnon", null)).thenThrow(new LocationNotFoundException("Lodnon"));
+
+        assertThatThrownBy(() -> service.getCurrentWeather("Lodnon", null))
+            .isInstanceOf(LocationNotFoundException.class);
+        assertThatThrownBy(() -> service.getCurrentWeather("lodnon", null))
+            .isInstanceOf(LocationNotFoundException.class);
+
+        verify(weatherProvider, times(1)).getCurrentWeather(anyString(), any());
+        verify(airQualityProvider, never()).getCurrentConditions(anyString(), any());
+        verify(cache).put(eq("miss:lodnon"), any(), any());
+    }
+
+    @Test
+    @DisplayName("Should skip storage lookups for locations that were never stored")
+    void shouldSkipStorageForUnseenLocation() {
+        when(storage.getKnownLocationKeys()).thenReturn(Set.of("paris,fr"));
+        knownLocations.rebuild();
+        when(quota.tryAcquire(anyString(), any())).thenReturn(true);
+        when(weatherProvider.getCurrentWeather("London", "GB")).thenReturn(Optional.of(reading(Instant.now())));
+
+        service.getCurrentWeather("London", "GB");
+
+        verify(storage, never()).getLatestWeatherReading(anyString());
+        verify(storage, never()).getLatestAQIReading(anyString());
+        assertThat(knownLocations.mightExist("london,gb")).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should fetch several uncached locations with one provider batch and give a miss its own call")
+    void shouldBatchUncachedLocations() {
+        when(quota.tryAcquire(anyString(), any(), anyInt())).thenReturn(true);
+        when(quota.tryAcquire(anyString(), any())).thenReturn(true);
+        when(weatherProvider.batchCalls(any())).thenReturn(2);
+        when(weatherProvider.getCurrentWeatherBatch(any(), any())).thenReturn(Map.of(
+            "london,gb", reading(Instant.now()),
+            "paris,fr", reading(Instant.now())));
+        when(weatherProvider.getCurrentWeather("Berlin", "DE")).thenReturn(Optional.empty());
+
+        Map<String, WeatherResponse> responses = service.getCurrentWeather(List.of(
+            location("London", "GB"), location("Paris", "FR"), location("Berlin", "DE")), CallPriority.REFRESH);
+
+        assertThat(responses).containsOnlyKeys("london,gb", "paris,fr");
+        verify(weatherProvider, times(1)).getCurrentWeatherBatch(any(), any());
+        verify(weatherProvider, times(1)).getCurrentWeather("Berlin", "DE");
+        verify(storage, times(2)).saveWeatherReading(any());
+        verify(quota, times(1)).tryAcquire("OpenWeatherMap", CallPriority.REFRESH, 2);
+        verify(quota, times(1)).tryAcquire("OpenWeatherMap", CallPriority.REFRESH);
+    }
+
+    @Test
+    @DisplayName("Should fetch a batch's missing AQI in parallel")
+    void shouldFetchBatchAirQualityInParallel() {
+        cacheWeather("london,gb", "paris,fr", "berlin,de");
+        when(quota.tryAcquire(anyString(), any())).thenReturn(true);
+        when(airQualityProvider.isAvailable()).thenReturn(true);
+        when(airQualityProvider.getCurrentConditions(anyString(), any())).thenAnswer(invocation -> {
+            Thread.sleep(400);
+            return Optional.of(new CurrentConditions(AQIReading.builder().aqi(30).timestamp(Instant.now()).build(), null));
+        });
+
+        long started = System.nanoTime();
+        Map<String, WeatherResponse> responses = service.getCurrentWeather(List.of(
+            location("London", "GB"), location("Paris", "FR"), location("Berlin", "DE")), CallPriority.REFRESH);
+
+        assertThat(Duration.ofNanos(System.nanoTime() - started)).isLessThan(Duration.ofMillis(1000));
+        assertThat(responses.values()).allMatch(response -> response.airQuality().getAqi() == 30);
+    }
+
+    @Test
+    @DisplayName("Should answer a batch at its deadline without the AQI still outstanding")
+    void shouldAnswerBatchAtDeadline() {
+        ReflectionTestUtils.setField(service, "batchBudget", Duration.ofMillis(300));
+        cacheWeather("london,gb", "paris,fr");
+        when(quota.tryAcquire(anyString(), any())).thenReturn(true);
+        when(airQualityProvider.isAvailable()).thenReturn(true);
+        when(airQualityProvider.getCurrentConditions(anyString(), any())).thenAnswer(invocation -> {
+            Thread.sleep(5000);
+            return Optional.empty();
+        });
+
+        long started = System.nanoTime();
+        Map<String, WeatherResponse> responses = service.getCurrentWeather(List.of(
+            location("London", "GB"), location("Paris", "FR")), CallPriority.REFRESH);
+
+        assertThat(Duration.ofNanos(System.nanoTime() - started)).isLessThan(Duration.ofMillis(1500));
+        assertThat(responses).containsOnlyKeys("london,gb", "paris,fr");
+        assertThat(responses.values()).allMatch(response -> response.airQuality() == null);
+    }
+
+    @Test
+    @DisplayName("Should read a batch's cached readings with one multi-get per reading type")
+    void shouldMultiGetCachedBatch() {
+        AQIReading aqi = AQIReading.builder().aqi(21).timestamp(Instant.now()).build();
+        when(cache.getAllAsync(any(), eq(WeatherReading.class))).thenReturn(CompletableFuture.completedFuture(Map.of(
+            "weather:{london,gb}", reading(Instant.now()),
+            "weather:{paris,fr}", reading(Instant.now()))));
+        when(cache.getAllAsync(any(), eq(AQIReading.class))).thenReturn(CompletableFuture.completedFuture(Map.of(
+            "aqi:{london,gb}", aqi,
+            "aqi:{paris,fr}", aqi)));
+
+        Map<String, WeatherResponse> responses = service.getCurrentWeather(List.of(
+            location("London", "GB"), location("Paris", "FR")), CallPriority.REFRESH);
+
+        assertThat(responses).containsOnlyKeys("london,gb", "paris,fr");
+        assertThat(responses.values()).allMatch(WeatherResponse::fromCache);
+        assertThat(responses.get("paris,fr").airQuality()).isSameAs(aqi);
+        verify(cache, times(2)).getAllAsync(any(), any());
+        verify(cache, never()).getAsync(anyString(), any());
+        verify(weatherProvider, never()).getCurrentWeatherBatch(any(), any());
+    }
+
+    @Test
+    @DisplayName("Should read stored fallbacks for an over-budget batch with one query")
+    void shouldReadStoredBatchFallbackTogether() {
+        WeatherReading london = reading(Instant.now().minus(Duration.ofHours(2)));
+        WeatherReading paris = reading(Instant.now().minus(Duration.ofHours(2)));
+        when(quota.tryAcquire(anyString(), any())).thenReturn(false);
+        when(storage.getLatestWeatherReadings(any())).thenReturn(Map.of("london,gb", london, "paris,fr", paris));
+
+        Map<String, WeatherResponse> responses = service.getCurrentWeather(List.of(
+            location("London", "GB"), location("Paris", "FR")), CallPriority.BULK);
+
+        assertThat(responses.get("london,gb").weather()).isSameAs(london);
+        assertThat(responses.get("paris,fr").weather()).isSameAs(paris);
+        verify(storage, times(1)).getLatestWeatherReadings(List.of("london,gb", "paris,fr"));
+        verify(storage, never()).getLatestWeatherReading(anyString());
+        verify(weatherProvider, never()).getCurrentWeather(anyString(), any());
+    }
+
+    @Test
+    @DisplayName("Should use one combined call and cache the forecast half once coordinates are known")
+    void shouldUseCombinedFetchOnceCoordinatesAreKnown() {
+        when(quota.tryAcquire(anyString(), any())).thenReturn(true);
+        when(weatherProvider.supportsCombinedFetch()).thenReturn(true);
+        WeatherReading first = reading(Instant.now());
+        first.getLocation().setLatitude(51.5);
+        first.getLocation().setLongitude(-0.12);
+        when(weatherProvider.getCurrentWeather("London", "GB")).thenReturn(Optional.of(first));
+        when(weatherProvider.getCurrentAndForecast(any())).thenReturn(Optional.of(new CurrentAndForecast(
+            reading(Instant.now()), List.of(Forecast.builder().date(LocalDate.now()).tempMax(18.0).build()))));
+
+        service.getCurrentWeather("London", "GB");
+        WeatherResponse response = service.getCurrentWeather("London", "GB");
+
+        assertThat(response.weather().getLocation().getLatitude()).isEqualTo(51.5);
+        verify(weatherProvider, times(1)).getCurrentWeather(anyString(), any());
+        verify(weatherProvider, times(1)).getCurrentAndForecast(any());
+        verify(cache).put(eq("forecast:{london,gb}"), any(Forecast[].class), any());
+        verify(storage).saveForecast(any());
+    }
+
+    @Test
+    @DisplayName("Should not follow an empty combined call with a second, unpaid call")
+    void shouldNotRetryEmptyCombinedFetchOnPlainEndpoint() {
+        when(quota.tryAcquire(anyString(), any())).thenReturn(true);
+        when(weatherProvider.supportsCombinedFetch()).thenReturn(true);
+        WeatherReading first = reading(Instant.now());
+        first.getLocation().setLatitude(51.5);
+        first.getLocation().setLongitude(-0.12);
+        when(weatherProvider.getCurrentWeather("London", "GB")).thenReturn(Optional.of(first));
+        when(weatherProvider.getCurrentAndForecast(any())).thenReturn(Optional.empty());
+
+        service.getCurrentWeather("London", "GB");
+        service.getCurrentWeather("London", "GB");
+
+        verify(weatherProvider, times(1)).getCurrentAndForecast(any());
+        verify(weatherProvider, times(1)).getCurrentWeather(anyString(), any());
+    }
+
+    @Test
+    @DisplayName("Should serve weather and AQI from one IQAir call while OpenWeather is down")
+    void shouldServeWeatherFromAirQualityProvider() {
+        when(quota.tryAcquire(anyString(), any())).thenReturn(true);
+        when(weatherProvider.getCurrentWeather("London", "GB")).thenReturn(Optional.empty());
+        when(airQualityProvider.isAvailable()).thenReturn(true);
+        WeatherReading iqairWeather = reading(Instant.now());
+        AQIReading iqairAqi = AQIReading.builder().timestamp(Instant.now()).aqi(42).build();
+        when(airQualityProvider.getCurrentConditions("London", "GB"))
+            .thenReturn(Optional.of(new CurrentConditions(iqairAqi, iqairWeather)));
+
+        WeatherResponse response = service.getCurrentWeather("London", "GB");
+
+        assertThat(response.weather().getDataSource()).isEqualTo(WeatherReading.DataSource.IQAIR_API);
+        assertThat(response.airQuality().getAqi()).isEqualTo(42);
+        verify(airQualityProvider, times(1)).getCurrentConditions(anyString(), any());
+        verify(cache).put(eq("weather:{london,gb}"), eq(iqairWeather), any());
+        verify(cache).put(eq("aqi:{london,gb}"), eq(iqairAqi), any());
+    }
+
+    @Test
+    @DisplayName("Should reuse IQAir's AQI when OpenWeather wins the hedge against it")
+    void shouldReuseAirQualityWhenWeatherProviderWins() {
+        when(quota.tryAcquire(anyString(), any())).thenReturn(true);
+        when(weatherProvider.getCurrentWeather("London", "GB")).thenAnswer(invocation -> {
+            Thread.sleep(700);
+            return Optional.of(reading(Instant.now()));
+        });
+        when(airQualityProvider.isAvailable()).thenReturn(true);
+        AQIReading iqairAqi = AQIReading.builder().timestamp(Instant.now()).aqi(42).build();
+        when(airQualityProvider.getCurrentConditions("London", "GB")).thenAnswer(invocation -> {
+            Thread.sleep(400);
+            return Optional.of(new CurrentConditions(iqairAqi, reading(Instant.now())));
+        });
+
+        WeatherResponse response = service.getCurrentWeather("London", "GB");
+
+        assertThat(response.weather().getDataSource()).isEqualTo(WeatherReading.DataSource.OPENWEATHER_API);
+        assertThat(response.airQuality()).isSameAs(iqairAqi);
+        verify(airQualityProvider, times(1)).getCurrentConditions(anyString(), any());
+    }
+
+    @Test
+    @DisplayName("Should answer without AQI at the request deadline and cache IQAir's AQI once it arrives")
+    void shouldNotWaitForSharedAirQualityPastDeadline() {
+        when(quota.tryAcquire(anyString(), any())).thenReturn(true);
+        when(weatherProvider.getCurrentWeather("London", "GB")).thenAnswer(invocation -> {
+            Thread.sleep(1500);
+            return Optional.of(reading(Instant.now()));
+        });
+        when(airQualityProvider.isAvailable()).thenReturn(true);
+        AQIReading iqairAqi = AQIReading.builder().timestamp(Instant.now()).aqi(42).build();
+        when(airQualityProvider.getCurrentConditions("London", "GB")).thenAnswer(invocation -> {
+            Thread.sleep(2500);
+            return Optional.of(new CurrentConditions(iqairAqi, reading(Instant.now())));
+        });
+
+        long started = System.nanoTime();
+        WeatherResponse response = service.getCurrentWeather("London", "GB");
+
+        assertThat(Duration.ofNanos(System.nanoTime() - started)).isLessThan(Duration.ofMillis(2700));
+        assertThat(response.weather().getDataSource()).isEqualTo(WeatherReading.DataSource.OPENWEATHER_API);
+        assertThat(response.airQuality()).isNull();
+        verify(cache, timeout(3000)).put(eq("aqi:{london,gb}"), eq(iqairAqi), any());
+        verify(airQualityProvider, times(1)).getCurrentConditions(anyString(), any());
+    }
+
+    private void cacheWeather(String... locationKeys) {
+        Map<String, WeatherReading> cached = new HashMap<>();
+        for (String locationKey : locationKeys) {
+            cached.put("weather:{" + locationKey + "}", reading(Instant.now()));
+        }
+        when(cache.getAllAsync(any(), eq(WeatherReading.class))).thenReturn(CompletableFuture.completedFuture(cached));
+    }
+
+    private static Location location(String city, String country) {
+        return Location.builder().city(city).country(country).build();
+    }
+
+    private static WeatherReading reading(Instant timestamp) {
+        return WeatherReading.builder()
+            .location(Location.builder().city("London").country("GB").build())
+            .timestamp(timestamp)
+            .temperatureCelsius(14.2)
+            .build();
+    }
+}